@@ -0,0 +1,106 @@
+package uax.ginf.tecprog.grafos.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uax.ginf.tecprog.grafos.algoritmos.BFS;
+import uax.ginf.tecprog.grafos.algoritmos.DFS;
+import uax.ginf.tecprog.grafos.algoritmos.Dikjstra;
+import uax.ginf.tecprog.grafos.algoritmos.DijkstraBidireccional;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de los recorridos y caminos mínimos de {@link uax.ginf.tecprog.grafos.algoritmos} sobre la
+ * {@link GrafoCSR} de grafos sintéticos, y de la propia construcción de la instantánea a partir de un
+ * {@link Grafo}. Cada llamada parte de un origen distinto de una secuencia aleatoria fija.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BenchmarkAlgoritmos {
+    private static final int CONSULTAS = 1 << 10; // Tamaño de la secuencia de orígenes, potencia de dos
+
+    @Param({"ERDOS_RENYI", "RMAT", "REJILLA"})
+    public GrafoSintetico.Topologia topologia;
+
+    @Param({"10000", "100000", "1000000"})
+    public int numVertices;
+
+    @Param({"true", "false"})
+    public boolean esDirigido;
+
+    private Grafo grafo; // Grafo completo, para medir la construcción de la instantánea
+    private BFS bfs;
+    private DFS dfs;
+    private Dikjstra dijkstra;
+    private DijkstraBidireccional bidireccional;
+    private int[] origenes; // Origen de cada consulta
+    private int[] destinos; // Destino de cada consulta punto a punto
+    private int siguiente; // Próxima consulta
+
+    @Setup(Level.Trial)
+    public void construir() {
+        GrafoSintetico sintetico = GrafoSintetico.generar(topologia, numVertices, 42);
+        GrafoCSR csr = sintetico.construirCSR(esDirigido);
+        grafo = sintetico.construirGrafo(esDirigido);
+        bfs = new BFS(csr);
+        dfs = new DFS(csr);
+        dijkstra = new Dikjstra(csr);
+        bidireccional = new DijkstraBidireccional(csr);
+        SplittableRandom random = new SplittableRandom(13);
+        origenes = new int[CONSULTAS];
+        destinos = new int[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            origenes[i] = random.nextInt(csr.getNumVertices());
+            destinos[i] = random.nextInt(csr.getNumVertices());
+        }
+    }
+
+    @Benchmark
+    public GrafoCSR construirCSR() {
+        return new GrafoCSR(grafo);
+    }
+
+    @Benchmark
+    public void bfs() {
+        bfs.ejecutar(origenes[siguiente++ & (CONSULTAS - 1)]);
+    }
+
+    @Benchmark
+    public void dfs() {
+        dfs.ejecutar(origenes[siguiente++ & (CONSULTAS - 1)]);
+    }
+
+    @Benchmark
+    public void dijkstra() {
+        dijkstra.ejecutar(origenes[siguiente++ & (CONSULTAS - 1)]);
+    }
+
+    @Benchmark
+    public double dijkstraPuntoAPunto() {
+        int i = siguiente++ & (CONSULTAS - 1);
+        return dijkstra.ejecutar(origenes[i], destinos[i]);
+    }
+
+    @Benchmark
+    public double dijkstraBidireccional() {
+        int i = siguiente++ & (CONSULTAS - 1);
+        return bidireccional.ejecutar(origenes[i], destinos[i]);
+    }
+}
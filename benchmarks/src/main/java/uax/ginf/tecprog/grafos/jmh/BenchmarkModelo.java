@@ -0,0 +1,178 @@
+package uax.ginf.tecprog.grafos.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las operaciones básicas de {@link Grafo}: insertar aristas, consultar y recorrer
+ * adyacencias y eliminar vértices, sobre grafos sintéticos de varias topologías y tamaños.
+ * Las consultas eligen vértices y aristas con una secuencia aleatoria fija, para no medir siempre la
+ * misma posición de la caché.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BenchmarkModelo {
+    private static final int CONSULTAS = 1 << 16; // Tamaño de la secuencia de consultas, potencia de dos
+    private static final int LOTE = 1000; // Vértices borrados por iteración en deleteVertice
+
+    /**
+     * Parámetros comunes a todos los estados: la topología, el tamaño y si el grafo es dirigido.
+     */
+    @State(Scope.Thread)
+    public abstract static class Sintetico {
+        @Param({"ERDOS_RENYI", "RMAT", "REJILLA"})
+        public GrafoSintetico.Topologia topologia;
+
+        @Param({"10000", "100000", "1000000"})
+        public int numVertices;
+
+        @Param({"true", "false"})
+        public boolean esDirigido;
+
+        GrafoSintetico sintetico; // Aristas generadas
+
+        @Setup(Level.Trial)
+        public void generar() {
+            sintetico = GrafoSintetico.generar(topologia, numVertices, 42);
+        }
+    }
+
+    /**
+     * Grafo completo y secuencia de consultas, para los benchmarks de solo lectura.
+     */
+    public static class Consultas extends Sintetico {
+        Grafo grafo; // Grafo con todas las aristas
+        int[] vertices; // Índices de vértice de las consultas
+        int[] aristas; // Posiciones de arista de las consultas
+        int siguiente; // Próxima consulta
+
+        @Setup(Level.Trial)
+        public void construir() {
+            grafo = sintetico.construirGrafo(esDirigido);
+            SplittableRandom random = new SplittableRandom(7);
+            vertices = new int[CONSULTAS];
+            aristas = new int[CONSULTAS];
+            for (int i = 0; i < CONSULTAS; i++) {
+                vertices[i] = random.nextInt(sintetico.getNumVertices());
+                aristas[i] = random.nextInt(sintetico.getNumAristas());
+            }
+        }
+
+        Vertice siguienteVertice() {
+            return sintetico.getVertice(vertices[siguiente++ & (CONSULTAS - 1)]);
+        }
+
+        int siguienteArista() {
+            return aristas[siguiente++ & (CONSULTAS - 1)];
+        }
+    }
+
+    /**
+     * Grafo sin aristas en el que se insertan las generadas, una por llamada.
+     */
+    public static class Insercion extends Sintetico {
+        Grafo grafo; // Grafo con los vértices, vaciado en cada iteración
+        int siguiente; // Próxima arista que se inserta
+
+        @Setup(Level.Iteration)
+        public void vaciar() {
+            grafo = sintetico.construirVacio(esDirigido);
+            siguiente = 0;
+        }
+    }
+
+    /**
+     * Grafo completo del que se borran vértices en orden aleatorio. Se reconstruye en cada iteración,
+     * porque un vértice solo puede borrarse una vez.
+     */
+    public static class Borrado extends Sintetico {
+        Grafo grafo; // Grafo del que se borra en la iteración actual
+        int[] orden; // Vértices en el orden en que se borran
+        int siguiente; // Próximo vértice que se borra
+
+        @Setup(Level.Trial)
+        public void barajar() {
+            int n = sintetico.getNumVertices();
+            orden = new int[n];
+            for (int v = 0; v < n; v++) {
+                orden[v] = v;
+            }
+            SplittableRandom random = new SplittableRandom(11);
+            for (int v = n - 1; v > 0; v--) {   // Fisher–Yates
+                int otro = random.nextInt(v + 1);
+                int aux = orden[v];
+                orden[v] = orden[otro];
+                orden[otro] = aux;
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reconstruir() {
+            grafo = sintetico.construirGrafo(esDirigido);
+            siguiente = 0;
+        }
+    }
+
+    @Benchmark
+    public void addAristaPeso(Insercion estado) {
+        GrafoSintetico sintetico = estado.sintetico;
+        int a = estado.siguiente;
+        estado.siguiente = a + 1 == sintetico.getNumAristas() ? 0 : a + 1; // Al dar la vuelta solo cambia pesos
+        estado.grafo.addAristaPeso(sintetico.getVertice(sintetico.getOrigen(a)),
+                sintetico.getVertice(sintetico.getDestino(a)), sintetico.getPeso(a));
+    }
+
+    @Benchmark
+    public Set<Vertice> getAdyacentes(Consultas estado) {
+        return estado.grafo.getAdyacentes(estado.siguienteVertice());
+    }
+
+    @Benchmark
+    public void recorrerAdyacentes(Consultas estado, Blackhole blackhole) {
+        estado.grafo.recorrerAdyacentes(estado.siguienteVertice(), (vecino, peso) -> blackhole.consume(peso));
+    }
+
+    @Benchmark
+    public boolean hasArista(Consultas estado) {
+        GrafoSintetico sintetico = estado.sintetico;
+        int a = estado.siguienteArista();
+        return estado.grafo.hasArista(sintetico.getVertice(sintetico.getOrigen(a)),
+                sintetico.getVertice(sintetico.getDestino(a)));
+    }
+
+    @Benchmark
+    public double getPeso(Consultas estado) {
+        GrafoSintetico sintetico = estado.sintetico;
+        int a = estado.siguienteArista();
+        return estado.grafo.getPeso(sintetico.getVertice(sintetico.getOrigen(a)),
+                sintetico.getVertice(sintetico.getDestino(a)));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3, batchSize = LOTE)
+    @Measurement(iterations = 10, batchSize = LOTE)
+    public void deleteVertice(Borrado estado) {
+        estado.grafo.deleteVertice(estado.sintetico.getVertice(estado.orden[estado.siguiente++]));
+    }
+}
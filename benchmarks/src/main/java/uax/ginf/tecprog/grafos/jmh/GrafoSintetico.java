@@ -0,0 +1,224 @@
+package uax.ginf.tecprog.grafos.jmh;
+
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.SplittableRandom;
+
+/**
+ * Grafo sintético generado a partir de una semilla, guardado como arreglos de aristas para poder construir
+ * con él tantos {@link Grafo} o {@link GrafoCSR} como haga falta. La misma topología, tamaño y semilla
+ * producen siempre las mismas aristas, de modo que los resultados de dos versiones son comparables.
+ */
+public final class GrafoSintetico {
+
+    /**
+     * Estructura del grafo generado.
+     */
+    public enum Topologia {
+        /** Aristas entre pares de vértices elegidos al azar (Erdős–Rényi G(n, m)): grados casi uniformes. */
+        ERDOS_RENYI,
+        /** R-MAT con a=0.57, b=c=0.19: grados con ley de potencias y algunos vértices con muchísimos vecinos. */
+        RMAT,
+        /** Rejilla cuadrada con vecinos a 4 y pesos entre 1 y 10, parecida a una red de carreteras. */
+        REJILLA
+    }
+
+    public static final int GRADO_MEDIO = 8; // Aristas por vértice en ERDOS_RENYI y RMAT
+
+    private final Vertice[] vertices; // Vértice de cada índice
+    private final int[] origenes; // Índice del origen de cada arista
+    private final int[] destinos; // Índice del destino de cada arista
+    private final double[] pesos; // Peso de cada arista
+
+    private GrafoSintetico(Vertice[] vertices, int[] origenes, int[] destinos, double[] pesos) {
+        this.vertices = vertices;
+        this.origenes = origenes;
+        this.destinos = destinos;
+        this.pesos = pesos;
+    }
+
+    /**
+     * Genera un grafo sintético.
+     * @param topologia la estructura del grafo.
+     * @param numVertices el número aproximado de vértices; una rejilla lo redondea a un cuadrado.
+     * @param semilla la semilla del generador aleatorio.
+     * @return el grafo generado.
+     */
+    public static GrafoSintetico generar(Topologia topologia, int numVertices, long semilla) {
+        SplittableRandom random = new SplittableRandom(semilla);
+        return switch (topologia) {
+            case ERDOS_RENYI -> erdosRenyi(numVertices, random);
+            case RMAT -> rmat(numVertices, random);
+            case REJILLA -> rejilla(numVertices, random);
+        };
+    }
+
+    private static GrafoSintetico erdosRenyi(int n, SplittableRandom random) {
+        int m = n * GRADO_MEDIO;
+        int[] origenes = new int[m];
+        int[] destinos = new int[m];
+        double[] pesos = new double[m];
+        for (int a = 0; a < m; a++) {
+            origenes[a] = random.nextInt(n);
+            destinos[a] = random.nextInt(n);
+            pesos[a] = 1.0 + random.nextDouble() * 9.0;
+        }
+        return new GrafoSintetico(crearVertices(n), origenes, destinos, pesos);
+    }
+
+    private static GrafoSintetico rmat(int n, SplittableRandom random) {
+        int escala = 32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1)); // Bits para numerar n vértices
+        int m = n * GRADO_MEDIO;
+        int[] origenes = new int[m];
+        int[] destinos = new int[m];
+        double[] pesos = new double[m];
+        for (int a = 0; a < m; a++) {
+            int origen;
+            int destino;
+            do {    // Desciende por los cuadrantes de la matriz de adyacencia; descarta lo que cae fuera de n
+                origen = 0;
+                destino = 0;
+                for (int bit = 0; bit < escala; bit++) {
+                    double p = random.nextDouble();
+                    if (p >= 0.57) {
+                        if (p < 0.76) {
+                            destino |= 1 << bit;
+                        } else if (p < 0.95) {
+                            origen |= 1 << bit;
+                        } else {
+                            origen |= 1 << bit;
+                            destino |= 1 << bit;
+                        }
+                    }
+                }
+            } while (origen >= n || destino >= n);
+            origenes[a] = origen;
+            destinos[a] = destino;
+            pesos[a] = 1.0 + random.nextDouble() * 9.0;
+        }
+        return new GrafoSintetico(crearVertices(n), origenes, destinos, pesos);
+    }
+
+    private static GrafoSintetico rejilla(int n, SplittableRandom random) {
+        int lado = Math.max(2, (int) Math.sqrt(n));
+        int numVertices = lado * lado;
+        int m = 2 * lado * (lado - 1);
+        int[] origenes = new int[m];
+        int[] destinos = new int[m];
+        double[] pesos = new double[m];
+        int a = 0;
+        for (int fila = 0; fila < lado; fila++) {
+            for (int columna = 0; columna < lado; columna++) {
+                int v = fila * lado + columna;
+                if (columna + 1 < lado) {
+                    origenes[a] = v;
+                    destinos[a] = v + 1;
+                    pesos[a++] = 1 + random.nextInt(10);
+                }
+                if (fila + 1 < lado) {
+                    origenes[a] = v;
+                    destinos[a] = v + lado;
+                    pesos[a++] = 1 + random.nextInt(10);
+                }
+            }
+        }
+        return new GrafoSintetico(crearVertices(numVertices), origenes, destinos, pesos);
+    }
+
+    private static Vertice[] crearVertices(int n) {
+        Vertice[] vertices = new Vertice[n];
+        for (int v = 0; v < n; v++) {
+            vertices[v] = new Vertice("v" + v, null);
+        }
+        return vertices;
+    }
+
+    /**
+     * Construye un {@link Grafo} con los vértices y aristas generados.
+     * @param esDirigido si el grafo es dirigido.
+     * @return el grafo.
+     */
+    public Grafo construirGrafo(boolean esDirigido) {
+        Grafo grafo = construirVacio(esDirigido);
+        for (int a = 0; a < origenes.length; a++) {
+            grafo.addAristaPeso(vertices[origenes[a]], vertices[destinos[a]], pesos[a]);
+        }
+        return grafo;
+    }
+
+    /**
+     * Construye un {@link Grafo} con los vértices generados y sin aristas.
+     * @param esDirigido si el grafo es dirigido.
+     * @return el grafo.
+     */
+    public Grafo construirVacio(boolean esDirigido) {
+        Grafo grafo = new Grafo(esDirigido);
+        for (Vertice vertice : vertices) {
+            grafo.addVertice(vertice);
+        }
+        return grafo;
+    }
+
+    /**
+     * Construye una {@link GrafoCSR} con los vértices y aristas generados, sin pasar por un {@link Grafo}.
+     * @param esDirigido si el grafo es dirigido.
+     * @return la instantánea CSR.
+     */
+    public GrafoCSR construirCSR(boolean esDirigido) {
+        return GrafoCSR.desdeAristas(esDirigido, vertices, origenes, destinos, pesos, origenes.length);
+    }
+
+    /**
+     * Devuelve el vértice de un índice.
+     * @param indice el índice, entre 0 y getNumVertices()-1.
+     * @return el vértice.
+     */
+    public Vertice getVertice(int indice) {
+        return vertices[indice];
+    }
+
+    /**
+     * Devuelve el número de vértices generados.
+     * @return el número de vértices.
+     */
+    public int getNumVertices() {
+        return vertices.length;
+    }
+
+    /**
+     * Devuelve el número de aristas generadas, contando una vez cada arista no dirigida.
+     * @return el número de aristas.
+     */
+    public int getNumAristas() {
+        return origenes.length;
+    }
+
+    /**
+     * Devuelve el índice del vértice de origen de una arista.
+     * @param arista la posición de la arista.
+     * @return el índice del origen.
+     */
+    public int getOrigen(int arista) {
+        return origenes[arista];
+    }
+
+    /**
+     * Devuelve el índice del vértice de destino de una arista.
+     * @param arista la posición de la arista.
+     * @return el índice del destino.
+     */
+    public int getDestino(int arista) {
+        return destinos[arista];
+    }
+
+    /**
+     * Devuelve el peso de una arista.
+     * @param arista la posición de la arista.
+     * @return el peso.
+     */
+    public double getPeso(int arista) {
+        return pesos[arista];
+    }
+}
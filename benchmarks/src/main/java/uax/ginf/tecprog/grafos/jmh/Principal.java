@@ -0,0 +1,44 @@
+package uax.ginf.tecprog.grafos.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Punto de entrada de benchmarks.jar. Acepta las mismas opciones que org.openjdk.jmh.Main (por ejemplo
+ * {@code -p numVertices=10000} o un patrón con los benchmarks a ejecutar), y añade dos valores por defecto:
+ * el perfilador de GC, que informa de los bytes asignados por operación ({@code gc.alloc.rate.norm}), y los
+ * resultados en JSON en {@code jmh-resultados.json}, para compararlos entre versiones.
+ */
+public class Principal {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions opciones = new CommandLineOptions(args);
+        if (opciones.shouldHelp()) {
+            opciones.showHelp();
+            return;
+        }
+        if (opciones.shouldList()) {
+            new Runner(opciones).list();
+            return;
+        }
+        ChainedOptionsBuilder constructor = new OptionsBuilder().parent(opciones);
+        if (opciones.getProfilers().isEmpty()) {
+            constructor.addProfiler(GCProfiler.class);
+        }
+        if (!opciones.getResultFormat().hasValue()) {
+            constructor.resultFormat(ResultFormatType.JSON);
+        }
+        if (!opciones.getResult().hasValue()) {
+            constructor.result("jmh-resultados.json");
+        }
+        new Runner(constructor.build()).run();
+    }
+}
@@ -1,5 +1,38 @@
 package uax.ginf.tecprog.grafos.algoritmos;
 
+import uax.ginf.tecprog.grafos.modelo.AdyacenciaIndexada;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.modelo.VisitanteVecinos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Búsqueda en anchura (BFS) sobre unas {@link AdyacenciaIndexada}.
+ * Calcula distancias en número de aristas y el árbol de padres desde un vértice de origen.
+ * Una misma instancia se puede reutilizar para muchas búsquedas desde orígenes distintos:
+ * la cola y las marcas de visita se reservan una sola vez en el constructor, de modo que
+ * cada llamada a {@link #ejecutar(int)} no crea objetos.
+ * <p>
+ * Para grafos grandes de diámetro pequeño, {@link #ejecutarParalelo(int, ForkJoinPool)} recorre el grafo
+ * nivel a nivel repartiendo cada nivel entre los hilos de un ForkJoinPool, y alterna entre la expansión
+ * descendente (de la frontera hacia sus vecinos) y la ascendente (cada vértice no visitado busca un padre
+ * en la frontera entre sus aristas entrantes) según el tamaño de la frontera.
+ * <p>
+ * Sobre una {@link GrafoCSR} las aristas se leen directamente de sus arreglos. Cualquier otra adyacencia,
+ * como un {@link uax.ginf.tecprog.grafos.modelo.GrafoDirecto} o un {@link uax.ginf.tecprog.grafos.io.GrafoMapeado},
+ * se recorre con {@link AdyacenciaIndexada#recorrerVecinos(int, VisitanteVecinos)}; como no tiene aristas
+ * entrantes, el modo paralelo solo usa la expansión descendente, y las consultas por {@link Vertice} no
+ * están disponibles.
+ */
 public class BFS {
     /*
     BFS(grafo, nodoInicio)
@@ -37,4 +70,439 @@ Consideraciones:
     La elección del nodo de inicio puede afectar partes del grafo exploradas por BFS, especialmente en grafos no conexos.
     Para grafos ponderados, donde estás interesado en el camino más corto por peso en lugar de por número de aristas, considera usar el algoritmo de Dijkstra o A*.
      */
+
+    private final AdyacenciaIndexada grafo; // Grafo sobre el que se realizan las búsquedas
+    private final GrafoCSR csr; // El mismo grafo si es una instantánea CSR, o null
+    private final int[] cola; // Cola circular de índices de vértices
+    private final int mascara; // Máscara para dar la vuelta en la cola circular
+    private final int[] distancias; // Distancia al origen de cada vértice visitado
+    private final int[] padres; // Padre de cada vértice en el árbol de la búsqueda
+    private final int[] marcas; // Época en la que se visitó cada vértice
+    private int epoca; // Época de la búsqueda actual; un vértice está visitado si marcas[v] == epoca
+    private int padreVisita; // Vértice que se expande, fuera de una GrafoCSR
+    private int distanciaVisita; // Distancia de los vecinos que descubre
+    private int finCola; // Final de la cola mientras se expande
+    private final VisitanteVecinos descubrimiento = this::descubrir; // Se crea una vez, no en cada vértice
+
+    private static final int ALFA = 14; // Se pasa a ascendente si la frontera tiene más de 1/ALFA de las aristas sin explorar
+    private static final int BETA = 24; // Se vuelve a descendente si la frontera tiene menos de 1/BETA de los vértices
+    private static final int UMBRAL_TAREA = 2048; // Número de vértices a partir del cual se divide una tarea
+
+    private GrafoCSR traspuesto; // Aristas entrantes, para la expansión ascendente; null fuera de una GrafoCSR
+    private AtomicLongArray visitados; // Conjunto de bits de vértices visitados en el modo paralelo
+    private AtomicLongArray fronteraBits; // Frontera actual como conjunto de bits (expansión ascendente)
+    private AtomicLongArray siguienteBits; // Siguiente frontera como conjunto de bits (expansión ascendente)
+    private int[] frontera; // Frontera actual como lista (expansión descendente)
+    private int[] siguiente; // Siguiente frontera como lista (expansión descendente)
+    private final AtomicInteger tamSiguiente = new AtomicInteger(); // Vértices descubiertos en el nivel actual
+    private final AtomicLong gradoSiguiente = new AtomicLong(); // Suma de grados de los vértices descubiertos
+
+    /**
+     * Constructor para la clase BFS.
+     * @param grafo las adyacencias del grafo a recorrer.
+     */
+    public BFS(AdyacenciaIndexada grafo) {
+        this.grafo = grafo;
+        this.csr = grafo instanceof GrafoCSR instantanea ? instantanea : null;
+        int n = grafo.getNumVertices();
+        int capacidad = Integer.highestOneBit(Math.max(1, n - 1)) << 1; // Potencia de dos >= n
+        this.cola = new int[capacidad];
+        this.mascara = capacidad - 1;
+        this.distancias = new int[n];
+        this.padres = new int[n];
+        this.marcas = new int[n];
+        this.epoca = 0;
+    }
+
+    /**
+     * Recorre en anchura todos los vértices alcanzables desde el origen.
+     * @param origen el índice del vértice de origen.
+     */
+    public void ejecutar(int origen) {
+        ejecutar(origen, -1);
+    }
+
+    /**
+     * Recorre en anchura desde el origen y se detiene en cuanto descubre el destino.
+     * Las distancias de los vértices descubiertos hasta ese momento son correctas.
+     * @param origen el índice del vértice de origen.
+     * @param destino el índice del vértice de destino, o -1 para recorrer todo lo alcanzable.
+     * @return la distancia del origen al destino, o -1 si no es alcanzable.
+     */
+    public int ejecutar(int origen, int destino) {
+        nuevaEpoca();
+        int cabeza = 0;
+        int fin = 0;
+        visitar(origen, -1, 0);
+        cola[fin++ & mascara] = origen;
+        if (origen == destino) {
+            return 0;
+        }
+
+        while (cabeza != fin) {
+            int actual = cola[cabeza++ & mascara];
+            int distancia = distancias[actual] + 1;
+            if (csr == null) {
+                padreVisita = actual;
+                distanciaVisita = distancia;
+                finCola = fin;
+                grafo.recorrerVecinos(actual, descubrimiento);
+                fin = finCola;
+                if (destino >= 0 && marcas[destino] == epoca) {
+                    return distancia;
+                }
+                continue;
+            }
+            for (int a = csr.getInicio(actual), ultima = csr.getFin(actual); a < ultima; a++) {
+                int vecino = csr.getDestino(a);
+                if (marcas[vecino] != epoca) {  // Si el vecino no ha sido visitado
+                    visitar(vecino, actual, distancia);
+                    if (vecino == destino) {
+                        return distancia;
+                    }
+                    cola[fin++ & mascara] = vecino;
+                }
+            }
+        }
+        return destino < 0 ? -1 : getDistancia(destino);
+    }
+
+    /**
+     * Recorre en anchura todos los vértices alcanzables desde el vértice de origen.
+     * @param origen el vértice de origen.
+     * @throws UnsupportedOperationException si el grafo no es una {@link GrafoCSR}.
+     */
+    public void ejecutar(Vertice origen) {
+        ejecutar(instantanea().getIndice(origen), -1);
+    }
+
+    /**
+     * Recorre en anchura desde el origen repartiendo cada nivel entre los hilos del pool.
+     * Las distancias obtenidas son las mismas que las de {@link #ejecutar(int)}; el padre de cada vértice
+     * es uno cualquiera de sus vecinos del nivel anterior. Los arreglos auxiliares se reservan en la
+     * primera llamada y se reutilizan en las siguientes.
+     * @param origen el índice del vértice de origen.
+     * @param pool el pool de hilos en el que se ejecutan los niveles.
+     */
+    public void ejecutarParalelo(int origen, ForkJoinPool pool) {
+        prepararParalelo();
+        nuevaEpoca();
+        limpiar(visitados);
+        int n = grafo.getNumVertices();
+
+        marcar(visitados, origen);
+        visitar(origen, -1, 0);
+        frontera[0] = origen;
+        int tamFrontera = 1;
+        long aristasFrontera = grafo.getGrado(origen);
+        long aristasSinExplorar = csr == null ? 0 : csr.getNumAristas() - aristasFrontera;
+        boolean ascendente = false;
+
+        for (int nivel = 1; tamFrontera > 0; nivel++) {
+            // Elegir la dirección de expansión del nivel según el tamaño de la frontera
+            if (!ascendente && traspuesto != null && aristasFrontera > aristasSinExplorar / ALFA) {
+                limpiar(fronteraBits);
+                for (int i = 0; i < tamFrontera; i++) {
+                    marcar(fronteraBits, frontera[i]);
+                }
+                ascendente = true;
+            } else if (ascendente && tamFrontera < n / BETA) {
+                tamFrontera = listar(fronteraBits, frontera);
+                ascendente = false;
+            }
+
+            tamSiguiente.set(0);
+            gradoSiguiente.set(0);
+            if (ascendente) {
+                limpiar(siguienteBits);
+                pool.invoke(new ExpansionAscendente(this, 0, n, nivel));
+                AtomicLongArray aux = fronteraBits;
+                fronteraBits = siguienteBits;
+                siguienteBits = aux;
+            } else {
+                pool.invoke(new ExpansionDescendente(this, 0, tamFrontera, nivel));
+                int[] aux = frontera;
+                frontera = siguiente;
+                siguiente = aux;
+            }
+            tamFrontera = tamSiguiente.get();
+            aristasFrontera = gradoSiguiente.get();
+            aristasSinExplorar -= aristasFrontera;
+        }
+    }
+
+    /**
+     * Indica si un vértice fue alcanzado en la última búsqueda.
+     * @param vertice el índice del vértice.
+     * @return true si fue alcanzado, false en caso contrario.
+     */
+    public boolean esAlcanzable(int vertice) {
+        return marcas[vertice] == epoca;
+    }
+
+    /**
+     * Devuelve la distancia, en número de aristas, desde el origen de la última búsqueda.
+     * @param vertice el índice del vértice.
+     * @return la distancia, o -1 si el vértice no fue alcanzado.
+     */
+    public int getDistancia(int vertice) {
+        return marcas[vertice] == epoca ? distancias[vertice] : -1;
+    }
+
+    /**
+     * Devuelve el padre de un vértice en el árbol de la última búsqueda.
+     * @param vertice el índice del vértice.
+     * @return el índice del padre, o -1 si es el origen o no fue alcanzado.
+     */
+    public int getPadre(int vertice) {
+        return marcas[vertice] == epoca ? padres[vertice] : -1;
+    }
+
+    /**
+     * Copia las distancias de la última búsqueda en un arreglo proporcionado por el llamador,
+     * de forma que no haga falta crear uno nuevo en cada consulta.
+     * @param destino arreglo de tamaño getNumVertices(); los vértices no alcanzados quedan a -1.
+     */
+    public void copiarDistancias(int[] destino) {
+        for (int v = 0; v < distancias.length; v++) {
+            destino[v] = getDistancia(v);
+        }
+    }
+
+    /**
+     * Copia los padres de la última búsqueda en un arreglo proporcionado por el llamador.
+     * @param destino arreglo de tamaño getNumVertices(); el origen y los vértices no alcanzados quedan a -1.
+     */
+    public void copiarPadres(int[] destino) {
+        for (int v = 0; v < padres.length; v++) {
+            destino[v] = getPadre(v);
+        }
+    }
+
+    /**
+     * Reconstruye el camino más corto (en número de aristas) desde el origen de la última búsqueda.
+     * @param destino el vértice de destino.
+     * @return la lista de vértices desde el origen hasta el destino, o una lista vacía si no es alcanzable.
+     * @throws UnsupportedOperationException si el grafo no es una {@link GrafoCSR}.
+     */
+    public List<Vertice> getCamino(Vertice destino) {
+        GrafoCSR grafo = instantanea();
+        int actual = grafo.getIndice(destino);
+        if (!esAlcanzable(actual)) {
+            return Collections.emptyList();
+        }
+        List<Vertice> camino = new ArrayList<>(distancias[actual] + 1);
+        for (; actual != -1; actual = padres[actual]) {
+            camino.add(grafo.getVertice(actual));
+        }
+        Collections.reverse(camino);
+        return camino;
+    }
+
+    /**
+     * Encola un vecino no visitado del vértice que se expande; es el visitante del recorrido fuera de una GrafoCSR.
+     */
+    private void descubrir(int vecino, double peso) {
+        if (marcas[vecino] != epoca) {
+            visitar(vecino, padreVisita, distanciaVisita);
+            cola[finCola++ & mascara] = vecino;
+        }
+    }
+
+    private GrafoCSR instantanea() {
+        if (csr == null) {
+            throw new UnsupportedOperationException("Las consultas por vértice solo se admiten sobre una GrafoCSR");
+        }
+        return csr;
+    }
+
+    private void visitar(int vertice, int padre, int distancia) {
+        marcas[vertice] = epoca;
+        padres[vertice] = padre;
+        distancias[vertice] = distancia;
+    }
+
+    private void prepararParalelo() {
+        if (visitados == null) {    // Los arreglos del modo paralelo solo se reservan si se usa
+            int n = grafo.getNumVertices();
+            int palabras = (n + 63) >>> 6;
+            traspuesto = csr == null ? null : csr.traspuesto();
+            visitados = new AtomicLongArray(palabras);
+            fronteraBits = new AtomicLongArray(palabras);
+            siguienteBits = new AtomicLongArray(palabras);
+            frontera = new int[Math.max(1, n)];
+            siguiente = new int[Math.max(1, n)];
+        }
+    }
+
+    /**
+     * Marca un vértice en un conjunto de bits compartido entre hilos.
+     * @return true si este hilo ha sido el que lo ha marcado, false si ya estaba marcado.
+     */
+    private static boolean marcar(AtomicLongArray bits, int vertice) {
+        int palabra = vertice >>> 6;
+        long bit = 1L << vertice;
+        long actual = bits.get(palabra);
+        while ((actual & bit) == 0) {
+            long previo = bits.compareAndExchange(palabra, actual, actual | bit);
+            if (previo == actual) {
+                return true;
+            }
+            actual = previo;
+        }
+        return false;
+    }
+
+    private static boolean estaMarcado(AtomicLongArray bits, int vertice) {
+        return (bits.get(vertice >>> 6) & (1L << vertice)) != 0;
+    }
+
+    private static void limpiar(AtomicLongArray bits) {
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0L);
+        }
+    }
+
+    /**
+     * Vuelca en una lista los vértices marcados en un conjunto de bits.
+     * @return el número de vértices volcados.
+     */
+    private static int listar(AtomicLongArray bits, int[] lista) {
+        int tam = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            long palabra = bits.get(i);
+            while (palabra != 0) {
+                lista[tam++] = (i << 6) + Long.numberOfTrailingZeros(palabra);
+                palabra &= palabra - 1;
+            }
+        }
+        return tam;
+    }
+
+    /**
+     * Expande en paralelo un tramo de la frontera hacia los vecinos aún no visitados.
+     */
+    private static final class ExpansionDescendente extends RecursiveAction {
+        private final BFS bfs;
+        private final int desde;
+        private final int hasta;
+        private final int nivel;
+        private int[] local; // Los descubiertos se agrupan antes de reservar hueco en la lista compartida
+        private int tamLocal;
+        private long grados; // Suma de grados de los descubiertos
+
+        ExpansionDescendente(BFS bfs, int desde, int hasta, int nivel) {
+            this.bfs = bfs;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.nivel = nivel;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > UMBRAL_TAREA) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new ExpansionDescendente(bfs, desde, medio, nivel),
+                        new ExpansionDescendente(bfs, medio, hasta, nivel));
+                return;
+            }
+            GrafoCSR csr = bfs.csr;
+            local = new int[256];
+            int[] vecinos = csr == null ? new int[16] : null;  // Vecinos copiados fuera de una GrafoCSR
+            for (int i = desde; i < hasta; i++) {
+                int actual = bfs.frontera[i];
+                if (csr != null) {
+                    for (int a = csr.getInicio(actual), ultima = csr.getFin(actual); a < ultima; a++) {
+                        descubrir(csr.getDestino(a), actual);
+                    }
+                } else {
+                    int grado = bfs.grafo.getGrado(actual);
+                    if (vecinos.length < grado) {
+                        vecinos = new int[Math.max(grado, 2 * vecinos.length)];
+                    }
+                    bfs.grafo.copiarVecinos(actual, vecinos, null);
+                    for (int j = 0; j < grado; j++) {
+                        descubrir(vecinos[j], actual);
+                    }
+                }
+            }
+            volcar();
+            bfs.gradoSiguiente.addAndGet(grados);
+        }
+
+        private void descubrir(int vecino, int actual) {
+            if (bfs.marcas[vecino] != bfs.epoca && marcar(bfs.visitados, vecino)) {
+                bfs.visitar(vecino, actual, nivel);
+                grados += bfs.grafo.getGrado(vecino);
+                local[tamLocal++] = vecino;
+                if (tamLocal == local.length) {
+                    volcar();
+                }
+            }
+        }
+
+        private void volcar() {
+            if (tamLocal > 0) {
+                int posicion = bfs.tamSiguiente.getAndAdd(tamLocal);
+                System.arraycopy(local, 0, bfs.siguiente, posicion, tamLocal);
+                tamLocal = 0;
+            }
+        }
+    }
+
+    /**
+     * Recorre en paralelo un tramo de vértices no visitados buscando un padre en la frontera actual.
+     */
+    private static final class ExpansionAscendente extends RecursiveAction {
+        private final BFS bfs;
+        private final int desde;
+        private final int hasta;
+        private final int nivel;
+
+        ExpansionAscendente(BFS bfs, int desde, int hasta, int nivel) {
+            this.bfs = bfs;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.nivel = nivel;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > UMBRAL_TAREA) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new ExpansionAscendente(bfs, desde, medio, nivel),
+                        new ExpansionAscendente(bfs, medio, hasta, nivel));
+                return;
+            }
+            GrafoCSR entrantes = bfs.traspuesto;
+            int descubiertos = 0;
+            long grados = 0;
+            for (int v = desde; v < hasta; v++) {
+                if (estaMarcado(bfs.visitados, v)) {
+                    continue;
+                }
+                for (int a = entrantes.getInicio(v), ultima = entrantes.getFin(v); a < ultima; a++) {
+                    int padre = entrantes.getDestino(a);
+                    if (estaMarcado(bfs.fronteraBits, padre)) {  // Basta con encontrar un padre en la frontera
+                        marcar(bfs.visitados, v);
+                        marcar(bfs.siguienteBits, v);
+                        bfs.visitar(v, padre, nivel);
+                        descubiertos++;
+                        grados += bfs.grafo.getGrado(v);
+                        break;
+                    }
+                }
+            }
+            bfs.tamSiguiente.addAndGet(descubiertos);
+            bfs.gradoSiguiente.addAndGet(grados);
+        }
+    }
+
+    private void nuevaEpoca() {
+        if (epoca == Integer.MAX_VALUE) {   // Al agotar las épocas se reinician las marcas
+            Arrays.fill(marcas, 0);
+            epoca = 0;
+        }
+        epoca++;
+    }
 }
@@ -0,0 +1,95 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import uax.ginf.tecprog.grafos.modelo.Arista;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bosque de expansión mínima obtenido por {@link Kurskal}: un árbol de expansión mínima por cada
+ * componente conexa del grafo. Las aristas se guardan en arreglos primitivos; los objetos
+ * {@link Arista} solo se crean si se piden con {@link #getAristas()}.
+ */
+public class BosqueExpansion {
+    private final GrafoCSR grafo; // Grafo del que procede el bosque
+    private final int[] origenes; // Índice del primer extremo de cada arista
+    private final int[] destinos; // Índice del segundo extremo de cada arista
+    private final double[] pesos; // Peso de cada arista
+    private final double pesoTotal; // Suma de los pesos de todas las aristas
+
+    BosqueExpansion(GrafoCSR grafo, int[] origenes, int[] destinos, double[] pesos) {
+        this.grafo = grafo;
+        this.origenes = origenes;
+        this.destinos = destinos;
+        this.pesos = pesos;
+        double suma = 0;
+        for (double peso : pesos) {
+            suma += peso;
+        }
+        this.pesoTotal = suma;
+    }
+
+    /**
+     * Devuelve el número de aristas del bosque.
+     * @return el número de aristas.
+     */
+    public int getNumAristas() {
+        return origenes.length;
+    }
+
+    /**
+     * Devuelve el número de árboles del bosque, es decir, de componentes conexas del grafo.
+     * @return el número de árboles.
+     */
+    public int getNumArboles() {
+        return grafo.getNumVertices() - origenes.length;
+    }
+
+    /**
+     * Devuelve la suma de los pesos de las aristas del bosque.
+     * @return el peso total.
+     */
+    public double getPesoTotal() {
+        return pesoTotal;
+    }
+
+    /**
+     * Devuelve el índice del primer extremo de una arista del bosque.
+     * @param i la posición de la arista, entre 0 y getNumAristas()-1.
+     * @return el índice del vértice.
+     */
+    public int getOrigen(int i) {
+        return origenes[i];
+    }
+
+    /**
+     * Devuelve el índice del segundo extremo de una arista del bosque.
+     * @param i la posición de la arista, entre 0 y getNumAristas()-1.
+     * @return el índice del vértice.
+     */
+    public int getDestino(int i) {
+        return destinos[i];
+    }
+
+    /**
+     * Devuelve el peso de una arista del bosque.
+     * @param i la posición de la arista, entre 0 y getNumAristas()-1.
+     * @return el peso.
+     */
+    public double getPeso(int i) {
+        return pesos[i];
+    }
+
+    /**
+     * Devuelve las aristas del bosque como objetos {@link Arista}.
+     * @return una lista nueva con las aristas.
+     */
+    public List<Arista> getAristas() {
+        List<Arista> aristas = new ArrayList<>(origenes.length);
+        for (int i = 0; i < origenes.length; i++) {
+            aristas.add(new Arista(grafo.getVertice(origenes[i]), grafo.getVertice(destinos[i]), pesos[i]));
+        }
+        return aristas;
+    }
+}
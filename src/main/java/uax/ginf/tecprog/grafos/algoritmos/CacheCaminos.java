@@ -0,0 +1,374 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import uax.ginf.tecprog.grafos.modelo.GrafoAbstracto;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caché de caminos entre pares de vértices de un {@link GrafoAbstracto}, para cargas en las que unos pocos pares
+ * (origen, destino) concentran la mayoría de las consultas. Guarda tanto caminos mínimos por peso,
+ * calculados con {@link DijkstraBidireccional}, como caminos con el menor número de aristas, calculados
+ * con {@link BFS}; una consulta repetida devuelve el resultado guardado sin buscar de nuevo.
+ * <p>
+ * Nunca devuelve un camino obsoleto: cada consulta compara {@link GrafoAbstracto#getNumModificaciones()} con el
+ * valor con el que se calcularon los resultados y, si el grafo ha cambiado, los descarta todos. Las
+ * búsquedas se hacen sobre una {@link GrafoCSR} que se construye en el primer fallo tras cada cambio.
+ * <p>
+ * El tamaño se limita con un presupuesto de memoria aproximado, que cuenta un coste fijo por entrada
+ * más el de cada vértice del camino. Al superarlo se expulsa el resultado usado hace más tiempo (LRU).
+ * Con la política {@link Politica#TINY_LFU}, además, un resultado nuevo solo entra si se ha consultado
+ * más veces que el que expulsaría, según un bosquejo count-min que cuenta con 4 bits cada consulta
+ * reciente y divide a la mitad todos los contadores cada cierto número de consultas, de modo que las
+ * consultas de un solo uso no desalojan a los pares frecuentes.
+ * <p>
+ * Los métodos están sincronizados: la caché puede compartirse entre hilos, aunque las búsquedas de los
+ * fallos no se solapan.
+ */
+public class CacheCaminos {
+
+    /**
+     * Política de expulsión cuando la caché supera su presupuesto.
+     */
+    public enum Politica {
+        /** Expulsa el resultado usado hace más tiempo y admite siempre el nuevo. */
+        LRU,
+        /** Expulsa como LRU, pero solo admite el resultado nuevo si es más frecuente que el expulsado. */
+        TINY_LFU
+    }
+
+    static final int BYTES_ENTRADA = 160; // Coste aproximado de una entrada: clave, resultado y nodo del mapa
+    static final int BYTES_VERTICE = 8; // Coste de cada vértice del camino guardado
+
+    private final GrafoAbstracto grafo; // Grafo consultado
+    private final long presupuesto; // Memoria máxima aproximada de los resultados, en bytes
+    private final Politica politica; // Política de expulsión
+    private final LinkedHashMap<Clave, Resultado> resultados; // Resultados en orden de uso, del más antiguo al más reciente
+    private final BosquejoFrecuencias frecuencias; // Frecuencia reciente de cada par, para TINY_LFU
+    private long version = -1; // Modificaciones del grafo con las que se calcularon los resultados
+    private long bytesUsados; // Memoria aproximada de los resultados guardados
+    private GrafoCSR csr; // Instantánea sobre la que se busca, o null si el grafo ha cambiado
+    private DijkstraBidireccional dijkstra; // Búsqueda por peso sobre la instantánea
+    private BFS bfs; // Búsqueda por número de aristas sobre la instantánea
+    private long numAciertos; // Consultas resueltas con un resultado guardado
+    private long numFallos; // Consultas que han tenido que buscar
+    private long numExpulsiones; // Resultados expulsados para dejar sitio
+    private long numRechazos; // Resultados nuevos que TINY_LFU no ha admitido
+    private long numInvalidaciones; // Veces que se han descartado los resultados porque el grafo ha cambiado
+
+    /**
+     * Constructor para una caché con la política {@link Politica#TINY_LFU}.
+     * @param grafo el grafo consultado.
+     * @param presupuesto la memoria máxima aproximada de los resultados, en bytes.
+     */
+    public CacheCaminos(GrafoAbstracto grafo, long presupuesto) {
+        this(grafo, presupuesto, Politica.TINY_LFU);
+    }
+
+    /**
+     * Constructor para la clase CacheCaminos.
+     * @param grafo el grafo consultado.
+     * @param presupuesto la memoria máxima aproximada de los resultados, en bytes.
+     * @param politica la política de expulsión.
+     * @throws IllegalArgumentException si el presupuesto no es positivo.
+     */
+    public CacheCaminos(GrafoAbstracto grafo, long presupuesto, Politica politica) {
+        if (presupuesto <= 0) {
+            throw new IllegalArgumentException("El presupuesto debe ser positivo: " + presupuesto);
+        }
+        this.grafo = grafo;
+        this.presupuesto = presupuesto;
+        this.politica = politica;
+        this.resultados = new LinkedHashMap<>(16, 0.75f, true);
+        this.frecuencias = politica == Politica.TINY_LFU
+                ? new BosquejoFrecuencias((int) Math.min(1 << 24, presupuesto / BYTES_ENTRADA)) : null;
+    }
+
+    /**
+     * Devuelve la distancia mínima por peso entre dos vértices.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return la distancia, o infinito si no es alcanzable.
+     * @throws uax.ginf.tecprog.grafos.excepciones.VerticeNoEncontradoExcepcion si algún vértice no está en el grafo.
+     */
+    public synchronized double getDistancia(Vertice origen, Vertice destino) {
+        return consultar(origen, destino, false).distancia;
+    }
+
+    /**
+     * Devuelve el camino mínimo por peso entre dos vértices.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return la lista inmodificable de vértices desde el origen hasta el destino, o una lista vacía si no es alcanzable.
+     * @throws uax.ginf.tecprog.grafos.excepciones.VerticeNoEncontradoExcepcion si algún vértice no está en el grafo.
+     */
+    public synchronized List<Vertice> getCamino(Vertice origen, Vertice destino) {
+        return consultar(origen, destino, false).getCamino();
+    }
+
+    /**
+     * Devuelve el menor número de aristas entre dos vértices.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return el número de aristas, o -1 si no es alcanzable.
+     * @throws uax.ginf.tecprog.grafos.excepciones.VerticeNoEncontradoExcepcion si algún vértice no está en el grafo.
+     */
+    public synchronized int getSaltos(Vertice origen, Vertice destino) {
+        return (int) consultar(origen, destino, true).distancia;
+    }
+
+    /**
+     * Devuelve un camino con el menor número de aristas entre dos vértices.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return la lista inmodificable de vértices desde el origen hasta el destino, o una lista vacía si no es alcanzable.
+     * @throws uax.ginf.tecprog.grafos.excepciones.VerticeNoEncontradoExcepcion si algún vértice no está en el grafo.
+     */
+    public synchronized List<Vertice> getCaminoSaltos(Vertice origen, Vertice destino) {
+        return consultar(origen, destino, true).getCamino();
+    }
+
+    /**
+     * Descarta todos los resultados guardados, sin tocar las métricas.
+     */
+    public synchronized void vaciar() {
+        resultados.clear();
+        bytesUsados = 0;
+    }
+
+    /**
+     * Devuelve el número de consultas resueltas con un resultado guardado.
+     * @return el número de aciertos.
+     */
+    public synchronized long getNumAciertos() {
+        return numAciertos;
+    }
+
+    /**
+     * Devuelve el número de consultas que han tenido que buscar el camino.
+     * @return el número de fallos.
+     */
+    public synchronized long getNumFallos() {
+        return numFallos;
+    }
+
+    /**
+     * Devuelve la proporción de consultas resueltas con un resultado guardado.
+     * @return la tasa de aciertos, entre 0 y 1, o 0 si aún no hay consultas.
+     */
+    public synchronized double getTasaAciertos() {
+        long total = numAciertos + numFallos;
+        return total == 0 ? 0.0 : (double) numAciertos / total;
+    }
+
+    /**
+     * Devuelve el número de resultados expulsados para no superar el presupuesto.
+     * @return el número de expulsiones.
+     */
+    public synchronized long getNumExpulsiones() {
+        return numExpulsiones;
+    }
+
+    /**
+     * Devuelve el número de resultados nuevos que {@link Politica#TINY_LFU} no ha admitido por ser menos
+     * frecuentes que el que habrían expulsado.
+     * @return el número de rechazos.
+     */
+    public synchronized long getNumRechazos() {
+        return numRechazos;
+    }
+
+    /**
+     * Devuelve cuántas veces se han descartado los resultados porque el grafo había cambiado.
+     * @return el número de invalidaciones.
+     */
+    public synchronized long getNumInvalidaciones() {
+        return numInvalidaciones;
+    }
+
+    /**
+     * Devuelve el número de resultados guardados.
+     * @return el número de entradas.
+     */
+    public synchronized int getNumEntradas() {
+        return resultados.size();
+    }
+
+    /**
+     * Devuelve la memoria aproximada que ocupan los resultados guardados.
+     * @return los bytes usados, nunca más que el presupuesto.
+     */
+    public synchronized long getBytesUsados() {
+        return bytesUsados;
+    }
+
+    private Resultado consultar(Vertice origen, Vertice destino, boolean saltos) {
+        long actual = grafo.getNumModificaciones();
+        if (actual != version) {
+            if (!resultados.isEmpty()) {
+                numInvalidaciones++;
+            }
+            vaciar();
+            csr = null;
+            version = actual;
+        }
+        Clave clave = new Clave(origen.getId(), destino.getId(), saltos);
+        if (frecuencias != null) {
+            frecuencias.incrementar(clave.hashCode());
+        }
+        Resultado resultado = resultados.get(clave);
+        if (resultado != null) {
+            numAciertos++;
+            return resultado;
+        }
+        numFallos++;
+        resultado = buscar(origen, destino, saltos);
+        guardar(clave, resultado);
+        return resultado;
+    }
+
+    private Resultado buscar(Vertice origen, Vertice destino, boolean saltos) {
+        if (csr == null) {
+            csr = new GrafoCSR(grafo);
+            dijkstra = null;
+            bfs = null;
+        }
+        int indiceOrigen = csr.getIndice(origen);
+        int indiceDestino = csr.getIndice(destino);
+        if (saltos) {
+            if (bfs == null) {
+                bfs = new BFS(csr);
+            }
+            int distancia = bfs.ejecutar(indiceOrigen, indiceDestino);
+            return new Resultado(distancia, bfs.getCamino(destino));
+        }
+        if (dijkstra == null) {
+            dijkstra = new DijkstraBidireccional(csr);
+        }
+        double distancia = dijkstra.ejecutar(indiceOrigen, indiceDestino);
+        return new Resultado(distancia, dijkstra.getCamino());
+    }
+
+    /**
+     * Guarda un resultado nuevo, expulsando los menos recientes hasta que quepa. Con TINY_LFU, si el
+     * candidato no es más frecuente que el primero que expulsaría, no se guarda.
+     */
+    private void guardar(Clave clave, Resultado resultado) {
+        if (resultado.bytes > presupuesto) {
+            numRechazos++;
+            return;
+        }
+        Iterator<Map.Entry<Clave, Resultado>> antiguos = resultados.entrySet().iterator();
+        boolean comparado = false;
+        while (bytesUsados + resultado.bytes > presupuesto) {
+            Map.Entry<Clave, Resultado> victima = antiguos.next();
+            if (frecuencias != null && !comparado) {
+                comparado = true;
+                if (frecuencias.estimar(clave.hashCode()) <= frecuencias.estimar(victima.getKey().hashCode())) {
+                    numRechazos++;
+                    return;
+                }
+            }
+            bytesUsados -= victima.getValue().bytes;
+            antiguos.remove();
+            numExpulsiones++;
+        }
+        resultados.put(clave, resultado);
+        bytesUsados += resultado.bytes;
+    }
+
+    /**
+     * Par consultado. Guarda los ids y no los vértices, porque renombrar un vértice cambiaría su hash.
+     */
+    private record Clave(String origen, String destino, boolean saltos) {
+    }
+
+    /**
+     * Resultado guardado de una consulta.
+     */
+    private static final class Resultado {
+        final double distancia; // Distancia por peso, o número de aristas
+        final Vertice[] camino; // Vértices del camino, vacío si no es alcanzable
+        final long bytes; // Memoria aproximada de la entrada
+
+        Resultado(double distancia, List<Vertice> camino) {
+            this.distancia = distancia;
+            this.camino = camino.toArray(new Vertice[0]);
+            this.bytes = BYTES_ENTRADA + (long) BYTES_VERTICE * this.camino.length;
+        }
+
+        List<Vertice> getCamino() {
+            return Collections.unmodifiableList(Arrays.asList(camino));
+        }
+    }
+
+    /**
+     * Bosquejo count-min de frecuencias: 4 filas de contadores de 4 bits empaquetados de 16 en 16 en
+     * enteros largos. Cada consulta incrementa un contador por fila, elegido con un hash distinto, y la
+     * frecuencia estimada es el mínimo de los cuatro. Tras tantas consultas como diez veces el número de
+     * contadores por fila, todos se dividen a la mitad para que pesen más las consultas recientes.
+     */
+    static final class BosquejoFrecuencias {
+        private static final long[] SEMILLAS = {
+                0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+        private static final long MITADES = 0x7777777777777777L; // Bits que quedan al dividir 16 contadores entre 2
+
+        private final long[] tabla; // 4 filas de contadores
+        private final int mascara; // Contadores por fila - 1
+        private final int muestras; // Incrementos entre dos divisiones
+        private int incrementos; // Incrementos desde la última división
+
+        /**
+         * Constructor para un bosquejo del tamaño adecuado a un número de entradas.
+         * @param entradas el número de entradas que se espera distinguir.
+         */
+        BosquejoFrecuencias(int entradas) {
+            int contadores = Integer.highestOneBit(Math.max(64, entradas - 1)) << 1; // Por fila, potencia de dos
+            this.tabla = new long[4 * contadores / 16];
+            this.mascara = contadores - 1;
+            this.muestras = 10 * contadores;
+        }
+
+        void incrementar(int hash) {
+            boolean incrementado = false;
+            for (int fila = 0; fila < 4; fila++) {
+                int contador = contador(hash, fila);
+                int palabra = contador >>> 4;
+                int desplazamiento = (contador & 15) << 2;
+                if (((tabla[palabra] >>> desplazamiento) & 15) < 15) {
+                    tabla[palabra] += 1L << desplazamiento;
+                    incrementado = true;
+                }
+            }
+            if (incrementado && ++incrementos == muestras) {
+                for (int i = 0; i < tabla.length; i++) {
+                    tabla[i] = (tabla[i] >>> 1) & MITADES;
+                }
+                incrementos /= 2;
+            }
+        }
+
+        int estimar(int hash) {
+            int minimo = 15;
+            for (int fila = 0; fila < 4; fila++) {
+                int contador = contador(hash, fila);
+                minimo = Math.min(minimo, (int) (tabla[contador >>> 4] >>> ((contador & 15) << 2)) & 15);
+            }
+            return minimo;
+        }
+
+        /**
+         * Posición global del contador de un hash en una fila.
+         */
+        private int contador(int hash, int fila) {
+            long mezcla = (hash + SEMILLAS[fila]) * SEMILLAS[(fila + 1) & 3];
+            return fila * (mascara + 1) + ((int) (mezcla >>> 32) & mascara);
+        }
+    }
+}
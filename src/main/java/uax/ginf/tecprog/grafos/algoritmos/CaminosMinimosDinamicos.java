@@ -0,0 +1,399 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import uax.ginf.tecprog.grafos.modelo.GrafoAbstracto;
+import uax.ginf.tecprog.grafos.modelo.OyenteGrafo;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.modelo.VisitanteAdyacentes;
+import uax.ginf.tecprog.grafos.util.DiccionarioVertices;
+import uax.ginf.tecprog.grafos.util.MonticuloIndexado;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Caminos mínimos desde un origen fijo en un {@link GrafoAbstracto} que se mantienen al día mientras el grafo cambia.
+ * Se registra como {@link OyenteGrafo} y, ante cada cambio de una arista, repara solo la parte afectada
+ * del árbol de caminos mínimos, en dos casos como en el algoritmo de Ramalingam y Reps:
+ * <ul>
+ *     <li>Si la arista abarata algún camino (arista nueva o peso menor), se propaga la mejora con Dijkstra
+ *     empezando solo por su destino.</li>
+ *     <li>Si la arista era del árbol y se encarece o desaparece, se invalida el subárbol que colgaba de
+ *     ella, cada vértice del subárbol toma la mejor distancia que le ofrecen sus predecesores de fuera
+ *     del subárbol, y Dijkstra termina de asentar el subárbol a partir de ellos.</li>
+ * </ul>
+ * Los cambios de aristas que no son del árbol y no abaratan nada no cuestan más que una comparación. Las
+ * distancias coinciden siempre con las de un Dijkstra completo sobre el grafo actual.
+ * <p>
+ * No admite pesos negativos: si aparece uno, o si se elimina el origen, las consultas posteriores lanzan
+ * IllegalStateException. Los métodos están sincronizados, así que también sirve con un
+ * {@link uax.ginf.tecprog.grafos.modelo.GrafoConcurrente}: los vértices que otro hilo ha eliminado y cuyo
+ * aviso aún no ha llegado no se recorren, y los reparará ese aviso.
+ */
+public final class CaminosMinimosDinamicos implements OyenteGrafo {
+    private final GrafoAbstracto grafo; // Grafo observado
+    private final Vertice origen; // Vértice desde el que se miden las distancias
+    private final DiccionarioVertices diccionario; // Índice de cada vértice en los arreglos
+    private double[] distancias; // Distancia desde el origen, o infinito si no es alcanzable
+    private int[] padres; // Predecesor en el árbol de caminos mínimos, o -1
+    private boolean[] enSubarbol; // Marca de los vértices del subárbol que se está reparando
+    private MonticuloIndexado monticulo; // Cola de prioridad de la propagación
+    private String error; // Motivo por el que las distancias dejaron de ser válidas, o null
+    private int numRevisados; // Vértices revisados en la última reparación
+
+    /**
+     * Constructor que calcula los caminos mínimos actuales y empieza a seguir los cambios del grafo.
+     * @param grafo el grafo, sin aristas de peso negativo.
+     * @param origen el vértice de origen.
+     * @throws NullPointerException si el origen no está en el grafo.
+     * @throws IllegalArgumentException si alguna arista tiene peso negativo.
+     */
+    public CaminosMinimosDinamicos(GrafoAbstracto grafo, Vertice origen) {
+        if (!grafo.contieneVertice(origen)) {
+            throw new NullPointerException("El vértice " + origen + " no existe en el grafo");
+        }
+        this.grafo = grafo;
+        this.origen = origen;
+        this.diccionario = new DiccionarioVertices(grafo.getNumVertices());
+        this.distancias = new double[0];
+        this.padres = new int[0];
+        this.enSubarbol = new boolean[0];
+        this.monticulo = new MonticuloIndexado(0);
+        synchronized (this) {
+            // Registrarse antes de leer el grafo: los avisos de otros hilos esperan al cerrojo y se aplican
+            // después del cálculo inicial, así que ningún cambio se pierde entre leer y escuchar
+            grafo.addOyente(this);
+            for (Vertice vertice : grafo.getVertices()) {
+                indice(vertice);
+            }
+            int indiceOrigen = indice(origen);
+            distancias[indiceOrigen] = 0;
+            monticulo.insertarODisminuir(indiceOrigen, 0);
+            propagar();
+            if (error != null) {
+                grafo.deleteOyente(this);
+                throw new IllegalArgumentException("Los caminos mínimos dinámicos no admiten aristas con peso negativo");
+            }
+        }
+    }
+
+    /**
+     * Deja de seguir los cambios del grafo. Las consultas posteriores devuelven las distancias de ese momento.
+     */
+    public void desconectar() {
+        grafo.deleteOyente(this);
+    }
+
+    /**
+     * Devuelve la distancia mínima actual desde el origen.
+     * @param vertice el vértice.
+     * @return la distancia, o infinito si no es alcanzable.
+     * @throws NullPointerException si el vértice no está en el grafo.
+     * @throws IllegalStateException si ha aparecido un peso negativo o se ha eliminado el origen.
+     */
+    public synchronized double getDistancia(Vertice vertice) {
+        return distancias[buscar(vertice)];
+    }
+
+    /**
+     * Reconstruye el camino mínimo actual hasta un vértice.
+     * @param destino el vértice de destino.
+     * @return la lista de vértices desde el origen hasta el destino, o una lista vacía si no es alcanzable.
+     * @throws NullPointerException si el vértice no está en el grafo.
+     * @throws IllegalStateException si ha aparecido un peso negativo o se ha eliminado el origen.
+     */
+    public synchronized List<Vertice> getCamino(Vertice destino) {
+        int actual = buscar(destino);
+        if (distancias[actual] == Double.POSITIVE_INFINITY) {
+            return Collections.emptyList();
+        }
+        List<Vertice> camino = new ArrayList<>();
+        for (; actual != -1; actual = padres[actual]) {
+            camino.add(diccionario.getVertice(actual));
+        }
+        Collections.reverse(camino);
+        return camino;
+    }
+
+    /**
+     * Devuelve el origen de los caminos.
+     * @return el vértice de origen.
+     */
+    public Vertice getOrigen() {
+        return origen;
+    }
+
+    /**
+     * Devuelve cuántos vértices tuvo que revisar la última reparación, como medida de su coste: un
+     * Dijkstra completo revisaría todos los alcanzables.
+     * @return el número de vértices revisados.
+     */
+    public synchronized int getNumRevisados() {
+        return numRevisados;
+    }
+
+    /**
+     * Da al vértice un índice, sin camino hasta que llegue alguna arista.
+     */
+    @Override
+    public synchronized void verticeAnadido(Vertice vertice) {
+        indice(vertice);
+    }
+
+    /**
+     * Repara los caminos si la arista abarata alguno o, si no es un multigrafo, si era del árbol y ha
+     * subido de peso.
+     */
+    @Override
+    public synchronized void aristaAnadida(Vertice origen, Vertice destino, double peso) {
+        cambiarArista(origen, destino, peso, !grafo.isEsMultigrafo());
+    }
+
+    /**
+     * Repara los caminos si la arista abarata alguno o si era del árbol y ha subido de peso.
+     */
+    @Override
+    public synchronized void pesoCambiado(Vertice origen, Vertice destino, double peso) {
+        cambiarArista(origen, destino, peso, true);
+    }
+
+    /**
+     * Repara el subárbol que colgaba de la arista, si era del árbol.
+     */
+    @Override
+    public synchronized void aristaEliminada(Vertice origen, Vertice destino) {
+        if (error != null) {
+            return;
+        }
+        numRevisados = 0;
+        int indiceOrigen = indice(origen);
+        int indiceDestino = indice(destino);
+        if (padres[indiceDestino] == indiceOrigen) {
+            reparar(indiceDestino);
+        }
+        if (!grafo.isEsDirigido() && padres[indiceOrigen] == indiceDestino) {
+            reparar(indiceOrigen);
+        }
+    }
+
+    /**
+     * Repara los subárboles que colgaban del vértice. Como sus aristas ya no están en el grafo, sus hijos
+     * se buscan recorriendo todos los vértices.
+     */
+    @Override
+    public synchronized void verticeEliminado(Vertice vertice) {
+        if (error != null) {
+            return;
+        }
+        if (vertice.getId().equals(origen.getId())) {
+            error = "Se ha eliminado el origen de los caminos mínimos";
+            return;
+        }
+        numRevisados = 0;
+        int indice = diccionario.quitar(vertice.getId());
+        if (indice < 0) {
+            return;
+        }
+        distancias[indice] = Double.POSITIVE_INFINITY;
+        padres[indice] = -1;
+        for (int hijo = 0; hijo < diccionario.getLimite(); hijo++) {
+            if (padres[hijo] == indice && diccionario.getVertice(hijo) != null) {
+                reparar(hijo);
+            }
+        }
+    }
+
+    /**
+     * Actualiza el id del vértice en el diccionario.
+     */
+    @Override
+    public synchronized void verticeRenombrado(Vertice vertice, String idAnterior) {
+        int indice = diccionario.buscar(idAnterior);
+        if (indice >= 0) {
+            diccionario.renombrar(indice, vertice);
+        }
+    }
+
+    /**
+     * Aplica el nuevo peso de una arista, en ambos sentidos si el grafo no es dirigido.
+     * @param puedeSubir si el peso puede haber subido (una arista que sustituye a otra o un cambio de peso).
+     */
+    private void cambiarArista(Vertice origen, Vertice destino, double peso, boolean puedeSubir) {
+        if (error != null) {
+            return;
+        }
+        if (peso < 0) {
+            error = "Ha aparecido una arista con peso negativo";
+            return;
+        }
+        numRevisados = 0;
+        int indiceOrigen = indice(origen);
+        int indiceDestino = indice(destino);
+        cambiarArista(indiceOrigen, indiceDestino, peso, puedeSubir);
+        if (!grafo.isEsDirigido()) {
+            cambiarArista(indiceDestino, indiceOrigen, peso, puedeSubir);
+        }
+    }
+
+    private void cambiarArista(int origen, int destino, double peso, boolean puedeSubir) {
+        double nueva = distancias[origen] + peso;
+        if (nueva < distancias[destino]) {  // Abarata el camino al destino: se propaga la mejora
+            distancias[destino] = nueva;
+            padres[destino] = origen;
+            monticulo.insertarODisminuir(destino, nueva);
+            propagar();
+        } else if (puedeSubir && padres[destino] == origen && nueva > distancias[destino]) {
+            reparar(destino);   // Era del árbol y ha subido: su subárbol puede alejarse
+        }
+    }
+
+    /**
+     * Recalcula las distancias del subárbol de caminos mínimos que cuelga de un vértice, después de que
+     * la arista que lo unía a su padre haya subido de peso o desaparecido.
+     */
+    private void reparar(int raiz) {
+        // 1. Subárbol afectado: los vértices cuyo camino pasaba por la raíz
+        int[] subarbol = new int[8];
+        int tamanio = 0;
+        subarbol[tamanio++] = raiz;
+        enSubarbol[raiz] = true;
+        for (int i = 0; i < tamanio; i++) {
+            int padre = subarbol[i];
+            int[][] pila = {subarbol};
+            int[] tam = {tamanio};
+            recorrerAdyacentes(padre, (vecino, peso) -> {
+                int hijo = indice(vecino);
+                if (padres[hijo] == padre && !enSubarbol[hijo]) {
+                    enSubarbol[hijo] = true;
+                    if (tam[0] == pila[0].length) {
+                        pila[0] = Arrays.copyOf(pila[0], tam[0] * 2);
+                    }
+                    pila[0][tam[0]++] = hijo;
+                }
+            });
+            subarbol = pila[0];
+            tamanio = tam[0];
+        }
+        for (int i = 0; i < tamanio; i++) {
+            distancias[subarbol[i]] = Double.POSITIVE_INFINITY;
+            padres[subarbol[i]] = -1;
+        }
+        // 2. Cada vértice afectado toma la mejor distancia que le ofrece un predecesor no afectado
+        for (int i = 0; i < tamanio; i++) {
+            int vertice = subarbol[i];
+            recorrerPredecesores(vertice, (vecino, peso) -> {
+                int predecesor = indice(vecino);
+                double nueva = distancias[predecesor] + peso;
+                if (!enSubarbol[predecesor] && nueva < distancias[vertice]) {
+                    distancias[vertice] = nueva;
+                    padres[vertice] = predecesor;
+                }
+            });
+            if (distancias[vertice] < Double.POSITIVE_INFINITY) {
+                monticulo.insertarODisminuir(vertice, distancias[vertice]);
+            }
+        }
+        for (int i = 0; i < tamanio; i++) {
+            enSubarbol[subarbol[i]] = false;
+        }
+        numRevisados += tamanio;
+        // 3. Dijkstra desde esas distancias provisionales asienta el resto del subárbol
+        propagar();
+    }
+
+    /**
+     * Dijkstra a partir de los vértices que hay en el montículo: asienta cada uno y relaja sus aristas de
+     * salida. Solo pueden mejorar vértices cuyo camino ha cambiado, así que el recorrido se limita a ellos.
+     */
+    private void propagar() {
+        while (!monticulo.estaVacio()) {
+            int vertice = monticulo.extraerMinimo();
+            numRevisados++;
+            double distancia = distancias[vertice];
+            recorrerAdyacentes(vertice, (vecino, peso) -> {
+                if (peso < 0) {
+                    error = "Ha aparecido una arista con peso negativo";
+                    return;
+                }
+                int destino = indice(vecino);
+                double nueva = distancia + peso;
+                if (nueva < distancias[destino]) {
+                    distancias[destino] = nueva;
+                    padres[destino] = vertice;
+                    monticulo.insertarODisminuir(destino, nueva);
+                }
+            });
+        }
+    }
+
+    /**
+     * Recorre las aristas de salida de un vértice del diccionario. En un grafo concurrente otro hilo puede
+     * haberlo eliminado sin que su aviso haya llegado aún; entonces no se recorre nada, y el aviso, cuando
+     * llegue, reparará lo que colgaba de él.
+     */
+    private void recorrerAdyacentes(int indice, VisitanteAdyacentes visitante) {
+        Vertice vertice = diccionario.getVertice(indice);
+        if (grafo.contieneVertice(vertice)) {
+            try {
+                grafo.recorrerAdyacentes(vertice, visitante);
+            } catch (NullPointerException e) {
+                // Eliminado entre la comprobación y el recorrido
+            }
+        }
+    }
+
+    /**
+     * Recorre las aristas de entrada de un vértice del diccionario, con las mismas precauciones que
+     * {@link #recorrerAdyacentes(int, VisitanteAdyacentes)}.
+     */
+    private void recorrerPredecesores(int indice, VisitanteAdyacentes visitante) {
+        Vertice vertice = diccionario.getVertice(indice);
+        if (grafo.contieneVertice(vertice)) {
+            try {
+                grafo.recorrerPredecesores(vertice, visitante);
+            } catch (NullPointerException e) {
+                // Eliminado entre la comprobación y el recorrido
+            }
+        }
+    }
+
+    /**
+     * Devuelve el índice de un vértice, añadiéndolo sin camino si aún no está. En un grafo concurrente el
+     * aviso de una arista puede llegar antes que el de uno de sus vértices.
+     */
+    private int indice(Vertice vertice) {
+        int indice = diccionario.buscar(vertice.getId());
+        if (indice >= 0) {
+            return indice;
+        }
+        indice = diccionario.anadir(vertice);
+        if (indice >= distancias.length) {
+            int capacidad = Math.max(8, diccionario.getLimite() * 2);
+            distancias = Arrays.copyOf(distancias, capacidad);
+            padres = Arrays.copyOf(padres, capacidad);
+            enSubarbol = Arrays.copyOf(enSubarbol, capacidad);
+            MonticuloIndexado nuevo = new MonticuloIndexado(capacidad);
+            while (!monticulo.estaVacio()) {
+                int elemento = monticulo.getMinimo();
+                nuevo.insertarODisminuir(elemento, monticulo.getClave(elemento));
+                monticulo.extraerMinimo();
+            }
+            monticulo = nuevo;
+        }
+        distancias[indice] = Double.POSITIVE_INFINITY;  // El índice puede ser el de un vértice eliminado
+        padres[indice] = -1;
+        return indice;
+    }
+
+    private int buscar(Vertice vertice) {
+        if (error != null) {
+            throw new IllegalStateException(error);
+        }
+        int indice = diccionario.buscar(vertice.getId());
+        if (indice < 0) {
+            throw new NullPointerException("El vértice " + vertice + " no existe en el grafo");
+        }
+        return indice;
+    }
+}
@@ -0,0 +1,215 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.util.UnionFindConcurrente;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Componentes débilmente conexas de una instantánea {@link GrafoCSR}, calculadas en paralelo con el
+ * esquema de Afforest sobre un {@link UnionFindConcurrente}.
+ * <p>
+ * Primero se une cada vértice con sus primeros vecinos, lo que en casi todos los grafos reales forma ya
+ * la componente gigante. Se localiza esa componente con una muestra de vértices, y después solo los
+ * vértices que no han caído en ella recorren el resto de sus aristas: las de la componente gigante, que
+ * suelen ser la mayoría, no se vuelven a tocar. En un grafo dirigido esos vértices recorren también sus
+ * aristas entrantes, porque la arista desde un vértice de la componente gigante solo está en su lado.
+ * <p>
+ * Las componentes se numeran de 0 a getNumComponentes()-1 en el orden de su vértice de menor índice,
+ * así que la numeración no depende del número de hilos.
+ */
+public class ComponentesConexas {
+    private static final int UMBRAL_TAREA = 4096; // Vértices a partir de los cuales se divide una tarea
+    private static final int VECINOS_MUESTREO = 2; // Aristas por vértice de la primera fase
+    private static final int MUESTRAS = 1024; // Vértices con los que se estima la componente gigante
+
+    private final GrafoCSR grafo; // Grafo analizado
+    private final int[] componentes; // Componente de cada vértice tras ejecutar
+    private int numComponentes; // Número de componentes tras ejecutar
+
+    /**
+     * Constructor para la clase ComponentesConexas.
+     * @param grafo la instantánea del grafo; si es dirigido, se ignora el sentido de las aristas.
+     */
+    public ComponentesConexas(GrafoCSR grafo) {
+        this.grafo = grafo;
+        this.componentes = new int[grafo.getNumVertices()];
+    }
+
+    /**
+     * Calcula las componentes usando el pool común de hilos.
+     * @return esta misma instancia, para consultar el resultado.
+     */
+    public ComponentesConexas ejecutar() {
+        return ejecutar(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula las componentes repartiendo el trabajo entre los hilos de un pool.
+     * @param pool el pool de hilos.
+     * @return esta misma instancia, para consultar el resultado.
+     */
+    public ComponentesConexas ejecutar(ForkJoinPool pool) {
+        int n = grafo.getNumVertices();
+        UnionFindConcurrente conjuntos = new UnionFindConcurrente(n);
+        for (int vecino = 0; vecino < VECINOS_MUESTREO; vecino++) {
+            pool.invoke(new Enlazar(this, conjuntos, null, vecino, -1, 0, n));
+        }
+        int gigante = estimarGigante(conjuntos);
+        GrafoCSR traspuesto = grafo.isEsDirigido() ? grafo.traspuesto() : null;
+        pool.invoke(new Enlazar(this, conjuntos, traspuesto, VECINOS_MUESTREO, gigante, 0, n));
+        pool.invoke(new Enlazar(this, conjuntos, null, -1, -1, 0, n));  // Cada vértice anota su raíz
+        int[] numeros = new int[n]; // Número de la componente de cada raíz, o -1 si aún no tiene
+        Arrays.fill(numeros, -1);
+        numComponentes = 0;
+        for (int v = 0; v < n; v++) {
+            int raiz = componentes[v];
+            if (numeros[raiz] < 0) {
+                numeros[raiz] = numComponentes++;
+            }
+            componentes[v] = numeros[raiz];
+        }
+        return this;
+    }
+
+    /**
+     * Devuelve la raíz más frecuente entre una muestra fija de vértices.
+     */
+    private int estimarGigante(UnionFindConcurrente conjuntos) {
+        int n = grafo.getNumVertices();
+        if (n == 0) {
+            return -1;
+        }
+        SplittableRandom random = new SplittableRandom(n);
+        int[] raices = new int[MUESTRAS];
+        for (int i = 0; i < MUESTRAS; i++) {
+            raices[i] = conjuntos.buscar(random.nextInt(n));
+        }
+        Arrays.sort(raices);
+        int mejor = raices[0];
+        int mejorCuenta = 0;
+        for (int i = 0, j; i < MUESTRAS; i = j) {
+            for (j = i; j < MUESTRAS && raices[j] == raices[i]; j++) {
+                // Avanza hasta el final del grupo
+            }
+            if (j - i > mejorCuenta) {
+                mejor = raices[i];
+                mejorCuenta = j - i;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Devuelve el número de componentes de la última ejecución.
+     * @return el número de componentes; los vértices aislados forman cada uno la suya.
+     */
+    public int getNumComponentes() {
+        return numComponentes;
+    }
+
+    /**
+     * Devuelve la componente de un vértice.
+     * @param vertice el índice del vértice.
+     * @return el número de su componente, entre 0 y getNumComponentes()-1.
+     */
+    public int getComponente(int vertice) {
+        return componentes[vertice];
+    }
+
+    /**
+     * Devuelve la componente de un vértice.
+     * @param vertice el vértice.
+     * @return el número de su componente, entre 0 y getNumComponentes()-1.
+     */
+    public int getComponente(Vertice vertice) {
+        return componentes[grafo.getIndice(vertice)];
+    }
+
+    /**
+     * Indica si hay un camino entre dos vértices, sin tener en cuenta el sentido de las aristas.
+     * @param a el índice del primer vértice.
+     * @param b el índice del segundo vértice.
+     * @return true si están en la misma componente.
+     */
+    public boolean estanConectados(int a, int b) {
+        return componentes[a] == componentes[b];
+    }
+
+    /**
+     * Indica si hay un camino entre dos vértices, sin tener en cuenta el sentido de las aristas.
+     * @param a el primer vértice.
+     * @param b el segundo vértice.
+     * @return true si están en la misma componente.
+     */
+    public boolean estanConectados(Vertice a, Vertice b) {
+        return estanConectados(grafo.getIndice(a), grafo.getIndice(b));
+    }
+
+    /**
+     * Recorre un tramo de vértices en una de las tres fases: con vecino mayor o igual que 0 y sin gigante,
+     * une cada vértice con ese vecino; con gigante, une los vértices de fuera de ella con el resto de sus
+     * aristas a partir del vecino indicado; con vecino -1, anota la raíz de cada vértice.
+     */
+    private static final class Enlazar extends RecursiveAction {
+        private final ComponentesConexas componentes;
+        private final UnionFindConcurrente conjuntos;
+        private final GrafoCSR traspuesto;
+        private final int vecino;
+        private final int gigante;
+        private final int desde;
+        private final int hasta;
+
+        Enlazar(ComponentesConexas componentes, UnionFindConcurrente conjuntos, GrafoCSR traspuesto,
+                int vecino, int gigante, int desde, int hasta) {
+            this.componentes = componentes;
+            this.conjuntos = conjuntos;
+            this.traspuesto = traspuesto;
+            this.vecino = vecino;
+            this.gigante = gigante;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > UMBRAL_TAREA) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new Enlazar(componentes, conjuntos, traspuesto, vecino, gigante, desde, medio),
+                        new Enlazar(componentes, conjuntos, traspuesto, vecino, gigante, medio, hasta));
+                return;
+            }
+            GrafoCSR grafo = componentes.grafo;
+            if (vecino < 0) {
+                for (int v = desde; v < hasta; v++) {
+                    componentes.componentes[v] = conjuntos.buscar(v);
+                }
+            } else if (gigante < 0) {
+                for (int v = desde; v < hasta; v++) {
+                    int arista = grafo.getInicio(v) + vecino;
+                    if (arista < grafo.getFin(v)) {
+                        conjuntos.unir(v, grafo.getDestino(arista));
+                    }
+                }
+            } else {
+                for (int v = desde; v < hasta; v++) {
+                    if (conjuntos.buscar(v) == gigante) {   // Si ya está en la gigante, no puede salir de ella
+                        continue;
+                    }
+                    for (int a = grafo.getInicio(v) + vecino; a < grafo.getFin(v); a++) {
+                        conjuntos.unir(v, grafo.getDestino(a));
+                    }
+                    if (traspuesto != null) {
+                        for (int a = traspuesto.getInicio(v); a < traspuesto.getFin(v); a++) {
+                            conjuntos.unir(v, traspuesto.getDestino(a));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
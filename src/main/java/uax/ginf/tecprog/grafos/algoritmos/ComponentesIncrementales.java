@@ -0,0 +1,168 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import uax.ginf.tecprog.grafos.modelo.GrafoAbstracto;
+import uax.ginf.tecprog.grafos.modelo.OyenteGrafo;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.util.DiccionarioVertices;
+import uax.ginf.tecprog.grafos.util.UnionFind;
+
+/**
+ * Componentes débilmente conexas de un {@link GrafoAbstracto} que se mantienen al día mientras se le añaden
+ * vértices y aristas. Se registra como {@link OyenteGrafo} del grafo y aplica cada arista nueva a un
+ * {@link UnionFind}, de modo que {@link #estanConectados(Vertice, Vertice)} responde en tiempo casi
+ * constante sin volver a recorrer el grafo.
+ * <p>
+ * Un union-find no sabe separar conjuntos: al eliminar una arista o un vértice solo se marca el resultado
+ * como obsoleto, y la siguiente consulta lo reconstruye recorriendo el grafo entero. Conviene por tanto
+ * para grafos que sobre todo crecen. Los métodos están sincronizados, así que también sirve con un
+ * {@link uax.ginf.tecprog.grafos.modelo.GrafoConcurrente}; si otro hilo elimina un vértice mientras se
+ * reconstruye, se salta, y el aviso del borrado hará que la siguiente consulta reconstruya de nuevo.
+ */
+public final class ComponentesIncrementales implements OyenteGrafo {
+    private final GrafoAbstracto grafo; // Grafo observado
+    private DiccionarioVertices diccionario; // Índice de cada vértice en el union-find
+    private UnionFind conjuntos; // Componentes de los vértices del diccionario
+    private boolean obsoleto; // Indica si hay que reconstruir antes de la siguiente consulta
+    private int numReconstrucciones; // Veces que se ha recorrido el grafo entero
+
+    /**
+     * Constructor que calcula las componentes actuales del grafo y empieza a seguir sus cambios.
+     * @param grafo el grafo; si es dirigido, se ignora el sentido de las aristas.
+     */
+    public ComponentesIncrementales(GrafoAbstracto grafo) {
+        this.grafo = grafo;
+        this.obsoleto = true;   // Los avisos que lleguen antes de la primera reconstrucción se ignoran
+        grafo.addOyente(this);
+        synchronized (this) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Deja de seguir los cambios del grafo. Las consultas posteriores no los verán.
+     */
+    public void desconectar() {
+        grafo.deleteOyente(this);
+    }
+
+    /**
+     * Indica si hay un camino entre dos vértices, sin tener en cuenta el sentido de las aristas.
+     * @param a el primer vértice.
+     * @param b el segundo vértice.
+     * @return true si están en la misma componente.
+     * @throws NullPointerException si alguno de los vértices no está en el grafo.
+     */
+    public synchronized boolean estanConectados(Vertice a, Vertice b) {
+        actualizar();
+        return conjuntos.estanUnidos(buscar(a), buscar(b));
+    }
+
+    /**
+     * Devuelve el número de componentes del grafo.
+     * @return el número de componentes; los vértices aislados forman cada uno la suya.
+     */
+    public synchronized int getNumComponentes() {
+        actualizar();
+        return conjuntos.getNumConjuntos();
+    }
+
+    /**
+     * Devuelve cuántas veces se ha recorrido el grafo entero para recalcular las componentes, incluida la
+     * primera, en el constructor.
+     * @return el número de reconstrucciones.
+     */
+    public synchronized int getNumReconstrucciones() {
+        return numReconstrucciones;
+    }
+
+    /**
+     * Añade el vértice en una componente propia.
+     */
+    @Override
+    public synchronized void verticeAnadido(Vertice vertice) {
+        if (!obsoleto) {
+            indice(vertice);
+        }
+    }
+
+    /**
+     * Une las componentes de los dos extremos de la arista.
+     */
+    @Override
+    public synchronized void aristaAnadida(Vertice origen, Vertice destino, double peso) {
+        if (!obsoleto) {
+            conjuntos.unir(indice(origen), indice(destino));
+        }
+    }
+
+    /**
+     * Marca las componentes como obsoletas: la arista podía ser la única que las unía.
+     */
+    @Override
+    public synchronized void aristaEliminada(Vertice origen, Vertice destino) {
+        obsoleto = true;
+    }
+
+    /**
+     * Marca las componentes como obsoletas: el vértice podía ser el único que las unía.
+     */
+    @Override
+    public synchronized void verticeEliminado(Vertice vertice) {
+        obsoleto = true;
+    }
+
+    /**
+     * Actualiza el id del vértice en el diccionario.
+     */
+    @Override
+    public synchronized void verticeRenombrado(Vertice vertice, String idAnterior) {
+        if (!obsoleto) {
+            diccionario.renombrar(diccionario.buscar(idAnterior), vertice);
+        }
+    }
+
+    private void actualizar() {
+        if (obsoleto) {
+            reconstruir();
+        }
+    }
+
+    private void reconstruir() {
+        obsoleto = false;
+        numReconstrucciones++;
+        diccionario = new DiccionarioVertices(grafo.getNumVertices());
+        conjuntos = new UnionFind(0);
+        for (Vertice vertice : grafo.getVertices()) {
+            if (!grafo.contieneVertice(vertice)) {
+                continue;   // Otro hilo lo ha eliminado tras copiar la lista; su aviso volverá a marcar el resultado
+            }
+            int origen = indice(vertice);
+            try {
+                grafo.recorrerAdyacentes(vertice, (vecino, peso) -> conjuntos.unir(origen, indice(vecino)));
+            } catch (NullPointerException e) {
+                // Eliminado entre la comprobación y el recorrido: también llegará su aviso
+            }
+        }
+    }
+
+    /**
+     * Devuelve el índice de un vértice, añadiéndolo si aún no está. En un grafo concurrente el aviso de una
+     * arista puede llegar antes que el de uno de sus vértices.
+     */
+    private int indice(Vertice vertice) {
+        int indice = diccionario.buscar(vertice.getId());
+        if (indice < 0) {
+            indice = diccionario.anadir(vertice);
+            conjuntos.anadir();
+        }
+        return indice;
+    }
+
+    private int buscar(Vertice vertice) {
+        int indice = diccionario.buscar(vertice.getId());
+        if (indice < 0) {
+            throw new NullPointerException("El vértice " + vertice + " no existe en el grafo");
+        }
+        return indice;
+    }
+}
@@ -1,4 +1,436 @@
 package uax.ginf.tecprog.grafos.algoritmos;
 
+import uax.ginf.tecprog.grafos.modelo.AdyacenciaIndexada;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.modelo.VisitanteVecinos;
+
+import java.util.Arrays;
+
+/**
+ * Búsqueda en profundidad (DFS) sobre unas {@link AdyacenciaIndexada}.
+ * El recorrido es iterativo: en lugar de la pila de llamadas usa una pila explícita de enteros y,
+ * para cada vértice, la posición de la siguiente arista por explorar, de modo que caminos de millones
+ * de vértices no desbordan la pila del hilo. Registra el árbol de padres y los tiempos de descubrimiento
+ * y finalización, tomados de un único reloj.
+ * <p>
+ * Sobre el mismo recorrido se ofrecen análisis en O(V + E): orden topológico, componentes fuertemente
+ * conexas (Tarjan), puntos de articulación y puentes. Todos usan arreglos primitivos de tamaño V,
+ * reservados en el constructor o en el primer análisis que los necesita y reutilizados después.
+ * <p>
+ * Sobre una {@link GrafoCSR} la siguiente arista de cada vértice es una posición de sus arreglos. Cualquier
+ * otra adyacencia, como un {@link uax.ginf.tecprog.grafos.modelo.GrafoDirecto} o un
+ * {@link uax.ginf.tecprog.grafos.io.GrafoMapeado}, no se puede leer por posición, así que al descubrir un
+ * vértice se copian sus vecinos en una pila de vecinos que se libera al terminarlo: ocupa la suma de los
+ * grados de los vértices del camino actual. Las consultas por {@link Vertice} solo están disponibles
+ * sobre una {@link GrafoCSR}.
+ */
 public class DFS {
+    private final AdyacenciaIndexada grafo; // Grafo sobre el que se realizan los recorridos
+    private final GrafoCSR csr; // El mismo grafo si es una instantánea CSR, o null
+    private final int[] pila; // Pila explícita de vértices en recorrido
+    private final int[] siguientes; // Siguiente arista por explorar de cada vértice en la pila
+    private final int[] descubrimiento; // Instante en el que se descubrió cada vértice
+    private final int[] finalizacion; // Instante en el que se terminó cada vértice, o -1 si sigue en la pila
+    private final int[] padres; // Padre de cada vértice en el bosque del recorrido
+    private final int[] marcas; // Época en la que se visitó cada vértice
+    private int epoca; // Época del recorrido actual; un vértice está visitado si marcas[v] == epoca
+    private int reloj; // Siguiente instante del recorrido actual
+
+    private final int[] finales; // Fin de los vecinos de cada vértice en la pila de vecinos; null en una GrafoCSR
+    private int[] vecinosPila; // Vecinos copiados de los vértices del camino actual, fuera de una GrafoCSR
+    private int tope; // Primera posición libre de la pila de vecinos
+    private final VisitanteVecinos apilado = (destino, peso) -> vecinosPila[tope++] = destino;
+
+    private int[] bajos; // Menor tiempo de descubrimiento alcanzable desde el subárbol de cada vértice
+    private int[] pilaTarjan; // Vértices cuya componente fuertemente conexa no se ha cerrado aún
+    private byte[] estados; // Indicadores de cada vértice para los puntos de articulación y los puentes
+
+    private static final byte PADRE_SALTADO = 1; // Ya se ignoró la arista de vuelta al padre
+    private static final byte ARTICULACION = 2; // El vértice es punto de articulación
+
+    /**
+     * Constructor para la clase DFS.
+     * @param grafo las adyacencias del grafo a recorrer.
+     */
+    public DFS(AdyacenciaIndexada grafo) {
+        int n = grafo.getNumVertices();
+        this.grafo = grafo;
+        this.csr = grafo instanceof GrafoCSR instantanea ? instantanea : null;
+        this.finales = csr == null ? new int[n] : null;
+        this.vecinosPila = csr == null ? new int[16] : null;
+        this.pila = new int[n];
+        this.siguientes = new int[n];
+        this.descubrimiento = new int[n];
+        this.finalizacion = new int[n];
+        this.padres = new int[n];
+        this.marcas = new int[n];
+    }
+
+    /**
+     * Recorre en profundidad todos los vértices alcanzables desde el origen.
+     * @param origen el índice del vértice de origen.
+     */
+    public void ejecutar(int origen) {
+        nuevaEpoca();
+        recorrer(origen);
+    }
+
+    /**
+     * Recorre en profundidad todos los vértices alcanzables desde el vértice de origen.
+     * @param origen el vértice de origen.
+     * @throws UnsupportedOperationException si el grafo no es una {@link GrafoCSR}.
+     */
+    public void ejecutar(Vertice origen) {
+        if (csr == null) {
+            throw new UnsupportedOperationException("Las consultas por vértice solo se admiten sobre una GrafoCSR");
+        }
+        ejecutar(csr.getIndice(origen));
+    }
+
+    /**
+     * Recorre en profundidad el grafo completo, empezando un nuevo árbol en cada vértice no visitado
+     * en orden de índice.
+     */
+    public void ejecutar() {
+        nuevaEpoca();
+        for (int v = 0; v < grafo.getNumVertices(); v++) {
+            if (marcas[v] != epoca) {
+                recorrer(v);
+            }
+        }
+    }
+
+    /**
+     * Indica si un vértice fue visitado en el último recorrido.
+     * @param vertice el índice del vértice.
+     * @return true si fue visitado, false en caso contrario.
+     */
+    public boolean esAlcanzable(int vertice) {
+        return marcas[vertice] == epoca;
+    }
+
+    /**
+     * Devuelve el instante de descubrimiento de un vértice en el último recorrido.
+     * @param vertice el índice del vértice.
+     * @return el instante de descubrimiento, o -1 si no fue visitado.
+     */
+    public int getDescubrimiento(int vertice) {
+        return marcas[vertice] == epoca ? descubrimiento[vertice] : -1;
+    }
+
+    /**
+     * Devuelve el instante de finalización de un vértice en el último recorrido.
+     * @param vertice el índice del vértice.
+     * @return el instante de finalización, o -1 si no fue visitado.
+     */
+    public int getFinalizacion(int vertice) {
+        return marcas[vertice] == epoca ? finalizacion[vertice] : -1;
+    }
+
+    /**
+     * Devuelve el padre de un vértice en el bosque del último recorrido.
+     * @param vertice el índice del vértice.
+     * @return el índice del padre, o -1 si es una raíz o no fue visitado.
+     */
+    public int getPadre(int vertice) {
+        return marcas[vertice] == epoca ? padres[vertice] : -1;
+    }
+
+    /**
+     * Calcula un orden topológico de un grafo dirigido acíclico, es decir, los vértices en orden
+     * decreciente de finalización.
+     * @return los índices de los vértices en orden topológico.
+     * @throws IllegalArgumentException si el grafo no es dirigido o tiene algún ciclo.
+     */
+    public int[] ordenTopologico() {
+        if (!grafo.isEsDirigido()) {
+            throw new IllegalArgumentException("El orden topológico solo está definido para grafos dirigidos");
+        }
+        int n = grafo.getNumVertices();
+        int[] orden = new int[n];
+        int libre = n;
+        nuevaEpoca();
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (marcas[raiz] == epoca) {
+                continue;
+            }
+            int cima = 0;
+            visitar(raiz, -1);
+            pila[cima++] = raiz;
+            while (cima > 0) {
+                int actual = pila[cima - 1];
+                int vecino = siguienteVecino(actual);
+                if (vecino >= 0) {
+                    if (marcas[vecino] != epoca) {
+                        visitar(vecino, actual);
+                        pila[cima++] = vecino;
+                    } else if (finalizacion[vecino] < 0) {  // Arista de retroceso: el vecino sigue en la pila
+                        throw new IllegalArgumentException("El grafo tiene ciclos y no admite orden topológico");
+                    }
+                } else {
+                    terminar(actual);
+                    orden[--libre] = actual;
+                    cima--;
+                }
+            }
+        }
+        return orden;
+    }
+
+    /**
+     * Calcula las componentes fuertemente conexas con el algoritmo de Tarjan. Las componentes se
+     * numeran en orden topológico inverso: ninguna arista va de una componente a otra de número mayor.
+     * En un grafo no dirigido coinciden con las componentes conexas.
+     * @param componentes arreglo de al menos V posiciones donde se escribe la componente de cada vértice.
+     * @return el número de componentes.
+     */
+    public int componentesFuertes(int[] componentes) {
+        prepararBajos();
+        int n = grafo.getNumVertices();
+        if (pilaTarjan == null) {
+            pilaTarjan = new int[n];
+        }
+        Arrays.fill(componentes, 0, n, -1);
+        int numComponentes = 0;
+        nuevaEpoca();
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (marcas[raiz] == epoca) {
+                continue;
+            }
+            int cima = 0;
+            int cimaTarjan = 0;
+            visitar(raiz, -1);
+            bajos[raiz] = descubrimiento[raiz];
+            pila[cima++] = raiz;
+            pilaTarjan[cimaTarjan++] = raiz;
+            while (cima > 0) {
+                int actual = pila[cima - 1];
+                int vecino = siguienteVecino(actual);
+                if (vecino >= 0) {
+                    if (marcas[vecino] != epoca) {
+                        visitar(vecino, actual);
+                        bajos[vecino] = descubrimiento[vecino];
+                        pila[cima++] = vecino;
+                        pilaTarjan[cimaTarjan++] = vecino;
+                    } else if (componentes[vecino] < 0) {   // El vecino está en la pila de Tarjan
+                        bajos[actual] = Math.min(bajos[actual], descubrimiento[vecino]);
+                    }
+                } else {
+                    terminar(actual);
+                    cima--;
+                    if (cima > 0) {
+                        int padre = pila[cima - 1];
+                        bajos[padre] = Math.min(bajos[padre], bajos[actual]);
+                    }
+                    if (bajos[actual] == descubrimiento[actual]) {  // actual es la raíz de su componente
+                        int miembro;
+                        do {
+                            miembro = pilaTarjan[--cimaTarjan];
+                            componentes[miembro] = numComponentes;
+                        } while (miembro != actual);
+                        numComponentes++;
+                    }
+                }
+            }
+        }
+        return numComponentes;
+    }
+
+    /**
+     * Calcula los puntos de articulación de un grafo no dirigido: los vértices cuya eliminación
+     * aumenta el número de componentes conexas.
+     * @return los índices de los puntos de articulación en orden creciente.
+     * @throws IllegalArgumentException si el grafo es dirigido.
+     */
+    public int[] puntosArticulacion() {
+        analizarBajos();
+        int n = grafo.getNumVertices();
+        int numArticulaciones = 0;
+        for (int v = 0; v < n; v++) {
+            if ((estados[v] & ARTICULACION) != 0) {
+                numArticulaciones++;
+            }
+        }
+        int[] articulaciones = new int[numArticulaciones];
+        for (int v = 0, i = 0; i < numArticulaciones; v++) {
+            if ((estados[v] & ARTICULACION) != 0) {
+                articulaciones[i++] = v;
+            }
+        }
+        return articulaciones;
+    }
+
+    /**
+     * Calcula los puentes de un grafo no dirigido: las aristas cuya eliminación aumenta el número de
+     * componentes conexas. Si hay aristas paralelas entre dos vértices, ninguna de ellas es un puente.
+     * @return los extremos de cada puente en posiciones consecutivas (u0, v0, u1, v1, ...),
+     *         con el padre en el bosque de la búsqueda primero.
+     * @throws IllegalArgumentException si el grafo es dirigido.
+     */
+    public int[] puentes() {
+        analizarBajos();
+        int n = grafo.getNumVertices();
+        int numPuentes = 0;
+        for (int v = 0; v < n; v++) {
+            if (esPuente(v)) {
+                numPuentes++;
+            }
+        }
+        int[] extremos = new int[2 * numPuentes];
+        for (int v = 0, i = 0; i < extremos.length; v++) {
+            if (esPuente(v)) {
+                extremos[i++] = padres[v];
+                extremos[i++] = v;
+            }
+        }
+        return extremos;
+    }
+
+    /**
+     * Indica si la arista del bosque que une un vértice con su padre es un puente.
+     */
+    private boolean esPuente(int vertice) {
+        int padre = padres[vertice];
+        return padre >= 0 && bajos[vertice] > descubrimiento[padre];
+    }
+
+    /**
+     * Recorre el grafo no dirigido completo calculando el valor bajo de cada vértice y marcando en
+     * estados los puntos de articulación. La arista de vuelta al padre se ignora una sola vez, de modo
+     * que una arista paralela sí cuenta como camino alternativo.
+     */
+    private void analizarBajos() {
+        if (grafo.isEsDirigido()) {
+            throw new IllegalArgumentException("Los puntos de articulación y los puentes requieren un grafo no dirigido");
+        }
+        prepararBajos();
+        int n = grafo.getNumVertices();
+        if (estados == null) {
+            estados = new byte[n];
+        }
+        nuevaEpoca();
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (marcas[raiz] == epoca) {
+                continue;
+            }
+            int cima = 0;
+            int hijosRaiz = 0;
+            visitar(raiz, -1);
+            bajos[raiz] = descubrimiento[raiz];
+            estados[raiz] = 0;
+            pila[cima++] = raiz;
+            while (cima > 0) {
+                int actual = pila[cima - 1];
+                int vecino = siguienteVecino(actual);
+                if (vecino >= 0) {
+                    if (vecino == padres[actual] && (estados[actual] & PADRE_SALTADO) == 0) {
+                        estados[actual] |= PADRE_SALTADO;
+                        continue;
+                    }
+                    if (marcas[vecino] != epoca) {
+                        visitar(vecino, actual);
+                        bajos[vecino] = descubrimiento[vecino];
+                        estados[vecino] = 0;
+                        pila[cima++] = vecino;
+                        if (actual == raiz) {
+                            hijosRaiz++;
+                        }
+                    } else {
+                        bajos[actual] = Math.min(bajos[actual], descubrimiento[vecino]);
+                    }
+                } else {
+                    terminar(actual);
+                    cima--;
+                    int padre = padres[actual];
+                    if (padre >= 0) {
+                        bajos[padre] = Math.min(bajos[padre], bajos[actual]);
+                        if (padre != raiz && bajos[actual] >= descubrimiento[padre]) {
+                            estados[padre] |= ARTICULACION; // El subárbol de actual solo llega al resto por padre
+                        }
+                    }
+                }
+            }
+            if (hijosRaiz > 1) {    // La raíz es punto de articulación si tiene más de un hijo
+                estados[raiz] |= ARTICULACION;
+            }
+        }
+    }
+
+    private void recorrer(int raiz) {
+        int cima = 0;
+        visitar(raiz, -1);
+        pila[cima++] = raiz;
+        while (cima > 0) {
+            int actual = pila[cima - 1];
+            int vecino = siguienteVecino(actual);
+            if (vecino >= 0) {
+                if (marcas[vecino] != epoca) {  // Si el vecino no ha sido visitado, se desciende a él
+                    visitar(vecino, actual);
+                    pila[cima++] = vecino;
+                }
+            } else {    // Todas las aristas exploradas: el vértice termina y se vuelve a su padre
+                terminar(actual);
+                cima--;
+            }
+        }
+    }
+
+    private void visitar(int vertice, int padre) {
+        marcas[vertice] = epoca;
+        padres[vertice] = padre;
+        descubrimiento[vertice] = reloj++;
+        finalizacion[vertice] = -1;
+        if (csr != null) {
+            siguientes[vertice] = csr.getInicio(vertice);
+            return;
+        }
+        int grado = grafo.getGrado(vertice);
+        if (vecinosPila.length - tope < grado) {
+            vecinosPila = Arrays.copyOf(vecinosPila, (int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max((long) tope + grado, 2L * vecinosPila.length)));
+        }
+        siguientes[vertice] = tope;
+        grafo.recorrerVecinos(vertice, apilado);
+        finales[vertice] = tope;
+    }
+
+    /**
+     * Devuelve el siguiente vecino por explorar de un vértice de la pila y avanza su posición.
+     * @return el índice del vecino, o -1 si ya se exploraron todas sus aristas.
+     */
+    private int siguienteVecino(int vertice) {
+        int a = siguientes[vertice];
+        if (a == (csr != null ? csr.getFin(vertice) : finales[vertice])) {
+            return -1;
+        }
+        siguientes[vertice] = a + 1;
+        return csr != null ? csr.getDestino(a) : vecinosPila[a];
+    }
+
+    /**
+     * Termina el vértice de la cima de la pila y libera sus vecinos copiados.
+     */
+    private void terminar(int vertice) {
+        finalizacion[vertice] = reloj++;
+        if (csr == null) {
+            tope -= grafo.getGrado(vertice);
+        }
+    }
+
+    private void prepararBajos() {
+        if (bajos == null) {
+            bajos = new int[grafo.getNumVertices()];
+        }
+    }
+
+    private void nuevaEpoca() {
+        if (epoca == Integer.MAX_VALUE) {   // Al agotar las épocas se reinician las marcas
+            Arrays.fill(marcas, 0);
+            epoca = 0;
+        }
+        epoca++;
+        reloj = 0;
+        tope = 0;   // Un análisis interrumpido por una excepción puede dejar vecinos apilados
+    }
 }
@@ -0,0 +1,250 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.util.MonticuloIndexado;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Búsqueda de caminos mínimos punto a punto que avanza a la vez desde el origen (sobre las aristas
+ * de salida) y desde el destino (sobre las aristas entrantes, tomadas del grafo traspuesto), con una
+ * frontera independiente para cada sentido. Termina cuando la suma de los mínimos de ambas fronteras
+ * alcanza el mejor camino encontrado, lo que suele asentar muchos menos vértices que {@link Dikjstra}.
+ * <p>
+ * Si se proporciona una {@link Heuristica} la búsqueda funciona en modo A* bidireccional: cada
+ * frontera se ordena por distancia más el potencial medio (h(v, destino) - h(origen, v)) / 2, que es
+ * consistente en ambos sentidos y mantiene el mismo criterio de parada.
+ * Como en {@link Dikjstra}, los arreglos se reservan una vez y se reutilizan entre consultas.
+ */
+public class DijkstraBidireccional {
+    private final GrafoCSR grafo; // Aristas de salida, para la búsqueda hacia delante
+    private final GrafoCSR inverso; // Aristas entrantes, para la búsqueda hacia atrás
+    private final Heuristica heuristica; // Heurística del modo A*, o null para Dijkstra bidireccional
+    private final Frontera adelante; // Búsqueda desde el origen
+    private final Frontera atras; // Búsqueda desde el destino
+    private final double[] potenciales; // Potencial de cada vértice en la consulta actual
+    private final int[] conPotencial; // Época en la que se calculó el potencial de cada vértice
+    private int epoca; // Época de la consulta actual
+    private int origen; // Origen de la consulta actual
+    private int destino; // Destino de la consulta actual
+    private double mejor; // Longitud del mejor camino encontrado
+    private int encuentro; // Vértice en el que se unen las dos búsquedas en el mejor camino
+    private int numAsentados; // Vértices asentados entre las dos búsquedas
+
+    /**
+     * Constructor para la búsqueda bidireccional sin heurística.
+     * @param grafo la instantánea del grafo, sin aristas de peso negativo.
+     */
+    public DijkstraBidireccional(GrafoCSR grafo) {
+        this(grafo, null);
+    }
+
+    /**
+     * Constructor para la búsqueda A* bidireccional.
+     * @param grafo la instantánea del grafo, sin aristas de peso negativo.
+     * @param heuristica la heurística admisible y consistente, o null para no usar ninguna.
+     */
+    public DijkstraBidireccional(GrafoCSR grafo, Heuristica heuristica) {
+        for (int a = 0; a < grafo.getNumAristas(); a++) {
+            if (grafo.getPeso(a) < 0) {
+                throw new IllegalArgumentException("Dijkstra no admite aristas con peso negativo");
+            }
+        }
+        int n = grafo.getNumVertices();
+        this.grafo = grafo;
+        this.inverso = grafo.traspuesto();
+        this.heuristica = heuristica;
+        this.adelante = new Frontera(n);
+        this.atras = new Frontera(n);
+        this.potenciales = heuristica == null ? null : new double[n];
+        this.conPotencial = heuristica == null ? null : new int[n];
+    }
+
+    /**
+     * Calcula el camino mínimo entre dos vértices.
+     * @param origen el índice del vértice de origen.
+     * @param destino el índice del vértice de destino.
+     * @return la distancia del origen al destino, o infinito si no es alcanzable.
+     */
+    public double ejecutar(int origen, int destino) {
+        nuevaEpoca();
+        adelante.monticulo.vaciar();
+        atras.monticulo.vaciar();
+        this.origen = origen;
+        this.destino = destino;
+        this.mejor = Double.POSITIVE_INFINITY;
+        this.encuentro = -1;
+        this.numAsentados = 0;
+
+        if (origen == destino) {
+            alcanzar(adelante, origen, -1, 0.0, 0.0);
+            alcanzar(atras, destino, -1, 0.0, 0.0);
+            mejor = 0.0;
+            encuentro = origen;
+            return mejor;
+        }
+        double potencialOrigen = potencial(origen);
+        if (potencialOrigen == Double.POSITIVE_INFINITY) { // La heurística sabe que no hay camino
+            return mejor;
+        }
+        alcanzar(adelante, origen, -1, 0.0, potencialOrigen);
+        alcanzar(atras, destino, -1, 0.0, -potencial(destino));
+
+        while (!adelante.monticulo.estaVacio() && !atras.monticulo.estaVacio()) {
+            double minimoAdelante = adelante.monticulo.getClave(adelante.monticulo.getMinimo());
+            double minimoAtras = atras.monticulo.getClave(atras.monticulo.getMinimo());
+            if (minimoAdelante + minimoAtras >= mejor) {    // Ningún camino pendiente puede mejorar el encontrado
+                break;
+            }
+            if (minimoAdelante <= minimoAtras) {    // Avanzar la frontera con menor clave
+                avanzar(adelante, atras, grafo, 1.0);
+            } else {
+                avanzar(atras, adelante, inverso, -1.0);
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Calcula el camino mínimo entre dos vértices.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return la distancia del origen al destino, o infinito si no es alcanzable.
+     */
+    public double ejecutar(Vertice origen, Vertice destino) {
+        return ejecutar(grafo.getIndice(origen), grafo.getIndice(destino));
+    }
+
+    /**
+     * Devuelve la distancia obtenida en la última consulta.
+     * @return la distancia, o infinito si no había camino.
+     */
+    public double getDistancia() {
+        return mejor;
+    }
+
+    /**
+     * Devuelve el número de vértices asentados, sumando ambas búsquedas, en la última consulta.
+     * @return el número de vértices asentados.
+     */
+    public int getNumAsentados() {
+        return numAsentados;
+    }
+
+    /**
+     * Reconstruye el camino mínimo de la última consulta.
+     * @return la lista de vértices desde el origen hasta el destino, o una lista vacía si no había camino.
+     */
+    public List<Vertice> getCamino() {
+        if (encuentro < 0) {
+            return Collections.emptyList();
+        }
+        List<Vertice> camino = new ArrayList<>();
+        for (int v = encuentro; v != -1; v = adelante.padres[v]) {
+            camino.add(grafo.getVertice(v));
+        }
+        Collections.reverse(camino);
+        for (int v = atras.padres[encuentro]; v != -1; v = atras.padres[v]) {
+            camino.add(grafo.getVertice(v));
+        }
+        return camino;
+    }
+
+    /**
+     * Asienta el vértice de menor clave de una frontera y relaja sus aristas.
+     * @param propia la frontera que avanza.
+     * @param opuesta la frontera del otro sentido.
+     * @param aristas las aristas a recorrer en este sentido.
+     * @param signo 1 hacia delante y -1 hacia atrás, para orientar el potencial.
+     */
+    private void avanzar(Frontera propia, Frontera opuesta, GrafoCSR aristas, double signo) {
+        int actual = propia.monticulo.extraerMinimo();
+        propia.asentados[actual] = epoca;
+        numAsentados++;
+        double distanciaActual = propia.distancias[actual];
+        for (int a = aristas.getInicio(actual), ultima = aristas.getFin(actual); a < ultima; a++) {
+            int vecino = aristas.getDestino(a);
+            if (propia.asentados[vecino] == epoca) {
+                continue;
+            }
+            double potencialVecino = potencial(vecino);
+            if (potencialVecino == Double.POSITIVE_INFINITY) {  // El vecino no puede estar en un camino origen-destino
+                continue;
+            }
+            double nueva = distanciaActual + aristas.getPeso(a);
+            if (propia.alcanzados[vecino] != epoca || nueva < propia.distancias[vecino]) {
+                alcanzar(propia, vecino, actual, nueva, nueva + signo * potencialVecino);
+                if (opuesta.alcanzados[vecino] == epoca && nueva + opuesta.distancias[vecino] < mejor) {
+                    mejor = nueva + opuesta.distancias[vecino];
+                    encuentro = vecino;
+                }
+            }
+        }
+    }
+
+    private void alcanzar(Frontera frontera, int vertice, int padre, double distancia, double clave) {
+        frontera.alcanzados[vertice] = epoca;
+        frontera.distancias[vertice] = distancia;
+        frontera.padres[vertice] = padre;
+        frontera.monticulo.insertarODisminuir(vertice, clave);
+    }
+
+    /**
+     * Potencial medio de un vértice respecto al origen y al destino de la consulta actual.
+     * Vale infinito si la heurística indica que el vértice no puede estar en ningún camino entre ambos.
+     */
+    private double potencial(int vertice) {
+        if (heuristica == null) {
+            return 0.0;
+        }
+        if (conPotencial[vertice] != epoca) {
+            double haciaDestino = heuristica.estimar(vertice, destino);
+            double desdeOrigen = heuristica.estimar(origen, vertice);
+            potenciales[vertice] = haciaDestino == Double.POSITIVE_INFINITY || desdeOrigen == Double.POSITIVE_INFINITY
+                    ? Double.POSITIVE_INFINITY
+                    : (haciaDestino - desdeOrigen) / 2;
+            conPotencial[vertice] = epoca;
+        }
+        return potenciales[vertice];
+    }
+
+    private void nuevaEpoca() {
+        if (epoca == Integer.MAX_VALUE) {   // Al agotar las épocas se reinician las marcas
+            adelante.reiniciar();
+            atras.reiniciar();
+            if (conPotencial != null) {
+                Arrays.fill(conPotencial, 0);
+            }
+            epoca = 0;
+        }
+        epoca++;
+    }
+
+    /**
+     * Estado de la búsqueda en uno de los dos sentidos.
+     */
+    private static final class Frontera {
+        private final MonticuloIndexado monticulo;
+        private final double[] distancias;
+        private final int[] padres;
+        private final int[] alcanzados;
+        private final int[] asentados;
+
+        Frontera(int n) {
+            this.monticulo = new MonticuloIndexado(n);
+            this.distancias = new double[n];
+            this.padres = new int[n];
+            this.alcanzados = new int[n];
+            this.asentados = new int[n];
+        }
+
+        void reiniciar() {
+            Arrays.fill(alcanzados, 0);
+            Arrays.fill(asentados, 0);
+        }
+    }
+}
@@ -1,4 +1,228 @@
 package uax.ginf.tecprog.grafos.algoritmos;
 
+import uax.ginf.tecprog.grafos.modelo.AdyacenciaIndexada;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.modelo.VisitanteVecinos;
+import uax.ginf.tecprog.grafos.util.MonticuloIndexado;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Algoritmo de Dijkstra sobre unas {@link AdyacenciaIndexada}, usando los pesos de las aristas.
+ * Resuelve caminos mínimos desde un origen a todos los vértices o entre dos vértices concretos;
+ * en este último caso se detiene en cuanto el destino queda asentado.
+ * La cola de prioridad es un {@link MonticuloIndexado} con disminución de clave, y todos los arreglos
+ * auxiliares se reservan en el constructor y se reutilizan entre consultas, por lo que una consulta
+ * no crea objetos.
+ * <p>
+ * Sobre una {@link GrafoCSR} las aristas se leen directamente de sus arreglos; sobre cualquier otra
+ * adyacencia, como un {@link uax.ginf.tecprog.grafos.modelo.GrafoDirecto} o un
+ * {@link uax.ginf.tecprog.grafos.io.GrafoMapeado}, se recorren con
+ * {@link AdyacenciaIndexada#recorrerVecinos(int, VisitanteVecinos)}.
+ * Las consultas por {@link Vertice} solo están disponibles sobre una {@link GrafoCSR}.
+ */
 public class Dikjstra {
+    private final AdyacenciaIndexada grafo; // Grafo sobre el que se realizan las consultas
+    private final GrafoCSR csr; // El mismo grafo si es una instantánea CSR, o null
+    private final MonticuloIndexado monticulo; // Vértices alcanzados pendientes de asentar
+    private final double[] distancias; // Distancia provisional o definitiva de cada vértice alcanzado
+    private final int[] padres; // Predecesor de cada vértice en el camino mínimo
+    private final int[] alcanzados; // Época en la que se alcanzó cada vértice
+    private final int[] asentados; // Época en la que se asentó cada vértice
+    private int epoca; // Época de la consulta actual
+    private int numAsentados; // Vértices asentados en la última consulta
+    private int actual; // Vértice cuyas aristas se relajan, fuera de una GrafoCSR
+    private final VisitanteVecinos relajacion = this::relajar; // Se crea una vez, no en cada vértice
+
+    /**
+     * Constructor para la clase Dikjstra.
+     * @param grafo las adyacencias del grafo, sin aristas de peso negativo. Se recorren una vez para comprobarlo.
+     * @throws IllegalArgumentException si alguna arista tiene peso negativo.
+     */
+    public Dikjstra(AdyacenciaIndexada grafo) {
+        int n = grafo.getNumVertices();
+        this.csr = grafo instanceof GrafoCSR instantanea ? instantanea : null;
+        if (csr != null) {
+            for (int a = 0; a < csr.getNumAristas(); a++) {
+                comprobarPeso(csr.getPeso(a));
+            }
+        } else {
+            for (int v = 0; v < n; v++) {
+                grafo.recorrerVecinos(v, (destino, peso) -> comprobarPeso(peso));
+            }
+        }
+        this.grafo = grafo;
+        this.monticulo = new MonticuloIndexado(n);
+        this.distancias = new double[n];
+        this.padres = new int[n];
+        this.alcanzados = new int[n];
+        this.asentados = new int[n];
+    }
+
+    /**
+     * Calcula los caminos mínimos desde el origen a todos los vértices alcanzables.
+     * @param origen el índice del vértice de origen.
+     */
+    public void ejecutar(int origen) {
+        ejecutar(origen, -1);
+    }
+
+    /**
+     * Calcula el camino mínimo entre dos vértices, deteniéndose en cuanto el destino queda asentado.
+     * @param origen el índice del vértice de origen.
+     * @param destino el índice del vértice de destino, o -1 para calcular todos los caminos.
+     * @return la distancia del origen al destino, o infinito si no es alcanzable.
+     */
+    public double ejecutar(int origen, int destino) {
+        nuevaEpoca();
+        monticulo.vaciar();
+        numAsentados = 0;
+        alcanzar(origen, -1, 0.0);
+
+        while (!monticulo.estaVacio()) {
+            int actual = monticulo.extraerMinimo();
+            asentados[actual] = epoca;
+            numAsentados++;
+            if (actual == destino) {    // Parada temprana: la distancia del destino ya es definitiva
+                return distancias[actual];
+            }
+            if (csr == null) {
+                this.actual = actual;
+                grafo.recorrerVecinos(actual, relajacion);
+                continue;
+            }
+            double distanciaActual = distancias[actual];
+            for (int a = csr.getInicio(actual), ultima = csr.getFin(actual); a < ultima; a++) {
+                int vecino = csr.getDestino(a);
+                if (asentados[vecino] != epoca) {
+                    double nueva = distanciaActual + csr.getPeso(a);
+                    if (alcanzados[vecino] != epoca || nueva < distancias[vecino]) {
+                        alcanzar(vecino, actual, nueva);
+                    }
+                }
+            }
+        }
+        return destino < 0 ? Double.POSITIVE_INFINITY : getDistancia(destino);
+    }
+
+    /**
+     * Calcula los caminos mínimos desde el vértice de origen a todos los vértices alcanzables.
+     * @param origen el vértice de origen.
+     * @throws UnsupportedOperationException si el grafo no es una {@link GrafoCSR}.
+     */
+    public void ejecutar(Vertice origen) {
+        ejecutar(instantanea().getIndice(origen), -1);
+    }
+
+    /**
+     * Calcula el camino mínimo entre dos vértices.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return la distancia del origen al destino, o infinito si no es alcanzable.
+     * @throws UnsupportedOperationException si el grafo no es una {@link GrafoCSR}.
+     */
+    public double ejecutar(Vertice origen, Vertice destino) {
+        return ejecutar(instantanea().getIndice(origen), instantanea().getIndice(destino));
+    }
+
+    /**
+     * Devuelve la distancia desde el origen de la última consulta. Solo es definitiva para los
+     * vértices asentados; tras una consulta completa lo están todos los alcanzables.
+     * @param vertice el índice del vértice.
+     * @return la distancia, o infinito si el vértice no fue alcanzado.
+     */
+    public double getDistancia(int vertice) {
+        return alcanzados[vertice] == epoca ? distancias[vertice] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Devuelve el predecesor de un vértice en el camino mínimo de la última consulta.
+     * @param vertice el índice del vértice.
+     * @return el índice del predecesor, o -1 si es el origen o no fue alcanzado.
+     */
+    public int getPadre(int vertice) {
+        return alcanzados[vertice] == epoca ? padres[vertice] : -1;
+    }
+
+    /**
+     * Indica si la distancia de un vértice quedó fijada en la última consulta.
+     * @param vertice el índice del vértice.
+     * @return true si el vértice fue asentado, false en caso contrario.
+     */
+    public boolean estaAsentado(int vertice) {
+        return asentados[vertice] == epoca;
+    }
+
+    /**
+     * Devuelve el número de vértices asentados en la última consulta.
+     * @return el número de vértices asentados.
+     */
+    public int getNumAsentados() {
+        return numAsentados;
+    }
+
+    /**
+     * Reconstruye el camino mínimo hasta un vértice asentado en la última consulta.
+     * @param destino el vértice de destino.
+     * @return la lista de vértices desde el origen hasta el destino, o una lista vacía si no fue asentado.
+     * @throws UnsupportedOperationException si el grafo no es una {@link GrafoCSR}.
+     */
+    public List<Vertice> getCamino(Vertice destino) {
+        GrafoCSR grafo = instantanea();
+        int actual = grafo.getIndice(destino);
+        if (!estaAsentado(actual)) {
+            return Collections.emptyList();
+        }
+        List<Vertice> camino = new ArrayList<>();
+        for (; actual != -1; actual = padres[actual]) {
+            camino.add(grafo.getVertice(actual));
+        }
+        Collections.reverse(camino);
+        return camino;
+    }
+
+    /**
+     * Relaja una arista que sale del vértice actual; es el visitante del recorrido fuera de una GrafoCSR.
+     */
+    private void relajar(int vecino, double peso) {
+        if (asentados[vecino] != epoca) {
+            double nueva = distancias[actual] + peso;
+            if (alcanzados[vecino] != epoca || nueva < distancias[vecino]) {
+                alcanzar(vecino, actual, nueva);
+            }
+        }
+    }
+
+    private static void comprobarPeso(double peso) {
+        if (peso < 0) {
+            throw new IllegalArgumentException("Dijkstra no admite aristas con peso negativo");
+        }
+    }
+
+    private GrafoCSR instantanea() {
+        if (csr == null) {
+            throw new UnsupportedOperationException("Las consultas por vértice solo se admiten sobre una GrafoCSR");
+        }
+        return csr;
+    }
+
+    private void alcanzar(int vertice, int padre, double distancia) {
+        alcanzados[vertice] = epoca;
+        distancias[vertice] = distancia;
+        padres[vertice] = padre;
+        monticulo.insertarODisminuir(vertice, distancia);
+    }
+
+    private void nuevaEpoca() {
+        if (epoca == Integer.MAX_VALUE) {   // Al agotar las épocas se reinician las marcas
+            Arrays.fill(alcanzados, 0);
+            Arrays.fill(asentados, 0);
+            epoca = 0;
+        }
+        epoca++;
+    }
 }
@@ -0,0 +1,24 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+/**
+ * Cota inferior de la distancia entre dos vértices, usada para guiar la búsqueda A*.
+ * Para que los caminos obtenidos sean mínimos la estimación nunca debe superar la distancia real
+ * y debe ser consistente: estimar(u, t) &lt;= peso(u, v) + estimar(v, t) para toda arista (u, v).
+ * Puede devolver infinito si sabe que no existe camino.
+ */
+@FunctionalInterface
+public interface Heuristica {
+
+    /**
+     * Heurística nula: con ella A* se comporta como Dijkstra.
+     */
+    Heuristica NULA = (desde, hasta) -> 0.0;
+
+    /**
+     * Estima la distancia mínima entre dos vértices.
+     * @param desde el índice del vértice de partida.
+     * @param hasta el índice del vértice de llegada.
+     * @return una cota inferior de la distancia, o infinito si no hay camino.
+     */
+    double estimar(int desde, int hasta);
+}
@@ -0,0 +1,105 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+
+import java.util.Arrays;
+
+/**
+ * Heurística ALT (A*, Landmarks, Triangle inequality). Precalcula las distancias desde y hacia un
+ * conjunto de vértices de referencia (marcas) y acota la distancia entre dos vértices con la
+ * desigualdad triangular. Es admisible y consistente para grafos con pesos no negativos.
+ * Las marcas se eligen de forma voraz, tomando cada vez el vértice más alejado de las ya elegidas.
+ */
+public class HeuristicaALT implements Heuristica {
+    private static final int MAX_DISTANCIAS = Integer.MAX_VALUE - 8; // Mayor arreglo que admite la JVM
+
+    private final int numMarcas; // Número de vértices de referencia
+    private final int[] marcas; // Índice de cada vértice de referencia
+    private final double[] desdeMarca; // desdeMarca[v * numMarcas + i] = distancia de la marca i a v
+    private final double[] haciaMarca; // haciaMarca[v * numMarcas + i] = distancia de v a la marca i
+
+    /**
+     * Precalcula las distancias de la heurística.
+     * @param grafo la instantánea del grafo, sin pesos negativos.
+     * @param numMarcas el número de vértices de referencia a elegir.
+     * @throws IllegalArgumentException si vértices por marcas no cabe en un arreglo.
+     */
+    public HeuristicaALT(GrafoCSR grafo, int numMarcas) {
+        int n = grafo.getNumVertices();
+        this.numMarcas = Math.min(numMarcas, n);
+        long tamanio = (long) n * this.numMarcas; // Con int se desbordaría en silencio
+        if (tamanio > MAX_DISTANCIAS) {
+            throw new IllegalArgumentException("Las distancias de " + this.numMarcas + " marcas a " + n
+                    + " vértices no caben en un arreglo (" + tamanio + " > " + MAX_DISTANCIAS + "); hay que usar menos marcas");
+        }
+        this.marcas = new int[this.numMarcas];
+        this.desdeMarca = new double[(int) tamanio];
+        this.haciaMarca = new double[(int) tamanio];
+
+        Dikjstra adelante = new Dikjstra(grafo);
+        Dikjstra atras = new Dikjstra(grafo.traspuesto());
+        double[] cercania = new double[n]; // Distancia de ida y vuelta de cada vértice a la marca más cercana
+        boolean[] elegido = new boolean[n]; // Vértices ya elegidos como marca
+        Arrays.fill(cercania, Double.POSITIVE_INFINITY);
+        int siguiente = 0;
+        for (int i = 0; i < this.numMarcas; i++) {
+            marcas[i] = siguiente;
+            elegido[siguiente] = true;
+            adelante.ejecutar(siguiente);
+            atras.ejecutar(siguiente);
+
+            // Guardar las distancias y buscar el vértice alcanzable más alejado de todas las marcas
+            double maxima = -1;
+            for (int v = 0; v < n; v++) {
+                double desde = adelante.getDistancia(v);
+                desdeMarca[v * this.numMarcas + i] = desde;
+                haciaMarca[v * this.numMarcas + i] = atras.getDistancia(v);
+                double total = desde + atras.getDistancia(v);
+                if (total < cercania[v]) {
+                    cercania[v] = total;
+                }
+                // Los vértices no alcanzados por ninguna marca se prefieren para cubrir otras componentes
+                if (!elegido[v] && cercania[v] > maxima) {
+                    maxima = cercania[v];
+                    siguiente = v;
+                }
+            }
+        }
+    }
+
+    /**
+     * Devuelve los vértices de referencia elegidos.
+     * @return los índices de las marcas.
+     */
+    public int[] getMarcas() {
+        return marcas.clone();
+    }
+
+    @Override
+    public double estimar(int desde, int hasta) {
+        double cota = 0.0;
+        int baseDesde = desde * numMarcas;
+        int baseHasta = hasta * numMarcas;
+        for (int i = 0; i < numMarcas; i++) {
+            // d(L, hasta) <= d(L, desde) + d(desde, hasta)
+            double marcaDesde = desdeMarca[baseDesde + i];
+            double marcaHasta = desdeMarca[baseHasta + i];
+            if (marcaDesde != Double.POSITIVE_INFINITY) {
+                if (marcaHasta == Double.POSITIVE_INFINITY) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                cota = Math.max(cota, marcaHasta - marcaDesde);
+            }
+            // d(desde, L) <= d(desde, hasta) + d(hasta, L)
+            double desdeAMarca = haciaMarca[baseDesde + i];
+            double hastaAMarca = haciaMarca[baseHasta + i];
+            if (hastaAMarca != Double.POSITIVE_INFINITY) {
+                if (desdeAMarca == Double.POSITIVE_INFINITY) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                cota = Math.max(cota, desdeAMarca - hastaAMarca);
+            }
+        }
+        return cota;
+    }
+}
@@ -0,0 +1,652 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import uax.ginf.tecprog.grafos.excepciones.VerticeNoEncontradoExcepcion;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.util.DiccionarioVertices;
+import uax.ginf.tecprog.grafos.util.MonticuloIndexado;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Jerarquía de contracción (Contraction Hierarchies) para responder muchas consultas de camino mínimo
+ * sobre un grafo ponderado que apenas cambia.
+ * <p>
+ * El preprocesado contrae los vértices uno a uno, de menos a más importante, y añade un atajo u -> w
+ * cada vez que el único camino mínimo entre dos vecinos pasaba por el vértice contraído. El orden de
+ * contracción es el rango del vértice. Una consulta solo necesita subir de rango: avanza desde el
+ * origen por aristas hacia vértices de mayor rango y desde el destino por aristas entrantes desde
+ * vértices de mayor rango, y se queda con el mejor punto de encuentro.
+ * <p>
+ * La jerarquía se puede guardar con {@link #guardar(Path)} y cargar al arrancar con {@link #cargar(Path)}
+ * sin repetir el preprocesado. Los datos asociados a los vértices no se guardan: los vértices cargados
+ * solo conservan su identificador, que es lo que usa {@link Vertice#equals(Object)}.
+ */
+public class JerarquiaContraccion {
+    private static final int MAGICO = 0x47524348; // "GRCH"
+    private static final int VERSION = 1;
+    private static final int LIMITE_TESTIGOS = 500; // Vértices que puede asentar cada búsqueda de testigos
+
+    private final Vertice[] vertices; // Vértice asociado a cada índice
+    private final DiccionarioVertices indices; // Índice de cada vértice, buscado por su id
+    private final int[] rangos; // Posición de cada vértice en el orden de contracción
+    private final Ascendente adelante; // Aristas u -> w con rango(u) < rango(w), guardadas en u
+    private final Ascendente atras; // Aristas u -> w con rango(u) > rango(w), guardadas en w con destino u
+
+    // Estado reutilizable de las consultas
+    private final Busqueda busquedaAdelante;
+    private final Busqueda busquedaAtras;
+    private int epoca;
+    private double mejor;
+    private int encuentro;
+    private int numAsentados;
+
+    private JerarquiaContraccion(Vertice[] vertices, int[] rangos, Ascendente adelante, Ascendente atras) {
+        int n = vertices.length;
+        this.vertices = vertices;
+        this.indices = DiccionarioVertices.desde(vertices);
+        this.rangos = rangos;
+        this.adelante = adelante;
+        this.atras = atras;
+        this.busquedaAdelante = new Busqueda(n);
+        this.busquedaAtras = new Busqueda(n);
+    }
+
+    /**
+     * Preprocesa un grafo y construye su jerarquía de contracción.
+     * @param grafo la instantánea del grafo, sin aristas de peso negativo.
+     * @return la jerarquía lista para consultas.
+     * @throws IllegalArgumentException si alguna arista tiene peso negativo.
+     */
+    public static JerarquiaContraccion construir(GrafoCSR grafo) {
+        return new Contractor(grafo).contraer();
+    }
+
+    /**
+     * Calcula la distancia mínima entre dos vértices.
+     * @param origen el índice del vértice de origen.
+     * @param destino el índice del vértice de destino.
+     * @return la distancia, o infinito si no hay camino.
+     */
+    public double ejecutar(int origen, int destino) {
+        nuevaEpoca();
+        busquedaAdelante.monticulo.vaciar();
+        busquedaAtras.monticulo.vaciar();
+        mejor = Double.POSITIVE_INFINITY;
+        encuentro = -1;
+        numAsentados = 0;
+        alcanzar(busquedaAdelante, origen, -1, 0.0);
+        alcanzar(busquedaAtras, destino, -1, 0.0);
+
+        while (true) {
+            // Cada sentido se detiene cuando ya no puede mejorar el mejor encuentro
+            boolean sigueAdelante = !busquedaAdelante.monticulo.estaVacio()
+                    && busquedaAdelante.monticulo.getClave(busquedaAdelante.monticulo.getMinimo()) < mejor;
+            boolean sigueAtras = !busquedaAtras.monticulo.estaVacio()
+                    && busquedaAtras.monticulo.getClave(busquedaAtras.monticulo.getMinimo()) < mejor;
+            if (!sigueAdelante && !sigueAtras) {
+                break;
+            }
+            if (sigueAdelante && (!sigueAtras || busquedaAdelante.monticulo.getClave(busquedaAdelante.monticulo.getMinimo())
+                    <= busquedaAtras.monticulo.getClave(busquedaAtras.monticulo.getMinimo()))) {
+                avanzar(busquedaAdelante, busquedaAtras, adelante);
+            } else {
+                avanzar(busquedaAtras, busquedaAdelante, atras);
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Calcula la distancia mínima entre dos vértices.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return la distancia, o infinito si no hay camino.
+     */
+    public double ejecutar(Vertice origen, Vertice destino) {
+        return ejecutar(getIndice(origen), getIndice(destino));
+    }
+
+    /**
+     * Reconstruye el camino de la última consulta, deshaciendo los atajos en aristas originales.
+     * @return la lista de vértices desde el origen hasta el destino, o una lista vacía si no había camino.
+     */
+    public List<Vertice> getCamino() {
+        if (encuentro < 0) {
+            return Collections.emptyList();
+        }
+        // Tramo de subida desde el origen, recorrido hacia atrás desde el encuentro
+        List<int[]> tramos = new ArrayList<>();
+        for (int v = encuentro; busquedaAdelante.padres[v] != -1; v = busquedaAdelante.padres[v]) {
+            int arista = busquedaAdelante.aristas[v];
+            tramos.add(new int[]{busquedaAdelante.padres[v], v, adelante.vias[arista]});
+        }
+        Collections.reverse(tramos);
+        // Tramo de bajada hacia el destino
+        for (int v = encuentro; busquedaAtras.padres[v] != -1; v = busquedaAtras.padres[v]) {
+            int arista = busquedaAtras.aristas[v];
+            tramos.add(new int[]{v, busquedaAtras.padres[v], atras.vias[arista]});
+        }
+
+        List<Vertice> camino = new ArrayList<>();
+        int primero = tramos.isEmpty() ? encuentro : tramos.get(0)[0];
+        camino.add(vertices[primero]);
+        for (int[] tramo : tramos) {
+            desempaquetar(tramo[0], tramo[1], tramo[2], camino);
+        }
+        return camino;
+    }
+
+    /**
+     * Devuelve el número de vértices asentados, sumando ambos sentidos, en la última consulta.
+     * @return el número de vértices asentados.
+     */
+    public int getNumAsentados() {
+        return numAsentados;
+    }
+
+    /**
+     * Devuelve el número de atajos añadidos por el preprocesado.
+     * @return el número de atajos.
+     */
+    public int getNumAtajos() {
+        int atajos = 0;
+        for (int via : adelante.vias) {
+            atajos += via >= 0 ? 1 : 0;
+        }
+        for (int via : atras.vias) {
+            atajos += via >= 0 ? 1 : 0;
+        }
+        return atajos;
+    }
+
+    /**
+     * Devuelve el rango (posición en el orden de contracción) de un vértice.
+     * @param vertice el índice del vértice.
+     * @return su rango.
+     */
+    public int getRango(int vertice) {
+        return rangos[vertice];
+    }
+
+    /**
+     * Devuelve el índice de un vértice en la jerarquía.
+     * @param vertice el vértice.
+     * @return su índice.
+     * @throws VerticeNoEncontradoExcepcion si el vértice no pertenece a la jerarquía.
+     */
+    public int getIndice(Vertice vertice) {
+        int indice = indices.buscar(vertice.getId());
+        if (indice < 0) {
+            throw new VerticeNoEncontradoExcepcion("El vértice " + vertice + " no existe en la jerarquía");
+        }
+        return indice;
+    }
+
+    /**
+     * Guarda la jerarquía en un fichero binario.
+     * @param ruta la ruta del fichero.
+     * @throws IOException si no se puede escribir el fichero.
+     */
+    public void guardar(Path ruta) throws IOException {
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(ruta)))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION);
+            salida.writeInt(vertices.length);
+            for (int v = 0; v < vertices.length; v++) {
+                salida.writeUTF(vertices[v].getId());
+                salida.writeInt(rangos[v]);
+            }
+            adelante.escribir(salida);
+            atras.escribir(salida);
+        }
+    }
+
+    /**
+     * Carga una jerarquía guardada con {@link #guardar(Path)}.
+     * @param ruta la ruta del fichero.
+     * @return la jerarquía lista para consultas.
+     * @throws IOException si no se puede leer el fichero o no tiene el formato esperado.
+     */
+    public static JerarquiaContraccion cargar(Path ruta) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(ruta)))) {
+            if (entrada.readInt() != MAGICO) {
+                throw new IOException("El fichero " + ruta + " no contiene una jerarquía de contracción");
+            }
+            int version = entrada.readInt();
+            if (version != VERSION) {
+                throw new IOException("Versión de jerarquía no soportada: " + version);
+            }
+            int n = entrada.readInt();
+            Vertice[] vertices = new Vertice[n];
+            int[] rangos = new int[n];
+            for (int v = 0; v < n; v++) {
+                vertices[v] = new Vertice(entrada.readUTF(), null);
+                rangos[v] = entrada.readInt();
+            }
+            Ascendente adelante = Ascendente.leer(entrada, n);
+            Ascendente atras = Ascendente.leer(entrada, n);
+            return new JerarquiaContraccion(vertices, rangos, adelante, atras);
+        }
+    }
+
+    private void avanzar(Busqueda propia, Busqueda opuesta, Ascendente aristas) {
+        int actual = propia.monticulo.extraerMinimo();
+        numAsentados++;
+        double distanciaActual = propia.distancias[actual];
+        if (opuesta.alcanzados[actual] == epoca && distanciaActual + opuesta.distancias[actual] < mejor) {
+            mejor = distanciaActual + opuesta.distancias[actual];
+            encuentro = actual;
+        }
+        for (int a = aristas.desplazamientos[actual], ultima = aristas.desplazamientos[actual + 1]; a < ultima; a++) {
+            int vecino = aristas.destinos[a];
+            double nueva = distanciaActual + aristas.pesos[a];
+            if (propia.alcanzados[vecino] != epoca || nueva < propia.distancias[vecino]) {
+                alcanzar(propia, vecino, actual, nueva);
+                propia.aristas[vecino] = a;
+            }
+        }
+    }
+
+    private void alcanzar(Busqueda busqueda, int vertice, int padre, double distancia) {
+        busqueda.alcanzados[vertice] = epoca;
+        busqueda.distancias[vertice] = distancia;
+        busqueda.padres[vertice] = padre;
+        busqueda.monticulo.insertarODisminuir(vertice, distancia);
+    }
+
+    /**
+     * Añade al camino los vértices de la arista u -> w (sin u), deshaciendo atajos de forma iterativa.
+     */
+    private void desempaquetar(int u, int w, int via, List<Vertice> camino) {
+        int[] pila = new int[16];
+        int tope = 0;
+        pila[tope++] = u;
+        pila[tope++] = w;
+        pila[tope++] = via;
+        while (tope > 0) {
+            int c = pila[--tope];
+            int b = pila[--tope];
+            int a = pila[--tope];
+            if (c < 0) {    // Arista original
+                camino.add(vertices[b]);
+                continue;
+            }
+            if (tope + 6 > pila.length) {
+                pila = Arrays.copyOf(pila, pila.length * 2);
+            }
+            // El atajo a -> b se compone de a -> c (guardada en atras[c]) y c -> b (guardada en adelante[c]);
+            // se apila primero la segunda mitad para procesar antes la primera
+            pila[tope++] = c;
+            pila[tope++] = b;
+            pila[tope++] = adelante.vias[adelante.buscar(c, b)];
+            pila[tope++] = a;
+            pila[tope++] = c;
+            pila[tope++] = atras.vias[atras.buscar(c, a)];
+        }
+    }
+
+    private void nuevaEpoca() {
+        if (epoca == Integer.MAX_VALUE) {   // Al agotar las épocas se reinician las marcas
+            Arrays.fill(busquedaAdelante.alcanzados, 0);
+            Arrays.fill(busquedaAtras.alcanzados, 0);
+            epoca = 0;
+        }
+        epoca++;
+    }
+
+    /**
+     * Grafo ascendente en formato CSR. Cada arista guarda el vértice intermedio si es un atajo, o -1.
+     */
+    private static final class Ascendente {
+        private final int[] desplazamientos;
+        private final int[] destinos;
+        private final double[] pesos;
+        private final int[] vias;
+
+        Ascendente(int[] desplazamientos, int[] destinos, double[] pesos, int[] vias) {
+            this.desplazamientos = desplazamientos;
+            this.destinos = destinos;
+            this.pesos = pesos;
+            this.vias = vias;
+        }
+
+        /**
+         * Busca la arista de un vértice hacia un destino dado.
+         */
+        int buscar(int vertice, int destino) {
+            for (int a = desplazamientos[vertice]; a < desplazamientos[vertice + 1]; a++) {
+                if (destinos[a] == destino) {
+                    return a;
+                }
+            }
+            throw new IllegalStateException("Jerarquía inconsistente: falta la arista " + vertice + " -> " + destino);
+        }
+
+        void escribir(DataOutputStream salida) throws IOException {
+            salida.writeInt(destinos.length);
+            for (int desplazamiento : desplazamientos) {
+                salida.writeInt(desplazamiento);
+            }
+            for (int a = 0; a < destinos.length; a++) {
+                salida.writeInt(destinos[a]);
+                salida.writeDouble(pesos[a]);
+                salida.writeInt(vias[a]);
+            }
+        }
+
+        static Ascendente leer(DataInputStream entrada, int n) throws IOException {
+            int m = entrada.readInt();
+            int[] desplazamientos = new int[n + 1];
+            for (int v = 0; v <= n; v++) {
+                desplazamientos[v] = entrada.readInt();
+            }
+            int[] destinos = new int[m];
+            double[] pesos = new double[m];
+            int[] vias = new int[m];
+            for (int a = 0; a < m; a++) {
+                destinos[a] = entrada.readInt();
+                pesos[a] = entrada.readDouble();
+                vias[a] = entrada.readInt();
+            }
+            return new Ascendente(desplazamientos, destinos, pesos, vias);
+        }
+    }
+
+    /**
+     * Estado de la búsqueda ascendente en uno de los dos sentidos.
+     */
+    private static final class Busqueda {
+        private final MonticuloIndexado monticulo;
+        private final double[] distancias;
+        private final int[] padres;
+        private final int[] aristas; // Arista ascendente por la que se alcanzó cada vértice
+        private final int[] alcanzados;
+
+        Busqueda(int n) {
+            this.monticulo = new MonticuloIndexado(n);
+            this.distancias = new double[n];
+            this.padres = new int[n];
+            this.aristas = new int[n];
+            this.alcanzados = new int[n];
+        }
+    }
+
+    /**
+     * Preprocesado: mantiene el grafo restante en listas dinámicas y contrae los vértices por prioridad.
+     */
+    private static final class Contractor {
+        private final GrafoCSR grafo;
+        private final int n;
+        private final Listas salientes; // Aristas de salida del grafo restante
+        private final Listas entrantes; // Aristas de entrada del grafo restante
+        private final boolean[] contraidos;
+        private final int[] vecinosContraidos; // Vecinos ya contraídos de cada vértice, para repartir la contracción
+        private final int[] rangos;
+        private final Listas subida; // Aristas hacia vértices de mayor rango, por vértice de origen
+        private final Listas bajada; // Aristas desde vértices de mayor rango, por vértice de destino
+
+        // Búsqueda de testigos reutilizable
+        private final MonticuloIndexado monticulo;
+        private final double[] distancias;
+        private final int[] marcas;
+        private int epoca;
+
+        Contractor(GrafoCSR grafo) {
+            this.grafo = grafo;
+            this.n = grafo.getNumVertices();
+            this.salientes = new Listas(n);
+            this.entrantes = new Listas(n);
+            this.contraidos = new boolean[n];
+            this.vecinosContraidos = new int[n];
+            this.rangos = new int[n];
+            this.subida = new Listas(n);
+            this.bajada = new Listas(n);
+            this.monticulo = new MonticuloIndexado(n);
+            this.distancias = new double[n];
+            this.marcas = new int[n];
+
+            for (int u = 0; u < n; u++) {
+                for (int a = grafo.getInicio(u); a < grafo.getFin(u); a++) {
+                    int w = grafo.getDestino(a);
+                    double peso = grafo.getPeso(a);
+                    if (peso < 0) {
+                        throw new IllegalArgumentException("Las jerarquías de contracción no admiten pesos negativos");
+                    }
+                    if (w != u) {   // Los bucles nunca forman parte de un camino mínimo
+                        agregarOMejorar(u, w, peso, -1);
+                    }
+                }
+            }
+        }
+
+        JerarquiaContraccion contraer() {
+            MonticuloIndexado cola = new MonticuloIndexado(n);
+            for (int v = 0; v < n; v++) {
+                cola.insertarODisminuir(v, prioridad(v));
+            }
+            int orden = 0;
+            while (!cola.estaVacio()) {
+                int v = cola.extraerMinimo();
+                // Actualización perezosa: si la prioridad ha empeorado, se vuelve a encolar
+                double prioridad = prioridad(v);
+                if (!cola.estaVacio() && prioridad > cola.getClave(cola.getMinimo())) {
+                    cola.insertarODisminuir(v, prioridad);
+                    continue;
+                }
+                contraerVertice(v, false);
+                rangos[v] = orden++;
+            }
+
+            Vertice[] vertices = new Vertice[n];
+            for (int v = 0; v < n; v++) {
+                vertices[v] = grafo.getVertice(v);
+            }
+            return new JerarquiaContraccion(vertices, rangos, subida.compactar(), bajada.compactar());
+        }
+
+        private double prioridad(int v) {
+            int atajos = contraerVertice(v, true);
+            int eliminadas = 0;
+            for (int i = 0; i < salientes.tamanios[v]; i++) {
+                eliminadas += contraidos[salientes.destinos[v][i]] ? 0 : 1;
+            }
+            for (int i = 0; i < entrantes.tamanios[v]; i++) {
+                eliminadas += contraidos[entrantes.destinos[v][i]] ? 0 : 1;
+            }
+            return atajos - eliminadas + vecinosContraidos[v];
+        }
+
+        /**
+         * Contrae un vértice, o solo cuenta los atajos que necesitaría si se está simulando.
+         * @return el número de atajos necesarios.
+         */
+        private int contraerVertice(int v, boolean simular) {
+            int atajos = 0;
+            for (int i = 0; i < entrantes.tamanios[v]; i++) {
+                int u = entrantes.destinos[v][i];
+                if (contraidos[u]) {
+                    continue;
+                }
+                double pesoEntrada = entrantes.pesos[v][i];
+                // Longitud máxima de los caminos u -> v -> w, que limita la búsqueda de testigos
+                double limite = 0;
+                for (int j = 0; j < salientes.tamanios[v]; j++) {
+                    int w = salientes.destinos[v][j];
+                    if (!contraidos[w] && w != u) {
+                        limite = Math.max(limite, pesoEntrada + salientes.pesos[v][j]);
+                    }
+                }
+                buscarTestigos(u, v, limite);
+                for (int j = 0; j < salientes.tamanios[v]; j++) {
+                    int w = salientes.destinos[v][j];
+                    if (contraidos[w] || w == u) {
+                        continue;
+                    }
+                    double porV = pesoEntrada + salientes.pesos[v][j];
+                    if (marcas[w] != epoca || distancias[w] > porV) {   // No hay camino alternativo tan corto
+                        atajos++;
+                        if (!simular) {
+                            agregarOMejorar(u, w, porV, v);
+                        }
+                    }
+                }
+            }
+
+            if (!simular) {
+                // Las aristas que quedan hacia vecinos sin contraer son las aristas ascendentes de v
+                contraidos[v] = true;
+                for (int i = 0; i < salientes.tamanios[v]; i++) {
+                    int w = salientes.destinos[v][i];
+                    if (!contraidos[w]) {
+                        subida.agregar(v, w, salientes.pesos[v][i], salientes.vias[v][i]);
+                        vecinosContraidos[w]++;
+                    }
+                }
+                for (int i = 0; i < entrantes.tamanios[v]; i++) {
+                    int u = entrantes.destinos[v][i];
+                    if (!contraidos[u]) {
+                        bajada.agregar(v, u, entrantes.pesos[v][i], entrantes.vias[v][i]);
+                        vecinosContraidos[u]++;
+                    }
+                }
+                salientes.liberar(v);
+                entrantes.liberar(v);
+            }
+            return atajos;
+        }
+
+        /**
+         * Dijkstra local desde u en el grafo restante sin pasar por el vértice excluido.
+         */
+        private void buscarTestigos(int u, int excluido, double limite) {
+            if (++epoca == Integer.MAX_VALUE) {
+                Arrays.fill(marcas, 0);
+                epoca = 1;
+            }
+            monticulo.vaciar();
+            marcas[u] = epoca;
+            distancias[u] = 0.0;
+            monticulo.insertarODisminuir(u, 0.0);
+            int asentados = 0;
+            while (!monticulo.estaVacio() && asentados++ < LIMITE_TESTIGOS) {
+                int x = monticulo.extraerMinimo();
+                double distanciaX = distancias[x];
+                if (distanciaX > limite) {
+                    break;
+                }
+                for (int i = 0; i < salientes.tamanios[x]; i++) {
+                    int y = salientes.destinos[x][i];
+                    if (y == excluido || contraidos[y]) {
+                        continue;
+                    }
+                    double nueva = distanciaX + salientes.pesos[x][i];
+                    if (marcas[y] != epoca || nueva < distancias[y]) {
+                        marcas[y] = epoca;
+                        distancias[y] = nueva;
+                        monticulo.insertarODisminuir(y, nueva);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Añade la arista u -> w al grafo restante o rebaja su peso si ya existía una más larga.
+         */
+        private void agregarOMejorar(int u, int w, double peso, int via) {
+            int i = salientes.buscar(u, w);
+            if (i >= 0) {
+                if (peso < salientes.pesos[u][i]) {
+                    salientes.pesos[u][i] = peso;
+                    salientes.vias[u][i] = via;
+                    int j = entrantes.buscar(w, u);
+                    entrantes.pesos[w][j] = peso;
+                    entrantes.vias[w][j] = via;
+                }
+                return;
+            }
+            salientes.agregar(u, w, peso, via);
+            entrantes.agregar(w, u, peso, via);
+        }
+    }
+
+    /**
+     * Listas de adyacencia crecientes por vértice, con arreglos primitivos.
+     */
+    private static final class Listas {
+        private final int[][] destinos;
+        private final double[][] pesos;
+        private final int[][] vias;
+        private final int[] tamanios;
+
+        Listas(int n) {
+            this.destinos = new int[n][];
+            this.pesos = new double[n][];
+            this.vias = new int[n][];
+            this.tamanios = new int[n];
+        }
+
+        void agregar(int v, int destino, double peso, int via) {
+            int tam = tamanios[v];
+            if (destinos[v] == null) {
+                destinos[v] = new int[4];
+                pesos[v] = new double[4];
+                vias[v] = new int[4];
+            } else if (tam == destinos[v].length) {
+                destinos[v] = Arrays.copyOf(destinos[v], tam * 2);
+                pesos[v] = Arrays.copyOf(pesos[v], tam * 2);
+                vias[v] = Arrays.copyOf(vias[v], tam * 2);
+            }
+            destinos[v][tam] = destino;
+            pesos[v][tam] = peso;
+            vias[v][tam] = via;
+            tamanios[v] = tam + 1;
+        }
+
+        int buscar(int v, int destino) {
+            for (int i = 0; i < tamanios[v]; i++) {
+                if (destinos[v][i] == destino) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void liberar(int v) {
+            destinos[v] = null;
+            pesos[v] = null;
+            vias[v] = null;
+            tamanios[v] = 0;
+        }
+
+        Ascendente compactar() {
+            int n = tamanios.length;
+            int[] desplazamientos = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                desplazamientos[v + 1] = desplazamientos[v] + tamanios[v];
+            }
+            int m = desplazamientos[n];
+            int[] destinosCompactos = new int[m];
+            double[] pesosCompactos = new double[m];
+            int[] viasCompactas = new int[m];
+            for (int v = 0; v < n; v++) {
+                if (tamanios[v] > 0) {
+                    System.arraycopy(destinos[v], 0, destinosCompactos, desplazamientos[v], tamanios[v]);
+                    System.arraycopy(pesos[v], 0, pesosCompactos, desplazamientos[v], tamanios[v]);
+                    System.arraycopy(vias[v], 0, viasCompactas, desplazamientos[v], tamanios[v]);
+                }
+            }
+            return new Ascendente(desplazamientos, destinosCompactos, pesosCompactos, viasCompactas);
+        }
+    }
+}
@@ -1,4 +1,253 @@
 package uax.ginf.tecprog.grafos.algoritmos;
 
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.util.UnionFind;
+import uax.ginf.tecprog.grafos.util.UnionFindConcurrente;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Bosque de expansión mínima de un grafo no dirigido.
+ * <p>
+ * Como {@link uax.ginf.tecprog.grafos.modelo.Grafo} guarda cada arista no dirigida dos veces, una en
+ * cada sentido, al preparar las aristas solo se toma la copia cuyo origen tiene menor índice que el
+ * destino (los bucles se descartan). De cada una solo se guarda su posición en la {@link GrafoCSR}, 4 bytes
+ * por arista: el destino y el peso se leen de la instantánea, el origen se busca en sus desplazamientos, y
+ * las posiciones se ordenan en paralelo usando como claves los pesos de la propia instantánea.
+ * <p>
+ * {@link #ejecutar(ForkJoinPool)} es el algoritmo de Kruskal con un {@link UnionFind} secuencial.
+ * {@link #ejecutarBoruvka(ForkJoinPool)} es el algoritmo de Borůvka: en cada ronda todos los hilos buscan
+ * a la vez la arista más ligera que sale de cada componente y las uniones se hacen sobre un
+ * {@link UnionFindConcurrente}, por lo que escala con el número de núcleos.
+ * Los empates de peso se deshacen por posición de la arista, así que ambos devuelven el mismo bosque.
+ */
 public class Kurskal {
+    private static final int UMBRAL_TAREA = 4096; // Elementos a partir de los cuales se divide una tarea
+
+    private final GrafoCSR grafo; // Grafo del que se calcula el bosque
+    private final int[] aristas; // Posición en la instantánea de la copia u < v de cada arista no dirigida
+
+    /**
+     * Constructor que prepara las aristas no dirigidas del grafo, sin duplicados.
+     * @param grafo la instantánea de un grafo no dirigido.
+     * @throws IllegalArgumentException si el grafo es dirigido.
+     */
+    public Kurskal(GrafoCSR grafo) {
+        if (grafo.isEsDirigido()) {
+            throw new IllegalArgumentException("El bosque de expansión mínima requiere un grafo no dirigido");
+        }
+        this.grafo = grafo;
+        int m = 0;
+        for (int u = 0; u < grafo.getNumVertices(); u++) {
+            for (int a = grafo.getInicio(u); a < grafo.getFin(u); a++) {
+                m += u < grafo.getDestino(a) ? 1 : 0;
+            }
+        }
+        this.aristas = new int[m];
+        int k = 0;
+        for (int u = 0; u < grafo.getNumVertices(); u++) {
+            for (int a = grafo.getInicio(u); a < grafo.getFin(u); a++) {
+                if (u < grafo.getDestino(a)) {    // Solo una de las dos copias de la arista
+                    aristas[k++] = a;
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcula el bosque con el algoritmo de Kruskal, ordenando las aristas en el pool común.
+     * @return el bosque de expansión mínima.
+     */
+    public BosqueExpansion ejecutar() {
+        return ejecutar(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula el bosque con el algoritmo de Kruskal.
+     * @param pool el pool de hilos en el que se ordenan las aristas.
+     * @return el bosque de expansión mínima.
+     */
+    public BosqueExpansion ejecutar(ForkJoinPool pool) {
+        int m = aristas.length;
+        int[] orden = aristas.clone();
+        grafo.ordenarPorPeso(orden, pool);  // Estable: a igual peso, por posición
+
+        int n = grafo.getNumVertices();
+        UnionFind conjuntos = new UnionFind(n);
+        int[] elegidas = new int[Math.max(0, n - 1)];
+        int numElegidas = 0;
+        for (int i = 0; i < m && numElegidas < elegidas.length; i++) {
+            int arista = orden[i];
+            if (conjuntos.unir(grafo.getOrigen(arista), grafo.getDestino(arista))) {   // La arista une dos árboles distintos
+                elegidas[numElegidas++] = arista;
+            }
+        }
+        return crearBosque(elegidas, numElegidas);
+    }
+
+    /**
+     * Calcula el bosque con el algoritmo de Borůvka paralelo.
+     * @param pool el pool de hilos en el que se reparten las rondas.
+     * @return el bosque de expansión mínima.
+     */
+    public BosqueExpansion ejecutarBoruvka(ForkJoinPool pool) {
+        int n = grafo.getNumVertices();
+        UnionFindConcurrente conjuntos = new UnionFindConcurrente(n);
+        AtomicIntegerArray mejores = new AtomicIntegerArray(n); // Posición de la arista más ligera que sale de cada componente
+        int[] elegidas = new int[Math.max(0, n - 1)];
+        AtomicInteger numElegidas = new AtomicInteger();
+        int[] vivas = aristas.clone(); // Aristas que todavía unen componentes distintas
+        int numVivas = vivas.length;
+
+        while (numVivas > 0) {
+            for (int v = 0; v < n; v++) {
+                mejores.set(v, -1);
+            }
+            pool.invoke(new BuscarMinimas(this, conjuntos, mejores, vivas, 0, numVivas));
+            int antes = numElegidas.get();
+            pool.invoke(new UnirComponentes(this, conjuntos, mejores, elegidas, numElegidas, 0, n));
+            if (numElegidas.get() == antes) {
+                break;
+            }
+            // Descartar las aristas que ya quedan dentro de una misma componente
+            int quedan = 0;
+            int origen = grafo.getOrigen(vivas[0]);
+            for (int i = 0; i < numVivas; i++) {
+                int arista = vivas[i];
+                while (grafo.getFin(origen) <= arista) {   // Las vivas siguen en orden de posición
+                    origen++;
+                }
+                if (conjuntos.buscar(origen) != conjuntos.buscar(grafo.getDestino(arista))) {
+                    vivas[quedan++] = arista;
+                }
+            }
+            numVivas = quedan;
+        }
+        return crearBosque(elegidas, numElegidas.get());
+    }
+
+    private BosqueExpansion crearBosque(int[] elegidas, int numElegidas) {
+        int[] elegidasOrdenadas = Arrays.copyOf(elegidas, numElegidas);
+        Arrays.sort(elegidasOrdenadas);
+        int[] origenesBosque = new int[numElegidas];
+        int[] destinosBosque = new int[numElegidas];
+        double[] pesosBosque = new double[numElegidas];
+        for (int i = 0; i < numElegidas; i++) {
+            origenesBosque[i] = grafo.getOrigen(elegidasOrdenadas[i]);
+            destinosBosque[i] = grafo.getDestino(elegidasOrdenadas[i]);
+            pesosBosque[i] = grafo.getPeso(elegidasOrdenadas[i]);
+        }
+        return new BosqueExpansion(grafo, origenesBosque, destinosBosque, pesosBosque);
+    }
+
+    /**
+     * Indica si la arista a es más ligera que la b, deshaciendo empates por posición.
+     */
+    private boolean masLigera(int a, int b) {
+        double pesoA = grafo.getPeso(a);
+        double pesoB = grafo.getPeso(b);
+        return pesoA < pesoB || (pesoA == pesoB && a < b);
+    }
+
+    /**
+     * Propone cada arista viva como la más ligera de las componentes de sus dos extremos.
+     */
+    private static final class BuscarMinimas extends RecursiveAction {
+        private final Kurskal kruskal;
+        private final UnionFindConcurrente conjuntos;
+        private final AtomicIntegerArray mejores;
+        private final int[] vivas;
+        private final int desde;
+        private final int hasta;
+
+        BuscarMinimas(Kurskal kruskal, UnionFindConcurrente conjuntos, AtomicIntegerArray mejores,
+                      int[] vivas, int desde, int hasta) {
+            this.kruskal = kruskal;
+            this.conjuntos = conjuntos;
+            this.mejores = mejores;
+            this.vivas = vivas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > UMBRAL_TAREA) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new BuscarMinimas(kruskal, conjuntos, mejores, vivas, desde, medio),
+                        new BuscarMinimas(kruskal, conjuntos, mejores, vivas, medio, hasta));
+                return;
+            }
+            GrafoCSR grafo = kruskal.grafo;
+            int origen = grafo.getOrigen(vivas[desde]);
+            for (int i = desde; i < hasta; i++) {
+                int arista = vivas[i];
+                while (grafo.getFin(origen) <= arista) {   // Las vivas están en orden de posición
+                    origen++;
+                }
+                int raizOrigen = conjuntos.buscar(origen);
+                int raizDestino = conjuntos.buscar(grafo.getDestino(arista));
+                if (raizOrigen != raizDestino) {
+                    proponer(raizOrigen, arista);
+                    proponer(raizDestino, arista);
+                }
+            }
+        }
+
+        private void proponer(int componente, int arista) {
+            int actual = mejores.get(componente);
+            while (actual == -1 || kruskal.masLigera(arista, actual)) {
+                int previo = mejores.compareAndExchange(componente, actual, arista);
+                if (previo == actual) {
+                    return;
+                }
+                actual = previo;
+            }
+        }
+    }
+
+    /**
+     * Une cada componente con la de su arista más ligera y anota las aristas que realizan una unión.
+     */
+    private static final class UnirComponentes extends RecursiveAction {
+        private final Kurskal kruskal;
+        private final UnionFindConcurrente conjuntos;
+        private final AtomicIntegerArray mejores;
+        private final int[] elegidas;
+        private final AtomicInteger numElegidas;
+        private final int desde;
+        private final int hasta;
+
+        UnirComponentes(Kurskal kruskal, UnionFindConcurrente conjuntos, AtomicIntegerArray mejores,
+                        int[] elegidas, AtomicInteger numElegidas, int desde, int hasta) {
+            this.kruskal = kruskal;
+            this.conjuntos = conjuntos;
+            this.mejores = mejores;
+            this.elegidas = elegidas;
+            this.numElegidas = numElegidas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > UMBRAL_TAREA) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new UnirComponentes(kruskal, conjuntos, mejores, elegidas, numElegidas, desde, medio),
+                        new UnirComponentes(kruskal, conjuntos, mejores, elegidas, numElegidas, medio, hasta));
+                return;
+            }
+            for (int v = desde; v < hasta; v++) {
+                int arista = mejores.get(v);
+                // La misma arista puede ser la mínima de sus dos componentes; solo una unión tiene éxito
+                if (arista >= 0 && conjuntos.unir(kruskal.grafo.getOrigen(arista), kruskal.grafo.getDestino(arista))) {
+                    elegidas[numElegidas.getAndIncrement()] = arista;
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,343 @@
+package uax.ginf.tecprog.grafos.analitica;
+
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.util.MonticuloIndexado;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Centralidad de intermediación (betweenness) sobre una instantánea {@link GrafoCSR}, con el algoritmo de
+ * Brandes: desde cada origen se cuentan los caminos mínimos hacia todos los vértices y se acumula, en orden
+ * inverso de distancia, la fracción de esos caminos que pasa por cada vértice. Sin pesos los caminos se
+ * buscan en anchura; con pesos, con Dijkstra sobre un {@link MonticuloIndexado}.
+ * <p>
+ * El cálculo exacto necesita un recorrido desde cada vértice. Para grafos grandes se puede usar solo una
+ * muestra de orígenes elegida con una semilla y escalar el resultado por n / muestras, que es un estimador
+ * insesgado de la centralidad exacta. Los orígenes se reparten en bloques fijos que se procesan por
+ * oleadas en un ForkJoinPool: en cada oleada hay a lo sumo unos pocos bloques por hilo, cada uno con uno de
+ * los espacios de trabajo reservados al empezar, así que la memoria es proporcional al paralelismo por el
+ * número de vértices. Al cerrar la oleada los vectores de los bloques se suman al total en el orden de los
+ * bloques, así que el resultado no depende del número de hilos.
+ */
+public class CentralidadIntermediacion {
+    private static final int ORIGENES_POR_BLOQUE = 16; // Orígenes que procesa cada bloque
+    private static final int BLOQUES_POR_HILO = 4; // Bloques de cada oleada por cada hilo del pool
+    private static final int UMBRAL_SUMA = 16384; // Vértices a partir de los cuales se divide la suma
+
+    private final GrafoCSR grafo; // Grafo analizado
+    private final boolean usarPesos; // Si los caminos se miden por peso o por número de aristas
+    private double[] centralidades; // Centralidad de cada vértice tras la última ejecución
+
+    /**
+     * Constructor para la clase CentralidadIntermediacion.
+     * @param grafo la instantánea del grafo.
+     * @param usarPesos true para medir los caminos por la suma de pesos, false para contar aristas.
+     * @throws IllegalArgumentException si se usan pesos y alguna arista tiene peso negativo.
+     */
+    public CentralidadIntermediacion(GrafoCSR grafo, boolean usarPesos) {
+        if (usarPesos) {
+            for (int a = 0; a < grafo.getInicio(grafo.getNumVertices()); a++) {
+                if (grafo.getPeso(a) < 0) {
+                    throw new IllegalArgumentException("La centralidad de intermediación no admite aristas con peso negativo");
+                }
+            }
+        }
+        this.grafo = grafo;
+        this.usarPesos = usarPesos;
+        this.centralidades = new double[grafo.getNumVertices()];
+    }
+
+    /**
+     * Calcula la centralidad exacta, con un recorrido desde cada vértice, usando el pool común de hilos.
+     */
+    public void ejecutar() {
+        ejecutar(grafo.getNumVertices(), 0, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula la centralidad desde una muestra de orígenes. Con tantas muestras como vértices el resultado
+     * es exacto.
+     * @param muestras el número de orígenes; si supera el número de vértices se usan todos.
+     * @param semilla la semilla con la que se eligen los orígenes.
+     * @param pool el pool de hilos.
+     * @throws IllegalArgumentException si el número de muestras no es positivo.
+     */
+    public void ejecutar(int muestras, long semilla, ForkJoinPool pool) {
+        if (muestras < 1) {
+            throw new IllegalArgumentException("El número de muestras debe ser positivo");
+        }
+        int n = grafo.getNumVertices();
+        if (n == 0) {
+            return;
+        }
+        int k = Math.min(muestras, n);
+        int[] origenes = new int[n];
+        for (int v = 0; v < n; v++) {
+            origenes[v] = v;
+        }
+        if (k < n) {
+            SplittableRandom random = new SplittableRandom(semilla);
+            for (int i = 0; i < k; i++) {   // Fisher–Yates parcial: los k primeros son la muestra
+                int otro = i + random.nextInt(n - i);
+                int aux = origenes[i];
+                origenes[i] = origenes[otro];
+                origenes[otro] = aux;
+            }
+        }
+        int numBloques = (k + ORIGENES_POR_BLOQUE - 1) / ORIGENES_POR_BLOQUE;
+        Espacio[] espacios = new Espacio[Math.min(numBloques, BLOQUES_POR_HILO * pool.getParallelism())];
+        double[] total = new double[n];
+        pool.invoke(new Oleadas(this, origenes, k, espacios, total));
+        double escala = (double) n / k / (grafo.isEsDirigido() ? 1 : 2); // Sin dirección cada camino se cuenta dos veces
+        for (int v = 0; v < n; v++) {
+            total[v] *= escala;
+        }
+        centralidades = total;
+    }
+
+    /**
+     * Devuelve la centralidad de un vértice tras la última ejecución.
+     * @param vertice el índice del vértice.
+     * @return su centralidad.
+     */
+    public double getCentralidad(int vertice) {
+        return centralidades[vertice];
+    }
+
+    /**
+     * Devuelve la centralidad de un vértice tras la última ejecución.
+     * @param vertice el vértice.
+     * @return su centralidad.
+     */
+    public double getCentralidad(Vertice vertice) {
+        return centralidades[grafo.getIndice(vertice)];
+    }
+
+    /**
+     * Copia las centralidades de la última ejecución en un arreglo.
+     * @param destino el arreglo, con al menos getNumVertices() posiciones.
+     */
+    public void copiarCentralidades(double[] destino) {
+        System.arraycopy(centralidades, 0, destino, 0, grafo.getNumVertices());
+    }
+
+    /**
+     * Arreglos de trabajo de un bloque de orígenes, reservados una vez y reutilizados para cada origen.
+     */
+    private static final class Espacio {
+        private final double[] distancias; // Distancia desde el origen, o infinito si no se ha alcanzado
+        private final double[] caminos; // Número de caminos mínimos desde el origen
+        private final double[] dependencias; // Fracción acumulada de caminos que pasan por cada vértice
+        private final int[] orden; // Vértices en orden de distancia no decreciente
+        private final MonticuloIndexado monticulo; // Cola de prioridad, solo con pesos
+        private final double[] acumulado; // Centralidad acumulada por el bloque, a cero al empezar cada bloque
+
+        Espacio(int n, boolean usarPesos) {
+            distancias = new double[n];
+            caminos = new double[n];
+            dependencias = new double[n];
+            orden = new int[n];
+            monticulo = usarPesos ? new MonticuloIndexado(n) : null;
+            acumulado = new double[n];
+            Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        }
+    }
+
+    /**
+     * Recorre el grafo desde un origen, suma las dependencias en el acumulado y deja los arreglos de
+     * trabajo como estaban para el siguiente origen.
+     */
+    private void procesar(int origen, Espacio espacio) {
+        double[] distancias = espacio.distancias;
+        double[] caminos = espacio.caminos;
+        double[] dependencias = espacio.dependencias;
+        int[] orden = espacio.orden;
+        int visitados = usarPesos ? caminosConPesos(origen, espacio) : caminosSinPesos(origen, espacio);
+        for (int i = visitados - 1; i >= 0; i--) { // De los más lejanos al origen
+            int v = orden[i];
+            double suma = 0;
+            for (int a = grafo.getInicio(v); a < grafo.getFin(v); a++) {
+                int w = grafo.getDestino(a);
+                if (distancias[w] == distancias[v] + longitud(a) && w != v) {   // v precede a w en un camino mínimo
+                    suma += caminos[v] / caminos[w] * (1 + dependencias[w]);
+                }
+            }
+            dependencias[v] = suma;
+            if (v != origen) {
+                espacio.acumulado[v] += suma;
+            }
+        }
+        for (int i = 0; i < visitados; i++) {
+            int v = orden[i];
+            distancias[v] = Double.POSITIVE_INFINITY;
+            caminos[v] = 0;
+            dependencias[v] = 0;
+        }
+    }
+
+    private double longitud(int arista) {
+        return usarPesos ? grafo.getPeso(arista) : 1;
+    }
+
+    private int caminosSinPesos(int origen, Espacio espacio) {
+        double[] distancias = espacio.distancias;
+        double[] caminos = espacio.caminos;
+        int[] cola = espacio.orden; // El orden de extracción de la cola ya es el de distancia
+        distancias[origen] = 0;
+        caminos[origen] = 1;
+        cola[0] = origen;
+        int cabeza = 0;
+        int fin = 1;
+        while (cabeza < fin) {
+            int v = cola[cabeza++];
+            double siguiente = distancias[v] + 1;
+            for (int a = grafo.getInicio(v); a < grafo.getFin(v); a++) {
+                int w = grafo.getDestino(a);
+                if (distancias[w] == Double.POSITIVE_INFINITY) {
+                    distancias[w] = siguiente;
+                    cola[fin++] = w;
+                }
+                if (distancias[w] == siguiente) {
+                    caminos[w] += caminos[v];
+                }
+            }
+        }
+        return fin;
+    }
+
+    private int caminosConPesos(int origen, Espacio espacio) {
+        double[] distancias = espacio.distancias;
+        double[] caminos = espacio.caminos;
+        int[] orden = espacio.orden;
+        MonticuloIndexado monticulo = espacio.monticulo;
+        distancias[origen] = 0;
+        caminos[origen] = 1;
+        monticulo.insertarODisminuir(origen, 0);
+        int visitados = 0;
+        while (!monticulo.estaVacio()) {
+            int v = monticulo.extraerMinimo();
+            orden[visitados++] = v;
+            for (int a = grafo.getInicio(v); a < grafo.getFin(v); a++) {
+                int w = grafo.getDestino(a);
+                double nueva = distancias[v] + grafo.getPeso(a);
+                if (nueva < distancias[w]) {
+                    distancias[w] = nueva;
+                    caminos[w] = caminos[v];
+                    monticulo.insertarODisminuir(w, nueva);
+                } else if (nueva == distancias[w] && w != v) {
+                    caminos[w] += caminos[v];
+                }
+            }
+        }
+        return visitados;
+    }
+
+    /**
+     * Procesa los bloques de orígenes por oleadas de tantos bloques como espacios de trabajo haya, y tras
+     * cada oleada suma los acumulados al total.
+     */
+    private static final class Oleadas extends RecursiveAction {
+        private final CentralidadIntermediacion centralidad;
+        private final int[] origenes;
+        private final int numOrigenes;
+        private final Espacio[] espacios;
+        private final double[] total;
+
+        Oleadas(CentralidadIntermediacion centralidad, int[] origenes, int numOrigenes, Espacio[] espacios,
+                double[] total) {
+            this.centralidad = centralidad;
+            this.origenes = origenes;
+            this.numOrigenes = numOrigenes;
+            this.espacios = espacios;
+            this.total = total;
+        }
+
+        @Override
+        protected void compute() {
+            int n = total.length;
+            for (int j = 0; j < espacios.length; j++) {
+                espacios[j] = new Espacio(n, centralidad.usarPesos);
+            }
+            int porOleada = espacios.length * ORIGENES_POR_BLOQUE;
+            for (int primero = 0; primero < numOrigenes; primero += porOleada) {
+                int numBloques = Math.min(espacios.length,
+                        (numOrigenes - primero + ORIGENES_POR_BLOQUE - 1) / ORIGENES_POR_BLOQUE);
+                ProcesarBloque[] bloques = new ProcesarBloque[numBloques];
+                for (int j = 0; j < numBloques; j++) {
+                    int desde = primero + j * ORIGENES_POR_BLOQUE;
+                    bloques[j] = new ProcesarBloque(centralidad, origenes, desde,
+                            Math.min(numOrigenes, desde + ORIGENES_POR_BLOQUE), espacios[j]);
+                }
+                invokeAll(bloques);
+                new Sumar(espacios, numBloques, total, 0, n).compute();
+            }
+        }
+    }
+
+    /**
+     * Procesa un bloque de orígenes con su espacio de trabajo, acumulando en él su centralidad sin escalar.
+     */
+    private static final class ProcesarBloque extends RecursiveAction {
+        private final CentralidadIntermediacion centralidad;
+        private final int[] origenes;
+        private final int desde;
+        private final int hasta;
+        private final Espacio espacio;
+
+        ProcesarBloque(CentralidadIntermediacion centralidad, int[] origenes, int desde, int hasta, Espacio espacio) {
+            this.centralidad = centralidad;
+            this.origenes = origenes;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.espacio = espacio;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = desde; i < hasta; i++) {
+                centralidad.procesar(origenes[i], espacio);
+            }
+        }
+    }
+
+    /**
+     * Suma al total, para un tramo de vértices, los acumulados de los bloques en su orden, y los deja a cero
+     * para la siguiente oleada.
+     */
+    private static final class Sumar extends RecursiveAction {
+        private final Espacio[] espacios;
+        private final int numBloques;
+        private final double[] total;
+        private final int desde;
+        private final int hasta;
+
+        Sumar(Espacio[] espacios, int numBloques, double[] total, int desde, int hasta) {
+            this.espacios = espacios;
+            this.numBloques = numBloques;
+            this.total = total;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > UMBRAL_SUMA) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new Sumar(espacios, numBloques, total, desde, medio),
+                        new Sumar(espacios, numBloques, total, medio, hasta));
+                return;
+            }
+            for (int j = 0; j < numBloques; j++) {
+                double[] acumulado = espacios[j].acumulado;
+                for (int v = desde; v < hasta; v++) {
+                    total[v] += acumulado[v];
+                    acumulado[v] = 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package uax.ginf.tecprog.grafos.analitica;
+
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * PageRank sobre una instantánea {@link GrafoCSR}, con vector de personalización opcional.
+ * El peso de cada arista es su probabilidad de transición relativa: desde u se sigue la arista (u, v) con
+ * probabilidad peso(u, v) / suma de los pesos de salida de u. Los vértices sin aristas de salida (o con
+ * pesos de salida nulos) reparten su rango según el vector de personalización, igual que el salto aleatorio.
+ * <p>
+ * Cada iteración es de tipo pull: cada vértice suma las contribuciones de sus aristas entrantes, leídas del
+ * grafo traspuesto, así que escribe solo en su propia posición y los vértices se pueden repartir entre
+ * los hilos sin sincronización. Los tramos se dividen por número de aristas, no de vértices, para que
+ * los vértices con muchísimas entrantes no dejen a un hilo con todo el trabajo. Se itera hasta que la
+ * distancia L1 entre dos vectores de rangos consecutivos baja de la tolerancia, o hasta el máximo de
+ * iteraciones. Los arreglos se reservan en el constructor y se reutilizan en cada ejecución.
+ */
+public class PageRank {
+    private static final int UMBRAL_TAREA = 4096; // Vértices más aristas a partir de los cuales se divide una tarea
+
+    private final GrafoCSR grafo; // Grafo original
+    private final GrafoCSR traspuesto; // Aristas entrantes de cada vértice
+    private final double amortiguacion; // Probabilidad de seguir una arista en lugar de saltar
+    private final double tolerancia; // Distancia L1 entre iteraciones por debajo de la cual se para
+    private final int maxIteraciones; // Número máximo de iteraciones
+    private final double[] pesoSalida; // Suma de los pesos de salida de cada vértice
+    private final double[] personalizacion; // Probabilidad de saltar a cada vértice, suma 1
+    private double[] rangos; // Rango de cada vértice
+    private double[] siguientes; // Rangos de la iteración en curso
+    private final double[] contribuciones; // Rango de cada vértice dividido entre su peso de salida
+    private int numIteraciones; // Iteraciones de la última ejecución
+    private double error; // Distancia L1 de la última iteración
+
+    /**
+     * Constructor con amortiguación 0.85, tolerancia 1e-9 y hasta 100 iteraciones.
+     * @param grafo la instantánea del grafo, sin pesos negativos.
+     */
+    public PageRank(GrafoCSR grafo) {
+        this(grafo, 0.85, 1e-9, 100);
+    }
+
+    /**
+     * Constructor para la clase PageRank.
+     * @param grafo la instantánea del grafo, sin pesos negativos.
+     * @param amortiguacion la probabilidad de seguir una arista en lugar de saltar, entre 0 y 1.
+     * @param tolerancia la distancia L1 entre dos iteraciones por debajo de la cual se considera convergido.
+     * @param maxIteraciones el número máximo de iteraciones.
+     * @throws IllegalArgumentException si algún parámetro no es válido o alguna arista tiene peso negativo.
+     */
+    public PageRank(GrafoCSR grafo, double amortiguacion, double tolerancia, int maxIteraciones) {
+        if (amortiguacion < 0 || amortiguacion > 1 || tolerancia < 0 || maxIteraciones < 1) {
+            throw new IllegalArgumentException("Parámetros de PageRank no válidos");
+        }
+        int n = grafo.getNumVertices();
+        this.grafo = grafo;
+        this.traspuesto = grafo.traspuesto();
+        this.amortiguacion = amortiguacion;
+        this.tolerancia = tolerancia;
+        this.maxIteraciones = maxIteraciones;
+        this.pesoSalida = new double[n];
+        for (int v = 0; v < n; v++) {
+            for (int a = grafo.getInicio(v); a < grafo.getFin(v); a++) {
+                if (grafo.getPeso(a) < 0) {
+                    throw new IllegalArgumentException("PageRank no admite aristas con peso negativo");
+                }
+                pesoSalida[v] += grafo.getPeso(a);
+            }
+        }
+        this.personalizacion = new double[n];
+        this.rangos = new double[n];
+        this.siguientes = new double[n];
+        this.contribuciones = new double[n];
+    }
+
+    /**
+     * Calcula el PageRank sin personalización, usando el pool común de hilos.
+     */
+    public void ejecutar() {
+        ejecutar(null, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula el PageRank repartiendo cada iteración entre los hilos de un pool.
+     * @param personalizacion el peso de cada vértice en el salto aleatorio, no negativo y con alguna
+     *                        posición positiva; se normaliza para que sume 1. Con null, todos los
+     *                        vértices tienen la misma probabilidad.
+     * @param pool el pool de hilos.
+     * @throws IllegalArgumentException si el vector de personalización no es válido.
+     */
+    public void ejecutar(double[] personalizacion, ForkJoinPool pool) {
+        int n = grafo.getNumVertices();
+        if (n == 0) {
+            numIteraciones = 0;
+            error = 0;
+            return;
+        }
+        prepararPersonalizacion(personalizacion);
+        System.arraycopy(this.personalizacion, 0, rangos, 0, n);
+        error = Double.POSITIVE_INFINITY;
+        numIteraciones = 0;
+        while (numIteraciones < maxIteraciones && error > tolerancia) {
+            double colgante = pool.invoke(new Contribuir(this, 0, n));    // Rango de los vértices sin salida
+            error = pool.invoke(new Acumular(this, 0, n, colgante));
+            double[] aux = rangos;
+            rangos = siguientes;
+            siguientes = aux;
+            numIteraciones++;
+        }
+    }
+
+    /**
+     * Calcula el PageRank personalizado hacia un conjunto de vértices, que reciben todos los saltos
+     * aleatorios a partes iguales.
+     * @param semillas los vértices hacia los que se personaliza.
+     * @param pool el pool de hilos.
+     */
+    public void ejecutarPersonalizado(int[] semillas, ForkJoinPool pool) {
+        double[] vector = new double[grafo.getNumVertices()];
+        for (int v : semillas) {
+            vector[v] = 1.0;
+        }
+        ejecutar(vector, pool);
+    }
+
+    private void prepararPersonalizacion(double[] vector) {
+        int n = grafo.getNumVertices();
+        if (vector == null) {
+            Arrays.fill(personalizacion, 1.0 / n);
+            return;
+        }
+        if (vector.length != n) {
+            throw new IllegalArgumentException("El vector de personalización debe tener un valor por vértice");
+        }
+        double suma = 0;
+        for (double valor : vector) {
+            if (!(valor >= 0)) {
+                throw new IllegalArgumentException("El vector de personalización no admite valores negativos");
+            }
+            suma += valor;
+        }
+        if (!(suma > 0) || Double.isInfinite(suma)) {
+            throw new IllegalArgumentException("El vector de personalización debe tener algún valor positivo");
+        }
+        for (int v = 0; v < n; v++) {
+            personalizacion[v] = vector[v] / suma;
+        }
+    }
+
+    /**
+     * Devuelve el rango de un vértice tras la última ejecución. Los rangos suman 1.
+     * @param vertice el índice del vértice.
+     * @return su rango.
+     */
+    public double getRango(int vertice) {
+        return rangos[vertice];
+    }
+
+    /**
+     * Devuelve el rango de un vértice tras la última ejecución.
+     * @param vertice el vértice.
+     * @return su rango.
+     */
+    public double getRango(Vertice vertice) {
+        return rangos[grafo.getIndice(vertice)];
+    }
+
+    /**
+     * Copia los rangos de la última ejecución en un arreglo.
+     * @param destino el arreglo, con al menos getNumVertices() posiciones.
+     */
+    public void copiarRangos(double[] destino) {
+        System.arraycopy(rangos, 0, destino, 0, grafo.getNumVertices());
+    }
+
+    /**
+     * Devuelve el número de iteraciones de la última ejecución.
+     * @return el número de iteraciones.
+     */
+    public int getNumIteraciones() {
+        return numIteraciones;
+    }
+
+    /**
+     * Devuelve la distancia L1 entre los dos últimos vectores de rangos.
+     * @return el error de la última iteración.
+     */
+    public double getError() {
+        return error;
+    }
+
+    /**
+     * Indica si la última ejecución convergió antes de agotar las iteraciones.
+     * @return true si el error quedó por debajo de la tolerancia.
+     */
+    public boolean haConvergido() {
+        return error <= tolerancia;
+    }
+
+    /**
+     * Divide [desde, hasta) por la mitad del trabajo del tramo, contando un vértice más sus aristas entrantes.
+     * Contar también los vértices evita tramos degenerados cuando muchos no tienen aristas.
+     */
+    private int mitad(int desde, int hasta) {
+        int objetivo = (int) (((long) desde + traspuesto.getInicio(desde) + hasta + traspuesto.getFin(hasta - 1)) >>> 1);
+        int bajo = desde + 1;
+        int alto = hasta - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (medio + traspuesto.getInicio(medio) < objetivo) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    private boolean esGrande(int desde, int hasta) {
+        return hasta - desde > 1
+                && (hasta - desde) + (traspuesto.getFin(hasta - 1) - traspuesto.getInicio(desde)) > UMBRAL_TAREA;
+    }
+
+    /**
+     * Calcula la contribución de cada vértice del tramo y devuelve el rango de los vértices sin salida.
+     */
+    private static final class Contribuir extends RecursiveTask<Double> {
+        private final PageRank pageRank;
+        private final int desde;
+        private final int hasta;
+
+        Contribuir(PageRank pageRank, int desde, int hasta) {
+            this.pageRank = pageRank;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Double compute() {
+            if (hasta - desde > UMBRAL_TAREA) {
+                int medio = (desde + hasta) >>> 1;
+                Contribuir derecha = new Contribuir(pageRank, medio, hasta);
+                derecha.fork();
+                double izquierda = new Contribuir(pageRank, desde, medio).compute();
+                return izquierda + derecha.join();
+            }
+            double colgante = 0;
+            for (int v = desde; v < hasta; v++) {
+                double peso = pageRank.pesoSalida[v];
+                if (peso > 0) {
+                    pageRank.contribuciones[v] = pageRank.rangos[v] / peso;
+                } else {
+                    pageRank.contribuciones[v] = 0;
+                    colgante += pageRank.rangos[v];
+                }
+            }
+            return colgante;
+        }
+    }
+
+    /**
+     * Calcula el nuevo rango de cada vértice del tramo a partir de sus aristas entrantes y devuelve la
+     * distancia L1 con el rango anterior.
+     */
+    private static final class Acumular extends RecursiveTask<Double> {
+        private final PageRank pageRank;
+        private final int desde;
+        private final int hasta;
+        private final double colgante;
+
+        Acumular(PageRank pageRank, int desde, int hasta, double colgante) {
+            this.pageRank = pageRank;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.colgante = colgante;
+        }
+
+        @Override
+        protected Double compute() {
+            if (pageRank.esGrande(desde, hasta)) {
+                int medio = pageRank.mitad(desde, hasta);
+                Acumular derecha = new Acumular(pageRank, medio, hasta, colgante);
+                derecha.fork();
+                double izquierda = new Acumular(pageRank, desde, medio, colgante).compute();
+                return izquierda + derecha.join();
+            }
+            GrafoCSR traspuesto = pageRank.traspuesto;
+            double[] contribuciones = pageRank.contribuciones;
+            double d = pageRank.amortiguacion;
+            double diferencia = 0;
+            for (int v = desde; v < hasta; v++) {
+                double suma = 0;
+                for (int a = traspuesto.getInicio(v), fin = traspuesto.getFin(v); a < fin; a++) {
+                    suma += traspuesto.getPeso(a) * contribuciones[traspuesto.getDestino(a)];
+                }
+                double salto = pageRank.personalizacion[v];
+                double rango = (1 - d) * salto + d * (suma + colgante * salto);
+                pageRank.siguientes[v] = rango;
+                diferencia += Math.abs(rango - pageRank.rangos[v]);
+            }
+            return diferencia;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import uax.ginf.tecprog.grafos.io.GuardadorGrafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Aristas producidas por un generador, guardadas en arreglos primitivos: un índice de origen, un índice de
+ * destino y, si el generador los asigna, un peso por arista. Los vértices son los índices 0 a n-1, sin
+ * objetos {@link Vertice} ni {@link uax.ginf.tecprog.grafos.modelo.Arista}; solo se crean los vértices al
+ * convertir las aristas en una {@link GrafoCSR}.
+ * <p>
+ * Como los arreglos de Java se indexan con int, una lista admite hasta unos 2.100 millones de aristas.
+ * La lista entera queda en memoria, y {@link #aCSR(boolean)} y {@link #guardar(Path, boolean)} construyen
+ * otra copia agrupada por origen, así que mientras tanto hay dos copias de las aristas. Para grafos grandes
+ * son preferibles {@link GeneradorAristas#generarCSR(long, boolean)} y
+ * {@link GeneradorAristas#guardar(long, Path, boolean)}, que trabajan por bloques.
+ */
+public final class AristasGeneradas {
+    private final int numVertices; // Número de vértices
+    private final int[] origenes; // Índice del origen de cada arista
+    private final int[] destinos; // Índice del destino de cada arista
+    private final double[] pesos; // Peso de cada arista, o null si todas pesan 1.0
+
+    /**
+     * Constructor para la clase AristasGeneradas. Los arreglos no se copian.
+     * @param numVertices el número de vértices.
+     * @param origenes el índice del origen de cada arista.
+     * @param destinos el índice del destino de cada arista, del mismo tamaño que origenes.
+     * @param pesos el peso de cada arista, o null si todas pesan 1.0.
+     */
+    AristasGeneradas(int numVertices, int[] origenes, int[] destinos, double[] pesos) {
+        this.numVertices = numVertices;
+        this.origenes = origenes;
+        this.destinos = destinos;
+        this.pesos = pesos;
+    }
+
+    /**
+     * Construye una instantánea CSR con las aristas, sin pasar por un {@link uax.ginf.tecprog.grafos.modelo.Grafo}.
+     * El vértice de índice i tiene el id "v" seguido de i.
+     * @param esDirigido si las aristas son dirigidas; si no, cada una se almacena en ambos sentidos.
+     * @return la instantánea.
+     * @throws IllegalArgumentException si el número de aristas almacenadas no cabe en un arreglo.
+     */
+    public GrafoCSR aCSR(boolean esDirigido) {
+        return GrafoCSR.desdeAristas(esDirigido, crearVertices(numVertices), origenes, destinos, pesos, origenes.length);
+    }
+
+    /**
+     * Guarda las aristas en el formato binario de {@link GuardadorGrafo}, que necesita las adyacencias de cada
+     * vértice agrupadas, por lo que se pasa por una instantánea CSR: en el pico hay en memoria la lista, la
+     * instantánea con un {@link Vertice} por vértice y la copia ordenada que hace el guardador.
+     * @param archivo la ruta del archivo, que se sobrescribe si existe.
+     * @param esDirigido si las aristas son dirigidas.
+     * @throws IOException si el archivo no se puede escribir.
+     */
+    public void guardar(Path archivo, boolean esDirigido) throws IOException {
+        GuardadorGrafo.guardar(aCSR(esDirigido), archivo);
+    }
+
+    /**
+     * Devuelve el número de vértices.
+     * @return el número de vértices.
+     */
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Devuelve el número de aristas.
+     * @return el número de aristas.
+     */
+    public int getNumAristas() {
+        return origenes.length;
+    }
+
+    /**
+     * Devuelve el índice del vértice de origen de una arista.
+     * @param arista la posición de la arista, entre 0 y getNumAristas()-1.
+     * @return el índice del origen.
+     */
+    public int getOrigen(int arista) {
+        return origenes[arista];
+    }
+
+    /**
+     * Devuelve el índice del vértice de destino de una arista.
+     * @param arista la posición de la arista, entre 0 y getNumAristas()-1.
+     * @return el índice del destino.
+     */
+    public int getDestino(int arista) {
+        return destinos[arista];
+    }
+
+    /**
+     * Devuelve el peso de una arista.
+     * @param arista la posición de la arista, entre 0 y getNumAristas()-1.
+     * @return el peso, 1.0 si el generador no asigna pesos.
+     */
+    public double getPeso(int arista) {
+        return pesos == null ? 1.0 : pesos[arista];
+    }
+
+    /**
+     * Crea los vértices de las instantáneas generadas: el de índice i tiene el id "v" seguido de i.
+     * @param numVertices el número de vértices.
+     * @return los vértices.
+     */
+    static Vertice[] crearVertices(int numVertices) {
+        Vertice[] vertices = new Vertice[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            vertices[v] = new Vertice("v" + v, null);
+        }
+        return vertices;
+    }
+
+    /**
+     * Comprueba que el número de aristas cabe en un arreglo.
+     * @param numAristas el número de aristas.
+     * @return el número de aristas como int.
+     * @throws IllegalArgumentException si no cabe.
+     */
+    static int comprobarTamanio(long numAristas) {
+        if (numAristas < 0 || numAristas > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Demasiadas aristas para generarlas en arreglos: " + numAristas);
+        }
+        return (int) numAristas;
+    }
+}
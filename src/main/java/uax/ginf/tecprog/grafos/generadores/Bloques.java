@@ -0,0 +1,106 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reparto del trabajo de los generadores en bloques de tamaño fijo. Cada bloque usa su propia secuencia
+ * aleatoria, derivada de la semilla y del número de bloque, así que el resultado es el mismo con
+ * cualquier número de hilos.
+ */
+final class Bloques {
+    static final int TAM_BLOQUE = 1 << 16; // Elementos por bloque por defecto
+
+    private Bloques() {
+    }
+
+    /**
+     * Tarea que procesa los elementos [desde, hasta) del bloque número bloque.
+     */
+    @FunctionalInterface
+    interface Tarea {
+        void ejecutar(int bloque, int desde, int hasta);
+    }
+
+    /**
+     * Divide [0, total) en bloques de {@link #TAM_BLOQUE} elementos y los procesa en el pool.
+     * @param total el número de elementos.
+     * @param pool el pool de hilos en el que se reparte el trabajo.
+     * @param tarea la tarea que procesa cada bloque.
+     */
+    static void repartir(int total, ForkJoinPool pool, Tarea tarea) {
+        repartir(total, TAM_BLOQUE, pool, tarea);
+    }
+
+    /**
+     * Divide [0, total) en bloques de tamBloque elementos y los procesa en el pool.
+     * @param total el número de elementos.
+     * @param tamBloque el número de elementos de cada bloque.
+     * @param pool el pool de hilos en el que se reparte el trabajo.
+     * @param tarea la tarea que procesa cada bloque.
+     */
+    static void repartir(int total, int tamBloque, ForkJoinPool pool, Tarea tarea) {
+        int numBloques = (int) ((total + (long) tamBloque - 1) / tamBloque);
+        if (numBloques > 0) {
+            pool.invoke(new Reparto(total, tamBloque, tarea, 0, numBloques));
+        }
+    }
+
+    /**
+     * Número aleatorio de 64 bits determinado por la semilla y una posición (finalizador de SplitMix64).
+     * Permite sortear cada elemento por separado, en cualquier orden y en cualquier hilo.
+     * @param semilla la semilla.
+     * @param posicion la posición del elemento.
+     * @return el número aleatorio.
+     */
+    static long aleatorio(long semilla, long posicion) {
+        long z = semilla + (posicion + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Entero aleatorio entre 0 (incluido) y límite (excluido), determinado por la semilla y una posición.
+     */
+    static long aleatorio(long semilla, long posicion, long limite) {
+        return Math.floorMod(aleatorio(semilla, posicion), limite);
+    }
+
+    /**
+     * Double aleatorio en [0, 1), determinado por la semilla y una posición.
+     */
+    static double aleatorioDouble(long semilla, long posicion) {
+        return (aleatorio(semilla, posicion) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Reparte recursivamente los bloques [desde, hasta) entre los hilos.
+     */
+    private static final class Reparto extends RecursiveAction {
+        private final int total;
+        private final int tamBloque;
+        private final Tarea tarea;
+        private final int desde;
+        private final int hasta;
+
+        Reparto(int total, int tamBloque, Tarea tarea, int desde, int hasta) {
+            this.total = total;
+            this.tamBloque = tamBloque;
+            this.tarea = tarea;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                long inicio = (long) desde * tamBloque;
+                tarea.ejecutar(desde, (int) inicio, (int) Math.min(total, inicio + tamBloque));
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new Reparto(total, tamBloque, tarea, desde, medio), new Reparto(total, tamBloque, tarea, medio, hasta));
+        }
+    }
+}
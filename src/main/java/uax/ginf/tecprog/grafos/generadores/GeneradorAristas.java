@@ -0,0 +1,208 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import uax.ginf.tecprog.grafos.io.GuardadorGrafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Base de los generadores. Además de devolver todas las aristas en una {@link AristasGeneradas}, cada
+ * generador sabe entregarlas por bloques, y con ellos se construye una {@link GrafoCSR} o se escribe un
+ * archivo de {@link GuardadorGrafo} sin guardar antes la lista completa de aristas.
+ * <p>
+ * El camino por bloques genera las aristas dos veces: la primera solo cuenta el grado de cada vértice y la
+ * segunda coloca cada arista en el hueco de su origen. En memoria quedan los arreglos de adyacencias, un
+ * contador por vértice y un bloque por hilo. Como los hilos colocan las aristas en cualquier orden, al final
+ * se ordenan las adyacencias de cada vértice por destino (y a igual destino, por peso), así que el resultado
+ * no depende del número de hilos.
+ * <p>
+ * Límites: los arreglos de adyacencias se indexan con int, así que caben unos 2.100 millones de aristas
+ * almacenadas. Una arista no dirigida se almacena en ambos sentidos, por lo que con aristas no dirigidas
+ * el límite es de unos 1.070 millones de aristas generadas. La instantánea necesita además un
+ * {@link uax.ginf.tecprog.grafos.modelo.Vertice} y su id por vértice; el archivo no, los ids se escriben
+ * según se necesitan.
+ */
+public abstract class GeneradorAristas {
+
+    /**
+     * Recibe un bloque de aristas. Se llama desde varios hilos a la vez; los arreglos solo son válidos
+     * durante la llamada.
+     */
+    @FunctionalInterface
+    interface Receptor {
+        void recibir(int[] origenes, int[] destinos, double[] pesos, int tamanio);
+    }
+
+    /**
+     * Devuelve el número de vértices de los grafos generados.
+     * @return el número de vértices.
+     */
+    public abstract int getNumVertices();
+
+    /**
+     * Genera las aristas por bloques y entrega cada bloque al receptor. Con la misma semilla se deben
+     * entregar siempre las mismas aristas, aunque los bloques lleguen en otro orden.
+     * @param semilla la semilla.
+     * @param pool el pool de hilos.
+     * @param receptor el receptor de los bloques; null en pesos si todas pesan 1.0.
+     */
+    abstract void emitir(long semilla, ForkJoinPool pool, Receptor receptor);
+
+    /**
+     * Genera las aristas directamente en una instantánea CSR usando el pool común de hilos.
+     * @param semilla la semilla; la misma semilla produce siempre la misma instantánea.
+     * @param esDirigido si las aristas son dirigidas; si no, cada una se almacena en ambos sentidos.
+     * @return la instantánea, con el id "v" seguido de i para el vértice de índice i.
+     * @throws IllegalArgumentException si el número de aristas almacenadas no cabe en un arreglo.
+     */
+    public GrafoCSR generarCSR(long semilla, boolean esDirigido) {
+        return generarCSR(semilla, esDirigido, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Genera las aristas directamente en una instantánea CSR, sin la lista de aristas intermedia de
+     * {@link AristasGeneradas#aCSR(boolean)}.
+     * @param semilla la semilla; la misma semilla produce siempre la misma instantánea, con cualquier pool.
+     * @param esDirigido si las aristas son dirigidas; si no, cada una se almacena en ambos sentidos.
+     * @param pool el pool de hilos.
+     * @return la instantánea, con el id "v" seguido de i para el vértice de índice i.
+     * @throws IllegalArgumentException si el número de aristas almacenadas no cabe en un arreglo.
+     */
+    public GrafoCSR generarCSR(long semilla, boolean esDirigido, ForkJoinPool pool) {
+        Adyacencias adyacencias = colocar(semilla, esDirigido, pool);
+        return GrafoCSR.desdeAdyacencias(esDirigido, AristasGeneradas.crearVertices(getNumVertices()),
+                adyacencias.desplazamientos, adyacencias.destinos, adyacencias.pesos);
+    }
+
+    /**
+     * Genera las aristas y las guarda en el formato binario de {@link GuardadorGrafo} usando el pool común
+     * de hilos.
+     * @param semilla la semilla; la misma semilla produce siempre el mismo archivo.
+     * @param archivo la ruta del archivo, que se sobrescribe si existe.
+     * @param esDirigido si las aristas son dirigidas.
+     * @throws IOException si el archivo no se puede escribir.
+     * @throws IllegalArgumentException si el número de aristas almacenadas no cabe en un arreglo.
+     */
+    public void guardar(long semilla, Path archivo, boolean esDirigido) throws IOException {
+        guardar(semilla, archivo, esDirigido, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Genera las aristas y las guarda en el formato binario de {@link GuardadorGrafo}, sin lista de aristas,
+     * sin instantánea y sin objetos por vértice: solo con los arreglos de adyacencias.
+     * @param semilla la semilla; la misma semilla produce siempre el mismo archivo, con cualquier pool.
+     * @param archivo la ruta del archivo, que se sobrescribe si existe.
+     * @param esDirigido si las aristas son dirigidas.
+     * @param pool el pool de hilos.
+     * @throws IOException si el archivo no se puede escribir.
+     * @throws IllegalArgumentException si el número de aristas almacenadas no cabe en un arreglo.
+     */
+    public void guardar(long semilla, Path archivo, boolean esDirigido, ForkJoinPool pool) throws IOException {
+        Adyacencias adyacencias = colocar(semilla, esDirigido, pool);
+        GuardadorGrafo.guardar(archivo, esDirigido, adyacencias.desplazamientos, adyacencias.destinos,
+                adyacencias.pesos, v -> "v" + v);
+    }
+
+    /**
+     * Agrupa las aristas generadas por origen en dos pasadas y ordena las adyacencias de cada vértice.
+     */
+    private Adyacencias colocar(long semilla, boolean esDirigido, ForkJoinPool pool) {
+        int n = getNumVertices();
+        AtomicIntegerArray siguiente = new AtomicIntegerArray(n); // Grado y después hueco libre de cada vértice
+        AtomicBoolean conPesos = new AtomicBoolean();
+
+        // Primera pasada: contar las aristas de salida de cada vértice
+        emitir(semilla, pool, (origenes, destinos, pesos, tamanio) -> {
+            for (int i = 0; i < tamanio; i++) {
+                siguiente.getAndIncrement(origenes[i]);
+                if (!esDirigido) {
+                    siguiente.getAndIncrement(destinos[i]);
+                }
+            }
+            if (pesos != null && tamanio > 0) {
+                conPesos.set(true);
+            }
+        });
+        int[] desplazamientos = new int[n + 1];
+        long total = 0;
+        for (int v = 0; v < n; v++) {
+            int grado = siguiente.get(v);
+            total += grado;
+            if (grado < 0 || total > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Demasiadas aristas para una instantánea CSR");
+            }
+            desplazamientos[v + 1] = (int) total;
+            siguiente.set(v, desplazamientos[v]);
+        }
+
+        // Segunda pasada: colocar cada arista en el hueco de su origen
+        int[] destinosCSR = new int[(int) total];
+        double[] pesosCSR = conPesos.get() ? new double[(int) total] : null;
+        emitir(semilla, pool, (origenes, destinos, pesos, tamanio) -> {
+            for (int i = 0; i < tamanio; i++) {
+                int posicion = siguiente.getAndIncrement(origenes[i]);
+                destinosCSR[posicion] = destinos[i];
+                if (pesosCSR != null) {
+                    pesosCSR[posicion] = pesos == null ? 1.0 : pesos[i];
+                }
+                if (!esDirigido) {
+                    posicion = siguiente.getAndIncrement(destinos[i]);
+                    destinosCSR[posicion] = origenes[i];
+                    if (pesosCSR != null) {
+                        pesosCSR[posicion] = pesos == null ? 1.0 : pesos[i];
+                    }
+                }
+            }
+        });
+
+        Bloques.repartir(n, pool, (bloque, desde, hasta) -> ordenar(desplazamientos, destinosCSR, pesosCSR, desde, hasta));
+        return new Adyacencias(desplazamientos, destinosCSR, pesosCSR);
+    }
+
+    /**
+     * Ordena las adyacencias de los vértices [desde, hasta) por destino y, a igual destino, por peso.
+     */
+    private static void ordenar(int[] desplazamientos, int[] destinos, double[] pesos, int desde, int hasta) {
+        long[] claves = new long[0];
+        double[] copia = new double[0];
+        for (int v = desde; v < hasta; v++) {
+            int inicio = desplazamientos[v];
+            int grado = desplazamientos[v + 1] - inicio;
+            if (pesos == null) {
+                Arrays.sort(destinos, inicio, inicio + grado);
+                continue;
+            }
+            if (claves.length < grado) {
+                claves = new long[Math.max(grado, claves.length * 2)];
+                copia = new double[claves.length];
+            }
+            for (int i = 0; i < grado; i++) {   // Destino en los bits altos y posición en los bajos
+                claves[i] = ((long) destinos[inicio + i] << 32) | i;
+                copia[i] = pesos[inicio + i];
+            }
+            Arrays.sort(claves, 0, grado);
+            for (int i = 0; i < grado; i++) {
+                destinos[inicio + i] = (int) (claves[i] >>> 32);
+                pesos[inicio + i] = copia[(int) claves[i]];
+            }
+            for (int i = 0, j; i < grado; i = j) {  // Aristas repetidas: por peso, no por orden de llegada
+                j = i + 1;
+                while (j < grado && destinos[inicio + j] == destinos[inicio + i]) {
+                    j++;
+                }
+                Arrays.sort(pesos, inicio + i, inicio + j);
+            }
+        }
+    }
+
+    /**
+     * Adyacencias agrupadas por origen.
+     */
+    private record Adyacencias(int[] desplazamientos, int[] destinos, double[] pesos) {
+    }
+}
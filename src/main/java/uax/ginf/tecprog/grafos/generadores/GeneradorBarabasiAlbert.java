@@ -0,0 +1,102 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generador Barabási–Albert de conexión preferente: los vértices llegan uno a uno y cada uno se une a
+ * aristasPorVertice vértices anteriores, elegidos con probabilidad proporcional a su grado. Produce grados
+ * con ley de potencias de exponente 3.
+ * <p>
+ * Se usa la formulación como modelo de copia (Batagelj y Brandes), paralelizada como en Sanders y Schulz:
+ * las aristas se escriben en una lista de extremos, y elegir un vértice según su grado equivale a elegir
+ * al azar una posición anterior de esa lista. El azar de cada posición depende solo de la semilla y de la
+ * posición, así que cada arista se resuelve por separado, siguiendo la cadena de posiciones copiadas hasta
+ * llegar a un origen, que es conocido. Puede haber aristas repetidas y bucles.
+ */
+public class GeneradorBarabasiAlbert extends GeneradorAristas {
+    private final int numVertices; // Número de vértices
+    private final int aristasPorVertice; // Aristas que añade cada vértice nuevo
+
+    /**
+     * Constructor para la clase GeneradorBarabasiAlbert.
+     * @param numVertices el número de vértices.
+     * @param aristasPorVertice el número de aristas que añade cada vértice.
+     * @throws IllegalArgumentException si los parámetros no son válidos o hay demasiadas aristas.
+     */
+    public GeneradorBarabasiAlbert(int numVertices, int aristasPorVertice) {
+        if (numVertices < 1 || aristasPorVertice < 1) {
+            throw new IllegalArgumentException("Parámetros no válidos: " + numVertices + ", " + aristasPorVertice);
+        }
+        AristasGeneradas.comprobarTamanio((long) numVertices * aristasPorVertice);
+        this.numVertices = numVertices;
+        this.aristasPorVertice = aristasPorVertice;
+    }
+
+    /**
+     * Genera las aristas usando el pool común de hilos.
+     * @param semilla la semilla; la misma semilla produce siempre las mismas aristas.
+     * @return las aristas generadas.
+     */
+    public AristasGeneradas generar(long semilla) {
+        return generar(semilla, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Genera las aristas repartiendo el trabajo entre los hilos de un pool.
+     * @param semilla la semilla; la misma semilla produce siempre las mismas aristas, con cualquier pool.
+     * @param pool el pool de hilos.
+     * @return las aristas generadas.
+     */
+    public AristasGeneradas generar(long semilla, ForkJoinPool pool) {
+        int m = numVertices * aristasPorVertice;
+        int[] origenes = new int[m];
+        int[] destinos = new int[m];
+        Bloques.repartir(m, pool, (bloque, desde, hasta) -> generarBloque(semilla, desde, hasta, origenes, destinos, 0));
+        return new AristasGeneradas(numVertices, origenes, destinos, null);
+    }
+
+    @Override
+    void emitir(long semilla, ForkJoinPool pool, Receptor receptor) {
+        Bloques.repartir(numVertices * aristasPorVertice, pool, (bloque, desde, hasta) -> {
+            int[] origenes = new int[hasta - desde];
+            int[] destinos = new int[hasta - desde];
+            generarBloque(semilla, desde, hasta, origenes, destinos, desde);
+            receptor.recibir(origenes, destinos, null, hasta - desde);
+        });
+    }
+
+    @Override
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Genera las aristas [desde, hasta) y guarda la arista e en la posición e - base.
+     */
+    private void generarBloque(long semilla, int desde, int hasta, int[] origenes, int[] destinos, int base) {
+        for (int arista = desde; arista < hasta; arista++) {
+            origenes[arista - base] = arista / aristasPorVertice;
+            destinos[arista - base] = resolver(semilla, arista);
+        }
+    }
+
+    /**
+     * Calcula el destino de una arista. La lista de extremos tiene el origen de la arista e en la posición
+     * 2e y su destino en la 2e+1; el destino copia una posición anterior elegida al azar. Si es par, es un
+     * origen y se conoce; si es impar, es el destino de una arista anterior y se sigue la cadena.
+     */
+    private int resolver(long semilla, int arista) {
+        long posicion = 2L * arista + 1;
+        while (true) {
+            long e = posicion >>> 1;
+            if (e == 0) {
+                return 0;   // La primera arista no tiene posiciones anteriores: bucle en el vértice 0
+            }
+            long copiada = Bloques.aleatorio(semilla, e, 2 * e);
+            if ((copiada & 1) == 0) {
+                return (int) ((copiada >>> 1) / aristasPorVertice);
+            }
+            posicion = copiada;
+        }
+    }
+}
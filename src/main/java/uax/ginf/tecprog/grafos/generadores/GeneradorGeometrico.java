@@ -0,0 +1,195 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Generador de grafos geométricos aleatorios: coloca los vértices al azar en el cuadrado unidad y une cada
+ * par de vértices a distancia menor o igual que el radio, con la distancia como peso. Modela redes
+ * espaciales como las de sensores inalámbricos, con mucha agrupación local y diámetro grande.
+ * <p>
+ * Para no comparar todos los pares, los puntos se reparten en celdas de lado al menos igual al radio y
+ * cada punto solo se compara con los de su celda y las vecinas. Las filas de celdas se reparten entre los
+ * hilos; cada bloque de filas guarda sus aristas aparte y al final se concatenan en orden, así que el
+ * resultado no depende del número de hilos.
+ */
+public class GeneradorGeometrico extends GeneradorAristas {
+    private final int numVertices; // Número de vértices
+    private final double radio; // Distancia máxima entre dos vértices unidos
+
+    /**
+     * Constructor para la clase GeneradorGeometrico.
+     * @param numVertices el número de vértices.
+     * @param radio la distancia máxima entre dos vértices unidos, entre 0 y 1.5.
+     * @throws IllegalArgumentException si los parámetros no son válidos.
+     */
+    public GeneradorGeometrico(int numVertices, double radio) {
+        if (numVertices < 1 || !(radio > 0) || radio > 1.5) {
+            throw new IllegalArgumentException("Parámetros no válidos: " + numVertices + ", " + radio);
+        }
+        this.numVertices = numVertices;
+        this.radio = radio;
+    }
+
+    /**
+     * Genera las aristas usando el pool común de hilos.
+     * @param semilla la semilla; la misma semilla produce siempre las mismas aristas.
+     * @return las aristas generadas, no dirigidas.
+     * @throws IllegalArgumentException si hay demasiadas aristas para guardarlas en arreglos.
+     */
+    public AristasGeneradas generar(long semilla) {
+        return generar(semilla, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Genera las aristas repartiendo el trabajo entre los hilos de un pool.
+     * @param semilla la semilla; la misma semilla produce siempre las mismas aristas, con cualquier pool.
+     * @param pool el pool de hilos.
+     * @return las aristas generadas, no dirigidas.
+     * @throws IllegalArgumentException si hay demasiadas aristas para guardarlas en arreglos.
+     */
+    public AristasGeneradas generar(long semilla, ForkJoinPool pool) {
+        Celdas celdas = repartirPuntos(semilla, pool);
+        Trozo[] trozos = new Trozo[celdas.numBloques];
+        buscarAristas(celdas, pool, (trozo, bloque) -> trozos[bloque] = trozo);
+
+        long total = 0;
+        for (Trozo trozo : trozos) {
+            total += trozo.tamanio;
+        }
+        int m = AristasGeneradas.comprobarTamanio(total);
+        int[] origenes = new int[m];
+        int[] destinos = new int[m];
+        double[] pesos = new double[m];
+        int posicion = 0;
+        for (Trozo trozo : trozos) {
+            System.arraycopy(trozo.origenes, 0, origenes, posicion, trozo.tamanio);
+            System.arraycopy(trozo.destinos, 0, destinos, posicion, trozo.tamanio);
+            System.arraycopy(trozo.pesos, 0, pesos, posicion, trozo.tamanio);
+            posicion += trozo.tamanio;
+        }
+        return new AristasGeneradas(numVertices, origenes, destinos, pesos);
+    }
+
+    @Override
+    void emitir(long semilla, ForkJoinPool pool, Receptor receptor) {
+        buscarAristas(repartirPuntos(semilla, pool), pool,
+                (trozo, bloque) -> receptor.recibir(trozo.origenes, trozo.destinos, trozo.pesos, trozo.tamanio));
+    }
+
+    @Override
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Coloca los puntos al azar y los reparte en lado x lado celdas por recuento.
+     */
+    private Celdas repartirPuntos(long semilla, ForkJoinPool pool) {
+        int n = numVertices;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        Bloques.repartir(n, pool, (bloque, desde, hasta) -> {
+            for (int v = desde; v < hasta; v++) {
+                x[v] = Bloques.aleatorioDouble(semilla, 2L * v);
+                y[v] = Bloques.aleatorioDouble(semilla, 2L * v + 1);
+            }
+        });
+
+        int lado = (int) Math.max(1, Math.min(1 / radio, Math.sqrt(n)));
+        int[] celdas = new int[lado * lado + 1];
+        int[] celda = new int[n];
+        for (int v = 0; v < n; v++) {
+            celda[v] = Math.min(lado - 1, (int) (y[v] * lado)) * lado + Math.min(lado - 1, (int) (x[v] * lado));
+            celdas[celda[v] + 1]++;
+        }
+        for (int c = 0; c < lado * lado; c++) {
+            celdas[c + 1] += celdas[c];
+        }
+        int[] puntos = new int[n];
+        int[] siguiente = Arrays.copyOf(celdas, lado * lado);
+        for (int v = 0; v < n; v++) {
+            puntos[siguiente[celda[v]]++] = v;
+        }
+        int filasPorBloque = (int) Math.max(1, (long) lado * Bloques.TAM_BLOQUE / n);
+        return new Celdas(x, y, lado, celdas, puntos, filasPorBloque, (lado + filasPorBloque - 1) / filasPorBloque);
+    }
+
+    /**
+     * Cada bloque de filas de celdas busca sus aristas por separado y las entrega con su número de bloque.
+     */
+    private void buscarAristas(Celdas c, ForkJoinPool pool, ObjIntConsumer<Trozo> destino) {
+        Bloques.repartir(c.lado, c.filasPorBloque, pool, (bloque, desde, hasta) -> {
+            Trozo trozo = new Trozo();
+            for (int fila = desde; fila < hasta; fila++) {
+                for (int columna = 0; columna < c.lado; columna++) {
+                    unir(trozo, c.x, c.y, c.celdas, c.puntos, c.lado, fila, columna);
+                }
+            }
+            destino.accept(trozo, bloque);
+        });
+    }
+
+    /**
+     * Une los puntos de una celda entre sí y con los de las celdas vecinas de la derecha y de la fila
+     * siguiente; las otras vecinas ya los compararon, así que cada par se visita una sola vez.
+     */
+    private void unir(Trozo trozo, double[] x, double[] y, int[] celdas, int[] puntos, int lado, int fila, int columna) {
+        int c = fila * lado + columna;
+        for (int i = celdas[c]; i < celdas[c + 1]; i++) {
+            int p = puntos[i];
+            for (int j = i + 1; j < celdas[c + 1]; j++) {
+                comparar(trozo, x, y, p, puntos[j]);
+            }
+            for (int vecina = 0; vecina < 4; vecina++) {
+                int f = fila + (vecina == 0 ? 0 : 1);
+                int col = columna + (vecina == 0 ? 1 : vecina - 2);    // (0,+1), (+1,-1), (+1,0), (+1,+1)
+                if (f < lado && col >= 0 && col < lado) {
+                    int otra = f * lado + col;
+                    for (int j = celdas[otra]; j < celdas[otra + 1]; j++) {
+                        comparar(trozo, x, y, p, puntos[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    private void comparar(Trozo trozo, double[] x, double[] y, int p, int q) {
+        double dx = x[p] - x[q];
+        double dy = y[p] - y[q];
+        double distancia2 = dx * dx + dy * dy;
+        if (distancia2 <= radio * radio) {
+            trozo.anadir(Math.min(p, q), Math.max(p, q), Math.sqrt(distancia2));
+        }
+    }
+
+    /**
+     * Puntos colocados y repartidos en celdas, y reparto de las filas de celdas en bloques.
+     */
+    private record Celdas(double[] x, double[] y, int lado, int[] celdas, int[] puntos, int filasPorBloque,
+                          int numBloques) {
+    }
+
+    /**
+     * Aristas encontradas por un bloque de filas, en arreglos que crecen según se llenan.
+     */
+    private static final class Trozo {
+        int[] origenes = new int[16];
+        int[] destinos = new int[16];
+        double[] pesos = new double[16];
+        int tamanio;
+
+        void anadir(int origen, int destino, double peso) {
+            if (tamanio == origenes.length) {
+                int capacidad = AristasGeneradas.comprobarTamanio(2L * tamanio);
+                origenes = Arrays.copyOf(origenes, capacidad);
+                destinos = Arrays.copyOf(destinos, capacidad);
+                pesos = Arrays.copyOf(pesos, capacidad);
+            }
+            origenes[tamanio] = origen;
+            destinos[tamanio] = destino;
+            pesos[tamanio++] = peso;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generador R-MAT (recursive matrix), el modelo de Kronecker de Graph500: cada arista se coloca bajando
+ * escala veces por los cuadrantes de la matriz de adyacencia, con probabilidades a, b, c y d = 1-a-b-c,
+ * redondeadas a múltiplos de 1/65536.
+ * Produce grados con ley de potencias y estructura de comunidades anidadas, parecida a la de las redes
+ * sociales o la web.
+ * <p>
+ * Los índices se barajan con una permutación pseudoaleatoria, para que los vértices con más aristas no
+ * sean siempre los de índice más bajo. Puede haber aristas repetidas y bucles, como en Graph500.
+ */
+public class GeneradorRMAT extends GeneradorAristas {
+    private final int escala; // Logaritmo en base 2 del número de vértices
+    private final int factorAristas; // Aristas por vértice
+    private final double a; // Probabilidad del cuadrante superior izquierdo
+    private final double b; // Probabilidad del cuadrante superior derecho
+    private final double c; // Probabilidad del cuadrante inferior izquierdo
+    private final boolean permutar; // Indica si se barajan los índices de los vértices
+
+    /**
+     * Constructor con los parámetros de Graph500: a=0.57, b=c=0.19 e índices barajados.
+     * @param escala el logaritmo en base 2 del número de vértices, entre 1 y 30.
+     * @param factorAristas el número de aristas por vértice.
+     */
+    public GeneradorRMAT(int escala, int factorAristas) {
+        this(escala, factorAristas, 0.57, 0.19, 0.19, true);
+    }
+
+    /**
+     * Constructor para la clase GeneradorRMAT.
+     * @param escala el logaritmo en base 2 del número de vértices, entre 1 y 30.
+     * @param factorAristas el número de aristas por vértice.
+     * @param a la probabilidad del cuadrante superior izquierdo.
+     * @param b la probabilidad del cuadrante superior derecho.
+     * @param c la probabilidad del cuadrante inferior izquierdo.
+     * @param permutar si se barajan los índices de los vértices.
+     * @throws IllegalArgumentException si los parámetros no son válidos o hay demasiadas aristas.
+     */
+    public GeneradorRMAT(int escala, int factorAristas, double a, double b, double c, boolean permutar) {
+        if (escala < 1 || escala > 30 || factorAristas < 0) {
+            throw new IllegalArgumentException("Escala o factor de aristas no válidos: " + escala + ", " + factorAristas);
+        }
+        if (a < 0 || b < 0 || c < 0 || a + b + c > 1) {
+            throw new IllegalArgumentException("Probabilidades no válidas: " + a + ", " + b + ", " + c);
+        }
+        AristasGeneradas.comprobarTamanio((long) factorAristas << escala);
+        this.escala = escala;
+        this.factorAristas = factorAristas;
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.permutar = permutar;
+    }
+
+    /**
+     * Genera las aristas usando el pool común de hilos.
+     * @param semilla la semilla; la misma semilla produce siempre las mismas aristas.
+     * @return las aristas generadas.
+     */
+    public AristasGeneradas generar(long semilla) {
+        return generar(semilla, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Genera las aristas repartiendo el trabajo entre los hilos de un pool.
+     * @param semilla la semilla; la misma semilla produce siempre las mismas aristas, con cualquier pool.
+     * @param pool el pool de hilos.
+     * @return las aristas generadas.
+     */
+    public AristasGeneradas generar(long semilla, ForkJoinPool pool) {
+        int m = factorAristas << escala;
+        int[] origenes = new int[m];
+        int[] destinos = new int[m];
+        Bloques.repartir(m, pool, (bloque, desde, hasta) -> generarBloque(semilla, bloque, desde, hasta, origenes, destinos, 0));
+        return new AristasGeneradas(getNumVertices(), origenes, destinos, null);
+    }
+
+    @Override
+    void emitir(long semilla, ForkJoinPool pool, Receptor receptor) {
+        Bloques.repartir(factorAristas << escala, pool, (bloque, desde, hasta) -> {
+            int[] origenes = new int[hasta - desde];
+            int[] destinos = new int[hasta - desde];
+            generarBloque(semilla, bloque, desde, hasta, origenes, destinos, desde);
+            receptor.recibir(origenes, destinos, null, hasta - desde);
+        });
+    }
+
+    @Override
+    public int getNumVertices() {
+        return 1 << escala;
+    }
+
+    /**
+     * Genera las aristas [desde, hasta) del bloque número bloque y guarda la arista e en la posición e - base.
+     */
+    private void generarBloque(long semilla, int bloque, int desde, int hasta, int[] origenes, int[] destinos, int base) {
+        long multiplicador1 = Bloques.aleatorio(semilla, -1) | 1;  // Constantes impares de la permutación
+        long multiplicador2 = Bloques.aleatorio(semilla, -2) | 1;
+        // Umbrales de los cuadrantes con 16 bits de precisión, para sacar cuatro niveles de cada long aleatorio
+        int umbralA = (int) Math.round(a * 65536);
+        int umbralB = (int) Math.round((a + b) * 65536);
+        int umbralC = (int) Math.round((a + b + c) * 65536);
+        SplittableRandom random = new SplittableRandom(Bloques.aleatorio(semilla, bloque));
+        for (int arista = desde; arista < hasta; arista++) {
+            int origen = 0;
+            int destino = 0;
+            long bits = 0;
+            for (int bit = 0; bit < escala; bit++) {
+                if ((bit & 3) == 0) {
+                    bits = random.nextLong();
+                }
+                int p = (int) (bits >>> ((bit & 3) << 4)) & 0xFFFF;
+                // Cuadrante 0 (a), 1 (b), 2 (c) o 3 (d), sin saltos condicionales que el procesador no sabría predecir
+                int cuadrante = (p >= umbralA ? 1 : 0) + (p >= umbralB ? 1 : 0) + (p >= umbralC ? 1 : 0);
+                origen |= (cuadrante >>> 1) << bit;
+                destino |= (cuadrante & 1) << bit;
+            }
+            origenes[arista - base] = permutar ? permutar(origen, multiplicador1, multiplicador2) : origen;
+            destinos[arista - base] = permutar ? permutar(destino, multiplicador1, multiplicador2) : destino;
+        }
+    }
+
+    /**
+     * Biyección pseudoaleatoria de [0, 2^escala) en sí mismo: multiplicar por un impar y mezclar los bits
+     * altos con los bajos son operaciones invertibles módulo 2^escala. No necesita ningún arreglo.
+     */
+    private int permutar(int vertice, long multiplicador1, long multiplicador2) {
+        long mascara = (1L << escala) - 1;
+        int desplazamiento = (escala + 1) / 2;
+        long x = (vertice * multiplicador1) & mascara;
+        x ^= x >>> desplazamiento;
+        x = (x * multiplicador2) & mascara;
+        x ^= x >>> desplazamiento;
+        return (int) x;
+    }
+}
@@ -0,0 +1,127 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generador de rejillas bidimensionales: cada vértice se une a su vecino de la derecha y al de abajo, con
+ * un peso entero aleatorio entre pesoMinimo y pesoMaximo. Con aristas no dirigidas se parece a una red de
+ * carreteras: grado máximo 4 y diámetro del orden de filas + columnas.
+ * El vértice de la fila f y la columna c tiene el índice f * columnas + c.
+ */
+public class GeneradorRejilla extends GeneradorAristas {
+    private final int filas; // Número de filas
+    private final int columnas; // Número de columnas
+    private final int pesoMinimo; // Peso mínimo de una arista
+    private final int pesoMaximo; // Peso máximo de una arista
+
+    /**
+     * Constructor para una rejilla con todos los pesos a 1.0.
+     * @param filas el número de filas.
+     * @param columnas el número de columnas.
+     */
+    public GeneradorRejilla(int filas, int columnas) {
+        this(filas, columnas, 1, 1);
+    }
+
+    /**
+     * Constructor para la clase GeneradorRejilla.
+     * @param filas el número de filas.
+     * @param columnas el número de columnas.
+     * @param pesoMinimo el peso mínimo de una arista.
+     * @param pesoMaximo el peso máximo de una arista.
+     * @throws IllegalArgumentException si los parámetros no son válidos o hay demasiados vértices o aristas.
+     */
+    public GeneradorRejilla(int filas, int columnas, int pesoMinimo, int pesoMaximo) {
+        if (filas < 1 || columnas < 1 || pesoMinimo > pesoMaximo) {
+            throw new IllegalArgumentException("Parámetros no válidos: " + filas + ", " + columnas);
+        }
+        AristasGeneradas.comprobarTamanio((long) filas * columnas);
+        AristasGeneradas.comprobarTamanio(2L * filas * columnas);
+        this.filas = filas;
+        this.columnas = columnas;
+        this.pesoMinimo = pesoMinimo;
+        this.pesoMaximo = pesoMaximo;
+    }
+
+    /**
+     * Genera las aristas usando el pool común de hilos.
+     * @param semilla la semilla de los pesos; la misma semilla produce siempre los mismos pesos.
+     * @return las aristas generadas.
+     */
+    public AristasGeneradas generar(long semilla) {
+        return generar(semilla, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Genera las aristas repartiendo las filas entre los hilos de un pool. Las aristas quedan ordenadas por
+     * origen: primero la horizontal y luego la vertical de cada vértice.
+     * @param semilla la semilla de los pesos; la misma semilla produce siempre los mismos pesos, con cualquier pool.
+     * @param pool el pool de hilos.
+     * @return las aristas generadas.
+     */
+    public AristasGeneradas generar(long semilla, ForkJoinPool pool) {
+        int m = primeraArista(filas);
+        int[] origenes = new int[m];
+        int[] destinos = new int[m];
+        double[] pesos = pesoMinimo == 1 && pesoMaximo == 1 ? null : new double[m];
+        int filasPorBloque = Math.max(1, Bloques.TAM_BLOQUE / columnas);
+        Bloques.repartir(filas, filasPorBloque, pool,
+                (bloque, desde, hasta) -> generarFilas(semilla, desde, hasta, origenes, destinos, pesos, 0));
+        return new AristasGeneradas(filas * columnas, origenes, destinos, pesos);
+    }
+
+    @Override
+    void emitir(long semilla, ForkJoinPool pool, Receptor receptor) {
+        int filasPorBloque = Math.max(1, Bloques.TAM_BLOQUE / columnas);
+        Bloques.repartir(filas, filasPorBloque, pool, (bloque, desde, hasta) -> {
+            int base = primeraArista(desde);
+            int tamanio = primeraArista(hasta) - base;
+            int[] origenes = new int[tamanio];
+            int[] destinos = new int[tamanio];
+            double[] pesos = pesoMinimo == 1 && pesoMaximo == 1 ? null : new double[tamanio];
+            generarFilas(semilla, desde, hasta, origenes, destinos, pesos, base);
+            receptor.recibir(origenes, destinos, pesos, tamanio);
+        });
+    }
+
+    @Override
+    public int getNumVertices() {
+        return filas * columnas;
+    }
+
+    /**
+     * Devuelve la posición de la primera arista de una fila, o el número de aristas si es la fila filas.
+     */
+    private int primeraArista(int fila) {
+        long aristas = (long) fila * (2 * columnas - 1);  // Aristas de las filas anteriores
+        return fila < filas ? (int) aristas : (int) (aristas - columnas);   // La última fila no tiene verticales
+    }
+
+    /**
+     * Genera las aristas de las filas [desde, hasta) y guarda la arista e en la posición e - base.
+     */
+    private void generarFilas(long semilla, int desde, int hasta, int[] origenes, int[] destinos, double[] pesos, int base) {
+        for (int fila = desde; fila < hasta; fila++) {
+            int arista = primeraArista(fila);
+            for (int columna = 0; columna < columnas; columna++) {
+                int vertice = fila * columnas + columna;
+                if (columna + 1 < columnas) {
+                    arista = anadir(semilla, origenes, destinos, pesos, base, arista, vertice, vertice + 1);
+                }
+                if (fila + 1 < filas) {
+                    arista = anadir(semilla, origenes, destinos, pesos, base, arista, vertice, vertice + columnas);
+                }
+            }
+        }
+    }
+
+    private int anadir(long semilla, int[] origenes, int[] destinos, double[] pesos, int base, int arista, int origen,
+                       int destino) {
+        origenes[arista - base] = origen;
+        destinos[arista - base] = destino;
+        if (pesos != null) {
+            pesos[arista - base] = pesoMinimo + Bloques.aleatorio(semilla, arista, pesoMaximo - pesoMinimo + 1L);
+        }
+        return arista + 1;
+    }
+}
@@ -0,0 +1,90 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generador Watts–Strogatz de mundo pequeño: parte de un anillo en el que cada vértice se une a sus
+ * vecinos/2 siguientes y recablea cada arista con probabilidad beta, cambiando su destino por un vértice
+ * al azar distinto del origen. Con beta pequeña el grafo conserva la agrupación del anillo pero su diámetro
+ * cae rápidamente. Las aristas recableadas pueden repetir otras existentes.
+ */
+public class GeneradorWattsStrogatz extends GeneradorAristas {
+    private final int numVertices; // Número de vértices
+    private final int vecinos; // Grado de cada vértice en el anillo inicial, par
+    private final double beta; // Probabilidad de recablear cada arista
+
+    /**
+     * Constructor para la clase GeneradorWattsStrogatz.
+     * @param numVertices el número de vértices, mayor que vecinos.
+     * @param vecinos el grado de cada vértice en el anillo inicial; debe ser par.
+     * @param beta la probabilidad de recablear cada arista, entre 0 y 1.
+     * @throws IllegalArgumentException si los parámetros no son válidos o hay demasiadas aristas.
+     */
+    public GeneradorWattsStrogatz(int numVertices, int vecinos, double beta) {
+        if (vecinos < 2 || vecinos % 2 != 0 || numVertices <= vecinos || beta < 0 || beta > 1) {
+            throw new IllegalArgumentException("Parámetros no válidos: " + numVertices + ", " + vecinos + ", " + beta);
+        }
+        AristasGeneradas.comprobarTamanio((long) numVertices * (vecinos / 2));
+        this.numVertices = numVertices;
+        this.vecinos = vecinos;
+        this.beta = beta;
+    }
+
+    /**
+     * Genera las aristas usando el pool común de hilos.
+     * @param semilla la semilla; la misma semilla produce siempre las mismas aristas.
+     * @return las aristas generadas, no dirigidas.
+     */
+    public AristasGeneradas generar(long semilla) {
+        return generar(semilla, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Genera las aristas repartiendo el trabajo entre los hilos de un pool.
+     * @param semilla la semilla; la misma semilla produce siempre las mismas aristas, con cualquier pool.
+     * @param pool el pool de hilos.
+     * @return las aristas generadas, no dirigidas.
+     */
+    public AristasGeneradas generar(long semilla, ForkJoinPool pool) {
+        int m = numVertices * (vecinos / 2);
+        int[] origenes = new int[m];
+        int[] destinos = new int[m];
+        Bloques.repartir(m, pool, (bloque, desde, hasta) -> generarBloque(semilla, desde, hasta, origenes, destinos, 0));
+        return new AristasGeneradas(numVertices, origenes, destinos, null);
+    }
+
+    @Override
+    void emitir(long semilla, ForkJoinPool pool, Receptor receptor) {
+        Bloques.repartir(numVertices * (vecinos / 2), pool, (bloque, desde, hasta) -> {
+            int[] origenes = new int[hasta - desde];
+            int[] destinos = new int[hasta - desde];
+            generarBloque(semilla, desde, hasta, origenes, destinos, desde);
+            receptor.recibir(origenes, destinos, null, hasta - desde);
+        });
+    }
+
+    @Override
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Genera las aristas [desde, hasta) y guarda la arista e en la posición e - base.
+     */
+    private void generarBloque(long semilla, int desde, int hasta, int[] origenes, int[] destinos, int base) {
+        int mitad = vecinos / 2;
+        for (int arista = desde; arista < hasta; arista++) {
+            int origen = arista / mitad;
+            int destino = (int) ((origen + (long) (arista % mitad) + 1) % numVertices);
+            if (Bloques.aleatorioDouble(semilla, 2L * arista) < beta) {
+                // Un destino al azar entre los n-1 vértices distintos del origen
+                destino = (int) Bloques.aleatorio(semilla, 2L * arista + 1, numVertices - 1);
+                if (destino >= origen) {
+                    destino++;
+                }
+            }
+            origenes[arista - base] = origen;
+            destinos[arista - base] = destino;
+        }
+    }
+}
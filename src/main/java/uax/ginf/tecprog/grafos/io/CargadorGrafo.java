@@ -1,4 +1,517 @@
 package uax.ginf.tecprog.grafos.io;
 
+import uax.ginf.tecprog.grafos.modelo.ConstructorGrafo;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.util.DiccionarioEnteros;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Carga grafos desde archivos de texto con una arista por línea: {@code origen destino [peso]}.
+ * Los identificadores de los vértices son enteros no negativos; el peso es opcional (1.0 por defecto,
+ * igual que en {@link Grafo#addArista}). Los campos se separan con espacios, tabuladores o comas, y las
+ * líneas vacías o que empiezan por '#' se ignoran.
+ * <p>
+ * El archivo se proyecta en memoria con NIO y se divide en trozos alineados a fin de línea que se analizan
+ * en paralelo, leyendo los números directamente de los bytes sin crear un String por campo. Cada trozo
+ * numera sus vértices en un diccionario local; después se fusionan en un diccionario global, en orden de
+ * primera aparición en el archivo, y las aristas se vuelcan en arreglos primitivos. Los archivos comprimidos
+ * con gzip se detectan por su cabecera y se descomprimen en un solo hilo, pero sus bloques se siguen
+ * analizando en paralelo. Cada bloque se suelta en cuanto se ha analizado y solo hay unos pocos por hilo
+ * pendientes de análisis, así que en memoria solo quedan las aristas ya convertidas, no el texto descomprimido.
+ */
 public class CargadorGrafo {
+    private static final int TAM_MINIMO_TROZO = 1 << 20; // No se divide el archivo en trozos más pequeños
+    private static final int TAM_MAXIMO_TROZO = 1 << 30; // Cada trozo debe caber en una proyección de memoria
+    private static final int TAM_BLOQUE_GZIP = 1 << 24; // Bytes descomprimidos por bloque en archivos gzip
+    private static final int BLOQUES_GZIP_POR_HILO = 2; // Bloques gzip pendientes de análisis por cada hilo del pool
+    private static final double[] POTENCIAS = { // Potencias de diez representables de forma exacta
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private CargadorGrafo() {
+    }
+
+    /**
+     * Carga un archivo de aristas directamente en una instantánea CSR, usando el pool común.
+     * @param archivo la ruta del archivo, en texto plano o comprimido con gzip.
+     * @param esDirigido indica si las aristas son dirigidas.
+     * @return la instantánea con los vértices numerados en orden de primera aparición.
+     * @throws IOException si el archivo no se puede leer o tiene un formato incorrecto.
+     */
+    public static GrafoCSR cargarCSR(Path archivo, boolean esDirigido) throws IOException {
+        return cargarCSR(archivo, esDirigido, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Carga un archivo de aristas directamente en una instantánea CSR.
+     * @param archivo la ruta del archivo, en texto plano o comprimido con gzip.
+     * @param esDirigido indica si las aristas son dirigidas.
+     * @param pool el pool de hilos en el que se analizan los trozos.
+     * @return la instantánea con los vértices numerados en orden de primera aparición.
+     * @throws IOException si el archivo no se puede leer o tiene un formato incorrecto.
+     */
+    public static GrafoCSR cargarCSR(Path archivo, boolean esDirigido, ForkJoinPool pool) throws IOException {
+        ListaAristas aristas = leer(archivo, pool);
+        return GrafoCSR.desdeAristas(esDirigido, aristas.vertices, aristas.origenes, aristas.destinos,
+                aristas.pesos, aristas.origenes.length);
+    }
+
+    /**
+     * Carga un archivo de aristas en un {@link Grafo}. El análisis es el mismo que en
+     * {@link #cargarCSR(Path, boolean)}; después las aristas se vuelcan en un {@link ConstructorGrafo}, que
+     * crea el mapa de aristas de cada vértice ya con su tamaño final, sin insertarlas una a una.
+     * Como la instantánea CSR, conserva las aristas repetidas del archivo, así que el grafo es un multigrafo.
+     * @param archivo la ruta del archivo, en texto plano o comprimido con gzip.
+     * @param esDirigido indica si el grafo es dirigido.
+     * @return el grafo cargado.
+     * @throws IOException si el archivo no se puede leer o tiene un formato incorrecto.
+     */
+    public static Grafo cargar(Path archivo, boolean esDirigido) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        ListaAristas aristas = leer(archivo, pool);
+        ConstructorGrafo constructor = new ConstructorGrafo(esDirigido, true);
+        for (Vertice vertice : aristas.vertices) {
+            constructor.addVertice(vertice);    // Los vértices reciben los índices 0, 1, ... en el mismo orden
+        }
+        for (int a = 0; a < aristas.origenes.length; a++) {
+            constructor.addAristaPeso(aristas.origenes[a], aristas.destinos[a], aristas.pesos[a]);
+        }
+        return constructor.construir(pool);
+    }
+
+    /**
+     * Abre un grafo guardado con {@link GuardadorGrafo} proyectándolo en memoria, tras comprobar
+     * la suma de verificación de todo el archivo.
+     * @param archivo la ruta del archivo binario.
+     * @return el grafo, listo para recorrerse sin deserializar vértices ni aristas.
+     * @throws IOException si el archivo no se puede leer, no tiene el formato esperado o está dañado.
+     */
+    public static GrafoMapeado abrirBinario(Path archivo) throws IOException {
+        return abrirBinario(archivo, true);
+    }
+
+    /**
+     * Abre un grafo guardado con {@link GuardadorGrafo} proyectándolo en memoria.
+     * @param archivo la ruta del archivo binario.
+     * @param verificar si es true se lee el archivo completo para comprobar su suma de verificación;
+     *                  si es false solo se comprueba la cabecera y el arranque no depende del tamaño del grafo.
+     * @return el grafo, listo para recorrerse sin deserializar vértices ni aristas.
+     * @throws IOException si el archivo no se puede leer, no tiene el formato esperado o está dañado.
+     */
+    public static GrafoMapeado abrirBinario(Path archivo, boolean verificar) throws IOException {
+        GrafoMapeado grafo = new GrafoMapeado(archivo);
+        if (verificar) {
+            grafo.verificar();
+        }
+        return grafo;
+    }
+
+    private static ListaAristas leer(Path archivo, ForkJoinPool pool) throws IOException {
+        List<Future<Trozo>> trozos = esGzip(archivo) ? repartirGzip(archivo, pool) : repartirProyectado(archivo, pool);
+        List<Trozo> analizados = new ArrayList<>(trozos.size());
+        for (Future<Trozo> trozo : trozos) {
+            analizados.add(esperar(trozo));
+        }
+        return fusionar(analizados, pool);
+    }
+
+    /**
+     * Proyecta el archivo en memoria en trozos alineados a fin de línea y lanza el análisis de cada uno.
+     */
+    private static List<Future<Trozo>> repartirProyectado(Path archivo, ForkJoinPool pool) throws IOException {
+        List<Future<Trozo>> trozos = new ArrayList<>();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamanio = canal.size();
+            long numTrozos = Math.max((tamanio + TAM_MAXIMO_TROZO - 1) / TAM_MAXIMO_TROZO,
+                    Math.min(4L * pool.getParallelism(), (tamanio + TAM_MINIMO_TROZO - 1) / TAM_MINIMO_TROZO));
+            long inicio = 0;
+            for (long i = 1; inicio < tamanio; i++) {
+                long fin = i >= numTrozos ? tamanio : finDeLinea(canal, tamanio * i / numTrozos, tamanio);
+                if (fin - inicio > Integer.MAX_VALUE) {
+                    throw new IOException("Línea demasiado larga cerca de la posición " + inicio);
+                }
+                if (fin > inicio) {
+                    ByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, inicio, fin - inicio);
+                    trozos.add(pool.submit(new Analizar(datos, inicio)));
+                }
+                inicio = fin;
+            }
+        }   // Las proyecciones siguen siendo válidas tras cerrar el canal
+        return trozos;
+    }
+
+    /**
+     * Descomprime el archivo en bloques que terminan en fin de línea y lanza el análisis de cada uno. Si la
+     * descompresión va por delante del análisis, espera a que se analicen los bloques más antiguos antes de
+     * descomprimir más, para no acumular el archivo descomprimido en memoria.
+     */
+    private static List<Future<Trozo>> repartirGzip(Path archivo, ForkJoinPool pool) throws IOException {
+        List<Future<Trozo>> trozos = new ArrayList<>();
+        int maxPendientes = BLOQUES_GZIP_POR_HILO * pool.getParallelism();
+        int primeroPendiente = 0; // Bloque más antiguo que puede no estar analizado todavía
+        try (InputStream entrada = new GZIPInputStream(Files.newInputStream(archivo), 1 << 16)) {
+            byte[] bloque = new byte[TAM_BLOQUE_GZIP];
+            int ocupados = 0;
+            long desplazamiento = 0;
+            while (true) {
+                int leidos = entrada.readNBytes(bloque, ocupados, bloque.length - ocupados);
+                ocupados += leidos;
+                boolean terminado = ocupados < bloque.length;
+                int corte = ocupados;
+                if (!terminado) {   // Cortar tras el último salto de línea y pasar el resto al siguiente bloque
+                    while (corte > 0 && bloque[corte - 1] != '\n') {
+                        corte--;
+                    }
+                    if (corte == 0) {
+                        throw new IOException("Línea demasiado larga cerca de la posición " + desplazamiento);
+                    }
+                }
+                byte[] siguiente = new byte[TAM_BLOQUE_GZIP];
+                System.arraycopy(bloque, corte, siguiente, 0, ocupados - corte);
+                trozos.add(pool.submit(new Analizar(ByteBuffer.wrap(bloque, 0, corte).slice(), desplazamiento)));
+                while (trozos.size() - primeroPendiente > maxPendientes) {
+                    esperar(trozos.get(primeroPendiente++));
+                }
+                if (terminado) {
+                    return trozos;
+                }
+                desplazamiento += corte;
+                ocupados -= corte;
+                bloque = siguiente;
+            }
+        }
+    }
+
+    /**
+     * Une los diccionarios locales de los trozos en uno global y vuelca las aristas traducidas.
+     */
+    private static ListaAristas fusionar(List<Trozo> trozos, ForkJoinPool pool) throws IOException {
+        long total = 0;
+        int estimados = 0;
+        for (Trozo trozo : trozos) {
+            total += trozo.numAristas;
+            estimados = Math.max(estimados, trozo.diccionario.getTamanio());
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IOException("El archivo tiene demasiadas aristas: " + total);
+        }
+
+        // Traducir los índices locales de cada trozo a índices globales, en orden de aparición
+        DiccionarioEnteros global = new DiccionarioEnteros(estimados);
+        int[][] traducciones = new int[trozos.size()][];
+        for (int t = 0; t < trozos.size(); t++) {
+            DiccionarioEnteros local = trozos.get(t).diccionario;
+            traducciones[t] = new int[local.getTamanio()];
+            for (int i = 0; i < local.getTamanio(); i++) {
+                traducciones[t][i] = global.indice(local.getClave(i));
+            }
+        }
+
+        // Volcar las aristas de todos los trozos en paralelo, cada uno en su tramo
+        ListaAristas resultado = new ListaAristas((int) total, global.getTamanio());
+        List<Future<?>> copias = new ArrayList<>(trozos.size());
+        int posicion = 0;
+        for (int t = 0; t < trozos.size(); t++) {
+            Trozo trozo = trozos.get(t);
+            int[] traduccion = traducciones[t];
+            int base = posicion;
+            copias.add(pool.submit(() -> {
+                for (int a = 0; a < trozo.numAristas; a++) {
+                    resultado.origenes[base + a] = traduccion[trozo.origenes[a]];
+                    resultado.destinos[base + a] = traduccion[trozo.destinos[a]];
+                }
+                System.arraycopy(trozo.pesos, 0, resultado.pesos, base, trozo.numAristas);
+            }));
+            posicion += trozo.numAristas;
+        }
+        for (int v = 0; v < global.getTamanio(); v++) {
+            resultado.vertices[v] = new Vertice(Long.toString(global.getClave(v)), null);
+        }
+        for (Future<?> copia : copias) {
+            esperar(copia);
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve la posición siguiente al primer salto de línea a partir de una posición del archivo.
+     */
+    private static long finDeLinea(FileChannel canal, long posicion, long tamanio) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        while (posicion < tamanio) {
+            buffer.clear();
+            int leidos = canal.read(buffer, posicion);
+            for (int i = 0; i < leidos; i++) {
+                if (buffer.get(i) == '\n') {
+                    return posicion + i + 1;
+                }
+            }
+            posicion += leidos;
+        }
+        return tamanio;
+    }
+
+    private static boolean esGzip(Path archivo) throws IOException {
+        try (InputStream entrada = Files.newInputStream(archivo)) {
+            return entrada.read() == 0x1f && entrada.read() == 0x8b;
+        }
+    }
+
+    private static <T> T esperar(Future<T> tarea) throws IOException {
+        try {
+            return tarea.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Carga interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException("Error al cargar el grafo", e.getCause());
+        }
+    }
+
+    /**
+     * Aristas de todo el archivo con los vértices ya numerados globalmente.
+     */
+    private static final class ListaAristas {
+        private final Vertice[] vertices;
+        private final int[] origenes;
+        private final int[] destinos;
+        private final double[] pesos;
+
+        ListaAristas(int numAristas, int numVertices) {
+            this.vertices = new Vertice[numVertices];
+            this.origenes = new int[numAristas];
+            this.destinos = new int[numAristas];
+            this.pesos = new double[numAristas];
+        }
+    }
+
+    /**
+     * Tarea que analiza un trozo. Suelta los bytes al empezar, porque la tarea sigue referenciada desde la
+     * lista de trozos hasta la fusión y, si no, mantendría vivo todo el texto leído.
+     */
+    private static final class Analizar extends RecursiveTask<Trozo> {
+        private ByteBuffer datos;
+        private final long desplazamiento;
+
+        Analizar(ByteBuffer datos, long desplazamiento) {
+            this.datos = datos;
+            this.desplazamiento = desplazamiento;
+        }
+
+        @Override
+        protected Trozo compute() {
+            ByteBuffer bytes = datos;
+            datos = null;
+            return Trozo.analizar(bytes, desplazamiento);
+        }
+    }
+
+    /**
+     * Resultado del análisis de un trozo: sus vértices numerados localmente y sus aristas. Los bytes del
+     * trozo solo se usan durante el análisis y después se sueltan.
+     */
+    private static final class Trozo {
+        private ByteBuffer datos; // Bytes del trozo, o null tras analizarlo
+        private final long desplazamiento; // Posición del trozo en el archivo, para los mensajes de error
+        private final DiccionarioEnteros diccionario; // Índice local de cada identificador de vértice
+        private int[] origenes;
+        private int[] destinos;
+        private double[] pesos;
+        private int numAristas;
+        private int posicion; // Siguiente byte por analizar
+
+        private Trozo(ByteBuffer datos, long desplazamiento) {
+            int estimadas = Math.max(16, datos.limit() / 16);
+            this.datos = datos;
+            this.desplazamiento = desplazamiento;
+            this.diccionario = new DiccionarioEnteros(estimadas / 16);
+            this.origenes = new int[estimadas];
+            this.destinos = new int[estimadas];
+            this.pesos = new double[estimadas];
+        }
+
+        static Trozo analizar(ByteBuffer datos, long desplazamiento) {
+            Trozo trozo = new Trozo(datos, desplazamiento);
+            trozo.analizarLineas();
+            trozo.datos = null;
+            return trozo;
+        }
+
+        private void analizarLineas() {
+            int fin = datos.limit();
+            while (true) {
+                saltarSeparadores();
+                if (posicion >= fin) {
+                    return;
+                }
+                byte c = datos.get(posicion);
+                if (c == '\n') {
+                    posicion++;
+                } else if (c == '#') {  // Comentario hasta el final de la línea
+                    while (posicion < fin && datos.get(posicion) != '\n') {
+                        posicion++;
+                    }
+                } else {
+                    long origen = leerEntero();
+                    saltarSeparadores();
+                    long destino = leerEntero();
+                    saltarSeparadores();
+                    double peso = finDeCampo() ? 1.0 : leerDecimal();
+                    saltarSeparadores();
+                    if (!finDeCampo()) {
+                        throw error("se esperaba un fin de línea");
+                    }
+                    anadir(diccionario.indice(origen), diccionario.indice(destino), peso);
+                }
+            }
+        }
+
+        private void anadir(int origen, int destino, double peso) {
+            if (numAristas == origenes.length) {
+                int capacidad = numAristas + (numAristas >> 1);
+                origenes = Arrays.copyOf(origenes, capacidad);
+                destinos = Arrays.copyOf(destinos, capacidad);
+                pesos = Arrays.copyOf(pesos, capacidad);
+            }
+            origenes[numAristas] = origen;
+            destinos[numAristas] = destino;
+            pesos[numAristas] = peso;
+            numAristas++;
+        }
+
+        private void saltarSeparadores() {
+            while (posicion < datos.limit()) {
+                byte c = datos.get(posicion);
+                if (c != ' ' && c != '\t' && c != ',' && c != '\r') {
+                    return;
+                }
+                posicion++;
+            }
+        }
+
+        private boolean finDeCampo() {
+            return posicion >= datos.limit() || datos.get(posicion) == '\n';
+        }
+
+        private long leerEntero() {
+            int inicio = posicion;
+            long valor = 0;
+            while (posicion < datos.limit()) {
+                int digito = datos.get(posicion) - '0';
+                if (digito < 0 || digito > 9) {
+                    break;
+                }
+                if (valor > (Long.MAX_VALUE - digito) / 10) {
+                    throw error("identificador de vértice demasiado grande");
+                }
+                valor = valor * 10 + digito;
+                posicion++;
+            }
+            if (posicion == inicio) {
+                throw error("se esperaba un identificador de vértice");
+            }
+            return valor;
+        }
+
+        /**
+         * Lee un número decimal con signo, parte fraccionaria y exponente opcionales. Si la mantisa tiene
+         * como mucho 15 cifras significativas y el exponente es pequeño, el resultado se calcula con una
+         * sola multiplicación o división exacta y es el mismo que daría Double.parseDouble; en otro caso
+         * se recurre a Double.parseDouble.
+         */
+        private double leerDecimal() {
+            int inicio = posicion;
+            int fin = datos.limit();
+            boolean negativo = false;
+            if (posicion < fin && (datos.get(posicion) == '-' || datos.get(posicion) == '+')) {
+                negativo = datos.get(posicion++) == '-';
+            }
+            long mantisa = 0;
+            int cifras = 0; // Cifras significativas acumuladas en la mantisa
+            int exponente = 0;
+            boolean exacto = true;
+            boolean hayCifras = false;
+            boolean fraccion = false;
+            for (; posicion < fin; posicion++) {
+                byte c = datos.get(posicion);
+                if (c == '.' && !fraccion) {
+                    fraccion = true;
+                    continue;
+                }
+                int digito = c - '0';
+                if (digito < 0 || digito > 9) {
+                    break;
+                }
+                hayCifras = true;
+                if (mantisa == 0 && digito == 0) {  // Los ceros a la izquierda no cuentan
+                    if (fraccion) {
+                        exponente--;
+                    }
+                    continue;
+                }
+                if (cifras < 15) {
+                    mantisa = mantisa * 10 + digito;
+                    cifras++;
+                    if (fraccion) {
+                        exponente--;
+                    }
+                } else {
+                    exacto = false;
+                }
+            }
+            if (!hayCifras) {
+                throw error("se esperaba un peso numérico");
+            }
+            if (posicion < fin && (datos.get(posicion) == 'e' || datos.get(posicion) == 'E')) {
+                posicion++;
+                boolean exponenteNegativo = false;
+                if (posicion < fin && (datos.get(posicion) == '-' || datos.get(posicion) == '+')) {
+                    exponenteNegativo = datos.get(posicion++) == '-';
+                }
+                int inicioExponente = posicion;
+                int valor = 0;
+                while (posicion < fin && datos.get(posicion) >= '0' && datos.get(posicion) <= '9') {
+                    valor = Math.min(valor * 10 + (datos.get(posicion++) - '0'), 100000);
+                }
+                if (posicion == inicioExponente) {
+                    throw error("exponente incompleto");
+                }
+                exponente += exponenteNegativo ? -valor : valor;
+            }
+            if (!exacto || exponente < -22 || exponente > 22) {
+                byte[] texto = new byte[posicion - inicio];
+                datos.get(inicio, texto);
+                return Double.parseDouble(new String(texto, StandardCharsets.US_ASCII));
+            }
+            double valor = exponente >= 0 ? mantisa * POTENCIAS[exponente] : mantisa / POTENCIAS[-exponente];
+            return negativo ? -valor : valor;
+        }
+
+        private UncheckedIOException error(String motivo) {
+            return new UncheckedIOException(new IOException(
+                    "Formato incorrecto en la posición " + (desplazamiento + posicion) + ": " + motivo));
+        }
+    }
 }
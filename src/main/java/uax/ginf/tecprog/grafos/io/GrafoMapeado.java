@@ -0,0 +1,257 @@
+package uax.ginf.tecprog.grafos.io;
+
+import uax.ginf.tecprog.grafos.modelo.AdyacenciaIndexada;
+import uax.ginf.tecprog.grafos.modelo.VisitanteVecinos;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Grafo de solo lectura servido directamente desde un archivo escrito por {@link GuardadorGrafo} y
+ * proyectado en memoria. Abrirlo solo lee la cabecera: los vértices y las aristas se decodifican al
+ * recorrerlos, y es el sistema operativo quien trae a memoria las páginas del archivo que se usan.
+ * Los vértices se identifican por su índice denso, el mismo que tenían en la {@link uax.ginf.tecprog.grafos.modelo.GrafoCSR}
+ * guardada, y se recorren como cualquier otra {@link AdyacenciaIndexada}, así que
+ * {@link uax.ginf.tecprog.grafos.algoritmos.BFS}, {@link uax.ginf.tecprog.grafos.algoritmos.DFS} y
+ * {@link uax.ginf.tecprog.grafos.algoritmos.Dikjstra} se ejecutan sobre el archivo sin cargarlo en el
+ * montículo. Las instancias se obtienen con {@link CargadorGrafo#abrirBinario(Path)}.
+ * <p>
+ * El archivo se proyecta en segmentos de 1 GB, de modo que admite grafos de más de 2 GB; como las
+ * secciones de números de 8 bytes están alineadas, ninguno queda partido entre dos segmentos.
+ */
+public final class GrafoMapeado implements AdyacenciaIndexada {
+    private static final int BITS_SEGMENTO = 30;
+    private static final long TAM_SEGMENTO = 1L << BITS_SEGMENTO;
+
+    private final MappedByteBuffer[] segmentos; // Proyecciones consecutivas del archivo
+    private final boolean esDirigido;
+    private final boolean pesosUnitarios; // El archivo no tiene columna de pesos: todos valen 1.0
+    private final int numVertices;
+    private final long numAristas;
+    private final long inicioDatosIds;
+    private final long inicioDesplazamientos;
+    private final long inicioPosiciones;
+    private final long inicioAdyacencias;
+    private final long inicioPesos;
+    private final int crcCuerpo;
+    private volatile Map<String, Integer> indices; // Índice de cada identificador, construido bajo demanda
+
+    /**
+     * Proyecta el archivo y comprueba su cabecera.
+     * @param archivo la ruta del archivo.
+     * @throws IOException si el archivo no se puede leer o no tiene el formato esperado.
+     */
+    GrafoMapeado(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamanio = canal.size();
+            if (tamanio < GuardadorGrafo.TAM_CABECERA) {
+                throw new IOException("El archivo " + archivo + " no contiene un grafo binario");
+            }
+            segmentos = new MappedByteBuffer[(int) ((tamanio + TAM_SEGMENTO - 1) >>> BITS_SEGMENTO)];
+            for (int i = 0; i < segmentos.length; i++) {
+                long inicio = i * TAM_SEGMENTO;
+                segmentos[i] = canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(TAM_SEGMENTO, tamanio - inicio));
+            }
+
+            ByteBuffer cabecera = segmentos[0].slice(0, GuardadorGrafo.TAM_CABECERA);
+            if (cabecera.getInt(0) != GuardadorGrafo.MAGICO) {
+                throw new IOException("El archivo " + archivo + " no contiene un grafo binario");
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(cabecera.slice(0, GuardadorGrafo.TAM_CABECERA - 4));
+            if ((int) crc.getValue() != cabecera.getInt(GuardadorGrafo.TAM_CABECERA - 4)) {
+                throw new IOException("La cabecera del archivo " + archivo + " está dañada");
+            }
+            int version = cabecera.getInt(4);
+            if (version != GuardadorGrafo.VERSION) {
+                throw new IOException("Versión de grafo binario no soportada: " + version);
+            }
+            int indicadores = cabecera.getInt(8);
+            esDirigido = (indicadores & GuardadorGrafo.DIRIGIDO) != 0;
+            pesosUnitarios = (indicadores & GuardadorGrafo.PESOS_UNITARIOS) != 0;
+            numVertices = cabecera.getInt(12);
+            numAristas = cabecera.getLong(16);
+            inicioDatosIds = cabecera.getLong(24);
+            inicioDesplazamientos = cabecera.getLong(32);
+            inicioPosiciones = cabecera.getLong(40);
+            inicioAdyacencias = cabecera.getLong(48);
+            inicioPesos = cabecera.getLong(56);
+            crcCuerpo = cabecera.getInt(72);
+            if (cabecera.getLong(64) != tamanio) {
+                throw new IOException("El archivo " + archivo + " está truncado");
+            }
+        }
+    }
+
+    /**
+     * Recalcula la suma CRC32C de todo el cuerpo del archivo y la compara con la de la cabecera.
+     * Recorre el archivo completo, a la velocidad de lectura del disco.
+     * @throws IOException si el contenido no coincide con la suma guardada.
+     */
+    public void verificar() throws IOException {
+        CRC32C crc = new CRC32C();
+        for (int i = 0; i < segmentos.length; i++) {
+            int desde = i == 0 ? GuardadorGrafo.TAM_CABECERA : 0;
+            crc.update(segmentos[i].slice(desde, segmentos[i].limit() - desde));
+        }
+        if ((int) crc.getValue() != crcCuerpo) {
+            throw new IOException("El contenido del grafo binario está dañado");
+        }
+    }
+
+    /**
+     * Devuelve el número de vértices.
+     * @return el número de vértices.
+     */
+    @Override
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Devuelve el número de aristas almacenadas (en un grafo no dirigido, cada arista cuenta dos veces).
+     * @return el número de aristas.
+     */
+    public long getNumAristas() {
+        return numAristas;
+    }
+
+    /**
+     * Devuelve si el grafo es dirigido o no.
+     * @return verdadero si el grafo es dirigido, falso en caso contrario.
+     */
+    @Override
+    public boolean isEsDirigido() {
+        return esDirigido;
+    }
+
+    /**
+     * Devuelve el número de aristas de salida de un vértice.
+     * @param vertice el índice del vértice.
+     * @return el grado de salida.
+     */
+    @Override
+    public int getGrado(int vertice) {
+        return (int) (desplazamiento(vertice + 1) - desplazamiento(vertice));
+    }
+
+    /**
+     * Devuelve el identificador de un vértice. Cada llamada decodifica un String nuevo.
+     * @param vertice el índice del vértice.
+     * @return el identificador.
+     */
+    public String getId(int vertice) {
+        long inicio = inicioDatosIds + leerLong(GuardadorGrafo.TAM_CABECERA + 8L * vertice);
+        long fin = inicioDatosIds + leerLong(GuardadorGrafo.TAM_CABECERA + 8L * (vertice + 1));
+        byte[] bytes = new byte[(int) (fin - inicio)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = leerByte(inicio + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Busca el índice de un vértice por su identificador. La primera llamada construye un mapa con todos
+     * los identificadores, por lo que conviene evitarla si solo se recorre el grafo por índices.
+     * @param id el identificador del vértice.
+     * @return su índice, o -1 si no existe.
+     */
+    public int buscarIndice(String id) {
+        Map<String, Integer> resultado = indices;
+        if (resultado == null) {
+            synchronized (this) {
+                resultado = indices;
+                if (resultado == null) {
+                    resultado = new HashMap<>(numVertices * 2);
+                    for (int v = 0; v < numVertices; v++) {
+                        resultado.put(getId(v), v);
+                    }
+                    indices = resultado;
+                }
+            }
+        }
+        return resultado.getOrDefault(id, -1);
+    }
+
+    /**
+     * Recorre las aristas de salida de un vértice en orden creciente de destino.
+     * @param vertice el índice del vértice.
+     * @param visitante la función que recibe cada destino y su peso.
+     */
+    @Override
+    public void recorrerVecinos(int vertice, VisitanteVecinos visitante) {
+        long arista = desplazamiento(vertice);
+        long fin = desplazamiento(vertice + 1);
+        long posicion = inicioAdyacencias + leerLong(inicioPosiciones + 8L * vertice);
+        int destino = 0;
+        for (; arista < fin; arista++) {
+            // Decodificar el varint con la diferencia respecto al destino anterior
+            int diferencia = 0;
+            int desplazamientoBits = 0;
+            byte b;
+            do {
+                b = leerByte(posicion++);
+                diferencia |= (b & 0x7F) << desplazamientoBits;
+                desplazamientoBits += 7;
+            } while (b < 0);
+            destino += diferencia;
+            visitante.visitar(destino, peso(arista));
+        }
+    }
+
+    /**
+     * Decodifica las aristas de salida de un vértice en arreglos proporcionados por quien llama,
+     * en orden creciente de destino.
+     * @param vertice el índice del vértice.
+     * @param destinos arreglo de al menos getGrado(vertice) posiciones para los destinos.
+     * @param pesos arreglo de al menos getGrado(vertice) posiciones para los pesos, o null si no se necesitan.
+     * @return el número de aristas copiadas.
+     */
+    @Override
+    public int copiarVecinos(int vertice, int[] destinos, double[] pesos) {
+        long inicio = desplazamiento(vertice);
+        int grado = (int) (desplazamiento(vertice + 1) - inicio);
+        long posicion = inicioAdyacencias + leerLong(inicioPosiciones + 8L * vertice);
+        int destino = 0;
+        for (int i = 0; i < grado; i++) {
+            int diferencia = 0;
+            int desplazamientoBits = 0;
+            byte b;
+            do {
+                b = leerByte(posicion++);
+                diferencia |= (b & 0x7F) << desplazamientoBits;
+                desplazamientoBits += 7;
+            } while (b < 0);
+            destino += diferencia;
+            destinos[i] = destino;
+            if (pesos != null) {
+                pesos[i] = peso(inicio + i);
+            }
+        }
+        return grado;
+    }
+
+    private long desplazamiento(int vertice) {
+        return leerLong(inicioDesplazamientos + 8L * vertice);
+    }
+
+    private double peso(long arista) {
+        return pesosUnitarios ? 1.0 : Double.longBitsToDouble(leerLong(inicioPesos + 8L * arista));
+    }
+
+    private byte leerByte(long posicion) {
+        return segmentos[(int) (posicion >>> BITS_SEGMENTO)].get((int) (posicion & (TAM_SEGMENTO - 1)));
+    }
+
+    private long leerLong(long posicion) {
+        return segmentos[(int) (posicion >>> BITS_SEGMENTO)].getLong((int) (posicion & (TAM_SEGMENTO - 1)));
+    }
+}
@@ -1,4 +1,249 @@
 package uax.ginf.tecprog.grafos.io;
 
+import uax.ginf.tecprog.grafos.modelo.GrafoAbstracto;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Guarda grafos en un formato binario compacto que {@link CargadorGrafo#abrirBinario(Path)} puede proyectar
+ * en memoria y recorrer directamente, sin reconstruir objetos {@link uax.ginf.tecprog.grafos.modelo.Vertice}
+ * ni {@link uax.ginf.tecprog.grafos.modelo.Arista}.
+ * <p>
+ * Estructura del archivo (enteros en orden big-endian, secciones alineadas a 8 bytes):
+ * <ol>
+ *     <li>Cabecera de {@value #TAM_CABECERA} bytes: número mágico, versión, indicadores, número de vértices
+ *     y de aristas, posición de cada sección, tamaño total y las sumas CRC32C del cuerpo y de la cabecera.</li>
+ *     <li>Diccionario de identificadores: n+1 posiciones (long) y los identificadores en UTF-8.</li>
+ *     <li>Desplazamientos: n+1 posiciones (long) de la primera arista de cada vértice, como en {@link GrafoCSR}.</li>
+ *     <li>Posiciones: n+1 posiciones (long) en bytes de las adyacencias de cada vértice.</li>
+ *     <li>Adyacencias: los destinos de cada vértice ordenados de menor a mayor; el primero tal cual y los
+ *     siguientes como diferencia con el anterior, todos en varint (7 bits por byte).</li>
+ *     <li>Pesos: un double por arista, en el mismo orden que los destinos. Se omite si todos valen 1.0.</li>
+ * </ol>
+ */
 public class GuardadorGrafo {
+    static final int MAGICO = 0x47524146; // "GRAF"
+    static final int VERSION = 1;
+    static final int TAM_CABECERA = 80;
+    static final int DIRIGIDO = 1; // Indicador de grafo dirigido
+    static final int PESOS_UNITARIOS = 2; // Indicador de que se ha omitido la columna de pesos
+
+    private GuardadorGrafo() {
+    }
+
+    /**
+     * Guarda el estado actual de un grafo en formato binario.
+     * @param grafo el grafo a guardar.
+     * @param archivo la ruta del archivo, que se sobrescribe si existe.
+     * @throws IOException si el archivo no se puede escribir.
+     */
+    public static void guardar(GrafoAbstracto grafo, Path archivo) throws IOException {
+        guardar(new GrafoCSR(grafo), archivo);
+    }
+
+    /**
+     * Guarda una instantánea en formato binario. Los índices de los vértices se conservan.
+     * @param grafo la instantánea a guardar.
+     * @param archivo la ruta del archivo, que se sobrescribe si existe.
+     * @throws IOException si el archivo no se puede escribir.
+     */
+    public static void guardar(GrafoCSR grafo, Path archivo) throws IOException {
+        int n = grafo.getNumVertices();
+        int m = grafo.getNumAristas();
+        int[] desplazamientos = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            desplazamientos[v] = grafo.getInicio(v);
+        }
+        desplazamientos[n] = m;
+        int[] destinos = new int[m];
+        double[] pesos = new double[m];
+        boolean pesosUnitarios = ordenarAdyacencias(grafo, destinos, pesos);
+        escribir(archivo, grafo.isEsDirigido(), desplazamientos, destinos, pesosUnitarios ? null : pesos,
+                v -> grafo.getVertice(v).getId());
+    }
+
+    /**
+     * Guarda unas adyacencias ya agrupadas por origen, sin una {@link GrafoCSR} ni objetos
+     * {@link uax.ginf.tecprog.grafos.modelo.Vertice}: los identificadores se piden al escribirlos. Así los
+     * generadores por bloques escriben el archivo con una sola copia de las aristas en memoria.
+     * @param archivo la ruta del archivo, que se sobrescribe si existe.
+     * @param esDirigido si las aristas son dirigidas; si no, cada una debe aparecer en ambos sentidos.
+     * @param desplazamientos la posición de la primera arista de cada vértice, de tamaño n+1.
+     * @param destinos el destino de cada arista, de menor a mayor dentro de cada vértice.
+     * @param pesos el peso de cada arista, o null si todas pesan 1.0.
+     * @param ids el identificador del vértice de cada índice.
+     * @throws IOException si el archivo no se puede escribir.
+     * @throws IllegalArgumentException si los arreglos no concuerdan o algún vértice tiene los destinos desordenados.
+     */
+    public static void guardar(Path archivo, boolean esDirigido, int[] desplazamientos, int[] destinos, double[] pesos,
+                               IntFunction<String> ids) throws IOException {
+        int n = desplazamientos.length - 1;
+        if (n < 0 || desplazamientos[n] != destinos.length || (pesos != null && pesos.length != destinos.length)) {
+            throw new IllegalArgumentException("Los arreglos de adyacencias no concuerdan");
+        }
+        for (int v = 0; v < n; v++) {
+            for (int a = desplazamientos[v] + 1; a < desplazamientos[v + 1]; a++) {
+                if (destinos[a - 1] > destinos[a]) {
+                    throw new IllegalArgumentException("Destinos desordenados en el vértice " + v);
+                }
+            }
+        }
+        boolean pesosUnitarios = true;
+        for (int a = 0; pesos != null && a < pesos.length && pesosUnitarios; a++) {
+            pesosUnitarios = pesos[a] == 1.0;
+        }
+        escribir(archivo, esDirigido, desplazamientos, destinos, pesosUnitarios ? null : pesos, ids);
+    }
+
+    /**
+     * Escribe el archivo. Los destinos de cada vértice deben estar ordenados; sin pesos se omite su columna.
+     */
+    private static void escribir(Path archivo, boolean esDirigido, int[] desplazamientos, int[] destinos, double[] pesos,
+                                 IntFunction<String> ids) throws IOException {
+        int n = desplazamientos.length - 1;
+        int m = destinos.length;
+        boolean pesosUnitarios = pesos == null;
+
+        // Primera pasada: tamaño de cada identificador y de las adyacencias codificadas de cada vértice
+        long[] posicionesIds = new long[n + 1];
+        for (int v = 0; v < n; v++) {
+            posicionesIds[v + 1] = posicionesIds[v] + ids.apply(v).getBytes(StandardCharsets.UTF_8).length;
+        }
+        long[] posicionesAdyacencias = new long[n + 1];
+        for (int v = 0; v < n; v++) {
+            long bytes = 0;
+            int anterior = 0;
+            for (int a = desplazamientos[v]; a < desplazamientos[v + 1]; a++) {
+                bytes += tamVarint(destinos[a] - anterior);
+                anterior = destinos[a];
+            }
+            posicionesAdyacencias[v + 1] = posicionesAdyacencias[v] + bytes;
+        }
+
+        // Posición de cada sección en el archivo
+        long inicioDatosIds = TAM_CABECERA + 8L * (n + 1);
+        long inicioDesplazamientos = alinear(inicioDatosIds + posicionesIds[n]);
+        long inicioPosiciones = inicioDesplazamientos + 8L * (n + 1);
+        long inicioAdyacencias = inicioPosiciones + 8L * (n + 1);
+        long inicioPesos = alinear(inicioAdyacencias + posicionesAdyacencias[n]);
+        long tamanio = pesosUnitarios ? inicioPesos : inicioPesos + 8L * m;
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            canal.position(TAM_CABECERA);
+            CRC32C crcCuerpo = new CRC32C();
+            DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(canal), crcCuerpo), 1 << 16));
+
+            for (long posicion : posicionesIds) {
+                salida.writeLong(posicion);
+            }
+            for (int v = 0; v < n; v++) {
+                salida.write(ids.apply(v).getBytes(StandardCharsets.UTF_8));
+            }
+            rellenar(salida, inicioDatosIds + posicionesIds[n], inicioDesplazamientos);
+            for (int desplazamiento : desplazamientos) {
+                salida.writeLong(desplazamiento);
+            }
+            for (long posicion : posicionesAdyacencias) {
+                salida.writeLong(posicion);
+            }
+            for (int v = 0; v < n; v++) {
+                int anterior = 0;
+                for (int a = desplazamientos[v]; a < desplazamientos[v + 1]; a++) {
+                    escribirVarint(salida, destinos[a] - anterior);
+                    anterior = destinos[a];
+                }
+            }
+            rellenar(salida, inicioAdyacencias + posicionesAdyacencias[n], inicioPesos);
+            if (!pesosUnitarios) {
+                for (double peso : pesos) {
+                    salida.writeDouble(peso);
+                }
+            }
+            salida.flush();
+
+            // La cabecera se escribe al final, cuando ya se conoce la suma del cuerpo
+            ByteBuffer cabecera = ByteBuffer.allocate(TAM_CABECERA);
+            cabecera.putInt(MAGICO).putInt(VERSION)
+                    .putInt((esDirigido ? DIRIGIDO : 0) | (pesosUnitarios ? PESOS_UNITARIOS : 0))
+                    .putInt(n).putLong(m)
+                    .putLong(inicioDatosIds).putLong(inicioDesplazamientos).putLong(inicioPosiciones)
+                    .putLong(inicioAdyacencias).putLong(inicioPesos).putLong(tamanio)
+                    .putInt((int) crcCuerpo.getValue());
+            CRC32C crcCabecera = new CRC32C();
+            crcCabecera.update(cabecera.array(), 0, TAM_CABECERA - 4);
+            cabecera.putInt((int) crcCabecera.getValue());
+            cabecera.flip();
+            while (cabecera.hasRemaining()) {
+                canal.write(cabecera, cabecera.position());
+            }
+        }
+    }
+
+    /**
+     * Copia los destinos y pesos de la instantánea ordenando las aristas de cada vértice por destino.
+     * @return true si todos los pesos valen 1.0.
+     */
+    private static boolean ordenarAdyacencias(GrafoCSR grafo, int[] destinos, double[] pesos) {
+        boolean unitarios = true;
+        long[] claves = new long[0];
+        for (int v = 0; v < grafo.getNumVertices(); v++) {
+            int inicio = grafo.getInicio(v);
+            int grado = grafo.getGrado(v);
+            if (claves.length < grado) {
+                claves = new long[Math.max(grado, claves.length * 2)];
+            }
+            for (int i = 0; i < grado; i++) {   // Destino en los bits altos y posición original en los bajos
+                claves[i] = ((long) grafo.getDestino(inicio + i) << 32) | i;
+            }
+            Arrays.sort(claves, 0, grado);
+            for (int i = 0; i < grado; i++) {
+                destinos[inicio + i] = (int) (claves[i] >>> 32);
+                pesos[inicio + i] = grafo.getPeso(inicio + (int) claves[i]);
+                unitarios &= pesos[inicio + i] == 1.0;
+            }
+        }
+        return unitarios;
+    }
+
+    private static void escribirVarint(DataOutputStream salida, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            salida.write((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        salida.write(valor);
+    }
+
+    private static int tamVarint(int valor) {
+        int bytes = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    private static void rellenar(DataOutputStream salida, long desde, long hasta) throws IOException {
+        for (long i = desde; i < hasta; i++) {
+            salida.write(0);
+        }
+    }
+
+    private static long alinear(long posicion) {
+        return (posicion + 7) & ~7L;
+    }
 }
@@ -0,0 +1,58 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+/**
+ * Adyacencias de un grafo de solo lectura cuyos vértices se identifican por un índice denso entre 0 y
+ * getNumVertices()-1. La comparten la {@link GrafoCSR} en el montículo, el {@link GrafoDirecto} fuera de
+ * él y el {@link uax.ginf.tecprog.grafos.io.GrafoMapeado} servido desde un archivo, de modo que un
+ * algoritmo que solo necesite recorrer las aristas de salida puede ejecutarse sobre cualquiera de ellos.
+ * Así lo hacen {@link uax.ginf.tecprog.grafos.algoritmos.BFS}, {@link uax.ginf.tecprog.grafos.algoritmos.DFS}
+ * y {@link uax.ginf.tecprog.grafos.algoritmos.Dikjstra}.
+ */
+public interface AdyacenciaIndexada {
+
+    /**
+     * Devuelve el número de vértices.
+     * @return el número de vértices.
+     */
+    int getNumVertices();
+
+    /**
+     * Devuelve si el grafo es dirigido o no. Si no lo es, cada arista aparece en los dos extremos.
+     * @return verdadero si el grafo es dirigido, falso en caso contrario.
+     */
+    boolean isEsDirigido();
+
+    /**
+     * Devuelve el número de aristas de salida de un vértice.
+     * @param vertice el índice del vértice.
+     * @return el grado de salida.
+     */
+    int getGrado(int vertice);
+
+    /**
+     * Recorre las aristas de salida de un vértice sin crear objetos por arista.
+     * @param vertice el índice del vértice.
+     * @param visitante la función que recibe cada destino y su peso.
+     */
+    void recorrerVecinos(int vertice, VisitanteVecinos visitante);
+
+    /**
+     * Copia las aristas de salida de un vértice en arreglos proporcionados por quien llama, para recorrerlas
+     * con un bucle en lugar de con un visitante.
+     * @param vertice el índice del vértice.
+     * @param destinos arreglo de al menos getGrado(vertice) posiciones para los destinos.
+     * @param pesos arreglo de al menos getGrado(vertice) posiciones para los pesos, o null si no se necesitan.
+     * @return el número de aristas copiadas.
+     */
+    default int copiarVecinos(int vertice, int[] destinos, double[] pesos) {
+        int[] copiadas = {0};
+        recorrerVecinos(vertice, (destino, peso) -> {
+            destinos[copiadas[0]] = destino;
+            if (pesos != null) {
+                pesos[copiadas[0]] = peso;
+            }
+            copiadas[0]++;
+        });
+        return copiadas[0];
+    }
+}
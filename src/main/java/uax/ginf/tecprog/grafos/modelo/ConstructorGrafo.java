@@ -0,0 +1,299 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import uax.ginf.tecprog.grafos.util.DiccionarioVertices;
+import uax.ginf.tecprog.grafos.util.MapaPesos;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Acumula vértices y aristas en arreglos primitivos para crear un {@link Grafo} de una vez, o para aplicar
+ * un lote de cambios a uno existente, sin el coste por arista de {@link Grafo#addAristaPeso(Vertice, Vertice, double)}:
+ * dos búsquedas de vértice, y en un grafo no dirigido la arista simétrica.
+ * <p>
+ * Cada vértice recibe un índice al añadirlo, y las aristas se guardan como índices y peso, sin crear
+ * objetos. {@link #construir(ForkJoinPool)} agrupa las aristas por vértice con una ordenación por
+ * conteo estable, crea el mapa de aristas de cada vértice ya con su tamaño final, repartiendo los
+ * vértices entre los hilos de un pool, y entrega al grafo el diccionario de vértices del constructor sin
+ * copiarlo. Como en el grafo, si no es un multigrafo una arista repetida se queda con el último peso.
+ * <p>
+ * {@link #aplicar(GrafoAbstracto)} aplica el lote a un grafo existente: primero añade los vértices, después
+ * elimina las aristas indicadas con {@link #deleteArista(Vertice, Vertice)} y por último inserta las
+ * aristas, agrupadas por origen. En un {@link GrafoConcurrente} todo el lote se aplica con los cerrojos
+ * de escritura tomados y en la misma versión, así que ninguna instantánea ve solo una parte.
+ * <p>
+ * Tras construir o aplicar, el constructor queda vacío y puede reutilizarse.
+ */
+public final class ConstructorGrafo {
+    private static final int UMBRAL_TAREA = 1024; // Vértices a partir de los cuales se divide una tarea
+
+    private final boolean esDirigido; // Indica si el grafo es dirigido o no
+    private final boolean esMultigrafo; // Indica si se admiten aristas paralelas
+    DiccionarioVertices diccionario; // Índice de cada vértice del lote
+    int[] origenes; // Índice del origen de cada arista insertada
+    int[] destinos; // Índice del destino de cada arista insertada
+    double[] pesos; // Peso de cada arista insertada
+    int numAristas; // Número de aristas insertadas
+    Vertice[] origenesBorrados; // Origen de cada arista eliminada, que no forma parte de los vértices del lote
+    Vertice[] destinosBorrados; // Destino de cada arista eliminada, que no forma parte de los vértices del lote
+    int numBorradas; // Número de aristas eliminadas
+
+    /**
+     * Constructor para grafos sin aristas paralelas.
+     * @param esDirigido un booleano que indica si el grafo es dirigido o no.
+     */
+    public ConstructorGrafo(boolean esDirigido) {
+        this(esDirigido, false);
+    }
+
+    /**
+     * Constructor para la clase ConstructorGrafo.
+     * @param esDirigido un booleano que indica si el grafo es dirigido o no.
+     * @param esMultigrafo un booleano que indica si se admiten varias aristas entre los mismos vértices.
+     */
+    public ConstructorGrafo(boolean esDirigido, boolean esMultigrafo) {
+        this.esDirigido = esDirigido;
+        this.esMultigrafo = esMultigrafo;
+        vaciar();
+    }
+
+    /**
+     * Añade un vértice al lote si no estaba.
+     * @param vertice el vértice.
+     * @return el índice del vértice en el lote, que sirve para {@link #addAristaPeso(int, int, double)}.
+     */
+    public int addVertice(Vertice vertice) {
+        int indice = diccionario.buscar(vertice.getId());
+        return indice >= 0 ? indice : diccionario.anadir(vertice);
+    }
+
+    /**
+     * Añade una arista ponderada al lote, añadiendo también sus vértices si no estaban.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @param peso el peso de la arista.
+     */
+    public void addAristaPeso(Vertice origen, Vertice destino, double peso) {
+        addAristaPeso(addVertice(origen), addVertice(destino), peso);
+    }
+
+    /**
+     * Añade una arista al lote con peso 1.0, añadiendo también sus vértices si no estaban.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     */
+    public void addArista(Vertice origen, Vertice destino) {
+        addAristaPeso(origen, destino, 1.0);
+    }
+
+    /**
+     * Añade una arista ponderada al lote entre dos vértices ya añadidos, sin buscarlos.
+     * @param origen el índice del origen, devuelto por {@link #addVertice(Vertice)}.
+     * @param destino el índice del destino, devuelto por {@link #addVertice(Vertice)}.
+     * @param peso el peso de la arista.
+     * @throws IllegalArgumentException si alguno de los índices no corresponde a un vértice del lote.
+     */
+    public void addAristaPeso(int origen, int destino, double peso) {
+        comprobarIndice(origen);
+        comprobarIndice(destino);
+        if (numAristas == origenes.length) {
+            int capacidad = numAristas + (numAristas >> 1);
+            origenes = Arrays.copyOf(origenes, capacidad);
+            destinos = Arrays.copyOf(destinos, capacidad);
+            pesos = Arrays.copyOf(pesos, capacidad);
+        }
+        origenes[numAristas] = origen;
+        destinos[numAristas] = destino;
+        pesos[numAristas++] = peso;
+    }
+
+    /**
+     * Anota en el lote que deben eliminarse las aristas entre dos vértices. Solo tiene efecto con
+     * {@link #aplicar(GrafoAbstracto)}, y se aplica antes que las inserciones del lote. Los vértices no
+     * se añaden al lote: si alguno no está en el grafo al aplicarlo, la eliminación se ignora.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     */
+    public void deleteArista(Vertice origen, Vertice destino) {
+        if (numBorradas == origenesBorrados.length) {
+            int capacidad = numBorradas + (numBorradas >> 1);
+            origenesBorrados = Arrays.copyOf(origenesBorrados, capacidad);
+            destinosBorrados = Arrays.copyOf(destinosBorrados, capacidad);
+        }
+        origenesBorrados[numBorradas] = origen;
+        destinosBorrados[numBorradas++] = destino;
+    }
+
+    /**
+     * Devuelve el número de vértices del lote.
+     * @return el número de vértices.
+     */
+    public int getNumVertices() {
+        return diccionario.getTamanio();
+    }
+
+    /**
+     * Devuelve el número de aristas insertadas en el lote, contando las repetidas.
+     * @return el número de aristas.
+     */
+    public int getNumAristas() {
+        return numAristas;
+    }
+
+    /**
+     * Crea un grafo con los vértices y aristas del lote usando el pool común de hilos.
+     * @return el grafo.
+     */
+    public Grafo construir() {
+        return construir(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea un grafo con los vértices y aristas del lote, repartiendo entre los hilos de un pool la creación
+     * de los mapas de aristas de cada vértice. Las eliminaciones anotadas se descartan.
+     * @param pool el pool de hilos.
+     * @return el grafo.
+     */
+    public Grafo construir(ForkJoinPool pool) {
+        int n = diccionario.getLimite();
+        MapaPesos[] salientes = new MapaPesos[Math.max(8, n)];
+        MapaPesos[] entrantes = esDirigido ? new MapaPesos[salientes.length] : null;
+        if (esDirigido) {
+            int[] inicio = new int[n + 1];
+            int[] orden = agrupar(origenes, null, n, inicio);
+            pool.invoke(new Rellenar(this, salientes, destinos, inicio, orden, 0, n));
+            orden = agrupar(destinos, null, n, inicio);
+            pool.invoke(new Rellenar(this, entrantes, origenes, inicio, orden, 0, n));
+        } else {
+            int[] inicio = new int[n + 1];
+            int[] orden = agrupar(origenes, destinos, n, inicio);
+            pool.invoke(new Rellenar(this, salientes, null, inicio, orden, 0, n));
+        }
+        Grafo grafo = new Grafo(esDirigido, esMultigrafo, diccionario, salientes, entrantes);
+        vaciar();
+        return grafo;
+    }
+
+    /**
+     * Aplica el lote a un grafo existente: añade los vértices, elimina las aristas anotadas y después inserta
+     * las del lote, con los mismos avisos a los {@link OyenteGrafo} que harían las operaciones una a una.
+     * @param grafo el grafo, del mismo tipo (dirigido o no) que el lote.
+     * @throws IllegalArgumentException si el grafo y el lote no son ambos dirigidos o ambos no dirigidos.
+     * @throws UnsupportedOperationException si el grafo es de solo lectura.
+     */
+    public void aplicar(GrafoAbstracto grafo) {
+        if (grafo.isEsDirigido() != esDirigido) {
+            throw new IllegalArgumentException("El lote y el grafo deben ser ambos dirigidos o ambos no dirigidos");
+        }
+        grafo.aplicarLote(this);
+        vaciar();
+    }
+
+    /**
+     * Descarta todos los vértices y aristas del lote.
+     */
+    public void vaciar() {
+        diccionario = new DiccionarioVertices(8);
+        origenes = new int[8];
+        destinos = new int[8];
+        pesos = new double[8];
+        numAristas = 0;
+        origenesBorrados = new Vertice[8];
+        destinosBorrados = new Vertice[8];
+        numBorradas = 0;
+    }
+
+    /**
+     * Ordena por conteo, de forma estable, las aristas del lote según el vértice al que pertenecen.
+     * Con segundas != null cada arista a pertenece a dos vértices y aparece dos veces, como 2a en
+     * claves[a] y como 2a+1 en segundas[a], intercaladas para que el orden del lote se conserve en ambas.
+     * @param inicio se rellena con la posición en el resultado de las aristas de cada vértice.
+     * @return las aristas (o sus dos apariciones) agrupadas por vértice y en el orden en que se añadieron.
+     */
+    int[] agrupar(int[] claves, int[] segundas, int n, int[] inicio) {
+        int total = segundas == null ? numAristas : 2 * numAristas;
+        Arrays.fill(inicio, 0);
+        for (int a = 0; a < numAristas; a++) {
+            inicio[claves[a] + 1]++;
+            if (segundas != null) {
+                inicio[segundas[a] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            inicio[v + 1] += inicio[v];
+        }
+        int[] siguiente = Arrays.copyOf(inicio, n);
+        int[] orden = new int[total];
+        for (int a = 0; a < numAristas; a++) {
+            if (segundas == null) {
+                orden[siguiente[claves[a]]++] = a;
+            } else {
+                orden[siguiente[claves[a]]++] = 2 * a;
+                orden[siguiente[segundas[a]]++] = 2 * a + 1;
+            }
+        }
+        return orden;
+    }
+
+    private void comprobarIndice(int indice) {
+        if (indice < 0 || indice >= diccionario.getLimite()) {
+            throw new IllegalArgumentException("El índice " + indice + " no corresponde a ningún vértice del lote");
+        }
+    }
+
+    /**
+     * Crea el mapa de aristas de cada vértice de un tramo a partir de las aristas agrupadas.
+     * Con otros == null, cada elemento de orden es una aparición 2a o 2a+1 de una arista no dirigida.
+     */
+    private static final class Rellenar extends RecursiveAction {
+        private final ConstructorGrafo constructor;
+        private final MapaPesos[] mapas;
+        private final int[] otros;
+        private final int[] inicio;
+        private final int[] orden;
+        private final int desde;
+        private final int hasta;
+
+        Rellenar(ConstructorGrafo constructor, MapaPesos[] mapas, int[] otros, int[] inicio, int[] orden,
+                 int desde, int hasta) {
+            this.constructor = constructor;
+            this.mapas = mapas;
+            this.otros = otros;
+            this.inicio = inicio;
+            this.orden = orden;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > UMBRAL_TAREA) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new Rellenar(constructor, mapas, otros, inicio, orden, desde, medio),
+                        new Rellenar(constructor, mapas, otros, inicio, orden, medio, hasta));
+                return;
+            }
+            ConstructorGrafo c = constructor;
+            for (int v = desde; v < hasta; v++) {
+                MapaPesos mapa = new MapaPesos(inicio[v + 1] - inicio[v]);
+                for (int i = inicio[v]; i < inicio[v + 1]; i++) {
+                    int a = orden[i];
+                    int otro;
+                    if (otros != null) {
+                        otro = otros[a];
+                    } else {
+                        otro = (a & 1) == 0 ? c.destinos[a >>> 1] : c.origenes[a >>> 1];
+                        a >>>= 1;
+                    }
+                    if (c.esMultigrafo) {
+                        mapa.anadir(otro, c.pesos[a]);
+                    } else {
+                        mapa.poner(otro, c.pesos[a]);
+                    }
+                }
+                mapas[v] = mapa;
+            }
+        }
+    }
+}
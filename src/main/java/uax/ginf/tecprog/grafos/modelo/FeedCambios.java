@@ -0,0 +1,502 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Canal de cambios de un {@link GrafoAbstracto}: publica cada cambio en un búfer circular del que leen, cada uno a
+ * su ritmo, varios suscriptores. A diferencia de un {@link OyenteGrafo}, el suscriptor no trabaja dentro
+ * del método que modifica el grafo, sino cuando quiere y en el hilo que quiere, leyendo los cambios
+ * pendientes por lotes.
+ * <p>
+ * Cada cambio recibe un número de secuencia consecutivo y cada {@link Suscripcion} recuerda el siguiente
+ * que le toca leer. Si el búfer se llena porque algún suscriptor se ha quedado atrás, la
+ * {@link Contrapresion} decide qué pasa: o el hilo que modifica el grafo espera a que el suscriptor lea,
+ * o se sobrescriben los cambios más antiguos y ese suscriptor queda marcado como desfasado, de modo que
+ * tendrá que reconstruir lo que derive del grafo y llamar a {@link Suscripcion#reanudar()}. Si no se elige,
+ * la política es descartar, que nunca detiene al grafo.
+ * <p>
+ * El canal solo está registrado como oyente del grafo mientras tiene suscriptores, así que sin ellos el
+ * grafo no paga nada más que recorrer una lista de oyentes vacía. Los cambios se escriben en arreglos
+ * paralelos, sin crear un objeto por cambio, y cada casilla lleva su número de secuencia para que los
+ * lectores, que no bloquean, detecten si el productor la ha sobrescrito mientras la leían.
+ */
+public final class FeedCambios implements OyenteGrafo, AutoCloseable {
+
+    /**
+     * Tipo de un cambio, uno por cada aviso de {@link OyenteGrafo}.
+     */
+    public enum Tipo {
+        VERTICE_ANADIDO, VERTICE_ELIMINADO, VERTICE_RENOMBRADO, ARISTA_ANADIDA, ARISTA_ELIMINADA, PESO_CAMBIADO
+    }
+
+    /**
+     * Qué hacer al publicar un cambio cuando el suscriptor más lento aún no ha leído el que ocuparía su casilla.
+     */
+    public enum Contrapresion {
+        /**
+         * El hilo que modifica el grafo espera a que el suscriptor lea. Ningún suscriptor pierde cambios, pero
+         * la espera ocurre dentro del aviso al oyente, con la modificación a medias: el productor sigue
+         * teniendo los cerrojos de escritura que haya tomado el grafo, como los de un {@link GrafoConcurrente},
+         * y el suscriptor no debe necesitarlos para llegar a leer. Si el hilo que esperaría es el que lee la
+         * propia suscripción retrasada, nunca podría leer, así que no espera: se publica como con DESCARTAR
+         * y esa suscripción queda desfasada, lo que se avisa al leerla.
+         */
+        ESPERAR,
+        /** Se sobrescribe el cambio y el suscriptor que no lo ha leído queda desfasado. El grafo nunca espera. */
+        DESCARTAR
+    }
+
+    /**
+     * Recibe los cambios leídos de una suscripción.
+     */
+    public interface LectorCambios {
+
+        /**
+         * Se invoca con cada cambio, en orden de secuencia.
+         * @param cambio el cambio; el objeto se reutiliza y solo es válido durante la llamada.
+         */
+        void cambio(Cambio cambio);
+    }
+
+    private static final Tipo[] TIPOS = Tipo.values();
+    private static final Suscripcion[] SIN_SUSCRIPCIONES = new Suscripcion[0];
+
+    private final GrafoAbstracto grafo; // Grafo del que se publican los cambios
+    private final Contrapresion contrapresion; // Política cuando el búfer está lleno
+    private final int mascara; // Capacidad - 1, para reducir una secuencia a su casilla
+    private final AtomicLongArray secuencias; // Secuencia del cambio de cada casilla, o -1 mientras se escribe
+    private final byte[] tipos; // Tipo de cada casilla
+    private final Vertice[] origenes; // Origen de la arista, o vértice del cambio
+    private final Vertice[] destinos; // Destino de la arista, o null
+    private final double[] pesos; // Peso de la arista, o 0
+    private final String[] idsAnteriores; // Id anterior de un vértice renombrado, o null
+    private volatile long publicados; // Número de cambios publicados: la siguiente secuencia
+    private volatile Suscripcion[] suscripciones = SIN_SUSCRIPCIONES; // Copia al escribir
+    private volatile int productoresEsperando; // Productores que esperan a un suscriptor; solo cambia con el cerrojo
+    private int lectoresEsperando; // Lectores dormidos en Suscripcion.esperar; solo se usa con el cerrojo
+    private boolean cerrado; // Indica si ya se ha cerrado el canal
+
+    /**
+     * Constructor para un canal que descarta los cambios más antiguos cuando el búfer se llena, sin hacer
+     * esperar nunca al grafo.
+     * @param grafo el grafo del que se publican los cambios.
+     * @param capacidad el número de cambios que caben en el búfer; se redondea a una potencia de dos.
+     */
+    public FeedCambios(GrafoAbstracto grafo, int capacidad) {
+        this(grafo, capacidad, Contrapresion.DESCARTAR);
+    }
+
+    /**
+     * Constructor para la clase FeedCambios. No publica nada hasta que haya algún suscriptor.
+     * @param grafo el grafo del que se publican los cambios.
+     * @param capacidad el número de cambios que caben en el búfer; se redondea a una potencia de dos.
+     * @param contrapresion qué hacer cuando el búfer se llena.
+     * @throws IllegalArgumentException si la capacidad no es positiva.
+     */
+    public FeedCambios(GrafoAbstracto grafo, int capacidad, Contrapresion contrapresion) {
+        if (capacidad <= 0 || capacidad > 1 << 30) {
+            throw new IllegalArgumentException("La capacidad debe estar entre 1 y 2^30: " + capacidad);
+        }
+        int potencia = Integer.highestOneBit(capacidad) == capacidad ? capacidad : Integer.highestOneBit(capacidad) << 1;
+        this.grafo = grafo;
+        this.contrapresion = contrapresion;
+        this.mascara = potencia - 1;
+        this.secuencias = new AtomicLongArray(potencia);
+        this.tipos = new byte[potencia];
+        this.origenes = new Vertice[potencia];
+        this.destinos = new Vertice[potencia];
+        this.pesos = new double[potencia];
+        this.idsAnteriores = new String[potencia];
+        for (int i = 0; i < potencia; i++) {
+            secuencias.set(i, -1);
+        }
+    }
+
+    /**
+     * Crea una suscripción que leerá todos los cambios publicados a partir de ahora. La primera suscripción
+     * registra el canal como oyente del grafo.
+     * @return la suscripción.
+     * @throws IllegalStateException si el canal está cerrado.
+     */
+    public synchronized Suscripcion suscribir() {
+        if (cerrado) {
+            throw new IllegalStateException("El canal de cambios está cerrado");
+        }
+        Suscripcion suscripcion = new Suscripcion(publicados, Thread.currentThread());
+        Suscripcion[] actuales = suscripciones;
+        Suscripcion[] nuevas = Arrays.copyOf(actuales, actuales.length + 1);
+        nuevas[actuales.length] = suscripcion;
+        suscripciones = nuevas;
+        if (actuales.length == 0) {
+            grafo.addOyente(this);
+        }
+        return suscripcion;
+    }
+
+    /**
+     * Cierra el canal: deja de publicar y anula todas las suscripciones, que aún pueden leer lo que tuvieran
+     * pendiente. Cerrarlo dos veces no tiene efecto.
+     */
+    @Override
+    public synchronized void close() {
+        if (!cerrado) {
+            cerrado = true;
+            suscripciones = SIN_SUSCRIPCIONES;
+            grafo.deleteOyente(this);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Devuelve el número de cambios publicados, que es la secuencia que recibirá el siguiente.
+     * @return el número de cambios publicados.
+     */
+    public long getNumPublicados() {
+        return publicados;
+    }
+
+    /**
+     * Devuelve cuántos cambios caben en el búfer.
+     * @return la capacidad.
+     */
+    public int getCapacidad() {
+        return mascara + 1;
+    }
+
+    /**
+     * Devuelve la política del canal cuando el búfer se llena.
+     * @return la contrapresión.
+     */
+    public Contrapresion getContrapresion() {
+        return contrapresion;
+    }
+
+    @Override
+    public void verticeAnadido(Vertice vertice) {
+        publicar(Tipo.VERTICE_ANADIDO, vertice, null, 0, null);
+    }
+
+    @Override
+    public void verticeEliminado(Vertice vertice) {
+        publicar(Tipo.VERTICE_ELIMINADO, vertice, null, 0, null);
+    }
+
+    @Override
+    public void verticeRenombrado(Vertice vertice, String idAnterior) {
+        publicar(Tipo.VERTICE_RENOMBRADO, vertice, null, 0, idAnterior);
+    }
+
+    @Override
+    public void aristaAnadida(Vertice origen, Vertice destino, double peso) {
+        publicar(Tipo.ARISTA_ANADIDA, origen, destino, peso, null);
+    }
+
+    @Override
+    public void aristaEliminada(Vertice origen, Vertice destino) {
+        publicar(Tipo.ARISTA_ELIMINADA, origen, destino, 0, null);
+    }
+
+    @Override
+    public void pesoCambiado(Vertice origen, Vertice destino, double peso) {
+        publicar(Tipo.PESO_CAMBIADO, origen, destino, peso, null);
+    }
+
+    /**
+     * Escribe un cambio en la siguiente casilla. Con varios hilos modificando un {@link GrafoConcurrente},
+     * el cerrojo del canal da a sus cambios un orden único. Nunca lanza excepciones: se invoca desde dentro
+     * del grafo, y una excepción dejaría sin aviso a los oyentes siguientes y a medias un lote ya aplicado.
+     */
+    private synchronized void publicar(Tipo tipo, Vertice origen, Vertice destino, double peso, String idAnterior) {
+        if (cerrado) {
+            return;
+        }
+        if (contrapresion == Contrapresion.ESPERAR) {
+            esperarHueco();
+        }
+        long secuencia = publicados;
+        int casilla = (int) secuencia & mascara;
+        secuencias.set(casilla, -1);    // Los lectores que la estén leyendo verán que ha cambiado
+        VarHandle.releaseFence();
+        tipos[casilla] = (byte) tipo.ordinal();
+        origenes[casilla] = origen;
+        destinos[casilla] = destino;
+        pesos[casilla] = peso;
+        idsAnteriores[casilla] = idAnterior;
+        secuencias.set(casilla, secuencia);
+        publicados = secuencia + 1;
+        if (lectoresEsperando > 0) {
+            notifyAll();    // Solo si hay lectores dormidos: sin ellos no cuesta más que leer el contador
+        }
+    }
+
+    /**
+     * Espera a que todos los suscriptores hayan leído el cambio que ocupa la casilla de la siguiente
+     * secuencia. Mientras espera suelta el cerrojo, así que otro productor puede publicar antes y la
+     * secuencia se vuelve a leer en cada vuelta. Si el hilo se interrumpe, deja de esperar y los
+     * suscriptores que no han leído quedan desfasados: el cambio ya está aplicado en el grafo y no se
+     * puede retirar. Lo mismo pasa, sin llegar a esperar, si alguna suscripción retrasada la lee este hilo.
+     */
+    private void esperarHueco() {
+        Thread hilo = Thread.currentThread();
+        while (true) {
+            long limite = publicados - mascara - 1; // Todos deben haber leído ya esta secuencia
+            if (!hayRetrasada(limite, null)) {
+                return;
+            }
+            if (hayRetrasada(limite, hilo)) {
+                desfasarRetrasadas(limite);
+                return;
+            }
+            productoresEsperando++;
+            try {
+                if (hayRetrasada(limite, null)) { // Otra vez, por si avanzó antes de ver el contador
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                desfasarRetrasadas(limite);
+                return;
+            } finally {
+                productoresEsperando--;
+            }
+        }
+    }
+
+    /**
+     * Indica si alguna suscripción no desfasada aún no ha leído la secuencia límite.
+     * @param lector si no es null, solo cuentan las suscripciones que lee ese hilo.
+     */
+    private boolean hayRetrasada(long limite, Thread lector) {
+        for (Suscripcion suscripcion : suscripciones) {
+            if (suscripcion.siguiente <= limite && !suscripcion.desfasada
+                    && (lector == null || suscripcion.lector == lector)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void desfasarRetrasadas(long limite) {
+        for (Suscripcion suscripcion : suscripciones) {
+            if (suscripcion.siguiente <= limite) {
+                suscripcion.desfasada = true;
+            }
+        }
+    }
+
+    private synchronized void quitar(Suscripcion suscripcion) {
+        Suscripcion[] actuales = suscripciones;
+        for (int i = 0; i < actuales.length; i++) {
+            if (actuales[i] == suscripcion) {
+                Suscripcion[] nuevas = new Suscripcion[actuales.length - 1];
+                System.arraycopy(actuales, 0, nuevas, 0, i);
+                System.arraycopy(actuales, i + 1, nuevas, i, nuevas.length - i);
+                suscripciones = nuevas.length == 0 ? SIN_SUSCRIPCIONES : nuevas;
+                if (nuevas.length == 0) {
+                    grafo.deleteOyente(this);
+                }
+                notifyAll();    // Un productor podía estar esperando a esta suscripción
+                return;
+            }
+        }
+    }
+
+    /**
+     * Un cambio leído de una suscripción. Es una vista que la suscripción reutiliza en cada cambio, así
+     * que no debe guardarse fuera de {@link LectorCambios#cambio(Cambio)}.
+     */
+    public static final class Cambio {
+        private long secuencia;
+        private Tipo tipo;
+        private Vertice origen;
+        private Vertice destino;
+        private double peso;
+        private String idAnterior;
+
+        private Cambio() {
+        }
+
+        /**
+         * Devuelve el número de secuencia del cambio.
+         * @return la secuencia.
+         */
+        public long getSecuencia() {
+            return secuencia;
+        }
+
+        /**
+         * Devuelve el tipo del cambio.
+         * @return el tipo.
+         */
+        public Tipo getTipo() {
+            return tipo;
+        }
+
+        /**
+         * Devuelve el vértice de un cambio de vértice, o el origen de un cambio de arista.
+         * @return el vértice.
+         */
+        public Vertice getOrigen() {
+            return origen;
+        }
+
+        /**
+         * Devuelve el destino de un cambio de arista.
+         * @return el vértice de destino, o null en un cambio de vértice.
+         */
+        public Vertice getDestino() {
+            return destino;
+        }
+
+        /**
+         * Devuelve el peso de una arista añadida o el nuevo peso de un cambio de peso.
+         * @return el peso, o 0 en los demás cambios.
+         */
+        public double getPeso() {
+            return peso;
+        }
+
+        /**
+         * Devuelve el id que tenía un vértice renombrado.
+         * @return el id anterior, o null en los demás cambios.
+         */
+        public String getIdAnterior() {
+            return idAnterior;
+        }
+    }
+
+    /**
+     * Posición de un suscriptor en el canal. La lee un solo hilo, que no bloquea al grafo salvo cuando el
+     * búfer está lleno con {@link Contrapresion#ESPERAR}.
+     */
+    public final class Suscripcion implements AutoCloseable {
+        private final Cambio cambio = new Cambio(); // Vista reutilizada en cada cambio
+        private volatile long siguiente; // Secuencia del siguiente cambio por leer
+        private volatile boolean desfasada; // Indica si se ha perdido algún cambio
+        private volatile Thread lector; // Hilo que la creó o que la leyó por última vez
+
+        private Suscripcion(long siguiente, Thread lector) {
+            this.siguiente = siguiente;
+            this.lector = lector;
+        }
+
+        /**
+         * Lee en orden los cambios pendientes, hasta un máximo, sin esperar a que haya más.
+         * @param maximo el número máximo de cambios que se leen.
+         * @param lector el que recibe cada cambio.
+         * @return el número de cambios leídos.
+         * @throws IllegalStateException si la suscripción se ha desfasado y ha perdido cambios.
+         */
+        public int leer(int maximo, LectorCambios lector) {
+            this.lector = Thread.currentThread();
+            long inicio = siguiente;
+            long fin = Math.min(publicados, inicio + maximo);
+            long secuencia = inicio;
+            try {
+                for (; secuencia < fin; secuencia++) {
+                    int casilla = (int) secuencia & mascara;
+                    long antes = secuencias.get(casilla);
+                    cambio.secuencia = secuencia;
+                    cambio.tipo = TIPOS[tipos[casilla]];
+                    cambio.origen = origenes[casilla];
+                    cambio.destino = destinos[casilla];
+                    cambio.peso = pesos[casilla];
+                    cambio.idAnterior = idsAnteriores[casilla];
+                    VarHandle.acquireFence();
+                    if (antes != secuencia || secuencias.get(casilla) != secuencia) {
+                        desfasada = true;   // El productor ya ha reutilizado la casilla
+                    }
+                    comprobarAlDia();
+                    lector.cambio(cambio);
+                }
+            } finally {
+                cambio.origen = null;
+                cambio.destino = null;
+                if (secuencia != inicio) {
+                    siguiente = secuencia;
+                    if (productoresEsperando > 0) {
+                        synchronized (FeedCambios.this) {
+                            FeedCambios.this.notifyAll();
+                        }
+                    }
+                }
+            }
+            return (int) (secuencia - inicio);
+        }
+
+        /**
+         * Espera a que haya algún cambio pendiente.
+         * @param milisegundos el tiempo máximo de espera; 0 para esperar sin límite.
+         * @return true si hay cambios pendientes, false si se agotó el tiempo o se cerró el canal.
+         * @throws InterruptedException si el hilo se interrumpe mientras espera.
+         */
+        public boolean esperar(long milisegundos) throws InterruptedException {
+            lector = Thread.currentThread();
+            long limite = System.currentTimeMillis() + milisegundos;
+            synchronized (FeedCambios.this) {
+                while (publicados == siguiente) {
+                    long restante = limite - System.currentTimeMillis();
+                    if (cerrado || milisegundos > 0 && restante <= 0) {
+                        return false;
+                    }
+                    lectoresEsperando++;
+                    try {
+                        FeedCambios.this.wait(milisegundos > 0 ? restante : 0);
+                    } finally {
+                        lectoresEsperando--;
+                    }
+                }
+                return true;
+            }
+        }
+
+        /**
+         * Devuelve el número de cambios publicados que aún no se han leído.
+         * @return los cambios pendientes.
+         */
+        public long getPendientes() {
+            return publicados - siguiente;
+        }
+
+        /**
+         * Devuelve la secuencia del siguiente cambio que se leerá.
+         * @return la secuencia.
+         */
+        public long getSecuencia() {
+            return siguiente;
+        }
+
+        /**
+         * Indica si la suscripción ha perdido cambios porque el búfer se llenó antes de leerlos.
+         * @return true si está desfasada, false en caso contrario.
+         */
+        public boolean isDesfasada() {
+            return desfasada || publicados - siguiente > mascara + 1;
+        }
+
+        /**
+         * Salta al cambio más reciente y deja de estar desfasada. Se llama tras reconstruir desde el grafo lo
+         * que se mantenía con los cambios perdidos.
+         */
+        public void reanudar() {
+            siguiente = publicados;
+            desfasada = false;
+        }
+
+        /**
+         * Cancela la suscripción. Si era la última, el canal deja de escuchar al grafo.
+         */
+        @Override
+        public void close() {
+            quitar(this);
+        }
+
+        private void comprobarAlDia() {
+            if (desfasada) {
+                throw new IllegalStateException("La suscripción ha perdido cambios; hay que reconstruir y reanudar");
+            }
+        }
+    }
+}
@@ -1,75 +1,214 @@
 package uax.ginf.tecprog.grafos.modelo;
 
-import java.util.HashMap;
+import uax.ginf.tecprog.grafos.util.DiccionarioVertices;
+import uax.ginf.tecprog.grafos.util.MapaPesos;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
  * Esta clase representa una estructura de datos de Grafo.
  * Contiene métodos para agregar y eliminar vértices y aristas (con o sin peso),
  * y para obtener vértices adyacentes a un vértice dado.
+ * <p>
+ * Cada vértice recibe un índice denso en un {@link DiccionarioVertices}, que lo localiza solo por su id, y sus aristas se guardan en un {@link MapaPesos} que asocia el índice
+ * de cada destino con el peso de la arista, de modo que comprobar, consultar, cambiar o eliminar una arista
+ * cuesta O(1) de media aunque el vértice tenga millones de vecinos. En un grafo dirigido se guarda además
+ * un mapa con las aristas que llegan a cada vértice; gracias a él, eliminar un vértice solo toca a sus
+ * vecinos, en tiempo proporcional a su grado y no al tamaño del grafo.
+ * <p>
+ * Por defecto entre dos vértices hay como mucho una arista: añadirla de nuevo solo cambia su peso. Un
+ * multigrafo, creado con {@link #Grafo(boolean, boolean)}, admite aristas paralelas.
+ * <p>
+ * Para recorrer el grafo sin crear objetos en cada paso, {@link #recorrerAdyacentes(Vertice, VisitanteAdyacentes)}
+ * y {@link #recorrerPredecesores(Vertice, VisitanteAdyacentes)} entregan cada vecino y el peso de la arista
+ * directamente desde el almacenamiento interno, y los grados se consultan en O(1).
+ * <p>
+ * El id de un vértice que está en el grafo no debe cambiarse con {@link Vertice#setId(String)}:
+ * {@link #renombrarVertice(Vertice, String)} lo sustituye por otro con el nuevo id. Su dato, en cambio,
+ * puede modificarse en cualquier momento.
+ * <p>
+ * Para cargar muchos vértices y aristas de una vez, o aplicar un lote de cambios, {@link ConstructorGrafo}
+ * evita el coste por arista de los métodos individuales.
+ * <p>
+ * Las estructuras derivadas del grafo pueden registrarse como {@link OyenteGrafo} para recibir cada cambio.
+ * Sin oyentes, avisar cuesta solo comprobar que el arreglo de oyentes está vacío. Cada cambio aumenta
+ * además {@link #getNumModificaciones()}, con el que una caché puede saber si sus resultados siguen siendo válidos.
  */
-public class Grafo {
-    private Map<Vertice, Set<Arista>> adyacencias;  // Mapa de adyacencias para almacenar las aristas de cada vértice
-    private boolean esDirigido; // Indica si el grafo es dirigido o no
+public class Grafo extends GrafoAbstracto {
+    private DiccionarioVertices diccionario; // Índice denso de cada vértice, y vértice de cada índice
+    private MapaPesos[] salientes;  // Aristas de salida de cada vértice: índice del destino y peso
+    private MapaPesos[] entrantes;  // Aristas de entrada de cada vértice: índice del origen y peso (solo en grafos dirigidos)
+    private Set<Vertice> vista; // Vista de solo lectura de los vértices
+    private Map<Vertice, Set<Arista>> adyacencias;  // Vista de solo lectura del grafo como mapa de adyacencia
 
     /**
-     * Constructor para la clase Grafo.
+     * Constructor para la clase Grafo, sin aristas paralelas.
      * @param esDirigido un booleano que indica si el grafo es dirigido o no.
      */
     public Grafo(boolean esDirigido) {
-        this.esDirigido = esDirigido;
-        this.adyacencias = new HashMap<>();
+        this(esDirigido, false);
+    }
+
+    /**
+     * Constructor para la clase Grafo.
+     * @param esDirigido un booleano que indica si el grafo es dirigido o no.
+     * @param esMultigrafo un booleano que indica si se admiten varias aristas entre los mismos vértices.
+     */
+    public Grafo(boolean esDirigido, boolean esMultigrafo) {
+        super(esDirigido, esMultigrafo);
+        this.diccionario = new DiccionarioVertices(8);
+        this.salientes = new MapaPesos[8];
+        this.entrantes = esDirigido ? new MapaPesos[8] : null; // En un grafo no dirigido las entrantes coinciden con las salientes
+        this.vista = new VistaVertices();
+        this.adyacencias = new VistaAdyacencias();
+    }
+
+    /**
+     * Constructor para un grafo ya relleno por un {@link ConstructorGrafo}, que le cede sus estructuras.
+     * @param esDirigido un booleano que indica si el grafo es dirigido o no.
+     * @param esMultigrafo un booleano que indica si se admiten varias aristas entre los mismos vértices.
+     * @param diccionario el índice de cada vértice.
+     * @param salientes las aristas de salida de cada índice ocupado.
+     * @param entrantes las aristas de entrada de cada índice ocupado, o null si no es dirigido.
+     */
+    Grafo(boolean esDirigido, boolean esMultigrafo, DiccionarioVertices diccionario, MapaPesos[] salientes,
+          MapaPesos[] entrantes) {
+        super(esDirigido, esMultigrafo);
+        this.diccionario = diccionario;
+        this.salientes = salientes;
+        this.entrantes = entrantes;
+        this.vista = new VistaVertices();
+        this.adyacencias = new VistaAdyacencias();
     }
 
     /**
      * Agrega un vértice al grafo.
      * @param vertice el vértice a agregar.
      */
+    @Override
     public void addVertice(Vertice vertice) {
-        adyacencias.putIfAbsent(vertice, new HashSet<>()); // Si el vértice no existe, lo añade
+        if (diccionario.buscar(vertice.getId()) >= 0) { // Si el vértice ya existe, no hace nada
+            return;
+        }
+        int indice = diccionario.anadir(vertice);   // Reutiliza el índice de un vértice eliminado si lo hay
+        if (indice >= salientes.length) {
+            int capacidad = indice * 2;
+            salientes = Arrays.copyOf(salientes, capacidad);
+            if (esDirigido) {
+                entrantes = Arrays.copyOf(entrantes, capacidad);
+            }
+        }
+        salientes[indice] = new MapaPesos();
+        if (esDirigido) {
+            entrantes[indice] = new MapaPesos();
+        }
+        avisarVerticeAnadido(vertice);
     }
 
     /**
-     * Agrega una arista ponderada entre dos vértices en el grafo.
+     * Agrega una arista ponderada entre dos vértices en el grafo. Si el grafo no es un multigrafo y la arista
+     * ya existía, solo cambia su peso.
      * @param origen el vértice de origen.
      * @param destino el vértice de destino.
      * @param peso el peso de la arista.
+     * @throws NullPointerException si alguno de los vértices no existe en el grafo.
      */
+    @Override
     public void addAristaPeso(Vertice origen, Vertice destino, double peso) {
-        adyacencias.get(origen).add(new Arista(origen, destino, peso)); // Añade la arista al vértice de origen
-        if(!esDirigido) {   // Si el grafo no es dirigido, añade la arista al vértice de destino
-            adyacencias.get(destino).add(new Arista(destino, origen, peso));    // Añade la arista al vértice de destino
+        int indiceOrigen = diccionario.buscar(origen.getId());
+        int indiceDestino = diccionario.buscar(destino.getId());
+        if (indiceOrigen < 0 || indiceDestino < 0) {
+            throw new NullPointerException("El vértice de origen o de destino no existe en el grafo");
+        }
+        insertarArista(indiceOrigen, indiceDestino, peso);
+        avisarAristaAnadida(origen, destino, peso);
+    }
+
+    private void insertarArista(int indiceOrigen, int indiceDestino, double peso) {
+        MapaPesos aristasOrigen = salientes[indiceOrigen];
+        MapaPesos inversas = esDirigido ? entrantes[indiceDestino] : salientes[indiceDestino];   // Entrantes del destino
+        if (esMultigrafo) {
+            aristasOrigen.anadir(indiceDestino, peso);
+            inversas.anadir(indiceOrigen, peso);
+        } else {
+            aristasOrigen.poner(indiceDestino, peso);
+            inversas.poner(indiceOrigen, peso);
+        }
+    }
+
+    /**
+     * Elimina una arista entre dos vértices en el grafo. En un multigrafo elimina todas las aristas paralelas.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     */
+    @Override
+    public void deleteArista(Vertice origen, Vertice destino) { // Elimina la arista entre los vértices origen y destino
+        int indiceOrigen = diccionario.buscar(origen.getId());
+        int indiceDestino = diccionario.buscar(destino.getId());
+        if (indiceOrigen < 0 || indiceDestino < 0) {    // Si falta alguno de los vértices, no hay aristas
+            return;
+        }
+        if (salientes[indiceOrigen].quitar(indiceDestino) > 0) {
+            (esDirigido ? entrantes[indiceDestino] : salientes[indiceDestino]).quitar(indiceOrigen);
+            avisarAristaEliminada(origen, destino);
         }
     }
 
     /**
-     * Agrega una arista entre dos vértices en el grafo. El peso de la arista es 1.0.
+     * Indica si hay una arista entre dos vértices.
      * @param origen el vértice de origen.
      * @param destino el vértice de destino.
+     * @return true si existe la arista, false en caso contrario o si alguno de los vértices no existe.
      */
-    public void addArista(Vertice origen, Vertice destino ) {
-        this.addAristaPeso(origen, destino, 1.0);   // Añade la arista con peso 1.0
+    @Override
+    public boolean hasArista(Vertice origen, Vertice destino) {
+        int indiceOrigen = diccionario.buscar(origen.getId());
+        int indiceDestino = diccionario.buscar(destino.getId());
+        return indiceOrigen >= 0 && indiceDestino >= 0 && salientes[indiceOrigen].contiene(indiceDestino);
     }
 
     /**
-     * Elimina una arista entre dos vértices en el grafo.
+     * Devuelve el peso de la arista entre dos vértices. En un multigrafo, el de una cualquiera de las aristas paralelas.
      * @param origen el vértice de origen.
      * @param destino el vértice de destino.
+     * @return el peso de la arista.
+     * @throws NullPointerException si alguno de los vértices no existe en el grafo.
+     * @throws IllegalArgumentException si no hay ninguna arista entre los vértices.
      */
-    public void deleteArista(Vertice origen, Vertice destino) { // Elimina la arista entre los vértices origen y destino
-        Set<Arista> aristasOrigen = adyacencias.get(origen);    // Obtiene las aristas del vértice origen
-        if (aristasOrigen != null) {    // Si existen aristas
-            aristasOrigen.removeIf(arista -> arista.getDestino().equals(destino));  // Elimina la arista
+    @Override
+    public double getPeso(Vertice origen, Vertice destino) {
+        double peso = salientes[indice(origen)].obtener(indice(destino), Double.NaN);
+        if (Double.isNaN(peso) && !hasArista(origen, destino)) {  // NaN también puede ser un peso guardado
+            throw new IllegalArgumentException("No existe una arista de " + origen + " a " + destino);
         }
+        return peso;
+    }
 
-        if (!esDirigido) {  // Si el grafo no es dirigido
-            Set<Arista> aristasDestino = adyacencias.get(destino);  // Obtiene las aristas del vértice destino
-            if (aristasDestino != null) {   // Si existen aristas
-                aristasDestino.removeIf(arista -> arista.getOrigen().equals(origen));   // Elimina la arista
-            }
+    /**
+     * Cambia el peso de la arista entre dos vértices. En un multigrafo cambia el de todas las aristas paralelas.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @param peso el nuevo peso.
+     * @throws NullPointerException si alguno de los vértices no existe en el grafo.
+     * @throws IllegalArgumentException si no hay ninguna arista entre los vértices.
+     */
+    @Override
+    public void setPeso(Vertice origen, Vertice destino, double peso) {
+        int indiceOrigen = indice(origen);
+        int indiceDestino = indice(destino);
+        if (salientes[indiceOrigen].cambiar(indiceDestino, peso) == 0) {
+            throw new IllegalArgumentException("No existe una arista de " + origen + " a " + destino);
         }
+        (esDirigido ? entrantes[indiceDestino] : salientes[indiceDestino]).cambiar(indiceOrigen, peso);
+        avisarPesoCambiado(origen, destino, peso);
     }
 
     /**
@@ -77,59 +216,431 @@ public class Grafo {
      * @param vertice el vértice.
      * @return un conjunto de vértices adyacentes al vértice dado.
      */
+    @Override
     public Set<Vertice> getAdyacentes(Vertice vertice) {
-        Set<Vertice> adyacentes = new HashSet<>();
-        for (Arista arista : adyacencias.get(vertice)) {
-            adyacentes.add(arista.getDestino());
+        return extremos(salientes[indice(vertice)]);
+    }
+
+    /**
+     * Devuelve un conjunto de vértices que tienen una arista hacia un vértice dado.
+     * En un grafo no dirigido coincide con {@link #getAdyacentes(Vertice)}.
+     * @param vertice el vértice.
+     * @return un conjunto de vértices predecesores del vértice dado.
+     */
+    @Override
+    public Set<Vertice> getPredecesores(Vertice vertice) {
+        if (!esDirigido) {
+            return getAdyacentes(vertice);
+        }
+        return extremos(entrantes[indice(vertice)]);
+    }
+
+    /**
+     * Recorre las aristas de salida de un vértice sin copiarlas. El visitante no debe modificar el grafo.
+     * @param vertice el vértice.
+     * @param visitante la función que recibe cada vecino y el peso de la arista.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    @Override
+    public void recorrerAdyacentes(Vertice vertice, VisitanteAdyacentes visitante) {
+        recorrer(salientes[indice(vertice)], visitante);
+    }
+
+    /**
+     * Recorre las aristas que llegan a un vértice sin copiarlas, entregando el vértice de origen de cada una.
+     * En un grafo no dirigido coincide con {@link #recorrerAdyacentes(Vertice, VisitanteAdyacentes)}.
+     * El visitante no debe modificar el grafo.
+     * @param vertice el vértice.
+     * @param visitante la función que recibe cada predecesor y el peso de la arista.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    @Override
+    public void recorrerPredecesores(Vertice vertice, VisitanteAdyacentes visitante) {
+        int indice = indice(vertice);
+        recorrer(esDirigido ? entrantes[indice] : salientes[indice], visitante);
+    }
+
+    /**
+     * Devuelve el número de aristas que salen de un vértice, contando las paralelas.
+     * @param vertice el vértice.
+     * @return el grado de salida.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    @Override
+    public int getGradoSalida(Vertice vertice) {
+        return salientes[indice(vertice)].getTamanio();
+    }
+
+    /**
+     * Devuelve el número de aristas que llegan a un vértice, contando las paralelas.
+     * En un grafo no dirigido coincide con el grado de salida.
+     * @param vertice el vértice.
+     * @return el grado de entrada.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    @Override
+    public int getGradoEntrada(Vertice vertice) {
+        int indice = indice(vertice);
+        return (esDirigido ? entrantes[indice] : salientes[indice]).getTamanio();
+    }
+
+    /**
+     * Indica si un vértice está en el grafo.
+     * @param vertice el vértice.
+     * @return true si está, false en caso contrario.
+     */
+    @Override
+    public boolean contieneVertice(Vertice vertice) {
+        return diccionario.buscar(vertice.getId()) >= 0;
+    }
+
+    /**
+     * Devuelve el número de vértices del grafo.
+     * @return el número de vértices.
+     */
+    @Override
+    public int getNumVertices() {
+        return diccionario.getTamanio();
+    }
+
+    /**
+     * Devuelve los vértices del grafo, como vista de solo lectura que refleja los cambios posteriores.
+     * @return el conjunto de vértices.
+     */
+    @Override
+    public Set<Vertice> getVertices() {
+        return vista;
+    }
+
+    /**
+     * Cambia el id de un vértice del grafo, conservando sus aristas. No hay que volver a calcular el hash
+     * de ninguna otra entrada: el vértice mantiene su índice y solo se mueve su id en el diccionario.
+     * El objeto {@link Vertice} guardado no se modifica, porque también puede estar en instantáneas
+     * {@link GrafoCSR} o en mapas de otras estructuras: se sustituye por uno nuevo con el nuevo id y el mismo
+     * dato, que es el que reciben los oyentes.
+     * @param vertice el vértice.
+     * @param nuevoId el nuevo id.
+     * @return el vértice que queda en el grafo con el nuevo id.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     * @throws IllegalArgumentException si ya hay otro vértice con el nuevo id.
+     */
+    @Override
+    public Vertice renombrarVertice(Vertice vertice, String nuevoId) {
+        int indice = indice(vertice);
+        Vertice anterior = diccionario.getVertice(indice);
+        if (anterior.getId().equals(nuevoId)) {
+            return anterior;
         }
-        return adyacentes;
+        Vertice nuevo = new Vertice(nuevoId, anterior.getDato());
+        diccionario.renombrar(indice, nuevo);
+        avisarVerticeRenombrado(nuevo, anterior.getId());
+        return nuevo;
     }
 
     /**
-     * Elimina un vértice y todas sus aristas asociadas del grafo.
+     * Elimina un vértice y todas sus aristas asociadas del grafo, en tiempo proporcional a su grado.
      * @param vertice el vértice a eliminar.
      */
+    @Override
     public void deleteVertice(Vertice vertice) {
-        adyacencias.remove(vertice);
+        int indice = diccionario.quitar(vertice.getId());
+        if (indice >= 0) {
+            desenlazar(indice);
+            liberar(indice);
+            avisarVerticeEliminado(vertice);
+        }
+    }
 
-        for (Set<Arista> aristas : adyacencias.values()) {
-            aristas.removeIf(arista -> arista.getOrigen().equals(vertice) || arista.getDestino().equals(vertice));
+    /**
+     * Elimina varios vértices y todas sus aristas asociadas. Primero retira todos los vértices y después
+     * limpia a sus vecinos en una única pasada, sin tocar las aristas entre dos vértices eliminados.
+     * @param vertices los vértices a eliminar; se ignoran los que no estén en el grafo.
+     */
+    @Override
+    public void deleteVertices(Collection<Vertice> vertices) {
+        int[] borrados = new int[vertices.size()];
+        Vertice[] eliminados = new Vertice[borrados.length];
+        int numBorrados = 0;
+        for (Vertice vertice : vertices) {
+            int indice = diccionario.quitar(vertice.getId());
+            if (indice >= 0) {
+                eliminados[numBorrados] = vertice;
+                borrados[numBorrados++] = indice;
+            }
+        }
+        for (int i = 0; i < numBorrados; i++) {
+            desenlazar(borrados[i]);
+        }
+        for (int i = 0; i < numBorrados; i++) {
+            liberar(borrados[i]);
+        }
+        for (int i = 0; i < numBorrados; i++) {
+            avisarVerticeEliminado(eliminados[i]);
         }
     }
 
     /**
-     * Devuelve una representación de cadena del grafo.
-     * @return una representación de cadena del grafo.
+     * Aplica un lote de cambios: añade sus vértices, elimina las aristas anotadas e inserta las del lote
+     * agrupadas por origen. Cada vértice del lote se busca una sola vez, no una vez por arista.
+     * @param lote el lote.
      */
     @Override
-    public String toString() {
-        StringBuilder builder = new StringBuilder();
-        for( Map.Entry<Vertice, Set<Arista>> entry : adyacencias.entrySet() ){
-            for( Arista arista : entry.getValue()) {
-                builder.append(arista.getOrigen().getId())
-                        .append(" -> ")
-                        .append(arista.getDestino().getId())
-                        .append(" [")
-                        .append(arista.getPeso())
-                        .append("]\n");
+    void aplicarLote(ConstructorGrafo lote) {
+        int n = lote.diccionario.getLimite();
+        int[] indices = new int[n]; // Índice en este grafo de cada vértice del lote
+        for (int i = 0; i < n; i++) {
+            Vertice vertice = lote.diccionario.getVertice(i);
+            addVertice(vertice);
+            indices[i] = diccionario.buscar(vertice.getId());
+        }
+        for (int b = 0; b < lote.numBorradas; b++) {
+            int indiceOrigen = diccionario.buscar(lote.origenesBorrados[b].getId());
+            int indiceDestino = diccionario.buscar(lote.destinosBorrados[b].getId());
+            if (indiceOrigen < 0 || indiceDestino < 0) {    // Si falta alguno de los vértices, no hay aristas
+                continue;
+            }
+            if (salientes[indiceOrigen].quitar(indiceDestino) > 0) {
+                (esDirigido ? entrantes[indiceDestino] : salientes[indiceDestino]).quitar(indiceOrigen);
+                avisarAristaEliminada(diccionario.getVertice(indiceOrigen), diccionario.getVertice(indiceDestino));
+            }
+        }
+        int[] orden = lote.agrupar(lote.origenes, null, n, new int[n + 1]);
+        for (int a : orden) {
+            int indiceOrigen = indices[lote.origenes[a]];
+            int indiceDestino = indices[lote.destinos[a]];
+            insertarArista(indiceOrigen, indiceDestino, lote.pesos[a]);
+            avisarAristaAnadida(diccionario.getVertice(indiceOrigen), diccionario.getVertice(indiceDestino), lote.pesos[a]);
+        }
+    }
+
+    /**
+     * Quita de los vecinos que siguen en el grafo las aristas de un vértice ya retirado.
+     * Cada vecino pierde la arista en O(1), buscándola por el índice del vértice.
+     */
+    private void desenlazar(int indice) {
+        MapaPesos aristas = salientes[indice];
+        for (int casilla = 0; casilla < aristas.getCapacidad(); casilla++) {
+            int destino = aristas.getClave(casilla);
+            if (destino != MapaPesos.LIBRE && diccionario.getVertice(destino) != null) {  // El destino puede haberse eliminado también
+                (esDirigido ? entrantes[destino] : salientes[destino]).quitar(indice);
+            }
+        }
+        if (esDirigido) {
+            MapaPesos entrantesVertice = entrantes[indice];
+            for (int casilla = 0; casilla < entrantesVertice.getCapacidad(); casilla++) {
+                int origen = entrantesVertice.getClave(casilla);
+                if (origen != MapaPesos.LIBRE && diccionario.getVertice(origen) != null) {
+                    salientes[origen].quitar(indice);
+                }
             }
         }
-        return builder.toString();
+    }
+
+    private void liberar(int indice) {
+        salientes[indice] = null;
+        if (esDirigido) {
+            entrantes[indice] = null;
+        }
+    }
+
+    private int indice(Vertice vertice) {
+        int indice = diccionario.buscar(vertice.getId());
+        if (indice < 0) {
+            throw new NullPointerException("El vértice " + vertice + " no existe en el grafo");
+        }
+        return indice;
+    }
+
+    private void recorrer(MapaPesos aristas, VisitanteAdyacentes visitante) {
+        for (int casilla = 0; casilla < aristas.getCapacidad(); casilla++) {
+            int extremo = aristas.getClave(casilla);
+            if (extremo != MapaPesos.LIBRE) {
+                visitante.visitar(diccionario.getVertice(extremo), aristas.getValor(casilla));
+            }
+        }
+    }
+
+    private Set<Vertice> extremos(MapaPesos aristas) {
+        Set<Vertice> resultado = new HashSet<>();
+        for (int casilla = 0; casilla < aristas.getCapacidad(); casilla++) {
+            int extremo = aristas.getClave(casilla);
+            if (extremo != MapaPesos.LIBRE) {
+                resultado.add(diccionario.getVertice(extremo));
+            }
+        }
+        return resultado;
     }
 
     /**
-     * Devuelve el mapa de adyacencia del grafo.
+     * Devuelve el mapa de adyacencia del grafo. Es una vista de solo lectura que refleja el estado actual:
+     * cada recorrido crea objetos {@link Arista} nuevos, por lo que modificarlos no cambia el grafo.
+     * El grafo no debe modificarse mientras se recorre la vista.
      * @return el mapa de adyacencia del grafo.
      */
+    @Override
     public Map<Vertice, Set<Arista>> getAdyacencias() {
         return adyacencias;
     }
 
     /**
-     * Devuelve si el grafo es dirigido o no.
-     * @return verdadero si el grafo es dirigido, falso en caso contrario.
+     * Busca el índice de un objeto que puede no ser un vértice, para las vistas.
      */
-    public boolean isEsDirigido() {
-        return esDirigido;
+    private int buscar(Object vertice) {
+        return vertice instanceof Vertice v ? diccionario.buscar(v.getId()) : -1;
+    }
+
+    /**
+     * Recorre los índices ocupados del diccionario, en orden creciente.
+     */
+    private final class IteradorIndices {
+        private int indice = siguiente(0); // Próximo índice ocupado
+
+        boolean hasNext() {
+            return indice < diccionario.getLimite();
+        }
+
+        int next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int actual = indice;
+            indice = siguiente(indice + 1);
+            return actual;
+        }
+
+        private int siguiente(int desde) {
+            while (desde < diccionario.getLimite() && diccionario.getVertice(desde) == null) {
+                desde++;
+            }
+            return desde;
+        }
+    }
+
+    /**
+     * Vista de los vértices del grafo.
+     */
+    private final class VistaVertices extends AbstractSet<Vertice> {
+
+        @Override
+        public boolean contains(Object vertice) {
+            return buscar(vertice) >= 0;
+        }
+
+        @Override
+        public Iterator<Vertice> iterator() {
+            IteradorIndices indices = new IteradorIndices();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return indices.hasNext();
+                }
+
+                @Override
+                public Vertice next() {
+                    return diccionario.getVertice(indices.next());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return diccionario.getTamanio();
+        }
+    }
+
+    /**
+     * Vista del grafo como mapa de cada vértice a sus aristas de salida.
+     */
+    private final class VistaAdyacencias extends AbstractMap<Vertice, Set<Arista>> {
+
+        @Override
+        public Set<Arista> get(Object vertice) {
+            int indice = buscar(vertice);
+            return indice < 0 ? null : new VistaAristas(indice);
+        }
+
+        @Override
+        public boolean containsKey(Object vertice) {
+            return buscar(vertice) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return diccionario.getTamanio();
+        }
+
+        @Override
+        public Set<Entry<Vertice, Set<Arista>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Vertice, Set<Arista>>> iterator() {
+                    IteradorIndices indices = new IteradorIndices();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return indices.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Vertice, Set<Arista>> next() {
+                            int indice = indices.next();
+                            return new SimpleImmutableEntry<>(diccionario.getVertice(indice), new VistaAristas(indice));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return diccionario.getTamanio();
+                }
+            };
+        }
+    }
+
+    /**
+     * Vista de las aristas de salida de un vértice, que crea cada {@link Arista} al recorrerla.
+     */
+    private final class VistaAristas extends AbstractSet<Arista> {
+        private final int origen; // Índice del vértice
+
+        private VistaAristas(int origen) {
+            this.origen = origen;
+        }
+
+        @Override
+        public Iterator<Arista> iterator() {
+            MapaPesos aristas = salientes[origen];
+            return new Iterator<>() {
+                private int casilla = siguiente(0); // Próxima casilla ocupada
+
+                @Override
+                public boolean hasNext() {
+                    return casilla < aristas.getCapacidad();
+                }
+
+                @Override
+                public Arista next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Arista arista = new Arista(diccionario.getVertice(origen), diccionario.getVertice(aristas.getClave(casilla)),
+                            aristas.getValor(casilla));
+                    casilla = siguiente(casilla + 1);
+                    return arista;
+                }
+
+                private int siguiente(int desde) {
+                    while (desde < aristas.getCapacidad() && aristas.getClave(desde) == MapaPesos.LIBRE) {
+                        desde++;
+                    }
+                    return desde;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return salientes[origen].getTamanio();
+        }
     }
 }
\ No newline at end of file
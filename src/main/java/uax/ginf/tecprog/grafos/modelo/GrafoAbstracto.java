@@ -0,0 +1,340 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Operaciones comunes a todos los grafos de vértices y aristas modificables: {@link Grafo},
+ * {@link GrafoConcurrente} e {@link InstantaneaGrafo}. Cada subclase decide cómo guarda los vértices y las
+ * aristas; esta clase solo guarda si el grafo es dirigido o un multigrafo y los {@link OyenteGrafo}
+ * registrados, y lleva la cuenta de {@link #getNumModificaciones()}.
+ * <p>
+ * Las estructuras que solo leen el grafo o se registran como oyentes ({@link GrafoCSR}, los algoritmos
+ * incrementales, las cachés) reciben un GrafoAbstracto, así que funcionan igual con cualquiera de ellos.
+ */
+public abstract class GrafoAbstracto {
+    private static final OyenteGrafo[] SIN_OYENTES = new OyenteGrafo[0];
+
+    protected final boolean esDirigido; // Indica si el grafo es dirigido o no
+    protected final boolean esMultigrafo; // Indica si se admiten aristas paralelas
+    private volatile OyenteGrafo[] oyentes = SIN_OYENTES; // Oyentes registrados; se sustituye entero al cambiar
+    private final AtomicLong numModificaciones = new AtomicLong(); // Cambios aplicados desde la creación
+
+    /**
+     * Constructor para las subclases.
+     * @param esDirigido un booleano que indica si el grafo es dirigido o no.
+     * @param esMultigrafo un booleano que indica si se admiten varias aristas entre los mismos vértices.
+     */
+    protected GrafoAbstracto(boolean esDirigido, boolean esMultigrafo) {
+        this.esDirigido = esDirigido;
+        this.esMultigrafo = esMultigrafo;
+    }
+
+    /**
+     * Agrega un vértice al grafo si no estaba.
+     * @param vertice el vértice a agregar.
+     */
+    public abstract void addVertice(Vertice vertice);
+
+    /**
+     * Agrega una arista ponderada entre dos vértices del grafo.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @param peso el peso de la arista.
+     * @throws NullPointerException si alguno de los vértices no existe en el grafo.
+     */
+    public abstract void addAristaPeso(Vertice origen, Vertice destino, double peso);
+
+    /**
+     * Agrega una arista entre dos vértices en el grafo. El peso de la arista es 1.0.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     */
+    public void addArista(Vertice origen, Vertice destino) {
+        this.addAristaPeso(origen, destino, 1.0);   // Añade la arista con peso 1.0
+    }
+
+    /**
+     * Elimina las aristas entre dos vértices. Si falta alguno de los vértices no hace nada.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     */
+    public abstract void deleteArista(Vertice origen, Vertice destino);
+
+    /**
+     * Indica si hay una arista entre dos vértices.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return true si existe la arista, false en caso contrario o si alguno de los vértices no existe.
+     */
+    public abstract boolean hasArista(Vertice origen, Vertice destino);
+
+    /**
+     * Devuelve el peso de la arista entre dos vértices. En un multigrafo, el de una cualquiera de las aristas paralelas.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return el peso de la arista.
+     * @throws NullPointerException si el vértice de origen no existe en el grafo.
+     * @throws IllegalArgumentException si no hay ninguna arista entre los vértices.
+     */
+    public abstract double getPeso(Vertice origen, Vertice destino);
+
+    /**
+     * Cambia el peso de todas las aristas entre dos vértices.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @param peso el nuevo peso.
+     * @throws NullPointerException si alguno de los vértices no existe en el grafo.
+     * @throws IllegalArgumentException si no hay ninguna arista entre los vértices.
+     */
+    public abstract void setPeso(Vertice origen, Vertice destino, double peso);
+
+    /**
+     * Devuelve un conjunto de vértices adyacentes a un vértice dado.
+     * @param vertice el vértice.
+     * @return un conjunto de vértices adyacentes al vértice dado.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    public abstract Set<Vertice> getAdyacentes(Vertice vertice);
+
+    /**
+     * Devuelve un conjunto de vértices que tienen una arista hacia un vértice dado.
+     * En un grafo no dirigido coincide con {@link #getAdyacentes(Vertice)}.
+     * @param vertice el vértice.
+     * @return un conjunto de vértices predecesores del vértice dado.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    public abstract Set<Vertice> getPredecesores(Vertice vertice);
+
+    /**
+     * Recorre las aristas de salida de un vértice sin copiarlas.
+     * @param vertice el vértice.
+     * @param visitante la función que recibe cada vecino y el peso de la arista.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    public abstract void recorrerAdyacentes(Vertice vertice, VisitanteAdyacentes visitante);
+
+    /**
+     * Recorre las aristas que llegan a un vértice sin copiarlas, entregando el vértice de origen de cada una.
+     * En un grafo no dirigido coincide con {@link #recorrerAdyacentes(Vertice, VisitanteAdyacentes)}.
+     * @param vertice el vértice.
+     * @param visitante la función que recibe cada predecesor y el peso de la arista.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    public abstract void recorrerPredecesores(Vertice vertice, VisitanteAdyacentes visitante);
+
+    /**
+     * Devuelve el número de aristas que salen de un vértice, contando las paralelas.
+     * @param vertice el vértice.
+     * @return el grado de salida.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    public abstract int getGradoSalida(Vertice vertice);
+
+    /**
+     * Devuelve el número de aristas que llegan a un vértice, contando las paralelas.
+     * En un grafo no dirigido coincide con el grado de salida.
+     * @param vertice el vértice.
+     * @return el grado de entrada.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    public abstract int getGradoEntrada(Vertice vertice);
+
+    /**
+     * Indica si un vértice está en el grafo.
+     * @param vertice el vértice.
+     * @return true si está, false en caso contrario.
+     */
+    public abstract boolean contieneVertice(Vertice vertice);
+
+    /**
+     * Devuelve el número de vértices del grafo.
+     * @return el número de vértices.
+     */
+    public abstract int getNumVertices();
+
+    /**
+     * Devuelve los vértices del grafo.
+     * @return el conjunto de vértices.
+     */
+    public abstract Set<Vertice> getVertices();
+
+    /**
+     * Cambia el id de un vértice del grafo, conservando sus aristas. El objeto recibido no se modifica.
+     * @param vertice el vértice.
+     * @param nuevoId el nuevo id.
+     * @return el vértice que queda en el grafo con el nuevo id.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     * @throws IllegalArgumentException si ya hay otro vértice con el nuevo id.
+     */
+    public abstract Vertice renombrarVertice(Vertice vertice, String nuevoId);
+
+    /**
+     * Elimina un vértice y todas sus aristas asociadas del grafo.
+     * @param vertice el vértice a eliminar.
+     */
+    public abstract void deleteVertice(Vertice vertice);
+
+    /**
+     * Elimina varios vértices y todas sus aristas asociadas.
+     * @param vertices los vértices a eliminar; se ignoran los que no estén en el grafo.
+     */
+    public abstract void deleteVertices(Collection<Vertice> vertices);
+
+    /**
+     * Devuelve el mapa de adyacencia del grafo: cada vértice con sus aristas de salida.
+     * @return el mapa de adyacencia del grafo.
+     */
+    public abstract Map<Vertice, Set<Arista>> getAdyacencias();
+
+    /**
+     * Aplica un lote de un {@link ConstructorGrafo}: añade sus vértices, elimina las aristas anotadas e
+     * inserta las del lote, con los mismos avisos que las operaciones una a una.
+     * @param lote el lote.
+     */
+    abstract void aplicarLote(ConstructorGrafo lote);
+
+    /**
+     * Registra un oyente que recibirá todos los cambios posteriores del grafo. Registrar el mismo oyente
+     * dos veces no tiene efecto.
+     * @param oyente el oyente.
+     */
+    public synchronized void addOyente(OyenteGrafo oyente) {
+        OyenteGrafo[] actuales = oyentes;
+        for (OyenteGrafo registrado : actuales) {
+            if (registrado == oyente) {
+                return;
+            }
+        }
+        OyenteGrafo[] nuevos = Arrays.copyOf(actuales, actuales.length + 1);
+        nuevos[actuales.length] = oyente;
+        oyentes = nuevos;
+    }
+
+    /**
+     * Deja de avisar a un oyente.
+     * @param oyente el oyente; si no estaba registrado, no hace nada.
+     */
+    public synchronized void deleteOyente(OyenteGrafo oyente) {
+        OyenteGrafo[] actuales = oyentes;
+        for (int i = 0; i < actuales.length; i++) {
+            if (actuales[i] == oyente) {
+                OyenteGrafo[] nuevos = new OyenteGrafo[actuales.length - 1];
+                System.arraycopy(actuales, 0, nuevos, 0, i);
+                System.arraycopy(actuales, i + 1, nuevos, i, nuevos.length - i);
+                oyentes = actuales.length == 1 ? SIN_OYENTES : nuevos;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Devuelve el número de cambios aplicados al grafo desde su creación: vértices añadidos, eliminados o
+     * renombrados y aristas añadidas, eliminadas o con nuevo peso. Sirve como número de versión para
+     * invalidar resultados calculados sobre el grafo: si no ha cambiado, el grafo tampoco. No tiene relación
+     * con la versión de las instantáneas de {@link GrafoConcurrente#getVersion()}.
+     * @return el número de modificaciones.
+     */
+    public long getNumModificaciones() {
+        return numModificaciones.get();
+    }
+
+    /**
+     * Avisa a los oyentes de que se ha añadido un vértice. Las subclases lo llaman tras aplicar el cambio.
+     */
+    protected final void avisarVerticeAnadido(Vertice vertice) {
+        numModificaciones.incrementAndGet();
+        for (OyenteGrafo oyente : oyentes) {
+            oyente.verticeAnadido(vertice);
+        }
+    }
+
+    /**
+     * Avisa a los oyentes de que se ha eliminado un vértice.
+     */
+    protected final void avisarVerticeEliminado(Vertice vertice) {
+        numModificaciones.incrementAndGet();
+        for (OyenteGrafo oyente : oyentes) {
+            oyente.verticeEliminado(vertice);
+        }
+    }
+
+    /**
+     * Avisa a los oyentes de que un vértice ha cambiado de id.
+     */
+    protected final void avisarVerticeRenombrado(Vertice vertice, String idAnterior) {
+        numModificaciones.incrementAndGet();
+        for (OyenteGrafo oyente : oyentes) {
+            oyente.verticeRenombrado(vertice, idAnterior);
+        }
+    }
+
+    /**
+     * Avisa a los oyentes de que se ha añadido una arista.
+     */
+    protected final void avisarAristaAnadida(Vertice origen, Vertice destino, double peso) {
+        numModificaciones.incrementAndGet();
+        for (OyenteGrafo oyente : oyentes) {
+            oyente.aristaAnadida(origen, destino, peso);
+        }
+    }
+
+    /**
+     * Avisa a los oyentes de que se han eliminado las aristas entre dos vértices.
+     */
+    protected final void avisarAristaEliminada(Vertice origen, Vertice destino) {
+        numModificaciones.incrementAndGet();
+        for (OyenteGrafo oyente : oyentes) {
+            oyente.aristaEliminada(origen, destino);
+        }
+    }
+
+    /**
+     * Avisa a los oyentes de que ha cambiado el peso de las aristas entre dos vértices.
+     */
+    protected final void avisarPesoCambiado(Vertice origen, Vertice destino, double peso) {
+        numModificaciones.incrementAndGet();
+        for (OyenteGrafo oyente : oyentes) {
+            oyente.pesoCambiado(origen, destino, peso);
+        }
+    }
+
+    /**
+     * Devuelve si el grafo es dirigido o no.
+     * @return verdadero si el grafo es dirigido, falso en caso contrario.
+     */
+    public boolean isEsDirigido() {
+        return esDirigido;
+    }
+
+    /**
+     * Devuelve si el grafo admite aristas paralelas.
+     * @return verdadero si el grafo es un multigrafo, falso en caso contrario.
+     */
+    public boolean isEsMultigrafo() {
+        return esMultigrafo;
+    }
+
+    /**
+     * Devuelve una representación de cadena del grafo, con una arista por línea.
+     * @return una representación de cadena del grafo.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Set<Arista> aristas : getAdyacencias().values()) {
+            for (Arista arista : aristas) {
+                builder.append(arista.getOrigen().getId())
+                        .append(" -> ")
+                        .append(arista.getDestino().getId())
+                        .append(" [")
+                        .append(arista.getPeso())
+                        .append("]\n");
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,391 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import uax.ginf.tecprog.grafos.excepciones.VerticeNoEncontradoExcepcion;
+import uax.ginf.tecprog.grafos.util.DiccionarioVertices;
+import uax.ginf.tecprog.grafos.util.OrdenacionParalela;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Instantánea inmutable de un {@link GrafoAbstracto} en formato CSR (compressed sparse row).
+ * Cada vértice se traduce a un índice denso entre 0 y n-1, y las aristas de salida del
+ * vértice v ocupan las posiciones [getInicio(v), getFin(v)) de los arreglos de destinos y pesos.
+ * Los algoritmos pueden recorrerlo trabajando solo con enteros, sin crear objetos por arista.
+ * En un grafo no dirigido cada arista aparece dos veces, una en cada sentido, igual que en {@link Grafo}.
+ * Como {@link AdyacenciaIndexada}, también se recorre con {@link #recorrerVecinos(int, VisitanteVecinos)}.
+ */
+public final class GrafoCSR implements AdyacenciaIndexada {
+    private final boolean esDirigido; // Indica si el grafo original es dirigido
+    private final Vertice[] vertices; // Vértice asociado a cada índice denso
+    private final DiccionarioVertices indices; // Índice denso de cada vértice, buscado por su id
+    private final int[] desplazamientos; // Posición de la primera arista de cada vértice (tamaño n+1)
+    private final int[] destinos; // Índice del vértice de destino de cada arista
+    private final double[] pesos; // Peso de cada arista
+    private volatile GrafoCSR traspuesto; // Grafo con las aristas invertidas, construido bajo demanda
+
+    /**
+     * Construye la instantánea CSR a partir del estado actual de un grafo.
+     * Los cambios posteriores en el grafo no se reflejan en la instantánea. Un {@link GrafoConcurrente}
+     * se lee a través de una {@link InstantaneaGrafo}, así que el resultado es coherente aunque otros
+     * hilos sigan modificándolo.
+     * @param grafo el grafo a compactar.
+     */
+    public GrafoCSR(GrafoAbstracto grafo) {
+        GrafoCSR volcado;
+        if (grafo instanceof GrafoConcurrente concurrente) {
+            try (InstantaneaGrafo instantanea = concurrente.instantanea()) {
+                volcado = volcar(instantanea);
+            }
+        } else {
+            volcado = volcar(grafo);
+        }
+        this.esDirigido = volcado.esDirigido;
+        this.vertices = volcado.vertices;
+        this.indices = volcado.indices;
+        this.desplazamientos = volcado.desplazamientos;
+        this.destinos = volcado.destinos;
+        this.pesos = volcado.pesos;
+    }
+
+    /**
+     * Copia las aristas de un grafo que no cambia durante la llamada, recorriéndolas sin crear objetos
+     * {@link Arista}: una pasada por los grados para reservar los arreglos exactos y otra por las aristas.
+     */
+    private static GrafoCSR volcar(GrafoAbstracto grafo) {
+        Vertice[] vertices = grafo.getVertices().toArray(new Vertice[0]);
+        int n = vertices.length;
+        DiccionarioVertices indices = DiccionarioVertices.desde(vertices);
+        int[] desplazamientos = new int[n + 1];
+
+        // Primera pasada: contar las aristas de cada vértice
+        for (int v = 0; v < n; v++) {
+            desplazamientos[v + 1] = desplazamientos[v] + grafo.getGradoSalida(vertices[v]);
+        }
+
+        // Segunda pasada: volcar destinos y pesos en los arreglos compactos
+        int m = desplazamientos[n];
+        int[] destinos = new int[m];
+        double[] pesos = new double[m];
+        int[] posicion = new int[1];
+        VisitanteAdyacentes volcado = (vecino, peso) -> {
+            destinos[posicion[0]] = indices.buscar(vecino.getId());
+            pesos[posicion[0]++] = peso;
+        };
+        for (Vertice vertice : vertices) {
+            grafo.recorrerAdyacentes(vertice, volcado);
+        }
+        return new GrafoCSR(grafo.isEsDirigido(), vertices, indices, desplazamientos, destinos, pesos);
+    }
+
+    /**
+     * Construye la instantánea directamente a partir de arreglos de aristas, sin pasar por un {@link Grafo}.
+     * Se usa en la carga masiva de grafos, donde crear un objeto {@link Arista} por arista sería demasiado
+     * costoso. Las aristas se reparten por origen con una ordenación por recuento en O(V + E).
+     * @param esDirigido indica si las aristas son dirigidas; si no lo son, cada una se almacena en ambos sentidos.
+     * @param vertices el vértice asociado a cada índice denso; no debe contener dos con el mismo id.
+     * @param origenes el índice del vértice de origen de cada arista.
+     * @param destinos el índice del vértice de destino de cada arista.
+     * @param pesos el peso de cada arista, o null si todas pesan 1.0.
+     * @param numAristas el número de aristas válidas al principio de los arreglos.
+     * @return la instantánea.
+     * @throws IllegalArgumentException si el número de aristas almacenadas no cabe en un arreglo o hay ids repetidos.
+     */
+    public static GrafoCSR desdeAristas(boolean esDirigido, Vertice[] vertices, int[] origenes, int[] destinos,
+                                        double[] pesos, int numAristas) {
+        int n = vertices.length;
+        long total = esDirigido ? numAristas : 2L * numAristas;
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Demasiadas aristas para una instantánea CSR: " + total);
+        }
+        int m = (int) total;
+        int[] desplazamientos = new int[n + 1];
+        int[] destinosCSR = new int[m];
+        double[] pesosCSR = new double[m];
+
+        // Contar las aristas de salida de cada vértice y acumularlas
+        for (int a = 0; a < numAristas; a++) {
+            desplazamientos[origenes[a] + 1]++;
+            if (!esDirigido) {
+                desplazamientos[destinos[a] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            desplazamientos[v + 1] += desplazamientos[v];
+        }
+
+        // Colocar cada arista en el hueco de su origen
+        int[] siguiente = Arrays.copyOf(desplazamientos, n);
+        for (int a = 0; a < numAristas; a++) {
+            double peso = pesos == null ? 1.0 : pesos[a];
+            int posicion = siguiente[origenes[a]]++;
+            destinosCSR[posicion] = destinos[a];
+            pesosCSR[posicion] = peso;
+            if (!esDirigido) {
+                posicion = siguiente[destinos[a]]++;
+                destinosCSR[posicion] = origenes[a];
+                pesosCSR[posicion] = peso;
+            }
+        }
+
+        return new GrafoCSR(esDirigido, vertices, DiccionarioVertices.desde(vertices), desplazamientos, destinosCSR, pesosCSR);
+    }
+
+    /**
+     * Construye la instantánea a partir de adyacencias ya agrupadas por origen, como las que escribe un
+     * generador por bloques. Los arreglos no se copian.
+     * @param esDirigido indica si las aristas son dirigidas; si no lo son, cada una debe aparecer en ambos sentidos.
+     * @param vertices el vértice asociado a cada índice denso; no debe contener dos con el mismo id.
+     * @param desplazamientos la posición de la primera arista de cada vértice, de tamaño n+1.
+     * @param destinos el índice del vértice de destino de cada arista.
+     * @param pesos el peso de cada arista, o null si todas pesan 1.0.
+     * @return la instantánea.
+     * @throws IllegalArgumentException si los tamaños de los arreglos no concuerdan o hay ids repetidos.
+     */
+    public static GrafoCSR desdeAdyacencias(boolean esDirigido, Vertice[] vertices, int[] desplazamientos,
+                                            int[] destinos, double[] pesos) {
+        int n = vertices.length;
+        if (desplazamientos.length != n + 1 || desplazamientos[n] != destinos.length
+                || (pesos != null && pesos.length != destinos.length)) {
+            throw new IllegalArgumentException("Los arreglos de adyacencias no concuerdan con " + n + " vértices");
+        }
+        if (pesos == null) {
+            pesos = new double[destinos.length];
+            Arrays.fill(pesos, 1.0);
+        }
+        return new GrafoCSR(esDirigido, vertices, DiccionarioVertices.desde(vertices), desplazamientos, destinos, pesos);
+    }
+
+    private GrafoCSR(boolean esDirigido, Vertice[] vertices, DiccionarioVertices indices, int[] desplazamientos,
+                     int[] destinos, double[] pesos) {
+        this.esDirigido = esDirigido;
+        this.vertices = vertices;
+        this.indices = indices;
+        this.desplazamientos = desplazamientos;
+        this.destinos = destinos;
+        this.pesos = pesos;
+    }
+
+    /**
+     * Construye el grafo traspuesto de una instantánea: mismos vértices e índices, aristas invertidas.
+     * @param original la instantánea a trasponer.
+     */
+    private GrafoCSR(GrafoCSR original) {
+        int n = original.vertices.length;
+        int m = original.destinos.length;
+        this.esDirigido = original.esDirigido;
+        this.vertices = original.vertices;
+        this.indices = original.indices;
+        this.desplazamientos = new int[n + 1];
+        this.destinos = new int[m];
+        this.pesos = new double[m];
+        this.traspuesto = original;
+
+        // Contar las aristas entrantes de cada vértice y acumularlas
+        for (int a = 0; a < m; a++) {
+            desplazamientos[original.destinos[a] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            desplazamientos[v + 1] += desplazamientos[v];
+        }
+
+        // Colocar cada arista invertida en el hueco de su nuevo origen
+        int[] siguiente = Arrays.copyOf(desplazamientos, n);
+        for (int v = 0; v < n; v++) {
+            for (int a = original.desplazamientos[v]; a < original.desplazamientos[v + 1]; a++) {
+                int posicion = siguiente[original.destinos[a]]++;
+                destinos[posicion] = v;
+                pesos[posicion] = original.pesos[a];
+            }
+        }
+    }
+
+    /**
+     * Devuelve el grafo traspuesto, en el que las aristas de salida de cada vértice son sus aristas
+     * entrantes en este grafo. Comparte vértices e índices con esta instantánea y se construye una sola vez.
+     * En un grafo no dirigido las aristas ya están en ambos sentidos, así que se devuelve el propio grafo.
+     * @return el grafo traspuesto.
+     */
+    public GrafoCSR traspuesto() {
+        if (!esDirigido) {
+            return this;
+        }
+        GrafoCSR resultado = traspuesto;
+        if (resultado == null) {
+            synchronized (this) {
+                resultado = traspuesto;
+                if (resultado == null) {
+                    resultado = new GrafoCSR(this);
+                    traspuesto = resultado;
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve el número de vértices de la instantánea.
+     * @return el número de vértices.
+     */
+    @Override
+    public int getNumVertices() {
+        return vertices.length;
+    }
+
+    /**
+     * Devuelve el número de aristas almacenadas (en un grafo no dirigido, cada arista cuenta dos veces).
+     * @return el número de aristas.
+     */
+    public int getNumAristas() {
+        return destinos.length;
+    }
+
+    /**
+     * Devuelve el índice denso asociado a un vértice.
+     * @param vertice el vértice.
+     * @return su índice, entre 0 y getNumVertices()-1.
+     * @throws VerticeNoEncontradoExcepcion si el vértice no pertenece a la instantánea.
+     */
+    public int getIndice(Vertice vertice) {
+        int indice = indices.buscar(vertice.getId());
+        if (indice < 0) {
+            throw new VerticeNoEncontradoExcepcion("El vértice " + vertice + " no existe en el grafo");
+        }
+        return indice;
+    }
+
+    /**
+     * Devuelve el vértice asociado a un índice denso.
+     * @param indice el índice del vértice.
+     * @return el vértice.
+     */
+    public Vertice getVertice(int indice) {
+        return vertices[indice];
+    }
+
+    /**
+     * Devuelve la posición de la primera arista de salida de un vértice.
+     * @param vertice el índice del vértice.
+     * @return la posición de inicio (inclusive).
+     */
+    public int getInicio(int vertice) {
+        return desplazamientos[vertice];
+    }
+
+    /**
+     * Devuelve la posición siguiente a la última arista de salida de un vértice.
+     * @param vertice el índice del vértice.
+     * @return la posición de fin (exclusive).
+     */
+    public int getFin(int vertice) {
+        return desplazamientos[vertice + 1];
+    }
+
+    /**
+     * Devuelve el número de aristas de salida de un vértice.
+     * @param vertice el índice del vértice.
+     * @return el grado de salida.
+     */
+    @Override
+    public int getGrado(int vertice) {
+        return desplazamientos[vertice + 1] - desplazamientos[vertice];
+    }
+
+    /**
+     * Devuelve el índice del vértice de origen de una arista. No se guarda por arista: se busca en los
+     * desplazamientos, en tiempo logarítmico.
+     * @param arista la posición de la arista.
+     * @return el índice del origen.
+     */
+    public int getOrigen(int arista) {
+        int bajo = 0;
+        int alto = vertices.length - 1;
+        while (bajo < alto) {   // Último vértice cuya primera arista está en o antes de la posición
+            int medio = (bajo + alto + 1) >>> 1;
+            if (desplazamientos[medio] <= arista) {
+                bajo = medio;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Devuelve el índice del vértice de destino de una arista.
+     * @param arista la posición de la arista.
+     * @return el índice del destino.
+     */
+    public int getDestino(int arista) {
+        return destinos[arista];
+    }
+
+    /**
+     * Devuelve el peso de una arista.
+     * @param arista la posición de la arista.
+     * @return el peso.
+     */
+    public double getPeso(int arista) {
+        return pesos[arista];
+    }
+
+    /**
+     * Ordena posiciones de aristas por peso creciente, de forma estable, leyendo los pesos de la instantánea
+     * sin copiarlos.
+     * @param aristas las posiciones a ordenar.
+     * @param pool el pool de hilos en el que se reparte la ordenación.
+     */
+    public void ordenarPorPeso(int[] aristas, ForkJoinPool pool) {
+        OrdenacionParalela.ordenar(aristas, pesos, pool);
+    }
+
+    /**
+     * Devuelve si el grafo es dirigido o no.
+     * @return verdadero si el grafo es dirigido, falso en caso contrario.
+     */
+    @Override
+    public boolean isEsDirigido() {
+        return esDirigido;
+    }
+
+    /**
+     * Recorre las aristas de salida de un vértice en el orden en que están almacenadas.
+     * @param vertice el índice del vértice.
+     * @param visitante la función que recibe cada destino y su peso.
+     */
+    @Override
+    public void recorrerVecinos(int vertice, VisitanteVecinos visitante) {
+        for (int a = desplazamientos[vertice], fin = desplazamientos[vertice + 1]; a < fin; a++) {
+            visitante.visitar(destinos[a], pesos[a]);
+        }
+    }
+
+    /**
+     * Copia las aristas de salida de un vértice en arreglos proporcionados por quien llama.
+     * @param vertice el índice del vértice.
+     * @param destinos arreglo de al menos getGrado(vertice) posiciones para los destinos.
+     * @param pesos arreglo de al menos getGrado(vertice) posiciones para los pesos, o null si no se necesitan.
+     * @return el número de aristas copiadas.
+     */
+    @Override
+    public int copiarVecinos(int vertice, int[] destinos, double[] pesos) {
+        int inicio = desplazamientos[vertice];
+        int grado = desplazamientos[vertice + 1] - inicio;
+        System.arraycopy(this.destinos, inicio, destinos, 0, grado);
+        if (pesos != null) {
+            System.arraycopy(this.pesos, inicio, pesos, 0, grado);
+        }
+        return grado;
+    }
+
+    /**
+     * Estima los bytes que ocupan los arreglos de la instantánea, sin contar los propios vértices
+     * (que se comparten con el grafo original) ni el mapa de índices.
+     * @return la estimación en bytes.
+     */
+    public long getMemoriaEstimada() {
+        long n = vertices.length;
+        long m = destinos.length;
+        return 4L * (n + 1) + 4L * m + 8L * m + 4L * n;
+    }
+}
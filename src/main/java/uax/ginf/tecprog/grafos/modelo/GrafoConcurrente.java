@@ -0,0 +1,888 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Variante de {@link Grafo} segura para hilos, pensada para cargas mixtas en las que unos hilos insertan
+ * vértices y aristas mientras otros consultan adyacencias.
+ * <p>
+ * Los vértices se guardan en un ConcurrentHashMap y las aristas de cada vértice en un arreglo que solo
+ * crece por el final: las lecturas no toman ningún cerrojo, leen el arreglo publicado y su tamaño
+ * (volátil) y nunca ven una arista a medio escribir. Las escrituras se serializan con cerrojos repartidos
+ * por franjas según el hash del vértice, de modo que modificaciones sobre vértices distintos no compiten
+ * entre sí. Las operaciones sobre una arista toman a la vez los cerrojos de sus dos extremos, siempre
+ * en el mismo orden, así que añadir o borrar una arista actualiza ambos extremos de forma atómica respecto
+ * al resto de escritores. Un lector que consulte los dos extremos por separado puede ver la arista en uno y
+ * todavía no en el otro.
+ * <p>
+ * Cada vértice y cada arista llevan la versión en la que se crearon y la versión en la que se borraron:
+ * borrar solo marca la entrada. {@link #instantanea()} fija la versión actual y devuelve una
+ * {@link InstantaneaGrafo} que ve el grafo tal como estaba en ese momento, sin copiarlo, mientras los
+ * escritores siguen trabajando sobre versiones posteriores. Las entradas borradas se eliminan físicamente
+ * cuando ya no las ve ninguna instantánea abierta: al crecer el arreglo de un vértice, o en todo el grafo
+ * con {@link #compactar()}.
+ * <p>
+ * {@link #getAdyacencias()} devuelve una copia del estado actual, no el mapa interno, por lo que
+ * {@link GrafoCSR} puede construirse a partir de este grafo mientras se sigue modificando.
+ * <p>
+ * Los {@link OyenteGrafo} registrados reciben cada cambio con los cerrojos de escritura tomados, así que
+ * los avisos sobre una misma arista llegan en el orden en que se aplicaron; los de aristas sin extremos
+ * comunes pueden llegar a la vez desde hilos distintos.
+ * <p>
+ * Es siempre un multigrafo: añadir una arista que ya existe crea otra paralela. Buscar una arista
+ * recorre las aristas del origen, en tiempo proporcional a su grado.
+ */
+public class GrafoConcurrente extends GrafoAbstracto {
+    static final long INFINITO = Long.MAX_VALUE; // Versión de borrado de lo que sigue vivo
+    static final long ACTUAL = INFINITO - 1; // Versión con la que se consulta el estado actual: ve todo lo no borrado
+
+    private final ConcurrentHashMap<Vertice, Nodo> nodos; // Versión más reciente de cada vértice
+    private final ReentrantLock[] cerrojos; // Cerrojos de escritura, uno por franja de vértices
+    private final int mascara; // Máscara para elegir la franja a partir del hash del vértice
+    private final AtomicInteger numVertices = new AtomicInteger(); // Número de vértices vivos
+    private final ConcurrentSkipListMap<Long, Integer> activas = new ConcurrentSkipListMap<>(); // Instantáneas abiertas por versión
+    private volatile long version = 1; // Versión con la que se marcan las escrituras en curso
+
+    /**
+     * Constructor para la clase GrafoConcurrente, con un número de franjas acorde al número de procesadores.
+     * @param esDirigido un booleano que indica si el grafo es dirigido o no.
+     */
+    public GrafoConcurrente(boolean esDirigido) {
+        this(esDirigido, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor para la clase GrafoConcurrente.
+     * @param esDirigido un booleano que indica si el grafo es dirigido o no.
+     * @param franjas el número mínimo de cerrojos de escritura; se redondea a una potencia de dos.
+     */
+    public GrafoConcurrente(boolean esDirigido, int franjas) {
+        super(esDirigido, true);
+        int numCerrojos = Integer.highestOneBit(Math.max(16, franjas * 2 - 1));
+        this.nodos = new ConcurrentHashMap<>();
+        this.cerrojos = new ReentrantLock[numCerrojos];
+        this.mascara = numCerrojos - 1;
+        for (int i = 0; i < numCerrojos; i++) {
+            cerrojos[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Agrega un vértice al grafo si no existía.
+     * @param vertice el vértice a agregar.
+     */
+    @Override
+    public void addVertice(Vertice vertice) {
+        ReentrantLock cerrojo = cerrojos[franja(vertice)];
+        cerrojo.lock();
+        try {
+            Nodo actual = nodos.get(vertice);
+            if (vivo(actual) == null) {    // Si estaba borrado, la versión anterior sigue accesible desde la nueva
+                nodos.put(vertice, new Nodo(esDirigido, version, actual));
+                numVertices.incrementAndGet();
+                avisarVerticeAnadido(vertice);
+            }
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Agrega una arista ponderada entre dos vértices, registrándola en ambos extremos de forma atómica.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @param peso el peso de la arista.
+     * @throws NullPointerException si alguno de los vértices no existe en el grafo.
+     */
+    @Override
+    public void addAristaPeso(Vertice origen, Vertice destino, double peso) {
+        int primera = franja(origen);
+        int segunda = franja(destino);
+        bloquear(primera, segunda);
+        try {
+            // Con ambos cerrojos tomados no puede haber en curso un borrado de vértice ni una instantánea
+            Nodo nodoOrigen = vivo(nodos.get(origen));
+            Nodo nodoDestino = vivo(nodos.get(destino));
+            if (nodoOrigen == null || nodoDestino == null) {
+                throw new NullPointerException("El vértice de origen o de destino no existe en el grafo");
+            }
+            long escritura = version;
+            long horizonte = horizonte();
+            if (esDirigido) {
+                Arista arista = new Arista(origen, destino, peso);
+                nodoOrigen.salientes = nodoOrigen.salientes.anadir(arista, escritura, horizonte);
+                nodoDestino.entrantes = nodoDestino.entrantes.anadir(arista, escritura, horizonte);
+            } else {
+                nodoOrigen.salientes = nodoOrigen.salientes.anadir(new Arista(origen, destino, peso), escritura, horizonte);
+                nodoDestino.salientes = nodoDestino.salientes.anadir(new Arista(destino, origen, peso), escritura, horizonte);
+            }
+            avisarAristaAnadida(origen, destino, peso);
+        } finally {
+            desbloquear(primera, segunda);
+        }
+    }
+
+    /**
+     * Elimina las aristas entre dos vértices, actualizando ambos extremos de forma atómica.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     */
+    @Override
+    public void deleteArista(Vertice origen, Vertice destino) {
+        int primera = franja(origen);
+        int segunda = franja(destino);
+        bloquear(primera, segunda);
+        try {
+            long escritura = version;
+            Nodo nodoOrigen = vivo(nodos.get(origen));
+            Nodo nodoDestino = vivo(nodos.get(destino));
+            int borradas = 0;
+            if (nodoOrigen != null) {
+                borradas = nodoOrigen.salientes.borrar(destino, false, escritura);
+            }
+            if (nodoDestino != null) {
+                if (esDirigido) {
+                    nodoDestino.entrantes.borrar(origen, true, escritura);
+                } else {
+                    nodoDestino.salientes.borrar(origen, false, escritura);
+                }
+            }
+            if (borradas > 0) {
+                avisarAristaEliminada(origen, destino);
+            }
+        } finally {
+            desbloquear(primera, segunda);
+        }
+    }
+
+    /**
+     * Elimina un vértice y todas sus aristas. Solo recorre las aristas del propio vértice, no el grafo completo.
+     * Toma todos los cerrojos de escritura, en orden, para que ningún escritor vea el borrado a medias.
+     * @param vertice el vértice a eliminar.
+     */
+    @Override
+    public void deleteVertice(Vertice vertice) {
+        bloquearTodo();
+        try {
+            borrarVertice(vertice, version);
+        } finally {
+            desbloquearTodo();
+        }
+    }
+
+    /**
+     * Elimina varios vértices y todas sus aristas tomando los cerrojos de escritura una sola vez. Todos los
+     * borrados se marcan con la misma versión, así que ninguna instantánea ve solo una parte de ellos.
+     * @param vertices los vértices a eliminar; se ignoran los que no estén en el grafo.
+     */
+    @Override
+    public void deleteVertices(Collection<Vertice> vertices) {
+        bloquearTodo();
+        try {
+            long escritura = version;
+            for (Vertice vertice : vertices) {
+                borrarVertice(vertice, escritura);
+            }
+        } finally {
+            desbloquearTodo();
+        }
+    }
+
+    /**
+     * Aplica un lote de cambios con todos los cerrojos de escritura tomados, de modo que todos sus cambios
+     * quedan en la misma versión. Los cerrojos son reentrantes, así que cada cambio se aplica con las
+     * mismas operaciones que fuera del lote.
+     * @param lote el lote.
+     */
+    @Override
+    void aplicarLote(ConstructorGrafo lote) {
+        bloquearTodo();
+        try {
+            int n = lote.diccionario.getLimite();
+            for (int i = 0; i < n; i++) {
+                addVertice(lote.diccionario.getVertice(i));
+            }
+            for (int b = 0; b < lote.numBorradas; b++) {
+                deleteArista(lote.origenesBorrados[b], lote.destinosBorrados[b]);   // Si falta algún extremo no hace nada
+            }
+            for (int a : lote.agrupar(lote.origenes, null, n, new int[n + 1])) {
+                addAristaPeso(lote.diccionario.getVertice(lote.origenes[a]), lote.diccionario.getVertice(lote.destinos[a]),
+                        lote.pesos[a]);
+            }
+        } finally {
+            desbloquearTodo();
+        }
+    }
+
+    /**
+     * Marca como borrados un vértice y sus aristas, también en sus vecinos. Requiere todos los cerrojos.
+     */
+    private void borrarVertice(Vertice vertice, long escritura) {
+        Nodo nodo = vivo(nodos.get(vertice));
+        if (nodo == null) {
+            return;
+        }
+        nodo.borrado = escritura;
+        numVertices.decrementAndGet();
+        Adyacencia salientes = nodo.salientes;
+        for (int i = 0, n = salientes.tamanio; i < n; i++) {  // Marcar las referencias al vértice en cada vecino
+            Nodo vecino = salientes.borradas[i] == INFINITO ? vivo(nodos.get(salientes.aristas[i].getDestino())) : null;
+            if (vecino == null) {
+                continue;
+            }
+            if (esDirigido) {
+                vecino.entrantes.borrar(vertice, true, escritura);
+            } else {
+                vecino.salientes.borrar(vertice, false, escritura);
+            }
+        }
+        salientes.borrarTodas(escritura);
+        if (esDirigido) {
+            Adyacencia entrantes = nodo.entrantes;
+            for (int i = 0, n = entrantes.tamanio; i < n; i++) {
+                Nodo vecino = entrantes.borradas[i] == INFINITO ? vivo(nodos.get(entrantes.aristas[i].getOrigen())) : null;
+                if (vecino != null) {
+                    vecino.salientes.borrar(vertice, false, escritura);
+                }
+            }
+            entrantes.borrarTodas(escritura);
+        }
+        avisarVerticeEliminado(vertice);
+    }
+
+    /**
+     * Fija la versión actual del grafo y devuelve una vista de solo lectura sobre ella. Crearla no copia
+     * el grafo: espera a que terminen las escrituras en curso y pasa a la versión siguiente. Lo que la
+     * instantánea puede ver no se elimina hasta cerrarla, así que debe cerrarse (por ejemplo con
+     * try-with-resources) en cuanto deje de usarse.
+     * @return la instantánea.
+     */
+    public InstantaneaGrafo instantanea() {
+        bloquearTodo();
+        try {
+            long fijada = version;
+            activas.merge(fijada, 1, Integer::sum);
+            version = fijada + 1;
+            return new InstantaneaGrafo(this, fijada);
+        } finally {
+            desbloquearTodo();
+        }
+    }
+
+    /**
+     * Elimina físicamente los vértices y las aristas borrados que ya no ve ninguna instantánea abierta.
+     * Recorre todo el grafo tomando el cerrojo de cada vértice por separado, así que no detiene a los escritores.
+     */
+    public void compactar() {
+        for (Map.Entry<Vertice, Nodo> entrada : nodos.entrySet()) {
+            ReentrantLock cerrojo = cerrojos[franja(entrada.getKey())];
+            cerrojo.lock();
+            try {
+                Nodo nodo = nodos.get(entrada.getKey());
+                if (nodo == null) {
+                    continue;
+                }
+                long horizonte = horizonte();
+                if (nodo.borrado <= horizonte) {
+                    nodos.remove(entrada.getKey());
+                    continue;
+                }
+                nodo.salientes = nodo.salientes.compactar(horizonte);
+                if (esDirigido) {
+                    nodo.entrantes = nodo.entrantes.compactar(horizonte);
+                }
+                for (Nodo actual = nodo; actual.anterior != null; actual = actual.anterior) {
+                    if (actual.anterior.borrado <= horizonte) {    // Ni esa versión ni las previas son ya visibles
+                        actual.anterior = null;
+                        break;
+                    }
+                }
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+    }
+
+    /**
+     * Devuelve la versión con la que se están marcando las escrituras.
+     * @return la versión actual.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Devuelve el número de instantáneas abiertas.
+     * @return el número de instantáneas sin cerrar.
+     */
+    public int getNumInstantaneas() {
+        int total = 0;
+        for (int cuenta : activas.values()) {
+            total += cuenta;
+        }
+        return total;
+    }
+
+    /**
+     * Devuelve un conjunto de vértices adyacentes a un vértice dado. No toma ningún cerrojo.
+     * @param vertice el vértice.
+     * @return un conjunto de vértices adyacentes al vértice dado.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    @Override
+    public Set<Vertice> getAdyacentes(Vertice vertice) {
+        return nodoVivo(vertice).salientes.destinos(ACTUAL);
+    }
+
+    /**
+     * Devuelve un conjunto de vértices que tienen una arista hacia un vértice dado. No toma ningún cerrojo.
+     * @param vertice el vértice.
+     * @return un conjunto de vértices predecesores del vértice dado.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    @Override
+    public Set<Vertice> getPredecesores(Vertice vertice) {
+        if (!esDirigido) {
+            return getAdyacentes(vertice);
+        }
+        return nodoVivo(vertice).entrantes.origenes(ACTUAL);
+    }
+
+    /**
+     * Devuelve las aristas de salida de un vértice en este momento. La lista es una copia: no cambia si
+     * después se modifica el grafo. No toma ningún cerrojo.
+     * @param vertice el vértice.
+     * @return una lista con las aristas de salida.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    public List<Arista> getAristas(Vertice vertice) {
+        return nodoVivo(vertice).salientes.copiar(ACTUAL);
+    }
+
+    /**
+     * Indica si hay una arista entre dos vértices. No toma ningún cerrojo.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return true si existe la arista, false en caso contrario o si el origen no existe.
+     */
+    @Override
+    public boolean hasArista(Vertice origen, Vertice destino) {
+        Nodo nodo = vivo(nodos.get(origen));
+        return nodo != null && nodo.salientes.buscar(destino, ACTUAL) != null;
+    }
+
+    /**
+     * Devuelve el peso de la arista entre dos vértices, o el de una cualquiera de las aristas paralelas.
+     * No toma ningún cerrojo.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return el peso de la arista.
+     * @throws NullPointerException si el origen no existe en el grafo.
+     * @throws IllegalArgumentException si no hay ninguna arista entre los vértices.
+     */
+    @Override
+    public double getPeso(Vertice origen, Vertice destino) {
+        Arista arista = nodoVivo(origen).salientes.buscar(destino, ACTUAL);
+        if (arista == null) {
+            throw new IllegalArgumentException("No existe una arista de " + origen + " a " + destino);
+        }
+        return arista.getPeso();
+    }
+
+    /**
+     * Operación no soportada: las aristas y las instantáneas guardan el propio objeto {@link Vertice}, así que
+     * cambiar su id alteraría también las versiones anteriores, y el cerrojo de cada vértice depende de su id.
+     * Para renombrar, se elimina el vértice y se añade otro con el nuevo id.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override
+    public Vertice renombrarVertice(Vertice vertice, String nuevoId) {
+        throw new UnsupportedOperationException("Un grafo concurrente no admite renombrar vértices");
+    }
+
+    /**
+     * Cambia el peso de todas las aristas entre dos vértices. Las aristas se sustituyen por otras nuevas
+     * con el peso cambiado, de modo que las instantáneas abiertas siguen viendo el peso anterior; un lector
+     * sin cerrojo puede no ver la arista mientras dura el cambio.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @param peso el nuevo peso.
+     * @throws NullPointerException si alguno de los vértices no existe en el grafo.
+     * @throws IllegalArgumentException si no hay ninguna arista entre los vértices.
+     */
+    @Override
+    public void setPeso(Vertice origen, Vertice destino, double peso) {
+        int primera = franja(origen);
+        int segunda = franja(destino);
+        bloquear(primera, segunda);
+        try {
+            Nodo nodoOrigen = nodoVivo(origen);
+            Nodo nodoDestino = nodoVivo(destino);
+            long escritura = version;
+            long horizonte = horizonte();
+            List<Arista> nuevas = nodoOrigen.salientes.sustituir(destino, peso, escritura);
+            if (nuevas.isEmpty()) {
+                throw new IllegalArgumentException("No existe una arista de " + origen + " a " + destino);
+            }
+            for (Arista arista : nuevas) {
+                nodoOrigen.salientes = nodoOrigen.salientes.anadir(arista, escritura, horizonte);
+            }
+            if (esDirigido) {   // Las entrantes del destino comparten las mismas aristas
+                nodoDestino.entrantes.borrar(origen, true, escritura);
+                for (Arista arista : nuevas) {
+                    nodoDestino.entrantes = nodoDestino.entrantes.anadir(arista, escritura, horizonte);
+                }
+            } else if (!origen.equals(destino)) {
+                for (Arista arista : nodoDestino.salientes.sustituir(origen, peso, escritura)) {
+                    nodoDestino.salientes = nodoDestino.salientes.anadir(arista, escritura, horizonte);
+                }
+            }
+            avisarPesoCambiado(origen, destino, peso);
+        } finally {
+            desbloquear(primera, segunda);
+        }
+    }
+
+    /**
+     * Devuelve el número de aristas de salida de un vértice. No toma ningún cerrojo.
+     * @param vertice el vértice.
+     * @return el grado de salida.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    public int getGrado(Vertice vertice) {
+        return nodoVivo(vertice).salientes.contar(ACTUAL);
+    }
+
+    /**
+     * Recorre las aristas de salida de un vértice tal como están en este momento, sin copiarlas ni tomar
+     * ningún cerrojo. El visitante puede modificar el grafo; el recorrido no verá esos cambios.
+     * @param vertice el vértice.
+     * @param visitante la función que recibe cada vecino y el peso de la arista.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    @Override
+    public void recorrerAdyacentes(Vertice vertice, VisitanteAdyacentes visitante) {
+        nodoVivo(vertice).salientes.recorrer(ACTUAL, false, visitante);
+    }
+
+    /**
+     * Recorre las aristas que llegan a un vértice tal como están en este momento, sin copiarlas ni tomar
+     * ningún cerrojo.
+     * @param vertice el vértice.
+     * @param visitante la función que recibe cada predecesor y el peso de la arista.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    @Override
+    public void recorrerPredecesores(Vertice vertice, VisitanteAdyacentes visitante) {
+        Nodo nodo = nodoVivo(vertice);
+        if (esDirigido) {
+            nodo.entrantes.recorrer(ACTUAL, true, visitante);
+        } else {
+            nodo.salientes.recorrer(ACTUAL, false, visitante);
+        }
+    }
+
+    /**
+     * Devuelve el número de aristas de salida de un vértice, igual que {@link #getGrado(Vertice)}.
+     * @param vertice el vértice.
+     * @return el grado de salida.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    @Override
+    public int getGradoSalida(Vertice vertice) {
+        return getGrado(vertice);
+    }
+
+    /**
+     * Devuelve el número de aristas que llegan a un vértice. No toma ningún cerrojo.
+     * @param vertice el vértice.
+     * @return el grado de entrada.
+     * @throws NullPointerException si el vértice no existe en el grafo.
+     */
+    @Override
+    public int getGradoEntrada(Vertice vertice) {
+        Nodo nodo = nodoVivo(vertice);
+        return (esDirigido ? nodo.entrantes : nodo.salientes).contar(ACTUAL);
+    }
+
+    /**
+     * Indica si un vértice está en el grafo.
+     * @param vertice el vértice.
+     * @return true si está, false en caso contrario.
+     */
+    @Override
+    public boolean contieneVertice(Vertice vertice) {
+        return vivo(nodos.get(vertice)) != null;
+    }
+
+    /**
+     * Devuelve el número de vértices del grafo.
+     * @return el número de vértices.
+     */
+    @Override
+    public int getNumVertices() {
+        return numVertices.get();
+    }
+
+    /**
+     * Devuelve una copia de los vértices que hay en el grafo en este momento.
+     * @return el conjunto de vértices.
+     */
+    @Override
+    public Set<Vertice> getVertices() {
+        return copiarVertices(ACTUAL);
+    }
+
+    /**
+     * Devuelve una copia del mapa de adyacencia con el estado actual de cada vértice. Modificar la copia no
+     * afecta al grafo. Con escrituras concurrentes cada vértice puede reflejar un instante distinto; para una
+     * copia coherente úsese la de una {@link #instantanea()}.
+     * @return una copia del mapa de adyacencia.
+     */
+    @Override
+    public Map<Vertice, Set<Arista>> getAdyacencias() {
+        return copiarAdyacencias(ACTUAL);
+    }
+
+    /**
+     * Devuelve la versión de un vértice que era visible en una versión dada del grafo.
+     * @param vertice el vértice.
+     * @param fijada la versión, o ACTUAL para el estado actual.
+     * @return el nodo, o null si el vértice no existía en esa versión.
+     */
+    Nodo nodo(Vertice vertice, long fijada) {
+        Nodo nodo = nodos.get(vertice);
+        while (nodo != null && nodo.creado > fijada) {
+            nodo = nodo.anterior;
+        }
+        return nodo != null && nodo.borrado > fijada ? nodo : null;
+    }
+
+    /**
+     * Copia el mapa de adyacencia tal como era en una versión dada.
+     * @param fijada la versión, o ACTUAL para el estado actual.
+     * @return la copia.
+     */
+    Map<Vertice, Set<Arista>> copiarAdyacencias(long fijada) {
+        Map<Vertice, Set<Arista>> copia = new HashMap<>();
+        for (Vertice vertice : nodos.keySet()) {
+            Nodo nodo = nodo(vertice, fijada);
+            if (nodo != null) {
+                copia.put(vertice, new HashSet<>(nodo.salientes.copiar(fijada)));
+            }
+        }
+        return copia;
+    }
+
+    /**
+     * Copia los vértices que existían en una versión dada.
+     * @param fijada la versión, o ACTUAL para el estado actual.
+     * @return la copia.
+     */
+    Set<Vertice> copiarVertices(long fijada) {
+        Set<Vertice> copia = new HashSet<>();
+        for (Vertice vertice : nodos.keySet()) {
+            if (nodo(vertice, fijada) != null) {
+                copia.add(vertice);
+            }
+        }
+        return copia;
+    }
+
+    /**
+     * Cuenta los vértices que existían en una versión dada.
+     * @param fijada la versión.
+     * @return el número de vértices.
+     */
+    int contarVertices(long fijada) {
+        int total = 0;
+        for (Vertice vertice : nodos.keySet()) {
+            if (nodo(vertice, fijada) != null) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Registra el cierre de una instantánea, de modo que lo que solo ella veía se pueda eliminar.
+     * @param fijada la versión de la instantánea.
+     */
+    void liberar(long fijada) {
+        activas.computeIfPresent(fijada, (clave, cuenta) -> cuenta == 1 ? null : cuenta - 1);
+    }
+
+    /**
+     * Devuelve la versión más antigua que alguien puede seguir viendo: lo borrado en ella o antes ya no
+     * es visible para nadie. Debe llamarse con algún cerrojo de escritura tomado.
+     */
+    private long horizonte() {
+        Map.Entry<Long, Integer> masAntigua = activas.firstEntry();
+        return masAntigua == null ? version : Math.min(masAntigua.getKey(), version);
+    }
+
+    private Nodo nodoVivo(Vertice vertice) {
+        Nodo nodo = vivo(nodos.get(vertice));
+        if (nodo == null) {
+            throw new NullPointerException("El vértice " + vertice + " no existe en el grafo");
+        }
+        return nodo;
+    }
+
+    private static Nodo vivo(Nodo nodo) {
+        return nodo != null && nodo.borrado == INFINITO ? nodo : null;
+    }
+
+    private int franja(Vertice vertice) {
+        int h = vertice.hashCode();
+        return (h ^ (h >>> 16)) & mascara;
+    }
+
+    /**
+     * Toma los cerrojos de dos franjas, siempre de menor a mayor, para evitar interbloqueos.
+     */
+    private void bloquear(int primera, int segunda) {
+        cerrojos[Math.min(primera, segunda)].lock();
+        if (primera != segunda) {
+            cerrojos[Math.max(primera, segunda)].lock();
+        }
+    }
+
+    private void desbloquear(int primera, int segunda) {
+        if (primera != segunda) {
+            cerrojos[Math.max(primera, segunda)].unlock();
+        }
+        cerrojos[Math.min(primera, segunda)].unlock();
+    }
+
+    private void bloquearTodo() {
+        for (ReentrantLock cerrojo : cerrojos) {
+            cerrojo.lock();
+        }
+    }
+
+    private void desbloquearTodo() {
+        for (int i = cerrojos.length - 1; i >= 0; i--) {
+            cerrojos[i].unlock();
+        }
+    }
+
+    /**
+     * Una versión de un vértice. Los campos solo se modifican con el cerrojo de su franja.
+     */
+    static final class Nodo {
+        final long creado; // Versión en la que se añadió el vértice
+        volatile long borrado = INFINITO; // Versión en la que se borró, o INFINITO si sigue vivo
+        volatile Nodo anterior; // Versión previa del mismo vértice, si se borró y se volvió a añadir
+        volatile Adyacencia salientes = Adyacencia.VACIA; // Aristas de salida
+        volatile Adyacencia entrantes; // Aristas de entrada (solo en grafos dirigidos)
+
+        Nodo(boolean esDirigido, long creado, Nodo anterior) {
+            this.creado = creado;
+            this.anterior = anterior;
+            this.entrantes = esDirigido ? Adyacencia.VACIA : null;
+        }
+    }
+
+    /**
+     * Lista de aristas que solo crece por el final, con la versión de creación y de borrado de cada una.
+     * El escritor rellena la casilla y después publica el tamaño volátil, de modo que un lector que lee
+     * primero el tamaño ve la arista completa. Borrar solo cambia la versión de borrado de la casilla.
+     * Cuando no queda hueco se publica una lista nueva sin las entradas que ya nadie puede ver, y la
+     * anterior no se vuelve a tocar.
+     */
+    static final class Adyacencia {
+        private static final Adyacencia VACIA = new Adyacencia(0);
+        private static final VarHandle BORRADAS = MethodHandles.arrayElementVarHandle(long[].class);
+
+        final Arista[] aristas;
+        final long[] creadas; // Versión en la que se añadió cada arista
+        final long[] borradas; // Versión en la que se borró cada arista, o INFINITO
+        volatile int tamanio;
+
+        private Adyacencia(int capacidad) {
+            this.aristas = new Arista[capacidad];
+            this.creadas = new long[capacidad];
+            this.borradas = new long[capacidad];
+        }
+
+        /**
+         * Indica si la entrada i existía en una versión dada. Debe llamarse tras leer el tamaño.
+         */
+        boolean visible(int i, long fijada) {
+            return creadas[i] <= fijada && (long) BORRADAS.getAcquire(borradas, i) > fijada;
+        }
+
+        /**
+         * Añade una arista, en esta misma lista si cabe o en una copia compactada con el doble de capacidad.
+         * @return la lista que contiene la arista.
+         */
+        Adyacencia anadir(Arista arista, long version, long horizonte) {
+            Adyacencia destino = tamanio < aristas.length ? this : compactar(horizonte, 1);
+            int n = destino.tamanio;
+            destino.aristas[n] = arista;
+            destino.creadas[n] = version;
+            destino.borradas[n] = INFINITO;
+            destino.tamanio = n + 1;
+            return destino;
+        }
+
+        /**
+         * Marca como borradas las aristas vivas que salen de (o llegan a) un vértice.
+         * @param vertice el vértice.
+         * @param porOrigen si es true se comparan los orígenes de las aristas; si no, los destinos.
+         * @param version la versión del borrado.
+         * @return el número de aristas borradas.
+         */
+        int borrar(Vertice vertice, boolean porOrigen, long version) {
+            int borradasAhora = 0;
+            for (int i = 0, n = tamanio; i < n; i++) {
+                Arista arista = aristas[i];
+                if (borradas[i] == INFINITO && (porOrigen ? arista.getOrigen() : arista.getDestino()).equals(vertice)) {
+                    BORRADAS.setRelease(borradas, i, version);
+                    borradasAhora++;
+                }
+            }
+            return borradasAhora;
+        }
+
+        void borrarTodas(long version) {
+            for (int i = 0, n = tamanio; i < n; i++) {
+                if (borradas[i] == INFINITO) {
+                    BORRADAS.setRelease(borradas, i, version);
+                }
+            }
+        }
+
+        /**
+         * Devuelve esta lista, o una copia sin las entradas borradas en el horizonte o antes si las hay.
+         */
+        Adyacencia compactar(long horizonte) {
+            for (int i = 0, n = tamanio; i < n; i++) {
+                if (borradas[i] <= horizonte) {
+                    return compactar(horizonte, 0);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Copia la lista sin las entradas borradas en el horizonte o antes, dejando hueco para al menos
+         * {@code extra} entradas más.
+         */
+        private Adyacencia compactar(long horizonte, int extra) {
+            int n = tamanio;
+            int quedan = 0;
+            for (int i = 0; i < n; i++) {
+                if (borradas[i] > horizonte) {
+                    quedan++;
+                }
+            }
+            Adyacencia copia = new Adyacencia(Math.max(4, 2 * (quedan + extra)));
+            int j = 0;
+            for (int i = 0; i < n; i++) {
+                if (borradas[i] > horizonte) {
+                    copia.aristas[j] = aristas[i];
+                    copia.creadas[j] = creadas[i];
+                    copia.borradas[j] = borradas[i];
+                    j++;
+                }
+            }
+            copia.tamanio = j;
+            return copia;
+        }
+
+        int contar(long fijada) {
+            int total = 0;
+            for (int i = 0, n = tamanio; i < n; i++) {
+                if (visible(i, fijada)) {
+                    total++;
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Devuelve la primera arista visible hacia un destino, o null si no hay ninguna.
+         */
+        Arista buscar(Vertice destino, long fijada) {
+            for (int i = 0, n = tamanio; i < n; i++) {
+                if (visible(i, fijada) && aristas[i].getDestino().equals(destino)) {
+                    return aristas[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Marca como borradas las aristas vivas hacia un destino y devuelve copias suyas con otro peso,
+         * listas para añadirse con {@link #anadir(Arista, long, long)}.
+         */
+        List<Arista> sustituir(Vertice destino, double peso, long version) {
+            List<Arista> nuevas = new ArrayList<>(1);
+            for (int i = 0, n = tamanio; i < n; i++) {
+                Arista arista = aristas[i];
+                if (borradas[i] == INFINITO && arista.getDestino().equals(destino)) {
+                    BORRADAS.setRelease(borradas, i, version);
+                    nuevas.add(new Arista(arista.getOrigen(), destino, peso));
+                }
+            }
+            return nuevas;
+        }
+
+        /**
+         * Entrega al visitante cada arista visible, por su origen o por su destino.
+         */
+        void recorrer(long fijada, boolean porOrigen, VisitanteAdyacentes visitante) {
+            for (int i = 0, n = tamanio; i < n; i++) {
+                if (visible(i, fijada)) {
+                    Arista arista = aristas[i];
+                    visitante.visitar(porOrigen ? arista.getOrigen() : arista.getDestino(), arista.getPeso());
+                }
+            }
+        }
+
+        List<Arista> copiar(long fijada) {
+            int n = tamanio;
+            List<Arista> resultado = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                if (visible(i, fijada)) {
+                    resultado.add(aristas[i]);
+                }
+            }
+            return resultado;
+        }
+
+        Set<Vertice> destinos(long fijada) {
+            Set<Vertice> resultado = new HashSet<>();
+            for (int i = 0, n = tamanio; i < n; i++) {
+                if (visible(i, fijada)) {
+                    resultado.add(aristas[i].getDestino());
+                }
+            }
+            return resultado;
+        }
+
+        Set<Vertice> origenes(long fijada) {
+            Set<Vertice> resultado = new HashSet<>();
+            for (int i = 0, n = tamanio; i < n; i++) {
+                if (visible(i, fijada)) {
+                    resultado.add(aristas[i].getOrigen());
+                }
+            }
+            return resultado;
+        }
+    }
+}
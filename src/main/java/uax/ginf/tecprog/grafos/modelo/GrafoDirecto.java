@@ -0,0 +1,442 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grafo en formato CSR guardado fuera del montículo de Java, en memoria directa o en un archivo proyectado
+ * en memoria. Los desplazamientos, los destinos y los pesos ocupan bloques de bytes de hasta 1 GB, así que
+ * un grafo de miles de millones de aristas son unas pocas decenas de objetos para el recolector de basura,
+ * en lugar de un objeto por arista, y su tamaño no depende del montículo.
+ * <p>
+ * Se recorre con la misma interfaz {@link AdyacenciaIndexada} que {@link uax.ginf.tecprog.grafos.io.GrafoMapeado}:
+ * {@link #recorrerVecinos(int, VisitanteVecinos)} entrega cada destino y su peso sin crear objetos, y los
+ * vértices se identifican por el índice denso que tenían en la {@link GrafoCSR} de partida. Como las
+ * aristas tienen ancho fijo, además se puede acceder a cualquiera por su posición, como en la GrafoCSR, y
+ * cambiar su peso en el sitio.
+ * <p>
+ * No es un almacenamiento alternativo para {@link Grafo}: es una copia de la estructura de una GrafoCSR,
+ * fija salvo los pesos, y los cambios posteriores del grafo original no se reflejan en ella.
+ * <p>
+ * Se crea con {@link #crear(GrafoCSR)}, en memoria directa (que cuenta para -XX:MaxDirectMemorySize), o con
+ * {@link #crear(GrafoCSR, Path)}, en un archivo que después puede volver a abrirse con {@link #abrir(Path)}
+ * sin reconstruir nada; el sistema operativo solo trae a memoria las páginas que se leen. Hay que cerrarlo
+ * con {@link #close()} (o try-with-resources) al terminar: cualquier uso posterior lanza
+ * IllegalStateException y los bloques quedan sin referencias, de modo que su memoria se libera en la
+ * siguiente recolección sin esperar a que se recoja este objeto. Varios hilos pueden leerlo a la vez, pero
+ * no debe cerrarse mientras alguno lo recorre.
+ */
+public final class GrafoDirecto implements AdyacenciaIndexada, AutoCloseable {
+    static final int MAGICO = 0x47444952; // "GDIR"
+    static final int VERSION = 1;
+    static final int TAM_CABECERA = 64;
+    static final int DIRIGIDO = 1; // Indicador de grafo dirigido en la cabecera
+    private static final int BITS_BLOQUE = 30;
+    private static final long TAM_BLOQUE = 1L << BITS_BLOQUE;
+
+    private final boolean esDirigido;
+    private final int numVertices;
+    private final long numAristas;
+    private final boolean soloLectura; // Abierto de un archivo sin permiso de escritura
+    private Region desplazamientos; // Primera arista de cada vértice, más el total al final (long)
+    private Region destinos; // Índice del destino de cada arista (int)
+    private Region pesos; // Peso de cada arista (double)
+    private volatile boolean cerrado; // Indica si ya se ha cerrado
+
+    private GrafoDirecto(boolean esDirigido, int numVertices, long numAristas, boolean soloLectura,
+                         Region desplazamientos, Region destinos, Region pesos) {
+        this.esDirigido = esDirigido;
+        this.numVertices = numVertices;
+        this.numAristas = numAristas;
+        this.soloLectura = soloLectura;
+        this.desplazamientos = desplazamientos;
+        this.destinos = destinos;
+        this.pesos = pesos;
+    }
+
+    /**
+     * Copia una GrafoCSR a memoria directa.
+     * @param csr la instantánea CSR.
+     * @return el grafo en memoria directa.
+     */
+    public static GrafoDirecto crear(GrafoCSR csr) {
+        int n = csr.getNumVertices();
+        long m = csr.getNumAristas();
+        GrafoDirecto grafo = new GrafoDirecto(csr.isEsDirigido(), n, m, false,
+                Region.reservar(8L * (n + 1)), Region.reservar(4L * m), Region.reservar(8L * m));
+        grafo.copiar(csr);
+        return grafo;
+    }
+
+    /**
+     * Copia una GrafoCSR a un archivo proyectado en memoria, que se crea o se sobrescribe.
+     * @param csr la instantánea CSR.
+     * @param archivo la ruta del archivo.
+     * @return el grafo respaldado por el archivo.
+     * @throws IOException si no se puede escribir el archivo.
+     */
+    public static GrafoDirecto crear(GrafoCSR csr, Path archivo) throws IOException {
+        int n = csr.getNumVertices();
+        long m = csr.getNumAristas();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer cabecera = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAM_CABECERA);
+            cabecera.order(ByteOrder.LITTLE_ENDIAN);
+            cabecera.putInt(4, VERSION);
+            cabecera.putInt(8, csr.isEsDirigido() ? DIRIGIDO : 0);
+            cabecera.putInt(12, n);
+            cabecera.putLong(16, m);
+            GrafoDirecto grafo = proyectar(canal, FileChannel.MapMode.READ_WRITE, csr.isEsDirigido(), n, m);
+            grafo.copiar(csr);
+            grafo.forzar();
+            cabecera.putInt(0, MAGICO); // Al final: un archivo a medio escribir no parece un grafo directo
+            cabecera.force();
+            return grafo;
+        }
+    }
+
+    /**
+     * Abre en solo lectura un archivo escrito por {@link #crear(GrafoCSR, Path)}. Solo lee la cabecera.
+     * @param archivo la ruta del archivo.
+     * @return el grafo respaldado por el archivo.
+     * @throws IOException si el archivo no se puede leer o no tiene el formato esperado.
+     */
+    public static GrafoDirecto abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() < TAM_CABECERA) {
+                throw new IOException("El archivo " + archivo + " no contiene un grafo directo");
+            }
+            ByteBuffer cabecera = canal.map(FileChannel.MapMode.READ_ONLY, 0, TAM_CABECERA).order(ByteOrder.LITTLE_ENDIAN);
+            if (cabecera.getInt(0) != MAGICO) {
+                throw new IOException("El archivo " + archivo + " no contiene un grafo directo");
+            }
+            int version = cabecera.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Versión de grafo directo no soportada: " + version);
+            }
+            boolean esDirigido = (cabecera.getInt(8) & DIRIGIDO) != 0;
+            int n = cabecera.getInt(12);
+            long m = cabecera.getLong(16);
+            if (n < 0 || m < 0 || canal.size() != inicioPesos(n, m) + 8 * m) {
+                throw new IOException("El archivo " + archivo + " está truncado o dañado");
+            }
+            return proyectar(canal, FileChannel.MapMode.READ_ONLY, esDirigido, n, m);
+        }
+    }
+
+    private static GrafoDirecto proyectar(FileChannel canal, FileChannel.MapMode modo, boolean esDirigido, int n, long m)
+            throws IOException {
+        long inicioDestinos = TAM_CABECERA + 8L * (n + 1);
+        return new GrafoDirecto(esDirigido, n, m, modo == FileChannel.MapMode.READ_ONLY,
+                Region.proyectar(canal, modo, TAM_CABECERA, 8L * (n + 1)),
+                Region.proyectar(canal, modo, inicioDestinos, 4 * m),
+                Region.proyectar(canal, modo, inicioPesos(n, m), 8 * m));
+    }
+
+    /**
+     * Posición de la columna de pesos en el archivo, alineada a 8 bytes.
+     */
+    private static long inicioPesos(int n, long m) {
+        return (TAM_CABECERA + 8L * (n + 1) + 4 * m + 7) & ~7L;
+    }
+
+    private void copiar(GrafoCSR csr) {
+        for (int v = 0; v <= numVertices; v++) {
+            desplazamientos.putLong(v, csr.getInicio(v));
+        }
+        for (int a = 0; a < numAristas; a++) {
+            destinos.putInt(a, csr.getDestino(a));
+            pesos.putDouble(a, csr.getPeso(a));
+        }
+    }
+
+    /**
+     * Devuelve el número de vértices.
+     * @return el número de vértices.
+     */
+    @Override
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Devuelve el número de aristas almacenadas (en un grafo no dirigido, cada arista cuenta dos veces).
+     * @return el número de aristas.
+     */
+    public long getNumAristas() {
+        return numAristas;
+    }
+
+    /**
+     * Devuelve si el grafo es dirigido o no.
+     * @return verdadero si el grafo es dirigido, falso en caso contrario.
+     */
+    @Override
+    public boolean isEsDirigido() {
+        return esDirigido;
+    }
+
+    /**
+     * Devuelve la posición de la primera arista de salida de un vértice.
+     * @param vertice el índice del vértice.
+     * @return la posición de inicio (inclusive).
+     * @throws IllegalStateException si el grafo está cerrado.
+     */
+    public long getInicio(int vertice) {
+        comprobarAbierto();
+        return desplazamientos.getLong(vertice);
+    }
+
+    /**
+     * Devuelve la posición siguiente a la última arista de salida de un vértice.
+     * @param vertice el índice del vértice.
+     * @return la posición de fin (exclusive).
+     * @throws IllegalStateException si el grafo está cerrado.
+     */
+    public long getFin(int vertice) {
+        comprobarAbierto();
+        return desplazamientos.getLong(vertice + 1);
+    }
+
+    /**
+     * Devuelve el número de aristas de salida de un vértice.
+     * @param vertice el índice del vértice.
+     * @return el grado de salida.
+     * @throws IllegalStateException si el grafo está cerrado.
+     */
+    @Override
+    public int getGrado(int vertice) {
+        return (int) (getFin(vertice) - getInicio(vertice));
+    }
+
+    /**
+     * Devuelve el índice del destino de una arista.
+     * @param arista la posición de la arista.
+     * @return el índice del vértice de destino.
+     * @throws IllegalStateException si el grafo está cerrado.
+     */
+    public int getDestino(long arista) {
+        comprobarAbierto();
+        return destinos.getInt(arista);
+    }
+
+    /**
+     * Devuelve el peso de una arista.
+     * @param arista la posición de la arista.
+     * @return el peso.
+     * @throws IllegalStateException si el grafo está cerrado.
+     */
+    public double getPeso(long arista) {
+        comprobarAbierto();
+        return pesos.getDouble(arista);
+    }
+
+    /**
+     * Cambia el peso de una arista en el sitio. En un grafo no dirigido solo cambia el sentido de esa
+     * posición; el inverso está en la lista del otro extremo.
+     * @param arista la posición de la arista.
+     * @param peso el nuevo peso.
+     * @throws IllegalStateException si el grafo está cerrado.
+     * @throws UnsupportedOperationException si el grafo se abrió en solo lectura.
+     */
+    public void setPeso(long arista, double peso) {
+        comprobarAbierto();
+        if (soloLectura) {
+            throw new UnsupportedOperationException("El grafo directo se abrió en solo lectura");
+        }
+        pesos.putDouble(arista, peso);
+    }
+
+    /**
+     * Recorre las aristas de salida de un vértice, en el mismo orden que en la GrafoCSR de partida.
+     * @param vertice el índice del vértice.
+     * @param visitante la función que recibe cada destino y su peso.
+     * @throws IllegalStateException si el grafo está cerrado.
+     */
+    @Override
+    public void recorrerVecinos(int vertice, VisitanteVecinos visitante) {
+        comprobarAbierto();
+        long inicio = desplazamientos.getLong(vertice);
+        long fin = desplazamientos.getLong(vertice + 1);
+        if (inicio == fin) {
+            return;
+        }
+        if (destinos.mismoBloque(inicio, fin - 1, 2) && pesos.mismoBloque(inicio, fin - 1, 3)) {
+            // Caso habitual: ambas listas están enteras en un bloque y se leen sin calcular el bloque en cada arista
+            ByteBuffer bloqueDestinos = destinos.bloque(inicio, 2);
+            ByteBuffer bloquePesos = pesos.bloque(inicio, 3);
+            int posicionDestino = Region.posicion(inicio, 2);
+            int posicionPeso = Region.posicion(inicio, 3);
+            for (long a = inicio; a < fin; a++, posicionDestino += 4, posicionPeso += 8) {
+                visitante.visitar(bloqueDestinos.getInt(posicionDestino), bloquePesos.getDouble(posicionPeso));
+            }
+            return;
+        }
+        for (long a = inicio; a < fin; a++) {
+            visitante.visitar(destinos.getInt(a), pesos.getDouble(a));
+        }
+    }
+
+    /**
+     * Copia las aristas de salida de un vértice en arreglos proporcionados por quien llama.
+     * @param vertice el índice del vértice.
+     * @param destinos arreglo de al menos getGrado(vertice) posiciones para los destinos.
+     * @param pesos arreglo de al menos getGrado(vertice) posiciones para los pesos, o null si no se necesitan.
+     * @return el número de aristas copiadas.
+     * @throws IllegalStateException si el grafo está cerrado.
+     */
+    @Override
+    public int copiarVecinos(int vertice, int[] destinos, double[] pesos) {
+        comprobarAbierto();
+        long inicio = desplazamientos.getLong(vertice);
+        int grado = (int) (desplazamientos.getLong(vertice + 1) - inicio);
+        for (int i = 0; i < grado; i++) {
+            destinos[i] = this.destinos.getInt(inicio + i);
+            if (pesos != null) {
+                pesos[i] = this.pesos.getDouble(inicio + i);
+            }
+        }
+        return grado;
+    }
+
+    /**
+     * Devuelve los bytes que ocupan las aristas y los desplazamientos fuera del montículo.
+     * @return el número de bytes.
+     */
+    public long getBytes() {
+        return 8L * (numVertices + 1) + 12 * numAristas;
+    }
+
+    /**
+     * Escribe en disco los cambios pendientes, si el grafo está respaldado por un archivo abierto para escritura.
+     * @throws IllegalStateException si el grafo está cerrado.
+     */
+    public void forzar() {
+        comprobarAbierto();
+        desplazamientos.forzar();
+        destinos.forzar();
+        pesos.forzar();
+    }
+
+    /**
+     * Indica si el grafo está cerrado.
+     * @return true si está cerrado, false en caso contrario.
+     */
+    public boolean isCerrado() {
+        return cerrado;
+    }
+
+    /**
+     * Cierra el grafo y suelta sus bloques de memoria. Los cambios de peso en un archivo se escriben antes
+     * de soltarlos. Cerrarlo dos veces no tiene efecto.
+     */
+    @Override
+    public synchronized void close() {
+        if (!cerrado) {
+            forzar();
+            cerrado = true;
+            desplazamientos = null;
+            destinos = null;
+            pesos = null;
+        }
+    }
+
+    private void comprobarAbierto() {
+        if (cerrado) {
+            throw new IllegalStateException("El grafo directo está cerrado");
+        }
+    }
+
+    /**
+     * Columna de números de ancho fijo repartida en bloques de hasta 1 GB. Como los bloques tienen un
+     * tamaño múltiplo de 8 y la columna empieza en una posición alineada, ningún número queda partido
+     * entre dos bloques.
+     */
+    private static final class Region {
+        private final ByteBuffer[] bloques;
+
+        private Region(ByteBuffer[] bloques) {
+            this.bloques = bloques;
+        }
+
+        static Region reservar(long bytes) {
+            ByteBuffer[] bloques = new ByteBuffer[(int) ((bytes + TAM_BLOQUE - 1) >>> BITS_BLOQUE)];
+            for (int i = 0; i < bloques.length; i++) {
+                int tamanio = (int) Math.min(TAM_BLOQUE, bytes - i * TAM_BLOQUE);
+                bloques[i] = ByteBuffer.allocateDirect(tamanio).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new Region(bloques);
+        }
+
+        static Region proyectar(FileChannel canal, FileChannel.MapMode modo, long inicio, long bytes) throws IOException {
+            ByteBuffer[] bloques = new ByteBuffer[(int) ((bytes + TAM_BLOQUE - 1) >>> BITS_BLOQUE)];
+            for (int i = 0; i < bloques.length; i++) {
+                long desde = i * TAM_BLOQUE;
+                bloques[i] = canal.map(modo, inicio + desde, Math.min(TAM_BLOQUE, bytes - desde)).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new Region(bloques);
+        }
+
+        /**
+         * Indica si dos números de 2^desplazamiento bytes están en el mismo bloque.
+         */
+        boolean mismoBloque(long primero, long ultimo, int desplazamiento) {
+            return (primero << desplazamiento) >>> BITS_BLOQUE == (ultimo << desplazamiento) >>> BITS_BLOQUE;
+        }
+
+        ByteBuffer bloque(long indice, int desplazamiento) {
+            return bloques[(int) ((indice << desplazamiento) >>> BITS_BLOQUE)];
+        }
+
+        static int posicion(long indice, int desplazamiento) {
+            return (int) ((indice << desplazamiento) & (TAM_BLOQUE - 1));
+        }
+
+        long getLong(long indice) {
+            long byteInicio = indice << 3;
+            return bloques[(int) (byteInicio >>> BITS_BLOQUE)].getLong((int) (byteInicio & (TAM_BLOQUE - 1)));
+        }
+
+        void putLong(long indice, long valor) {
+            long byteInicio = indice << 3;
+            bloques[(int) (byteInicio >>> BITS_BLOQUE)].putLong((int) (byteInicio & (TAM_BLOQUE - 1)), valor);
+        }
+
+        int getInt(long indice) {
+            long byteInicio = indice << 2;
+            return bloques[(int) (byteInicio >>> BITS_BLOQUE)].getInt((int) (byteInicio & (TAM_BLOQUE - 1)));
+        }
+
+        void putInt(long indice, int valor) {
+            long byteInicio = indice << 2;
+            bloques[(int) (byteInicio >>> BITS_BLOQUE)].putInt((int) (byteInicio & (TAM_BLOQUE - 1)), valor);
+        }
+
+        double getDouble(long indice) {
+            long byteInicio = indice << 3;
+            return bloques[(int) (byteInicio >>> BITS_BLOQUE)].getDouble((int) (byteInicio & (TAM_BLOQUE - 1)));
+        }
+
+        void putDouble(long indice, double valor) {
+            long byteInicio = indice << 3;
+            bloques[(int) (byteInicio >>> BITS_BLOQUE)].putDouble((int) (byteInicio & (TAM_BLOQUE - 1)), valor);
+        }
+
+        /**
+         * Escribe en disco los bloques proyectados de un archivo abierto para escritura; no hace nada en
+         * memoria directa.
+         */
+        void forzar() {
+            for (ByteBuffer bloque : bloques) {
+                if (bloque instanceof MappedByteBuffer proyectado && !proyectado.isReadOnly()) {
+                    proyectado.force();
+                }
+            }
+        }
+    }
+}
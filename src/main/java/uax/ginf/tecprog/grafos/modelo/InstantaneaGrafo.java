@@ -0,0 +1,311 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Vista de solo lectura de un {@link GrafoConcurrente} tal como estaba en una versión fija. Se obtiene con
+ * {@link GrafoConcurrente#instantanea()} y no copia nada: lee las mismas listas que el grafo y descarta las
+ * entradas creadas después de su versión o borradas antes de ella, así que sus resultados no cambian
+ * aunque otros hilos sigan modificando el grafo.
+ * <p>
+ * Mientras esté abierta, el grafo conserva todo lo que ella puede ver; al cerrarla (con {@link #close()}
+ * o try-with-resources) el grafo puede eliminarlo. Los métodos que modificarían el grafo lanzan
+ * UnsupportedOperationException, y cualquier consulta tras cerrarla lanza IllegalStateException.
+ * Puede usarse desde varios hilos a la vez, por ejemplo para construir una {@link GrafoCSR} con
+ * {@code new GrafoCSR(instantanea)}.
+ */
+public final class InstantaneaGrafo extends GrafoAbstracto implements AutoCloseable {
+    private final GrafoConcurrente grafo; // Grafo del que se tomó la instantánea
+    private final long version; // Versión fijada: se ve lo creado en ella o antes y no borrado hasta ella
+    private volatile boolean cerrada; // Indica si ya se ha cerrado
+
+    /**
+     * Constructor para la clase InstantaneaGrafo. La versión ya debe estar registrada en el grafo.
+     * @param grafo el grafo del que se toma la instantánea.
+     * @param version la versión fijada.
+     */
+    InstantaneaGrafo(GrafoConcurrente grafo, long version) {
+        super(grafo.isEsDirigido(), grafo.isEsMultigrafo());
+        this.grafo = grafo;
+        this.version = version;
+    }
+
+    /**
+     * Devuelve la versión del grafo que ve esta instantánea.
+     * @return la versión fijada.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Indica si un vértice existía en la versión de la instantánea.
+     * @param vertice el vértice.
+     * @return true si existía, false en caso contrario.
+     */
+    @Override
+    public boolean contieneVertice(Vertice vertice) {
+        comprobarAbierta();
+        return grafo.nodo(vertice, version) != null;
+    }
+
+    /**
+     * Devuelve el número de vértices en la versión de la instantánea. Recorre todos los vértices del grafo.
+     * @return el número de vértices.
+     */
+    @Override
+    public int getNumVertices() {
+        comprobarAbierta();
+        return grafo.contarVertices(version);
+    }
+
+    /**
+     * Devuelve una copia de los vértices que existían en la versión de la instantánea.
+     * @return el conjunto de vértices.
+     */
+    @Override
+    public Set<Vertice> getVertices() {
+        comprobarAbierta();
+        return grafo.copiarVertices(version);
+    }
+
+    /**
+     * Recorre las aristas de salida de un vértice en la versión de la instantánea, sin copiarlas.
+     * @param vertice el vértice.
+     * @param visitante la función que recibe cada vecino y el peso de la arista.
+     * @throws NullPointerException si el vértice no existía en la versión de la instantánea.
+     */
+    @Override
+    public void recorrerAdyacentes(Vertice vertice, VisitanteAdyacentes visitante) {
+        nodo(vertice).salientes.recorrer(version, false, visitante);
+    }
+
+    /**
+     * Recorre las aristas que llegaban a un vértice en la versión de la instantánea, sin copiarlas.
+     * @param vertice el vértice.
+     * @param visitante la función que recibe cada predecesor y el peso de la arista.
+     * @throws NullPointerException si el vértice no existía en la versión de la instantánea.
+     */
+    @Override
+    public void recorrerPredecesores(Vertice vertice, VisitanteAdyacentes visitante) {
+        GrafoConcurrente.Nodo nodo = nodo(vertice);
+        if (isEsDirigido()) {
+            nodo.entrantes.recorrer(version, true, visitante);
+        } else {
+            nodo.salientes.recorrer(version, false, visitante);
+        }
+    }
+
+    /**
+     * Devuelve el número de aristas de salida de un vértice, igual que {@link #getGrado(Vertice)}.
+     * @param vertice el vértice.
+     * @return el grado de salida.
+     * @throws NullPointerException si el vértice no existía en la versión de la instantánea.
+     */
+    @Override
+    public int getGradoSalida(Vertice vertice) {
+        return getGrado(vertice);
+    }
+
+    /**
+     * Devuelve el número de aristas que llegaban a un vértice en la versión de la instantánea.
+     * @param vertice el vértice.
+     * @return el grado de entrada.
+     * @throws NullPointerException si el vértice no existía en la versión de la instantánea.
+     */
+    @Override
+    public int getGradoEntrada(Vertice vertice) {
+        GrafoConcurrente.Nodo nodo = nodo(vertice);
+        return (isEsDirigido() ? nodo.entrantes : nodo.salientes).contar(version);
+    }
+
+    /**
+     * Devuelve un conjunto de vértices adyacentes a un vértice dado.
+     * @param vertice el vértice.
+     * @return un conjunto de vértices adyacentes al vértice dado.
+     * @throws NullPointerException si el vértice no existía en la versión de la instantánea.
+     */
+    @Override
+    public Set<Vertice> getAdyacentes(Vertice vertice) {
+        return nodo(vertice).salientes.destinos(version);
+    }
+
+    /**
+     * Devuelve un conjunto de vértices que tienen una arista hacia un vértice dado.
+     * @param vertice el vértice.
+     * @return un conjunto de vértices predecesores del vértice dado.
+     * @throws NullPointerException si el vértice no existía en la versión de la instantánea.
+     */
+    @Override
+    public Set<Vertice> getPredecesores(Vertice vertice) {
+        if (!isEsDirigido()) {
+            return getAdyacentes(vertice);
+        }
+        return nodo(vertice).entrantes.origenes(version);
+    }
+
+    /**
+     * Devuelve las aristas de salida de un vértice.
+     * @param vertice el vértice.
+     * @return una lista con las aristas de salida.
+     * @throws NullPointerException si el vértice no existía en la versión de la instantánea.
+     */
+    public List<Arista> getAristas(Vertice vertice) {
+        return nodo(vertice).salientes.copiar(version);
+    }
+
+    /**
+     * Indica si había una arista entre dos vértices.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return true si existía la arista, false en caso contrario o si el origen no existía.
+     */
+    @Override
+    public boolean hasArista(Vertice origen, Vertice destino) {
+        comprobarAbierta();
+        GrafoConcurrente.Nodo nodo = grafo.nodo(origen, version);
+        return nodo != null && nodo.salientes.buscar(destino, version) != null;
+    }
+
+    /**
+     * Devuelve el peso de la arista entre dos vértices, o el de una cualquiera de las aristas paralelas.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return el peso de la arista.
+     * @throws NullPointerException si el origen no existía en la versión de la instantánea.
+     * @throws IllegalArgumentException si no había ninguna arista entre los vértices.
+     */
+    @Override
+    public double getPeso(Vertice origen, Vertice destino) {
+        Arista arista = nodo(origen).salientes.buscar(destino, version);
+        if (arista == null) {
+            throw new IllegalArgumentException("No existe una arista de " + origen + " a " + destino);
+        }
+        return arista.getPeso();
+    }
+
+    /**
+     * Devuelve el número de aristas de salida de un vértice.
+     * @param vertice el vértice.
+     * @return el grado de salida.
+     * @throws NullPointerException si el vértice no existía en la versión de la instantánea.
+     */
+    public int getGrado(Vertice vertice) {
+        return nodo(vertice).salientes.contar(version);
+    }
+
+    /**
+     * Devuelve una copia del mapa de adyacencia en la versión de la instantánea.
+     * @return una copia del mapa de adyacencia.
+     */
+    @Override
+    public Map<Vertice, Set<Arista>> getAdyacencias() {
+        comprobarAbierta();
+        return grafo.copiarAdyacencias(version);
+    }
+
+    /**
+     * Libera la versión fijada para que el grafo pueda eliminar lo que solo veía esta instantánea.
+     * Llamarlo más de una vez no tiene efecto.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (cerrada) {
+                return;
+            }
+            cerrada = true;
+        }
+        grafo.liberar(version);
+    }
+
+    /**
+     * Operación no soportada: la instantánea es de solo lectura.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override
+    public void addVertice(Vertice vertice) {
+        throw new UnsupportedOperationException("Una instantánea del grafo es de solo lectura");
+    }
+
+    /**
+     * Operación no soportada: la instantánea es de solo lectura.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override
+    public void addAristaPeso(Vertice origen, Vertice destino, double peso) {
+        throw new UnsupportedOperationException("Una instantánea del grafo es de solo lectura");
+    }
+
+    /**
+     * Operación no soportada: la instantánea es de solo lectura.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override
+    public void deleteArista(Vertice origen, Vertice destino) {
+        throw new UnsupportedOperationException("Una instantánea del grafo es de solo lectura");
+    }
+
+    /**
+     * Operación no soportada: la instantánea es de solo lectura.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override
+    public void deleteVertice(Vertice vertice) {
+        throw new UnsupportedOperationException("Una instantánea del grafo es de solo lectura");
+    }
+
+    /**
+     * Operación no soportada: la instantánea es de solo lectura.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override
+    public void setPeso(Vertice origen, Vertice destino, double peso) {
+        throw new UnsupportedOperationException("Una instantánea del grafo es de solo lectura");
+    }
+
+    /**
+     * Operación no soportada: la instantánea es de solo lectura.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override
+    public void deleteVertices(Collection<Vertice> vertices) {
+        throw new UnsupportedOperationException("Una instantánea del grafo es de solo lectura");
+    }
+
+    /**
+     * Operación no soportada: la instantánea es de solo lectura.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override
+    public Vertice renombrarVertice(Vertice vertice, String nuevoId) {
+        throw new UnsupportedOperationException("Una instantánea del grafo es de solo lectura");
+    }
+
+    /**
+     * Operación no soportada: la instantánea es de solo lectura.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override
+    void aplicarLote(ConstructorGrafo lote) {
+        throw new UnsupportedOperationException("Una instantánea del grafo es de solo lectura");
+    }
+
+    private GrafoConcurrente.Nodo nodo(Vertice vertice) {
+        comprobarAbierta();
+        GrafoConcurrente.Nodo nodo = grafo.nodo(vertice, version);
+        if (nodo == null) {
+            throw new NullPointerException("El vértice " + vertice + " no existe en la instantánea");
+        }
+        return nodo;
+    }
+
+    private void comprobarAbierta() {
+        if (cerrada) {
+            throw new IllegalStateException("La instantánea del grafo ya está cerrada");
+        }
+    }
+}
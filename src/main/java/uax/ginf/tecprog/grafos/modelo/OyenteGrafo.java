@@ -0,0 +1,64 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+/**
+ * Recibe los cambios de un {@link GrafoAbstracto} en el momento en que se aplican, para que las estructuras
+ * derivadas (índices, cachés, algoritmos incrementales) se actualicen sin recalcularse por completo.
+ * Se registra con {@link GrafoAbstracto#addOyente(OyenteGrafo)}. Todos los métodos tienen una implementación
+ * vacía, de modo que cada oyente solo sobrescribe los cambios que le interesan.
+ * <p>
+ * Cada aviso llega después de aplicar el cambio y antes de que el método del grafo devuelva el control.
+ * El oyente no debe modificar el grafo desde un aviso. En un {@link GrafoConcurrente} los avisos pueden
+ * llegar desde varios hilos a la vez, así que el oyente debe ser seguro para hilos.
+ */
+public interface OyenteGrafo {
+
+    /**
+     * Se invoca al añadir un vértice que no estaba en el grafo.
+     * @param vertice el vértice añadido.
+     */
+    default void verticeAnadido(Vertice vertice) {
+    }
+
+    /**
+     * Se invoca al eliminar un vértice, después de eliminar todas sus aristas. No se avisa de cada una de
+     * esas aristas por separado.
+     * @param vertice el vértice eliminado.
+     */
+    default void verticeEliminado(Vertice vertice) {
+    }
+
+    /**
+     * Se invoca al cambiar el id de un vértice con {@link GrafoAbstracto#renombrarVertice(Vertice, String)}.
+     * @param vertice el vértice que sustituye al renombrado, con el nuevo id. El anterior no cambia.
+     * @param idAnterior el id que tenía.
+     */
+    default void verticeRenombrado(Vertice vertice, String idAnterior) {
+    }
+
+    /**
+     * Se invoca al añadir una arista. Si el grafo no es un multigrafo y la arista ya existía, solo ha
+     * cambiado su peso.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @param peso el peso de la arista.
+     */
+    default void aristaAnadida(Vertice origen, Vertice destino, double peso) {
+    }
+
+    /**
+     * Se invoca al eliminar las aristas entre dos vértices, si había alguna.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     */
+    default void aristaEliminada(Vertice origen, Vertice destino) {
+    }
+
+    /**
+     * Se invoca al cambiar el peso de las aristas entre dos vértices con {@link GrafoAbstracto#setPeso(Vertice, Vertice, double)}.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @param peso el nuevo peso.
+     */
+    default void pesoCambiado(Vertice origen, Vertice destino, double peso) {
+    }
+}
@@ -5,6 +5,8 @@ import java.util.Objects;
 /**
  * La clase Vertice representa un vértice en un grafo.
  * Cada vértice tiene un identificador único y un dato asociado.
+ * Dos vértices son iguales si tienen el mismo identificador; el dato no interviene ni en la igualdad ni
+ * en el hashcode, así que puede cambiarse aunque el vértice esté en un grafo o en un mapa.
  */
 public class Vertice {
     private String id; // Identificador único para el vértice
@@ -34,12 +36,12 @@ public class Vertice {
     }
 
     /**
-     * Genera un hashcode para este vértice.
+     * Genera un hashcode para este vértice a partir de su identificador, igual que equals.
      * @return El hashcode.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(id, dato);
+        return Objects.hashCode(id);
     }
 
     /**
@@ -63,7 +65,9 @@ public class Vertice {
     }
 
     /**
-     * Establece el identificador de este vértice.
+     * Establece el identificador de este vértice. No debe usarse con un vértice que está en un {@link Grafo}
+     * o en una {@link GrafoCSR}, que lo buscan por su id: {@link Grafo#renombrarVertice(Vertice, String)}
+     * lo sustituye en el grafo por otro vértice con el nuevo id.
      * @param id El nuevo identificador.
      */
     public void setId(String id) {
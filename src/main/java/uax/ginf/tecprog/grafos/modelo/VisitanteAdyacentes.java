@@ -0,0 +1,16 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+/**
+ * Función que recibe, una a una, las aristas de un vértice como vértice vecino y peso, para recorrer
+ * las adyacencias de un {@link Grafo} sin copiarlas en conjuntos ni crear objetos {@link Arista}.
+ */
+@FunctionalInterface
+public interface VisitanteAdyacentes {
+
+    /**
+     * Se invoca una vez por cada arista del vértice recorrido; en un multigrafo, una vez por cada arista paralela.
+     * @param vecino el vértice del otro extremo de la arista.
+     * @param peso el peso de la arista.
+     */
+    void visitar(Vertice vecino, double peso);
+}
@@ -0,0 +1,16 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+/**
+ * Función que recibe, una a una, las aristas de salida de un vértice como índice de destino y peso,
+ * para recorrer las adyacencias sin crear objetos {@link Arista}.
+ */
+@FunctionalInterface
+public interface VisitanteVecinos {
+
+    /**
+     * Se invoca una vez por cada arista de salida del vértice recorrido.
+     * @param destino el índice del vértice de destino.
+     * @param peso el peso de la arista.
+     */
+    void visitar(int destino, double peso);
+}
@@ -0,0 +1,114 @@
+package uax.ginf.tecprog.grafos.util;
+
+import java.util.Arrays;
+
+/**
+ * Diccionario que asigna a cada clave long un índice denso, 0, 1, 2..., en orden de primera aparición.
+ * Es una tabla hash de direccionamiento abierto con sondeo lineal sobre arreglos primitivos, de modo que
+ * no crea un objeto por clave como haría un HashMap&lt;Long, Integer&gt;.
+ */
+public class DiccionarioEnteros {
+    private static final int LIBRE = -1; // Marca de casilla vacía en la tabla
+
+    private int[] tabla; // Índice almacenado en cada casilla, o LIBRE
+    private long[] claves; // Clave de cada índice, en orden de inserción
+    private int tamanio; // Número de claves distintas
+    private int mascara; // Máscara para reducir el hash al tamaño de la tabla
+
+    /**
+     * Constructor para un diccionario vacío.
+     * @param capacidadInicial el número de claves que se espera almacenar.
+     */
+    public DiccionarioEnteros(int capacidadInicial) {
+        int capacidad = Integer.highestOneBit(Math.max(8, capacidadInicial * 2 - 1)) << 1;
+        this.tabla = new int[capacidad];
+        this.claves = new long[Math.max(8, capacidadInicial)];
+        this.mascara = capacidad - 1;
+        Arrays.fill(tabla, LIBRE);
+    }
+
+    /**
+     * Devuelve el índice de una clave, asignándole el siguiente índice libre si no estaba.
+     * @param clave la clave.
+     * @return su índice.
+     */
+    public int indice(long clave) {
+        int casilla = dispersar(clave) & mascara;
+        while (true) {
+            int indice = tabla[casilla];
+            if (indice == LIBRE) {
+                break;
+            }
+            if (claves[indice] == clave) {
+                return indice;
+            }
+            casilla = (casilla + 1) & mascara;
+        }
+        if (tamanio == claves.length) {
+            claves = Arrays.copyOf(claves, tamanio + (tamanio >> 1));
+        }
+        claves[tamanio] = clave;
+        tabla[casilla] = tamanio;
+        if (++tamanio * 2 > tabla.length) {   // Factor de carga máximo de 1/2
+            redimensionar();
+        }
+        return tamanio - 1;
+    }
+
+    /**
+     * Busca el índice de una clave sin insertarla.
+     * @param clave la clave.
+     * @return su índice, o -1 si no está en el diccionario.
+     */
+    public int buscar(long clave) {
+        for (int casilla = dispersar(clave) & mascara; tabla[casilla] != LIBRE; casilla = (casilla + 1) & mascara) {
+            if (claves[tabla[casilla]] == clave) {
+                return tabla[casilla];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Devuelve la clave asociada a un índice.
+     * @param indice el índice, entre 0 y getTamanio()-1.
+     * @return la clave.
+     */
+    public long getClave(int indice) {
+        return claves[indice];
+    }
+
+    /**
+     * Devuelve el número de claves distintas del diccionario.
+     * @return el número de claves.
+     */
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    private void redimensionar() {
+        tabla = new int[tabla.length * 2];
+        mascara = tabla.length - 1;
+        Arrays.fill(tabla, LIBRE);
+        for (int indice = 0; indice < tamanio; indice++) {
+            int casilla = dispersar(claves[indice]) & mascara;
+            while (tabla[casilla] != LIBRE) {
+                casilla = (casilla + 1) & mascara;
+            }
+            tabla[casilla] = indice;
+        }
+    }
+
+    /**
+     * Mezcla los bits de la clave (finalizador de MurmurHash3) para que claves consecutivas no
+     * ocupen casillas consecutivas.
+     */
+    private static int dispersar(long clave) {
+        clave ^= clave >>> 33;
+        clave *= 0xff51afd7ed558ccdL;
+        clave ^= clave >>> 33;
+        clave *= 0xc4ceb9fe1a85ec53L;
+        clave ^= clave >>> 33;
+        return (int) clave;
+    }
+}
@@ -0,0 +1,243 @@
+package uax.ginf.tecprog.grafos.util;
+
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.Arrays;
+
+/**
+ * Diccionario que asigna a cada vértice, identificado por su id, un índice denso. Guarda en columnas
+ * paralelas el id y el {@link Vertice} de cada índice, de modo que el resto de estructuras pueden trabajar
+ * solo con enteros y traducir a vértices al final.
+ * <p>
+ * Es una tabla hash de direccionamiento abierto con sondeo lineal que almacena índices, sin crear un
+ * objeto por entrada como haría un HashMap&lt;Vertice, Integer&gt;. Solo se calcula el hash del id, que
+ * String guarda en caché, así que el dato del vértice puede cambiar libremente. Los índices de los vértices
+ * eliminados se reutilizan, y renombrar un vértice solo mueve su entrada, sin cambiar su índice.
+ * <p>
+ * El diccionario nunca cambia el id de un {@link Vertice}: el mismo objeto puede estar en otros diccionarios
+ * o mapas, que dejarían de encontrarlo. Al renombrar se guarda en su lugar otro vértice con el nuevo id.
+ */
+public class DiccionarioVertices {
+    private static final int LIBRE = -1; // Marca de casilla vacía en la tabla
+
+    private int[] tabla; // Índice almacenado en cada casilla, o LIBRE
+    private String[] ids; // Id de cada índice, o null si el índice está libre
+    private Vertice[] vertices; // Vértice de cada índice, o null si el índice está libre
+    private int[] libres; // Índices de vértices eliminados, para reutilizarlos
+    private int numLibres; // Número de índices libres en la pila
+    private int limite; // Número de índices asignados alguna vez
+    private int tamanio; // Número de vértices
+    private int mascara; // Máscara para reducir el hash al tamaño de la tabla
+
+    /**
+     * Constructor para un diccionario vacío.
+     * @param capacidadInicial el número de vértices que se espera almacenar.
+     */
+    public DiccionarioVertices(int capacidadInicial) {
+        int capacidad = Integer.highestOneBit(Math.max(8, capacidadInicial * 2 - 1)) << 1;
+        this.tabla = new int[capacidad];
+        this.ids = new String[Math.max(8, capacidadInicial)];
+        this.vertices = new Vertice[ids.length];
+        this.libres = new int[8];
+        this.mascara = capacidad - 1;
+        Arrays.fill(tabla, LIBRE);
+    }
+
+    /**
+     * Crea un diccionario en el que cada vértice de un arreglo recibe su posición como índice.
+     * @param vertices los vértices, sin ids repetidos.
+     * @return el diccionario.
+     * @throws IllegalArgumentException si hay dos vértices con el mismo id.
+     */
+    public static DiccionarioVertices desde(Vertice[] vertices) {
+        DiccionarioVertices diccionario = new DiccionarioVertices(vertices.length);
+        for (Vertice vertice : vertices) {
+            diccionario.anadir(vertice);
+        }
+        return diccionario;
+    }
+
+    /**
+     * Añade un vértice y le asigna un índice, reutilizando el de algún vértice eliminado si lo hay.
+     * @param vertice el vértice.
+     * @return su índice.
+     * @throws IllegalArgumentException si ya hay un vértice con el mismo id.
+     */
+    public int anadir(Vertice vertice) {
+        String id = vertice.getId();
+        int casilla = casillaLibre(id);
+        int indice;
+        if (numLibres > 0) {
+            indice = libres[--numLibres];
+        } else {
+            if (limite == ids.length) {
+                int capacidad = limite + (limite >> 1);
+                ids = Arrays.copyOf(ids, capacidad);
+                vertices = Arrays.copyOf(vertices, capacidad);
+            }
+            indice = limite++;
+        }
+        ids[indice] = id;
+        vertices[indice] = vertice;
+        tabla[casilla] = indice;
+        if (++tamanio * 2 > tabla.length) {   // Factor de carga máximo de 1/2
+            redimensionar();
+        }
+        return indice;
+    }
+
+    /**
+     * Busca el índice de un id.
+     * @param id el id del vértice.
+     * @return su índice, o -1 si no está en el diccionario.
+     */
+    public int buscar(String id) {
+        int casilla = buscarCasilla(id);
+        return casilla >= 0 ? tabla[casilla] : -1;
+    }
+
+    /**
+     * Elimina un vértice. Su índice queda libre para el siguiente vértice que se añada.
+     * @param id el id del vértice.
+     * @return el índice que tenía, o -1 si no estaba en el diccionario.
+     */
+    public int quitar(String id) {
+        int casilla = buscarCasilla(id);
+        if (casilla < 0) {
+            return -1;
+        }
+        int indice = tabla[casilla];
+        borrarCasilla(casilla);
+        ids[indice] = null;
+        vertices[indice] = null;
+        if (numLibres == libres.length) {
+            libres = Arrays.copyOf(libres, numLibres * 2);
+        }
+        libres[numLibres++] = indice;
+        return indice;
+    }
+
+    /**
+     * Sustituye el vértice de un índice por otro con un id distinto, sin cambiar el índice. El vértice
+     * anterior no se modifica.
+     * @param indice el índice del vértice.
+     * @param nuevo el vértice que ocupa el índice a partir de ahora, con el nuevo id.
+     * @throws IllegalArgumentException si ya hay otro vértice con el nuevo id.
+     */
+    public void renombrar(int indice, Vertice nuevo) {
+        String nuevoId = nuevo.getId();
+        if (!nuevoId.equals(ids[indice])) {
+            casillaLibre(nuevoId);  // Comprueba que el nuevo id está libre antes de tocar nada
+            borrarCasilla(buscarCasilla(ids[indice]));
+            tabla[casillaLibre(nuevoId)] = indice;  // El borrado puede haber movido entradas: se busca de nuevo
+            tamanio++;
+            ids[indice] = nuevoId;
+        }
+        vertices[indice] = nuevo;
+    }
+
+    /**
+     * Devuelve el vértice asociado a un índice.
+     * @param indice el índice, entre 0 y getLimite()-1.
+     * @return el vértice, o null si el índice está libre.
+     */
+    public Vertice getVertice(int indice) {
+        return vertices[indice];
+    }
+
+    /**
+     * Devuelve el id asociado a un índice.
+     * @param indice el índice, entre 0 y getLimite()-1.
+     * @return el id, o null si el índice está libre.
+     */
+    public String getId(int indice) {
+        return ids[indice];
+    }
+
+    /**
+     * Devuelve el número de vértices del diccionario.
+     * @return el número de vértices.
+     */
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    /**
+     * Devuelve una cota de los índices asignados: todos están entre 0 y getLimite()-1, aunque alguno puede
+     * estar libre.
+     * @return el número de índices asignados alguna vez.
+     */
+    public int getLimite() {
+        return limite;
+    }
+
+    private int buscarCasilla(String id) {
+        for (int casilla = dispersar(id) & mascara; tabla[casilla] != LIBRE; casilla = (casilla + 1) & mascara) {
+            if (ids[tabla[casilla]].equals(id)) {
+                return casilla;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Devuelve la casilla vacía en la que se insertaría un id.
+     * @throws IllegalArgumentException si el id ya está en el diccionario.
+     */
+    private int casillaLibre(String id) {
+        int casilla = dispersar(id) & mascara;
+        while (tabla[casilla] != LIBRE) {
+            if (ids[tabla[casilla]].equals(id)) {
+                throw new IllegalArgumentException("Ya existe un vértice con el id " + id);
+            }
+            casilla = (casilla + 1) & mascara;
+        }
+        return casilla;
+    }
+
+    /**
+     * Vacía una casilla y desplaza hacia atrás las entradas siguientes del tramo que ya no serían
+     * alcanzables desde su casilla ideal, igual que {@link MapaPesos}.
+     */
+    private void borrarCasilla(int hueco) {
+        int casilla = hueco;
+        while (true) {
+            casilla = (casilla + 1) & mascara;
+            if (tabla[casilla] == LIBRE) {
+                break;
+            }
+            int ideal = dispersar(ids[tabla[casilla]]) & mascara;
+            boolean seQueda = hueco <= casilla ? hueco < ideal && ideal <= casilla : hueco < ideal || ideal <= casilla;
+            if (!seQueda) {
+                tabla[hueco] = tabla[casilla];
+                hueco = casilla;
+            }
+        }
+        tabla[hueco] = LIBRE;
+        tamanio--;
+    }
+
+    private void redimensionar() {
+        tabla = new int[tabla.length * 2];
+        mascara = tabla.length - 1;
+        Arrays.fill(tabla, LIBRE);
+        for (int indice = 0; indice < limite; indice++) {
+            if (ids[indice] != null) {
+                int casilla = dispersar(ids[indice]) & mascara;
+                while (tabla[casilla] != LIBRE) {
+                    casilla = (casilla + 1) & mascara;
+                }
+                tabla[casilla] = indice;
+            }
+        }
+    }
+
+    /**
+     * Mezcla los bits del hash del id (hash multiplicativo de Fibonacci), porque String.hashCode deja
+     * ids parecidos, como "v1" y "v2", en casillas consecutivas.
+     */
+    private static int dispersar(String id) {
+        int h = id.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,237 @@
+package uax.ginf.tecprog.grafos.util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de claves int a valores double, pensado para guardar las aristas de un vértice como índice de destino
+ * y peso. Es una tabla hash de direccionamiento abierto con sondeo lineal sobre dos arreglos primitivos:
+ * buscar, insertar, cambiar y borrar una clave cuestan O(1) de media, sin crear ningún objeto por entrada.
+ * <p>
+ * Admite claves repetidas si se insertan con {@link #anadir(int, double)}, que es lo que usan los multigrafos
+ * para las aristas paralelas; las entradas con la misma clave quedan en el mismo tramo de la tabla. Los
+ * borrados desplazan hacia atrás las entradas siguientes en lugar de dejar marcas, de modo que la tabla no
+ * se degrada con los borrados. Se puede recorrer por casillas, entre 0 y getCapacidad()-1, saltando las libres.
+ */
+public class MapaPesos {
+    public static final int LIBRE = -1; // Marca de casilla vacía; las claves deben ser no negativas
+
+    private int[] claves; // Clave de cada casilla, o LIBRE
+    private double[] valores; // Valor de cada casilla
+    private int tamanio; // Número de entradas
+    private int mascara; // Máscara para reducir el hash al tamaño de la tabla
+
+    /**
+     * Constructor para un mapa vacío con la capacidad mínima.
+     */
+    public MapaPesos() {
+        this(2);
+    }
+
+    /**
+     * Constructor para un mapa vacío.
+     * @param capacidadInicial el número de entradas que se espera almacenar.
+     */
+    public MapaPesos(int capacidadInicial) {
+        int capacidad = Integer.highestOneBit(Math.max(2, capacidadInicial * 4 / 3 + 1) * 2 - 1);
+        this.claves = new int[capacidad];
+        this.valores = new double[capacidad];
+        this.mascara = capacidad - 1;
+        Arrays.fill(claves, LIBRE);
+    }
+
+    /**
+     * Asigna un valor a una clave, sustituyendo el anterior si ya estaba.
+     * Si la clave estaba repetida, solo cambia la primera entrada.
+     * @param clave la clave, no negativa.
+     * @param valor el valor.
+     * @return true si la clave no estaba en el mapa.
+     */
+    public boolean poner(int clave, double valor) {
+        int casilla = buscarCasilla(clave);
+        if (casilla >= 0) {
+            valores[casilla] = valor;
+            return false;
+        }
+        anadir(clave, valor);
+        return true;
+    }
+
+    /**
+     * Inserta una entrada nueva aunque la clave ya esté en el mapa.
+     * @param clave la clave, no negativa.
+     * @param valor el valor.
+     */
+    public void anadir(int clave, double valor) {
+        if ((tamanio + 1) * 4 > claves.length * 3) {   // Factor de carga máximo de 3/4
+            redimensionar(claves.length * 2);
+        }
+        int casilla = dispersar(clave) & mascara;
+        while (claves[casilla] != LIBRE) {
+            casilla = (casilla + 1) & mascara;
+        }
+        claves[casilla] = clave;
+        valores[casilla] = valor;
+        tamanio++;
+    }
+
+    /**
+     * Indica si una clave está en el mapa.
+     * @param clave la clave.
+     * @return true si está, false en caso contrario.
+     */
+    public boolean contiene(int clave) {
+        return buscarCasilla(clave) >= 0;
+    }
+
+    /**
+     * Devuelve el valor de una clave. Si la clave está repetida, devuelve el de una cualquiera de sus entradas.
+     * @param clave la clave.
+     * @param porDefecto el valor que se devuelve si la clave no está.
+     * @return el valor asociado a la clave, o porDefecto.
+     */
+    public double obtener(int clave, double porDefecto) {
+        int casilla = buscarCasilla(clave);
+        return casilla >= 0 ? valores[casilla] : porDefecto;
+    }
+
+    /**
+     * Cambia el valor de todas las entradas de una clave.
+     * @param clave la clave.
+     * @param valor el nuevo valor.
+     * @return el número de entradas cambiadas.
+     */
+    public int cambiar(int clave, double valor) {
+        int cambiadas = 0;
+        for (int casilla = dispersar(clave) & mascara; claves[casilla] != LIBRE; casilla = (casilla + 1) & mascara) {
+            if (claves[casilla] == clave) {
+                valores[casilla] = valor;
+                cambiadas++;
+            }
+        }
+        return cambiadas;
+    }
+
+    /**
+     * Cuenta las entradas de una clave.
+     * @param clave la clave.
+     * @return el número de entradas con esa clave.
+     */
+    public int contar(int clave) {
+        int total = 0;
+        for (int casilla = dispersar(clave) & mascara; claves[casilla] != LIBRE; casilla = (casilla + 1) & mascara) {
+            if (claves[casilla] == clave) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Elimina todas las entradas de una clave.
+     * @param clave la clave.
+     * @return el número de entradas eliminadas.
+     */
+    public int quitar(int clave) {
+        int quitadas = 0;
+        for (int casilla = buscarCasilla(clave); casilla >= 0; casilla = buscarCasilla(clave)) {
+            borrarCasilla(casilla);
+            quitadas++;
+        }
+        return quitadas;
+    }
+
+    /**
+     * Devuelve el número de entradas del mapa.
+     * @return el número de entradas.
+     */
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    /**
+     * Devuelve el número de casillas de la tabla, para recorrerla con {@link #getClave(int)}.
+     * @return el número de casillas.
+     */
+    public int getCapacidad() {
+        return claves.length;
+    }
+
+    /**
+     * Devuelve la clave guardada en una casilla.
+     * @param casilla la casilla, entre 0 y getCapacidad()-1.
+     * @return la clave, o LIBRE si la casilla está vacía.
+     */
+    public int getClave(int casilla) {
+        return claves[casilla];
+    }
+
+    /**
+     * Devuelve el valor guardado en una casilla ocupada.
+     * @param casilla la casilla, entre 0 y getCapacidad()-1.
+     * @return el valor.
+     */
+    public double getValor(int casilla) {
+        return valores[casilla];
+    }
+
+    private int buscarCasilla(int clave) {
+        for (int casilla = dispersar(clave) & mascara; claves[casilla] != LIBRE; casilla = (casilla + 1) & mascara) {
+            if (claves[casilla] == clave) {
+                return casilla;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Vacía una casilla y desplaza hacia atrás las entradas siguientes del tramo que ya no serían
+     * alcanzables desde su casilla ideal.
+     */
+    private void borrarCasilla(int hueco) {
+        int casilla = hueco;
+        while (true) {
+            casilla = (casilla + 1) & mascara;
+            if (claves[casilla] == LIBRE) {
+                break;
+            }
+            int ideal = dispersar(claves[casilla]) & mascara;
+            // La entrada puede quedarse si su casilla ideal está en el tramo circular (hueco, casilla]
+            boolean seQueda = hueco <= casilla ? hueco < ideal && ideal <= casilla : hueco < ideal || ideal <= casilla;
+            if (!seQueda) {
+                claves[hueco] = claves[casilla];
+                valores[hueco] = valores[casilla];
+                hueco = casilla;
+            }
+        }
+        claves[hueco] = LIBRE;
+        tamanio--;
+    }
+
+    private void redimensionar(int capacidad) {
+        int[] clavesAnteriores = claves;
+        double[] valoresAnteriores = valores;
+        claves = new int[capacidad];
+        valores = new double[capacidad];
+        mascara = capacidad - 1;
+        Arrays.fill(claves, LIBRE);
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (clavesAnteriores[i] != LIBRE) {
+                int casilla = dispersar(clavesAnteriores[i]) & mascara;
+                while (claves[casilla] != LIBRE) {
+                    casilla = (casilla + 1) & mascara;
+                }
+                claves[casilla] = clavesAnteriores[i];
+                valores[casilla] = valoresAnteriores[i];
+            }
+        }
+    }
+
+    /**
+     * Mezcla los bits de la clave (hash multiplicativo de Fibonacci) para que índices consecutivos no
+     * ocupen casillas consecutivas.
+     */
+    private static int dispersar(int clave) {
+        int h = clave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,171 @@
+package uax.ginf.tecprog.grafos.util;
+
+import java.util.Arrays;
+
+/**
+ * Montículo de mínimos d-ario indexado por enteros, con claves double primitivas.
+ * Cada elemento es un índice entre 0 y capacidad-1 (normalmente el índice denso de un vértice)
+ * y aparece como mucho una vez, lo que permite disminuir su clave en O(log_d n) en lugar de
+ * insertar duplicados. No crea objetos después del constructor.
+ */
+public class MonticuloIndexado {
+    private final int aridad; // Número de hijos de cada nodo
+    private final int[] monticulo; // Elemento que ocupa cada posición del montículo
+    private final int[] posiciones; // Posición de cada elemento en el montículo, o -1 si no está
+    private final double[] claves; // Clave actual de cada elemento
+    private int tamanio; // Número de elementos en el montículo
+
+    /**
+     * Constructor para un montículo cuaternario.
+     * @param capacidad el número de elementos distintos que puede contener.
+     */
+    public MonticuloIndexado(int capacidad) {
+        this(capacidad, 4);
+    }
+
+    /**
+     * Constructor para un montículo de aridad arbitraria.
+     * @param capacidad el número de elementos distintos que puede contener.
+     * @param aridad el número de hijos de cada nodo (al menos 2).
+     */
+    public MonticuloIndexado(int capacidad, int aridad) {
+        if (aridad < 2) {
+            throw new IllegalArgumentException("La aridad del montículo debe ser al menos 2");
+        }
+        this.aridad = aridad;
+        this.monticulo = new int[capacidad];
+        this.posiciones = new int[capacidad];
+        this.claves = new double[capacidad];
+        Arrays.fill(posiciones, -1);
+    }
+
+    /**
+     * Indica si el montículo está vacío.
+     * @return true si no contiene elementos, false en caso contrario.
+     */
+    public boolean estaVacio() {
+        return tamanio == 0;
+    }
+
+    /**
+     * Devuelve el número de elementos del montículo.
+     * @return el número de elementos.
+     */
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    /**
+     * Indica si un elemento está en el montículo.
+     * @param elemento el elemento.
+     * @return true si está, false en caso contrario.
+     */
+    public boolean contiene(int elemento) {
+        return posiciones[elemento] >= 0;
+    }
+
+    /**
+     * Devuelve la clave de un elemento que está en el montículo.
+     * @param elemento el elemento.
+     * @return su clave.
+     */
+    public double getClave(int elemento) {
+        return claves[elemento];
+    }
+
+    /**
+     * Inserta un elemento o, si ya está, disminuye su clave cuando la nueva es menor.
+     * @param elemento el elemento.
+     * @param clave la nueva clave.
+     * @return true si el elemento se insertó o su clave disminuyó, false si se mantuvo la anterior.
+     */
+    public boolean insertarODisminuir(int elemento, double clave) {
+        int posicion = posiciones[elemento];
+        if (posicion < 0) {
+            posicion = tamanio++;
+        } else if (clave >= claves[elemento]) {
+            return false;
+        }
+        claves[elemento] = clave;
+        subir(elemento, posicion);
+        return true;
+    }
+
+    /**
+     * Devuelve el elemento de menor clave sin extraerlo.
+     * @return el elemento de menor clave.
+     */
+    public int getMinimo() {
+        return monticulo[0];
+    }
+
+    /**
+     * Extrae el elemento de menor clave.
+     * @return el elemento extraído.
+     */
+    public int extraerMinimo() {
+        int minimo = monticulo[0];
+        posiciones[minimo] = -1;
+        int ultimo = monticulo[--tamanio];
+        if (tamanio > 0) {
+            bajar(ultimo, 0);
+        }
+        return minimo;
+    }
+
+    /**
+     * Vacía el montículo. Cuesta O(tamaño actual), no O(capacidad).
+     */
+    public void vaciar() {
+        for (int i = 0; i < tamanio; i++) {
+            posiciones[monticulo[i]] = -1;
+        }
+        tamanio = 0;
+    }
+
+    private void subir(int elemento, int posicion) {
+        double clave = claves[elemento];
+        while (posicion > 0) {
+            int padre = (posicion - 1) / aridad;
+            int elementoPadre = monticulo[padre];
+            if (claves[elementoPadre] <= clave) {
+                break;
+            }
+            monticulo[posicion] = elementoPadre;
+            posiciones[elementoPadre] = posicion;
+            posicion = padre;
+        }
+        monticulo[posicion] = elemento;
+        posiciones[elemento] = posicion;
+    }
+
+    private void bajar(int elemento, int posicion) {
+        double clave = claves[elemento];
+        while (true) {
+            int primerHijo = posicion * aridad + 1;
+            if (primerHijo >= tamanio) {
+                break;
+            }
+            // Buscar el hijo de menor clave
+            int mejor = primerHijo;
+            double claveMejor = claves[monticulo[primerHijo]];
+            int ultimoHijo = Math.min(primerHijo + aridad, tamanio);
+            for (int hijo = primerHijo + 1; hijo < ultimoHijo; hijo++) {
+                double claveHijo = claves[monticulo[hijo]];
+                if (claveHijo < claveMejor) {
+                    mejor = hijo;
+                    claveMejor = claveHijo;
+                }
+            }
+            if (claveMejor >= clave) {
+                break;
+            }
+            int elementoHijo = monticulo[mejor];
+            monticulo[posicion] = elementoHijo;
+            posiciones[elementoHijo] = posicion;
+            posicion = mejor;
+        }
+        monticulo[posicion] = elemento;
+        posiciones[elemento] = posicion;
+    }
+}
@@ -0,0 +1,96 @@
+package uax.ginf.tecprog.grafos.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ordenación de arreglos de índices según claves double primitivas, sin crear un objeto por elemento.
+ * Es una ordenación por mezcla estable que reparte las mitades entre los hilos de un ForkJoinPool,
+ * de modo que a igualdad de clave se conserva el orden de entrada.
+ */
+public final class OrdenacionParalela {
+    private static final int UMBRAL_SECUENCIAL = 8192; // Tamaño por debajo del cual se ordena en un solo hilo
+    private static final int UMBRAL_INSERCION = 32; // Tamaño por debajo del cual se usa inserción directa
+
+    private OrdenacionParalela() {
+    }
+
+    /**
+     * Ordena un arreglo de índices de forma que sus claves queden en orden creciente.
+     * @param indices los índices a ordenar; cada uno es una posición válida de claves.
+     * @param claves la clave de cada índice.
+     * @param pool el pool de hilos en el que se reparte el trabajo.
+     */
+    public static void ordenar(int[] indices, double[] claves, ForkJoinPool pool) {
+        if (indices.length < 2) {
+            return;
+        }
+        int[] auxiliar = indices.clone();
+        pool.invoke(new Tarea(auxiliar, indices, claves, 0, indices.length));
+    }
+
+    /**
+     * Ordena el tramo [desde, hasta) dejando el resultado en destino; origen tiene el mismo contenido
+     * que destino al empezar y se usa como espacio auxiliar.
+     */
+    private static final class Tarea extends RecursiveAction {
+        private final int[] origen;
+        private final int[] destino;
+        private final double[] claves;
+        private final int desde;
+        private final int hasta;
+
+        Tarea(int[] origen, int[] destino, double[] claves, int desde, int hasta) {
+            this.origen = origen;
+            this.destino = destino;
+            this.claves = claves;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL_SECUENCIAL) {
+                ordenarSecuencial(origen, destino, claves, desde, hasta);
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            // Cada mitad se ordena dentro de origen, usando destino como auxiliar, y luego se mezclan en destino
+            invokeAll(new Tarea(destino, origen, claves, desde, medio),
+                    new Tarea(destino, origen, claves, medio, hasta));
+            mezclar(origen, destino, claves, desde, medio, hasta);
+        }
+    }
+
+    private static void ordenarSecuencial(int[] origen, int[] destino, double[] claves, int desde, int hasta) {
+        if (hasta - desde <= UMBRAL_INSERCION) {
+            for (int i = desde + 1; i < hasta; i++) {
+                int elemento = destino[i];
+                double clave = claves[elemento];
+                int j = i - 1;
+                while (j >= desde && claves[destino[j]] > clave) {
+                    destino[j + 1] = destino[j];
+                    j--;
+                }
+                destino[j + 1] = elemento;
+            }
+            return;
+        }
+        int medio = (desde + hasta) >>> 1;
+        ordenarSecuencial(destino, origen, claves, desde, medio);
+        ordenarSecuencial(destino, origen, claves, medio, hasta);
+        mezclar(origen, destino, claves, desde, medio, hasta);
+    }
+
+    private static void mezclar(int[] origen, int[] destino, double[] claves, int desde, int medio, int hasta) {
+        int i = desde;
+        int j = medio;
+        for (int k = desde; k < hasta; k++) {
+            if (j >= hasta || (i < medio && claves[origen[i]] <= claves[origen[j]])) {
+                destino[k] = origen[i++];
+            } else {
+                destino[k] = origen[j++];
+            }
+        }
+    }
+}
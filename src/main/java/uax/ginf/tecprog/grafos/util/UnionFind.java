@@ -0,0 +1,108 @@
+package uax.ginf.tecprog.grafos.util;
+
+import java.util.Arrays;
+
+/**
+ * Estructura de conjuntos disjuntos (union-find) sobre índices enteros, con compresión de caminos
+ * por división a la mitad y unión por rango. Solo usa arreglos primitivos, que crecen si se añaden
+ * elementos con {@link #anadir()}.
+ * No es segura para varios hilos; para eso está {@link UnionFindConcurrente}.
+ */
+public class UnionFind {
+    private int[] padres; // Padre de cada elemento; las raíces son su propio padre
+    private byte[] rangos; // Cota superior de la altura de cada árbol
+    private int numElementos; // Número de elementos
+    private int numConjuntos; // Número de conjuntos disjuntos
+
+    /**
+     * Constructor que crea un conjunto por cada elemento.
+     * @param n el número de elementos.
+     */
+    public UnionFind(int n) {
+        this.padres = new int[n];
+        this.rangos = new byte[n];
+        for (int i = 0; i < n; i++) {
+            padres[i] = i;
+        }
+        this.numElementos = n;
+        this.numConjuntos = n;
+    }
+
+    /**
+     * Añade un elemento nuevo en un conjunto propio.
+     * @return el índice del elemento, que es el número de elementos que había antes.
+     */
+    public int anadir() {
+        if (numElementos == padres.length) {
+            int capacidad = Math.max(8, numElementos + (numElementos >> 1));
+            padres = Arrays.copyOf(padres, capacidad);
+            rangos = Arrays.copyOf(rangos, capacidad);
+        }
+        padres[numElementos] = numElementos;
+        numConjuntos++;
+        return numElementos++;
+    }
+
+    /**
+     * Devuelve el representante del conjunto de un elemento.
+     * @param elemento el elemento.
+     * @return la raíz de su conjunto.
+     */
+    public int buscar(int elemento) {
+        while (padres[elemento] != elemento) {
+            padres[elemento] = padres[padres[elemento]];   // Cada nodo pasa a apuntar a su abuelo
+            elemento = padres[elemento];
+        }
+        return elemento;
+    }
+
+    /**
+     * Une los conjuntos de dos elementos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return true si estaban en conjuntos distintos, false si ya estaban unidos.
+     */
+    public boolean unir(int a, int b) {
+        int raizA = buscar(a);
+        int raizB = buscar(b);
+        if (raizA == raizB) {
+            return false;
+        }
+        if (rangos[raizA] < rangos[raizB]) {    // El árbol más bajo cuelga del más alto
+            padres[raizA] = raizB;
+        } else if (rangos[raizA] > rangos[raizB]) {
+            padres[raizB] = raizA;
+        } else {
+            padres[raizB] = raizA;
+            rangos[raizA]++;
+        }
+        numConjuntos--;
+        return true;
+    }
+
+    /**
+     * Indica si dos elementos están en el mismo conjunto.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return true si están unidos, false en caso contrario.
+     */
+    public boolean estanUnidos(int a, int b) {
+        return buscar(a) == buscar(b);
+    }
+
+    /**
+     * Devuelve el número de elementos.
+     * @return el número de elementos.
+     */
+    public int getNumElementos() {
+        return numElementos;
+    }
+
+    /**
+     * Devuelve el número de conjuntos disjuntos.
+     * @return el número de conjuntos.
+     */
+    public int getNumConjuntos() {
+        return numConjuntos;
+    }
+}
@@ -0,0 +1,101 @@
+package uax.ginf.tecprog.grafos.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Estructura de conjuntos disjuntos que admite búsquedas y uniones simultáneas desde varios hilos
+ * sin bloqueos. Los padres se actualizan con compare-and-set: la compresión por división a la mitad
+ * es oportunista (si otro hilo cambió el padre, simplemente no se comprime) y una unión solo
+ * enlaza una raíz si sigue siendo raíz en el momento del CAS.
+ * Para mantener los árboles equilibrados sin rangos, se enlaza la raíz de menor prioridad bajo la
+ * de mayor, siendo la prioridad un hash del índice.
+ */
+public class UnionFindConcurrente {
+    private final AtomicIntegerArray padres; // Padre de cada elemento; las raíces son su propio padre
+
+    /**
+     * Constructor que crea un conjunto por cada elemento.
+     * @param n el número de elementos.
+     */
+    public UnionFindConcurrente(int n) {
+        this.padres = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            padres.set(i, i);
+        }
+    }
+
+    /**
+     * Devuelve el representante actual del conjunto de un elemento.
+     * Si otros hilos están uniendo conjuntos, el representante puede cambiar justo después.
+     * @param elemento el elemento.
+     * @return la raíz de su conjunto.
+     */
+    public int buscar(int elemento) {
+        int padre = padres.get(elemento);
+        while (padre != elemento) {
+            int abuelo = padres.get(padre);
+            if (abuelo != padre) {
+                padres.compareAndSet(elemento, padre, abuelo);
+            }
+            elemento = padre;
+            padre = abuelo;
+        }
+        return elemento;
+    }
+
+    /**
+     * Une los conjuntos de dos elementos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return true si este hilo ha realizado la unión, false si ya estaban unidos.
+     */
+    public boolean unir(int a, int b) {
+        while (true) {
+            int raizA = buscar(a);
+            int raizB = buscar(b);
+            if (raizA == raizB) {
+                return false;
+            }
+            if (menor(raizB, raizA)) {
+                int aux = raizA;
+                raizA = raizB;
+                raizB = aux;
+            }
+            // raizA tiene menor prioridad: se enlaza bajo raizB si nadie la ha enlazado antes
+            if (padres.compareAndSet(raizA, raizA, raizB)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Indica si dos elementos están en el mismo conjunto.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return true si están unidos, false en caso contrario.
+     */
+    public boolean estanUnidos(int a, int b) {
+        while (true) {
+            int raizA = buscar(a);
+            int raizB = buscar(b);
+            if (raizA == raizB) {
+                return true;
+            }
+            if (padres.get(raizA) == raizA) {   // Si raizA sigue siendo raíz, la respuesta es válida
+                return false;
+            }
+        }
+    }
+
+    private static boolean menor(int a, int b) {
+        int hashA = mezclar(a);
+        int hashB = mezclar(b);
+        return hashA < hashB || (hashA == hashB && a < b);
+    }
+
+    private static int mezclar(int x) {
+        x = (x ^ (x >>> 16)) * 0x45d9f3b;
+        x = (x ^ (x >>> 16)) * 0x45d9f3b;
+        return x ^ (x >>> 16);
+    }
+}
@@ -1,8 +1,12 @@
 package uax.ginf.tecprog.grafos.util;
 
-import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoAbstracto;
 import uax.ginf.tecprog.grafos.modelo.Vertice;
 
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Se ocupa de diversas validaciones sobre el grafo
  */
@@ -15,7 +19,7 @@ public class ValidadorGrafo {
      * @param vertice El vértice a buscar.
      * @return true si el vértice existe, false en caso contrario.
      */
-    public static boolean existeVertice(Grafo grafo, Vertice vertice) {
+    public static boolean existeVertice(GrafoAbstracto grafo, Vertice vertice) {
         return grafo.getAdyacencias().containsKey(vertice);
     }
 
@@ -25,9 +29,79 @@ public class ValidadorGrafo {
      * @param grafo El grafo a verificar.
      * @return true si el grafo está vacío, false si tiene al menos un vértice.
      */
-    public static boolean esGrafoVacio(Grafo grafo) {
+    public static boolean esGrafoVacio(GrafoAbstracto grafo) {
         return grafo.getAdyacencias().isEmpty();
     }
 
+    /**
+     * Verifica si hay un camino entre dos vértices sin tener en cuenta el sentido de las aristas.
+     * Hace una búsqueda en anchura desde el primero que se detiene al encontrar el segundo; para muchas
+     * consultas sobre el mismo grafo es mejor
+     * {@link uax.ginf.tecprog.grafos.algoritmos.ComponentesIncrementales}.
+     *
+     * @param grafo El grafo.
+     * @param a El primer vértice.
+     * @param b El segundo vértice.
+     * @return true si están conectados, false en caso contrario.
+     * @throws NullPointerException si alguno de los vértices no existe en el grafo.
+     */
+    public static boolean estanConectados(GrafoAbstracto grafo, Vertice a, Vertice b) {
+        if (!grafo.contieneVertice(b)) {
+            throw new NullPointerException("El vértice " + b + " no existe en el grafo");
+        }
+        Set<Vertice> visitados = new HashSet<>();
+        ArrayDeque<Vertice> cola = new ArrayDeque<>();
+        visitados.add(a);
+        cola.add(a);
+        while (!cola.isEmpty()) {
+            Vertice actual = cola.poll();
+            if (actual.equals(b)) {
+                return true;
+            }
+            grafo.recorrerAdyacentes(actual, (vecino, peso) -> {
+                if (visitados.add(vecino)) {
+                    cola.add(vecino);
+                }
+            });
+            if (grafo.isEsDirigido()) {
+                grafo.recorrerPredecesores(actual, (vecino, peso) -> {
+                    if (visitados.add(vecino)) {
+                        cola.add(vecino);
+                    }
+                });
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cuenta las componentes conexas del grafo, sin tener en cuenta el sentido de las aristas.
+     *
+     * @param grafo El grafo.
+     * @return el número de componentes; cada vértice aislado forma la suya.
+     */
+    public static int contarComponentes(GrafoAbstracto grafo) {
+        DiccionarioVertices diccionario = new DiccionarioVertices(grafo.getNumVertices());
+        for (Vertice vertice : grafo.getVertices()) {
+            diccionario.anadir(vertice);
+        }
+        UnionFind conjuntos = new UnionFind(diccionario.getLimite());
+        for (Vertice vertice : grafo.getVertices()) {
+            int origen = diccionario.buscar(vertice.getId());
+            grafo.recorrerAdyacentes(vertice, (vecino, peso) -> conjuntos.unir(origen, diccionario.buscar(vecino.getId())));
+        }
+        return conjuntos.getNumConjuntos();
+    }
+
+    /**
+     * Verifica si el grafo es conexo, sin tener en cuenta el sentido de las aristas. Un grafo vacío lo es.
+     *
+     * @param grafo El grafo.
+     * @return true si todos los vértices están en la misma componente.
+     */
+    public static boolean esConexo(GrafoAbstracto grafo) {
+        return contarComponentes(grafo) <= 1;
+    }
+
     // Aquí debes agregar más métodos
 }
@@ -0,0 +1,77 @@
+package uax.ginf.tecprog.grafos;
+
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Esta clase reúne los grafos aleatorios y las comprobaciones que comparten las pruebas unitarias.
+ */
+public final class GrafosPrueba {
+
+    private GrafosPrueba() {
+    }
+
+    /**
+     * Añade al grafo los vértices v0, v1, ... y los devuelve en ese orden.
+     */
+    public static Vertice[] addVertices(Grafo grafo, int numVertices) {
+        Vertice[] vertices = new Vertice[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            vertices[i] = new Vertice("v" + i, null);
+            grafo.addVertice(vertices[i]);
+        }
+        return vertices;
+    }
+
+    /**
+     * Añade aristas entre vértices elegidos al azar, con pesos enteros entre pesoMinimo y pesoMaximo.
+     * Si los dos son iguales no se sortea el peso.
+     */
+    public static void addAristasAleatorias(Grafo grafo, Vertice[] vertices, int numAristas,
+                                            int pesoMinimo, int pesoMaximo, Random random) {
+        for (int i = 0; i < numAristas; i++) {
+            Vertice origen = vertices[random.nextInt(vertices.length)];
+            Vertice destino = vertices[random.nextInt(vertices.length)];
+            int peso = pesoMinimo == pesoMaximo ? pesoMinimo : pesoMinimo + random.nextInt(pesoMaximo - pesoMinimo + 1);
+            grafo.addAristaPeso(origen, destino, peso);
+        }
+    }
+
+    /**
+     * Crea un grafo aleatorio con los vértices v0, v1, ... y numAristas aristas elegidas con la semilla dada.
+     */
+    public static Grafo aleatorio(boolean esDirigido, int numVertices, int numAristas,
+                                  int pesoMinimo, int pesoMaximo, long semilla) {
+        Grafo grafo = new Grafo(esDirigido);
+        addAristasAleatorias(grafo, addVertices(grafo, numVertices), numAristas, pesoMinimo, pesoMaximo,
+                new Random(semilla));
+        return grafo;
+    }
+
+    /**
+     * Suma los pesos de un camino, tomando en cada paso la arista más ligera entre vértices consecutivos.
+     * Un camino vacío mide infinito.
+     */
+    public static double longitud(GrafoCSR csr, List<Vertice> camino) {
+        if (camino.isEmpty()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double total = 0;
+        for (int i = 0; i + 1 < camino.size(); i++) {
+            int u = csr.getIndice(camino.get(i));
+            int w = csr.getIndice(camino.get(i + 1));
+            double minimo = Double.POSITIVE_INFINITY;
+            for (int a = csr.getInicio(u); a < csr.getFin(u); a++) {
+                if (csr.getDestino(a) == w) {
+                    minimo = Math.min(minimo, csr.getPeso(a));
+                }
+            }
+            total += minimo;
+        }
+        return total;
+    }
+}
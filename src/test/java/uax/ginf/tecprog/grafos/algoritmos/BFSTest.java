@@ -0,0 +1,155 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.GrafosPrueba;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.GrafoDirecto;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase BFS.
+ */
+class BFSTest {
+
+    /**
+     * Crea el camino dirigido v0 -> v1 -> v2 -> v3 más un atajo v0 -> v2 y un vértice aislado v4.
+     */
+    private Grafo crearGrafo(Vertice[] v) {
+        Grafo grafo = new Grafo(true);
+        for (int i = 0; i < v.length; i++) {
+            v[i] = new Vertice("v" + i, "dato");
+            grafo.addVertice(v[i]);
+        }
+        grafo.addArista(v[0], v[1]);
+        grafo.addArista(v[1], v[2]);
+        grafo.addArista(v[2], v[3]);
+        grafo.addArista(v[0], v[2]);
+        return grafo;
+    }
+
+    /**
+     * Prueba que las distancias y los padres corresponden a caminos mínimos en número de aristas.
+     */
+    @Test
+    void testDistanciasYPadres() {
+        Vertice[] v = new Vertice[5];
+        GrafoCSR csr = new GrafoCSR(crearGrafo(v));
+        BFS bfs = new BFS(csr);
+
+        bfs.ejecutar(v[0]);
+
+        assertEquals(0, bfs.getDistancia(csr.getIndice(v[0])));
+        assertEquals(1, bfs.getDistancia(csr.getIndice(v[1])));
+        assertEquals(1, bfs.getDistancia(csr.getIndice(v[2])));
+        assertEquals(2, bfs.getDistancia(csr.getIndice(v[3])));
+        assertEquals(-1, bfs.getDistancia(csr.getIndice(v[4])));
+        assertEquals(csr.getIndice(v[2]), bfs.getPadre(csr.getIndice(v[3])));
+        assertEquals(-1, bfs.getPadre(csr.getIndice(v[0])));
+        assertEquals(List.of(v[0], v[2], v[3]), bfs.getCamino(v[3]));
+        assertTrue(bfs.getCamino(v[4]).isEmpty());
+    }
+
+    /**
+     * Prueba que reutilizar la instancia desde otro origen no arrastra resultados de la búsqueda anterior.
+     */
+    @Test
+    void testReutilizacion() {
+        Vertice[] v = new Vertice[5];
+        GrafoCSR csr = new GrafoCSR(crearGrafo(v));
+        BFS bfs = new BFS(csr);
+
+        bfs.ejecutar(v[0]);
+        bfs.ejecutar(v[2]);
+
+        // Desde v2 solo se alcanza v3
+        assertFalse(bfs.esAlcanzable(csr.getIndice(v[0])));
+        assertFalse(bfs.esAlcanzable(csr.getIndice(v[1])));
+        assertEquals(1, bfs.getDistancia(csr.getIndice(v[3])));
+
+        int[] distancias = new int[csr.getNumVertices()];
+        bfs.copiarDistancias(distancias);
+        assertEquals(-1, distancias[csr.getIndice(v[1])]);
+        assertEquals(0, distancias[csr.getIndice(v[2])]);
+    }
+
+    /**
+     * Prueba la búsqueda punto a punto con parada temprana.
+     */
+    @Test
+    void testPuntoAPunto() {
+        Vertice[] v = new Vertice[5];
+        GrafoCSR csr = new GrafoCSR(crearGrafo(v));
+        BFS bfs = new BFS(csr);
+
+        assertEquals(2, bfs.ejecutar(csr.getIndice(v[0]), csr.getIndice(v[3])));
+        assertEquals(0, bfs.ejecutar(csr.getIndice(v[1]), csr.getIndice(v[1])));
+        assertEquals(-1, bfs.ejecutar(csr.getIndice(v[0]), csr.getIndice(v[4])));
+    }
+
+    /**
+     * Prueba que el modo paralelo con cambio de dirección obtiene las mismas distancias que el secuencial,
+     * en grafos dirigidos y no dirigidos lo bastante densos como para pasar por la expansión ascendente.
+     */
+    @Test
+    void testParaleloCoincideConSecuencial() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (boolean dirigido : new boolean[]{true, false}) {
+                GrafoCSR csr = new GrafoCSR(GrafosPrueba.aleatorio(dirigido, 3000, 30000, 1, 1, 7));
+                BFS secuencial = new BFS(csr);
+                BFS paralelo = new BFS(csr);
+
+                for (int origen = 0; origen < 5; origen++) {
+                    secuencial.ejecutar(origen);
+                    paralelo.ejecutarParalelo(origen, pool);
+                    for (int w = 0; w < csr.getNumVertices(); w++) {
+                        assertEquals(secuencial.getDistancia(w), paralelo.getDistancia(w));
+                        int padre = paralelo.getPadre(w);
+                        if (padre >= 0) {
+                            assertEquals(paralelo.getDistancia(w) - 1, paralelo.getDistancia(padre));
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Prueba que la búsqueda sobre un GrafoDirecto, secuencial, punto a punto y paralela, obtiene las
+     * mismas distancias que sobre la instantánea, y que las consultas por vértice requieren una GrafoCSR.
+     */
+    @Test
+    void testSobreGrafoDirecto() {
+        GrafoCSR csr = new GrafoCSR(GrafosPrueba.aleatorio(true, 2000, 8000, 1, 1, 3));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (GrafoDirecto directo = GrafoDirecto.crear(csr)) {
+            BFS esperado = new BFS(csr);
+            BFS bfs = new BFS(directo);
+            for (int origen = 0; origen < 5; origen++) {
+                esperado.ejecutar(origen);
+                bfs.ejecutar(origen);
+                for (int w = 0; w < csr.getNumVertices(); w++) {
+                    assertEquals(esperado.getDistancia(w), bfs.getDistancia(w));
+                    assertEquals(esperado.getPadre(w), bfs.getPadre(w));
+                }
+                bfs.ejecutarParalelo(origen, pool);
+                for (int w = 0; w < csr.getNumVertices(); w++) {
+                    assertEquals(esperado.getDistancia(w), bfs.getDistancia(w));
+                }
+                int destino = 100 + origen;
+                assertEquals(esperado.getDistancia(destino), bfs.ejecutar(origen, destino));
+            }
+            assertThrows(UnsupportedOperationException.class, () -> bfs.ejecutar(csr.getVertice(0)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.excepciones.VerticeNoEncontradoExcepcion;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase CacheCaminos.
+ */
+class CacheCaminosTest {
+
+    /**
+     * Prueba que las consultas repetidas aciertan y que cualquier cambio del grafo descarta los resultados.
+     */
+    @Test
+    void testAciertosEInvalidacion() {
+        Grafo grafo = new Grafo(true);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        Vertice c = new Vertice("c", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addVertice(c);
+        grafo.addAristaPeso(a, b, 1.0);
+        grafo.addAristaPeso(b, c, 1.0);
+        grafo.addAristaPeso(a, c, 5.0);
+        CacheCaminos cache = new CacheCaminos(grafo, 1 << 20);
+
+        assertEquals(2.0, cache.getDistancia(a, c));
+        assertEquals(List.of(a, b, c), cache.getCamino(a, c));
+        assertEquals(1, cache.getSaltos(a, c));
+        assertEquals(List.of(a, c), cache.getCaminoSaltos(a, c));
+        assertEquals(-1, cache.getSaltos(c, a));
+        assertTrue(cache.getCamino(c, a).isEmpty());
+        assertEquals(4, cache.getNumFallos());
+        assertEquals(2, cache.getNumAciertos());
+        assertEquals(4, cache.getNumEntradas());
+        assertThrows(UnsupportedOperationException.class, () -> cache.getCamino(a, c).add(a));
+
+        grafo.setPeso(b, c, 10.0);
+        assertEquals(5.0, cache.getDistancia(a, c));
+        assertEquals(List.of(a, c), cache.getCamino(a, c));
+        assertEquals(1, cache.getNumInvalidaciones());
+        assertEquals(5, cache.getNumFallos());
+
+        Vertice z = grafo.renombrarVertice(c, "z");
+        assertEquals(5.0, cache.getDistancia(a, z));
+        assertEquals(2, cache.getNumInvalidaciones());
+        assertThrows(VerticeNoEncontradoExcepcion.class, () -> cache.getDistancia(a, c));
+        grafo.deleteVertice(z);
+        assertThrows(VerticeNoEncontradoExcepcion.class, () -> cache.getDistancia(a, z));
+        assertEquals(3, cache.getNumInvalidaciones());
+    }
+
+    /**
+     * Prueba que la memoria usada no supera el presupuesto y que, ante un barrido de pares consultados una
+     * sola vez, TINY_LFU conserva un par frecuente que LRU expulsa.
+     */
+    @Test
+    void testPresupuestoYPoliticas() {
+        Grafo grafo = new Grafo(false);
+        Vertice[] v = new Vertice[200];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = new Vertice("v" + i, null);
+            grafo.addVertice(v[i]);
+            if (i > 0) {
+                grafo.addAristaPeso(v[i - 1], v[i], 1.0);
+            }
+        }
+        long presupuesto = 10 * (CacheCaminos.BYTES_ENTRADA + 3 * CacheCaminos.BYTES_VERTICE);
+        CacheCaminos lru = new CacheCaminos(grafo, presupuesto, CacheCaminos.Politica.LRU);
+        CacheCaminos tinyLfu = new CacheCaminos(grafo, presupuesto, CacheCaminos.Politica.TINY_LFU);
+        for (CacheCaminos cache : List.of(lru, tinyLfu)) {
+            for (int i = 0; i < 5; i++) {
+                assertEquals(2.0, cache.getDistancia(v[0], v[2]));  // Par frecuente
+            }
+            for (int i = 10; i < 190; i++) {
+                cache.getDistancia(v[i], v[i + 2]);    // Barrido de pares de un solo uso
+                assertTrue(cache.getBytesUsados() <= presupuesto);
+            }
+            assertEquals(10, cache.getNumEntradas());
+        }
+        long fallosLru = lru.getNumFallos();
+        lru.getDistancia(v[0], v[2]);
+        assertEquals(fallosLru + 1, lru.getNumFallos());
+        assertEquals(0, lru.getNumRechazos());
+
+        long fallosTinyLfu = tinyLfu.getNumFallos();
+        tinyLfu.getDistancia(v[0], v[2]);
+        assertEquals(fallosTinyLfu, tinyLfu.getNumFallos());
+        assertTrue(tinyLfu.getNumRechazos() > 0);
+
+        CacheCaminos diminuta = new CacheCaminos(grafo, 100, CacheCaminos.Politica.LRU);
+        assertEquals(2.0, diminuta.getDistancia(v[0], v[2]));
+        assertEquals(0, diminuta.getNumEntradas());
+        assertThrows(IllegalArgumentException.class, () -> new CacheCaminos(grafo, 0));
+    }
+}
@@ -0,0 +1,204 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.GrafosPrueba;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoAbstracto;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.GrafoConcurrente;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase CaminosMinimosDinamicos.
+ */
+class CaminosMinimosDinamicosTest {
+
+    /**
+     * Prueba un caso pequeño: una arista que abarata un camino, una arista del árbol que se encarece y
+     * se elimina, y el borrado del origen.
+     */
+    @Test
+    void testCasoPequeno() {
+        Grafo grafo = new Grafo(true);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        Vertice c = new Vertice("c", null);
+        Vertice d = new Vertice("d", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addVertice(c);
+        grafo.addVertice(d);
+        grafo.addAristaPeso(a, b, 1.0);
+        grafo.addAristaPeso(b, c, 1.0);
+        grafo.addAristaPeso(a, c, 5.0);
+        CaminosMinimosDinamicos caminos = new CaminosMinimosDinamicos(grafo, a);
+        assertEquals(2.0, caminos.getDistancia(c));
+        assertEquals(Double.POSITIVE_INFINITY, caminos.getDistancia(d));
+
+        grafo.addAristaPeso(c, d, 1.0);
+        assertEquals(3.0, caminos.getDistancia(d));
+        assertEquals(List.of(a, b, c, d), caminos.getCamino(d));
+
+        grafo.setPeso(b, c, 10.0);
+        assertEquals(5.0, caminos.getDistancia(c));
+        assertEquals(List.of(a, c, d), caminos.getCamino(d));
+
+        grafo.setPeso(a, b, 0.5);   // Fuera del árbol actual de c: no cambia nada más
+        assertEquals(0.5, caminos.getDistancia(b));
+        assertEquals(5.0, caminos.getDistancia(c));
+
+        grafo.deleteArista(a, c);
+        assertEquals(10.5, caminos.getDistancia(c));
+        grafo.deleteVertice(b);
+        assertEquals(Double.POSITIVE_INFINITY, caminos.getDistancia(d));
+        assertTrue(caminos.getCamino(d).isEmpty());
+        assertThrows(NullPointerException.class, () -> caminos.getDistancia(b));
+
+        grafo.deleteVertice(a);
+        assertThrows(IllegalStateException.class, () -> caminos.getDistancia(c));
+    }
+
+    /**
+     * Prueba que una arista de peso negativo invalida las distancias, y que tras desconectar
+     * no se siguen los cambios.
+     */
+    @Test
+    void testPesoNegativoYDesconectar() {
+        Grafo grafo = new Grafo(true);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addAristaPeso(a, b, -1.0);
+        assertThrows(IllegalArgumentException.class, () -> new CaminosMinimosDinamicos(grafo, a));
+        assertThrows(NullPointerException.class, () -> new CaminosMinimosDinamicos(grafo, new Vertice("x", null)));
+
+        grafo.setPeso(a, b, 2.0);
+        CaminosMinimosDinamicos caminos = new CaminosMinimosDinamicos(grafo, a);
+        caminos.desconectar();
+        grafo.setPeso(a, b, 1.0);
+        assertEquals(2.0, caminos.getDistancia(b));
+
+        CaminosMinimosDinamicos otros = new CaminosMinimosDinamicos(grafo, a);
+        grafo.addAristaPeso(b, a, -3.0);
+        assertThrows(IllegalStateException.class, () -> otros.getDistancia(b));
+    }
+
+    /**
+     * Prueba que tras cada cambio de una secuencia aleatoria las distancias coinciden con las de un
+     * Dijkstra completo, en un grafo dirigido y en uno no dirigido.
+     */
+    @Test
+    void testCoincideConDijkstra() {
+        comprobarSecuenciaAleatoria(true);
+        comprobarSecuenciaAleatoria(false);
+    }
+
+    /**
+     * Prueba que en un grafo concurrente no se pierden los cambios hechos mientras se calculan las
+     * distancias iniciales, y que borrar desde otro hilo un vértice que la reparación recorre no hace
+     * fallar a los hilos que modifican el grafo.
+     */
+    @Test
+    void testGrafoConcurrente() throws InterruptedException {
+        GrafoConcurrente grafo = new GrafoConcurrente(true, 8);
+        Vertice[] fijos = new Vertice[300];
+        for (int i = 0; i < fijos.length; i++) {
+            fijos[i] = new Vertice("v" + i, null);
+            grafo.addVertice(fijos[i]);
+        }
+        Random inicial = new Random(1);
+        for (int i = 0; i < 900; i++) {
+            grafo.addAristaPeso(fijos[inicial.nextInt(fijos.length)], fijos[inicial.nextInt(fijos.length)],
+                    1 + inicial.nextInt(9));
+        }
+        List<Throwable> errores = new ArrayList<>();
+        List<Thread> hilos = new ArrayList<>();
+        for (int h = 0; h < 4; h++) {
+            int hilo = h;
+            Random random = new Random(10 + h);
+            Thread escritor = new Thread(() -> {
+                for (int i = 0; i < 300; i++) {
+                    // Cada hilo crea y borra sus propios atajos entre vértices fijos, que entran en el árbol
+                    Vertice atajo = new Vertice("h" + hilo + "-" + i, null);
+                    grafo.addVertice(atajo);
+                    grafo.addAristaPeso(fijos[random.nextInt(fijos.length)], atajo, 0.5);
+                    grafo.addAristaPeso(atajo, fijos[random.nextInt(fijos.length)], 0.5);
+                    grafo.addAristaPeso(fijos[random.nextInt(fijos.length)], fijos[random.nextInt(fijos.length)],
+                            1 + random.nextInt(9));
+                    if (random.nextBoolean()) {
+                        grafo.deleteVertice(atajo);
+                    }
+                }
+            });
+            escritor.setUncaughtExceptionHandler((t, e) -> {
+                synchronized (errores) {
+                    errores.add(e);
+                }
+            });
+            hilos.add(escritor);
+            escritor.start();
+        }
+        CaminosMinimosDinamicos caminos = new CaminosMinimosDinamicos(grafo, fijos[0]);
+        for (Thread escritor : hilos) {
+            escritor.join();
+        }
+
+        assertEquals(List.of(), errores);
+        comprobar(grafo, fijos[0], caminos);
+    }
+
+    private static void comprobarSecuenciaAleatoria(boolean esDirigido) {
+        Random random = new Random(esDirigido ? 3 : 5);
+        Grafo grafo = new Grafo(esDirigido);
+        Vertice[] iniciales = GrafosPrueba.addVertices(grafo, 60);
+        GrafosPrueba.addAristasAleatorias(grafo, iniciales, 150, 0, 9, random);
+        List<Vertice> vertices = new ArrayList<>(List.of(iniciales));
+        Vertice origen = vertices.get(0);
+        CaminosMinimosDinamicos caminos = new CaminosMinimosDinamicos(grafo, origen);
+        int siguiente = 60;
+        for (int paso = 0; paso < 1500; paso++) {
+            Vertice u = vertices.get(random.nextInt(vertices.size()));
+            Vertice v = vertices.get(random.nextInt(vertices.size()));
+            int operacion = random.nextInt(20);
+            if (operacion < 7) {
+                grafo.addAristaPeso(u, v, random.nextInt(10));
+            } else if (operacion < 13) {
+                grafo.deleteArista(u, v);
+            } else if (operacion < 18) {
+                if (grafo.hasArista(u, v)) {
+                    grafo.setPeso(u, v, random.nextInt(10));
+                }
+            } else if (operacion == 18 && u != origen) {
+                grafo.deleteVertice(u);
+                vertices.remove(u);
+            } else {
+                Vertice nuevo = new Vertice("v" + siguiente++, null);
+                grafo.addVertice(nuevo);
+                vertices.add(nuevo);
+            }
+            comprobar(grafo, origen, caminos);
+        }
+    }
+
+    private static void comprobar(GrafoAbstracto grafo, Vertice origen, CaminosMinimosDinamicos caminos) {
+        GrafoCSR csr = new GrafoCSR(grafo);
+        Dikjstra dijkstra = new Dikjstra(csr);
+        dijkstra.ejecutar(origen);
+        for (int i = 0; i < csr.getNumVertices(); i++) {
+            Vertice vertice = csr.getVertice(i);
+            assertEquals(dijkstra.getDistancia(i), caminos.getDistancia(vertice), 1e-9);
+            List<Vertice> camino = caminos.getCamino(vertice);
+            if (!camino.isEmpty()) {
+                assertEquals(origen, camino.get(0));
+                assertEquals(dijkstra.getDistancia(i), GrafosPrueba.longitud(csr, camino), 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.util.UnionFind;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase ComponentesConexas.
+ */
+class ComponentesConexasTest {
+
+    /**
+     * Prueba un grafo dirigido pequeño en el que la conexión solo existe ignorando el sentido.
+     */
+    @Test
+    void testDirigido() {
+        Grafo grafo = new Grafo(true);
+        Vertice[] v = new Vertice[5];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = new Vertice("v" + i, null);
+            grafo.addVertice(v[i]);
+        }
+        grafo.addArista(v[0], v[1]);
+        grafo.addArista(v[2], v[1]);
+        grafo.addArista(v[3], v[3]);
+
+        ComponentesConexas componentes = new ComponentesConexas(new GrafoCSR(grafo)).ejecutar();
+
+        assertEquals(3, componentes.getNumComponentes());
+        assertTrue(componentes.estanConectados(v[0], v[2]));
+        assertFalse(componentes.estanConectados(v[0], v[3]));
+        assertFalse(componentes.estanConectados(v[3], v[4]));
+    }
+
+    /**
+     * Prueba que en grafos aleatorios con una componente gigante y muchas pequeñas el resultado coincide
+     * con un union-find secuencial y no depende del número de hilos.
+     */
+    @Test
+    void testCoincideConUnionFind() {
+        for (boolean esDirigido : new boolean[]{true, false}) {
+            int n = 50000;
+            int m = 60000;
+            Random random = new Random(esDirigido ? 1 : 2);
+            Vertice[] vertices = new Vertice[n];
+            for (int i = 0; i < n; i++) {
+                vertices[i] = new Vertice("v" + i, null);
+            }
+            int[] origenes = new int[m];
+            int[] destinos = new int[m];
+            UnionFind esperado = new UnionFind(n);
+            for (int a = 0; a < m; a++) {
+                origenes[a] = random.nextInt(n);
+                destinos[a] = random.nextInt(n);
+                esperado.unir(origenes[a], destinos[a]);
+            }
+            GrafoCSR grafo = GrafoCSR.desdeAristas(esDirigido, vertices, origenes, destinos, new double[m], m);
+
+            ForkJoinPool unHilo = new ForkJoinPool(1);
+            ForkJoinPool cuatroHilos = new ForkJoinPool(4);
+            try {
+                ComponentesConexas secuencial = new ComponentesConexas(grafo).ejecutar(unHilo);
+                ComponentesConexas paralelo = new ComponentesConexas(grafo).ejecutar(cuatroHilos);
+                assertEquals(esperado.getNumConjuntos(), paralelo.getNumComponentes());
+                for (int i = 0; i < n; i++) {
+                    assertEquals(secuencial.getComponente(i), paralelo.getComponente(i));
+                    int otro = random.nextInt(n);
+                    assertEquals(esperado.estanUnidos(i, otro), paralelo.estanConectados(i, otro));
+                }
+            } finally {
+                unHilo.shutdown();
+                cuatroHilos.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoConcurrente;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+import uax.ginf.tecprog.grafos.util.ValidadorGrafo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase ComponentesIncrementales.
+ */
+class ComponentesIncrementalesTest {
+
+    /**
+     * Prueba que las inserciones se aplican sin reconstruir y que los borrados fuerzan una reconstrucción.
+     */
+    @Test
+    void testInsercionesYBorrados() {
+        Grafo grafo = new Grafo(true);
+        Vertice v1 = new Vertice("v1", null);
+        Vertice v2 = new Vertice("v2", null);
+        Vertice v3 = new Vertice("v3", null);
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        ComponentesIncrementales componentes = new ComponentesIncrementales(grafo);
+        assertEquals(2, componentes.getNumComponentes());
+
+        grafo.addVertice(v3);
+        grafo.addArista(v2, v1);
+        grafo.addArista(v3, v2);
+        assertTrue(componentes.estanConectados(v1, v3));
+        assertEquals(1, componentes.getNumComponentes());
+        assertEquals(1, componentes.getNumReconstrucciones());
+
+        Vertice w3 = grafo.renombrarVertice(v3, "w3");
+        assertTrue(componentes.estanConectados(w3, v1));
+        assertThrows(NullPointerException.class, () -> componentes.estanConectados(v3, v1));
+        grafo.deleteArista(v2, v1);
+        assertFalse(componentes.estanConectados(v1, w3));
+        assertEquals(2, componentes.getNumComponentes());
+        assertEquals(2, componentes.getNumReconstrucciones());
+        grafo.deleteVertice(v2);
+        assertEquals(2, componentes.getNumComponentes());
+        assertThrows(NullPointerException.class, () -> componentes.estanConectados(v1, v2));
+
+        componentes.desconectar();
+        grafo.addArista(v1, w3);
+        assertEquals(2, componentes.getNumComponentes());
+    }
+
+    /**
+     * Prueba que con inserciones aleatorias desde varios hilos en un grafo concurrente el resultado
+     * coincide con el de un recorrido completo.
+     */
+    @Test
+    void testGrafoConcurrente() throws InterruptedException {
+        GrafoConcurrente grafo = new GrafoConcurrente(false, 8);
+        Vertice[] v = new Vertice[2000];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = new Vertice("v" + i, null);
+            grafo.addVertice(v[i]);
+        }
+        ComponentesIncrementales componentes = new ComponentesIncrementales(grafo);
+        List<Thread> hilos = new ArrayList<>();
+        for (int h = 0; h < 4; h++) {
+            Random random = new Random(h);
+            Thread hilo = new Thread(() -> {
+                for (int i = 0; i < 400; i++) {
+                    grafo.addArista(v[random.nextInt(v.length)], v[random.nextInt(v.length)]);
+                }
+            });
+            hilos.add(hilo);
+            hilo.start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        assertEquals(ValidadorGrafo.contarComponentes(grafo), componentes.getNumComponentes());
+        assertEquals(1, componentes.getNumReconstrucciones());
+        Random random = new Random(9);
+        for (int i = 0; i < 200; i++) {
+            Vertice a = v[random.nextInt(v.length)];
+            Vertice b = v[random.nextInt(v.length)];
+            assertEquals(ValidadorGrafo.estanConectados(grafo, a, b), componentes.estanConectados(a, b));
+        }
+    }
+
+    /**
+     * Prueba que las consultas no fallan aunque otros hilos eliminen vértices mientras se reconstruyen las
+     * componentes, y que al terminar el resultado coincide con el de un recorrido completo.
+     */
+    @Test
+    void testBorradosConcurrentes() throws InterruptedException {
+        GrafoConcurrente grafo = new GrafoConcurrente(false, 8);
+        Vertice[] fijos = new Vertice[2000];
+        for (int i = 0; i < fijos.length; i++) {
+            fijos[i] = new Vertice("v" + i, null);
+            grafo.addVertice(fijos[i]);
+        }
+        ComponentesIncrementales componentes = new ComponentesIncrementales(grafo);
+        List<Thread> hilos = new ArrayList<>();
+        for (int h = 0; h < 4; h++) {
+            int hilo = h;
+            Random random = new Random(h);
+            Thread escritor = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    Vertice puente = new Vertice("h" + hilo + "-" + i, null);
+                    grafo.addVertice(puente);
+                    grafo.addArista(puente, fijos[random.nextInt(fijos.length)]);
+                    grafo.addArista(puente, fijos[random.nextInt(fijos.length)]);
+                    if (random.nextBoolean()) {
+                        grafo.deleteVertice(puente);
+                    }
+                }
+            });
+            hilos.add(escritor);
+            escritor.start();
+        }
+        boolean vivos = true;
+        while (vivos) {
+            componentes.getNumComponentes();    // Cada borrado obliga a reconstruir en plena escritura
+            vivos = false;
+            for (Thread escritor : hilos) {
+                vivos |= escritor.isAlive();
+            }
+        }
+
+        assertEquals(ValidadorGrafo.contarComponentes(grafo), componentes.getNumComponentes());
+        assertTrue(componentes.getNumReconstrucciones() > 1);
+        assertEquals(ValidadorGrafo.estanConectados(grafo, fijos[0], fijos[1]), componentes.estanConectados(fijos[0], fijos[1]));
+    }
+}
@@ -0,0 +1,201 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.GrafosPrueba;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.GrafoDirecto;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase DFS.
+ */
+class DFSTest {
+
+    /**
+     * Crea un grafo con n vértices v0..v(n-1) y las aristas dadas como pares de índices.
+     */
+    private GrafoCSR crearGrafo(boolean dirigido, int n, int... aristas) {
+        Grafo grafo = new Grafo(dirigido);
+        Vertice[] v = new Vertice[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = new Vertice("v" + i, "dato");
+            grafo.addVertice(v[i]);
+        }
+        for (int i = 0; i < aristas.length; i += 2) {
+            grafo.addArista(v[aristas[i]], v[aristas[i + 1]]);
+        }
+        return new GrafoCSR(grafo);
+    }
+
+    /**
+     * Prueba que los intervalos de descubrimiento y finalización están anidados según el árbol de padres.
+     */
+    @Test
+    void testTiemposYPadres() {
+        GrafoCSR csr = crearGrafo(true, 5, 0, 1, 1, 2, 0, 3, 3, 2);
+        DFS dfs = new DFS(csr);
+
+        int origen = csr.getIndice(new Vertice("v0", "dato"));
+        dfs.ejecutar(origen);
+
+        for (int i = 0; i < 4; i++) {
+            int v = csr.getIndice(new Vertice("v" + i, "dato"));
+            assertTrue(dfs.esAlcanzable(v));
+            int padre = dfs.getPadre(v);
+            if (padre >= 0) {
+                assertTrue(dfs.getDescubrimiento(padre) < dfs.getDescubrimiento(v));
+                assertTrue(dfs.getFinalizacion(v) < dfs.getFinalizacion(padre));
+            }
+        }
+        int aislado = csr.getIndice(new Vertice("v4", "dato"));
+        assertEquals(-1, dfs.getPadre(origen));
+        assertFalse(dfs.esAlcanzable(aislado));
+        assertEquals(-1, dfs.getDescubrimiento(aislado));
+        assertEquals(7, dfs.getFinalizacion(origen));  // Cuatro vértices: ocho instantes del 0 al 7
+    }
+
+    /**
+     * Prueba que un camino muy largo se recorre sin desbordar la pila del hilo.
+     */
+    @Test
+    void testCaminoLargo() {
+        int n = 300000;
+        int[] aristas = new int[2 * (n - 1)];
+        for (int i = 0; i < n - 1; i++) {
+            aristas[2 * i] = i;
+            aristas[2 * i + 1] = i + 1;
+        }
+        GrafoCSR csr = crearGrafo(true, n, aristas);
+        DFS dfs = new DFS(csr);
+
+        dfs.ejecutar(csr.getIndice(new Vertice("v0", "dato")));
+
+        int ultimo = csr.getIndice(new Vertice("v" + (n - 1), "dato"));
+        assertEquals(n - 1, dfs.getDescubrimiento(ultimo));
+        assertEquals(n, dfs.ordenTopologico().length);
+        assertEquals(n, new DFS(csr).componentesFuertes(new int[n]));
+    }
+
+    /**
+     * Prueba que el orden topológico respeta todas las aristas y que un ciclo se rechaza.
+     */
+    @Test
+    void testOrdenTopologico() {
+        GrafoCSR csr = crearGrafo(true, 6, 5, 2, 5, 0, 4, 0, 4, 1, 2, 3, 3, 1);
+        int[] orden = new DFS(csr).ordenTopologico();
+
+        int[] posiciones = new int[6];
+        for (int i = 0; i < orden.length; i++) {
+            posiciones[orden[i]] = i;
+        }
+        for (int u = 0; u < 6; u++) {
+            for (int a = csr.getInicio(u); a < csr.getFin(u); a++) {
+                assertTrue(posiciones[u] < posiciones[csr.getDestino(a)]);
+            }
+        }
+
+        GrafoCSR ciclico = crearGrafo(true, 3, 0, 1, 1, 2, 2, 0);
+        assertThrows(IllegalArgumentException.class, () -> new DFS(ciclico).ordenTopologico());
+    }
+
+    /**
+     * Prueba las componentes fuertemente conexas y que se numeran en orden topológico inverso.
+     */
+    @Test
+    void testComponentesFuertes() {
+        // {0,1,2} -> {3,4} -> {5}, y 6 aislado
+        GrafoCSR csr = crearGrafo(true, 7, 0, 1, 1, 2, 2, 0, 2, 3, 3, 4, 4, 3, 4, 5);
+        int[] componentes = new int[7];
+
+        int numComponentes = new DFS(csr).componentesFuertes(componentes);
+
+        assertEquals(4, numComponentes);
+        int[] indices = new int[7];
+        for (int i = 0; i < 7; i++) {
+            indices[i] = csr.getIndice(new Vertice("v" + i, "dato"));
+        }
+        assertEquals(componentes[indices[0]], componentes[indices[1]]);
+        assertEquals(componentes[indices[0]], componentes[indices[2]]);
+        assertEquals(componentes[indices[3]], componentes[indices[4]]);
+        assertNotEquals(componentes[indices[0]], componentes[indices[3]]);
+        for (int u = 0; u < 7; u++) {
+            for (int a = csr.getInicio(u); a < csr.getFin(u); a++) {
+                assertTrue(componentes[u] >= componentes[csr.getDestino(a)]);
+            }
+        }
+    }
+
+    /**
+     * Prueba los puntos de articulación y los puentes de dos triángulos unidos por una arista,
+     * y que una arista paralela no se considera puente.
+     */
+    @Test
+    void testArticulacionesYPuentes() {
+        // Triángulos {0,1,2} y {3,4,5} unidos por el puente 2-3
+        GrafoCSR csr = crearGrafo(false, 6, 0, 1, 1, 2, 2, 0, 2, 3, 3, 4, 4, 5, 5, 3);
+        DFS dfs = new DFS(csr);
+
+        Set<String> articulaciones = new HashSet<>();
+        for (int v : dfs.puntosArticulacion()) {
+            articulaciones.add(csr.getVertice(v).getId());
+        }
+        assertEquals(Set.of("v2", "v3"), articulaciones);
+
+        int[] puentes = dfs.puentes();
+        assertEquals(2, puentes.length);
+        assertEquals(Set.of("v2", "v3"), Set.of(csr.getVertice(puentes[0]).getId(), csr.getVertice(puentes[1]).getId()));
+
+        // Un camino 0-1-2: el vértice central es articulación y ambas aristas son puentes
+        GrafoCSR camino = crearGrafo(false, 3, 0, 1, 1, 2);
+        DFS dfsCamino = new DFS(camino);
+        assertArrayEquals(new int[]{camino.getIndice(new Vertice("v1", "dato"))}, dfsCamino.puntosArticulacion());
+        assertEquals(4, dfsCamino.puentes().length);
+
+        assertThrows(IllegalArgumentException.class, () -> new DFS(crearGrafo(true, 2, 0, 1)).puentes());
+    }
+
+    /**
+     * Prueba que sobre un GrafoDirecto, que recorre los vecinos copiándolos en la pila de vecinos, el
+     * recorrido y los análisis coinciden con los de la instantánea, que sigue el mismo orden de aristas.
+     */
+    @Test
+    void testSobreGrafoDirecto() {
+        for (boolean dirigido : new boolean[]{true, false}) {
+            GrafoCSR csr = new GrafoCSR(GrafosPrueba.aleatorio(dirigido, 1500, 2500, 1, 1, 5));
+            try (GrafoDirecto directo = GrafoDirecto.crear(csr)) {
+                DFS esperado = new DFS(csr);
+                DFS dfs = new DFS(directo);
+                esperado.ejecutar();
+                dfs.ejecutar();
+                for (int v = 0; v < csr.getNumVertices(); v++) {
+                    assertEquals(esperado.getDescubrimiento(v), dfs.getDescubrimiento(v));
+                    assertEquals(esperado.getFinalizacion(v), dfs.getFinalizacion(v));
+                    assertEquals(esperado.getPadre(v), dfs.getPadre(v));
+                }
+                int[] componentesEsperadas = new int[csr.getNumVertices()];
+                int[] componentes = new int[csr.getNumVertices()];
+                assertEquals(esperado.componentesFuertes(componentesEsperadas), dfs.componentesFuertes(componentes));
+                assertArrayEquals(componentesEsperadas, componentes);
+                if (dirigido) {
+                    assertThrows(IllegalArgumentException.class, dfs::ordenTopologico);
+                } else {
+                    assertArrayEquals(esperado.puntosArticulacion(), dfs.puntosArticulacion());
+                    assertArrayEquals(esperado.puentes(), dfs.puentes());
+                }
+                dfs.ejecutar(0);    // La pila de vecinos queda vacía aunque el orden topológico se interrumpa
+                esperado.ejecutar(0);
+                assertEquals(esperado.getFinalizacion(0), dfs.getFinalizacion(0));
+            }
+        }
+        GrafoCSR dag = crearGrafo(true, 4, 0, 1, 1, 2, 0, 3, 3, 2);
+        try (GrafoDirecto directo = GrafoDirecto.crear(dag)) {
+            assertArrayEquals(new DFS(dag).ordenTopologico(), new DFS(directo).ordenTopologico());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.GrafosPrueba;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para las clases DijkstraBidireccional y HeuristicaALT.
+ */
+class DijkstraBidireccionalTest {
+
+    /**
+     * Prueba que las distancias y caminos coinciden con los de Dikjstra, sin heurística y con ALT,
+     * en grafos dirigidos y no dirigidos.
+     */
+    @Test
+    void testCoincideConDijkstra() {
+        for (boolean dirigido : new boolean[]{true, false}) {
+            GrafoCSR csr = new GrafoCSR(GrafosPrueba.aleatorio(dirigido, 300, 1200, 1, 50, dirigido ? 1 : 2));
+            Dikjstra dijkstra = new Dikjstra(csr);
+            DijkstraBidireccional bidireccional = new DijkstraBidireccional(csr);
+            DijkstraBidireccional alt = new DijkstraBidireccional(csr, new HeuristicaALT(csr, 4));
+            Random random = new Random(5);
+
+            for (int i = 0; i < 200; i++) {
+                int origen = random.nextInt(csr.getNumVertices());
+                int destino = random.nextInt(csr.getNumVertices());
+                double esperada = dijkstra.ejecutar(origen, destino);
+
+                assertEquals(esperada, bidireccional.ejecutar(origen, destino));
+                assertEquals(esperada, alt.ejecutar(origen, destino));
+                assertEquals(esperada, GrafosPrueba.longitud(csr, bidireccional.getCamino()));
+                assertEquals(esperada, GrafosPrueba.longitud(csr, alt.getCamino()));
+            }
+        }
+    }
+
+    /**
+     * Prueba que en una malla la búsqueda guiada por ALT asienta menos vértices que Dijkstra.
+     */
+    @Test
+    void testALTAsientaMenosVertices() {
+        int lado = 40;
+        Grafo grafo = new Grafo(false);
+        Vertice[] v = new Vertice[lado * lado];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = new Vertice("v" + i, null);
+            grafo.addVertice(v[i]);
+        }
+        for (int f = 0; f < lado; f++) {
+            for (int c = 0; c < lado; c++) {
+                if (c + 1 < lado) {
+                    grafo.addArista(v[f * lado + c], v[f * lado + c + 1]);
+                }
+                if (f + 1 < lado) {
+                    grafo.addArista(v[f * lado + c], v[(f + 1) * lado + c]);
+                }
+            }
+        }
+        GrafoCSR csr = new GrafoCSR(grafo);
+        Dikjstra dijkstra = new Dikjstra(csr);
+        DijkstraBidireccional alt = new DijkstraBidireccional(csr, new HeuristicaALT(csr, 8));
+
+        int origen = csr.getIndice(v[lado * (lado / 2) + 2]);
+        int destino = csr.getIndice(v[lado * (lado / 2) + lado - 3]);
+        assertEquals(dijkstra.ejecutar(origen, destino), alt.ejecutar(origen, destino));
+        assertTrue(alt.getNumAsentados() < dijkstra.getNumAsentados());
+    }
+
+    /**
+     * Prueba una consulta con origen igual al destino y otra sin camino.
+     */
+    @Test
+    void testCasosLimite() {
+        Grafo grafo = new Grafo(true);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addArista(a, b);
+        GrafoCSR csr = new GrafoCSR(grafo);
+        DijkstraBidireccional bidireccional = new DijkstraBidireccional(csr, new HeuristicaALT(csr, 2));
+
+        assertEquals(0.0, bidireccional.ejecutar(a, a));
+        assertEquals(List.of(a), bidireccional.getCamino());
+        assertEquals(Double.POSITIVE_INFINITY, bidireccional.ejecutar(b, a));
+        assertTrue(bidireccional.getCamino().isEmpty());
+        assertEquals(1.0, bidireccional.ejecutar(a, b));
+        assertEquals(List.of(a, b), bidireccional.getCamino());
+    }
+
+    /**
+     * Prueba que ALT rechaza con IllegalArgumentException más distancias de las que caben en un arreglo,
+     * en lugar de desbordar el tamaño.
+     */
+    @Test
+    void testDemasiadasMarcas() {
+        int n = 50000;
+        Vertice[] vertices = new Vertice[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = new Vertice("v" + i, null);
+        }
+        GrafoCSR csr = GrafoCSR.desdeAristas(true, vertices, new int[0], new int[0], new double[0], 0);
+        assertThrows(IllegalArgumentException.class, () -> new HeuristicaALT(csr, n));
+    }
+}
@@ -0,0 +1,130 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.GrafosPrueba;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.GrafoDirecto;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase Dikjstra.
+ */
+class DikjstraTest {
+
+    /**
+     * Prueba un caso pequeño en el que el camino más corto no es el de menos aristas.
+     */
+    @Test
+    void testCaminoMinimo() {
+        Grafo grafo = new Grafo(true);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        Vertice c = new Vertice("c", null);
+        Vertice d = new Vertice("d", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addVertice(c);
+        grafo.addVertice(d);
+        grafo.addAristaPeso(a, d, 10.0);
+        grafo.addAristaPeso(a, b, 1.0);
+        grafo.addAristaPeso(b, c, 2.0);
+        grafo.addAristaPeso(c, d, 3.0);
+
+        Dikjstra dijkstra = new Dikjstra(new GrafoCSR(grafo));
+
+        assertEquals(6.0, dijkstra.ejecutar(a, d));
+        assertEquals(List.of(a, b, c, d), dijkstra.getCamino(d));
+        assertEquals(Double.POSITIVE_INFINITY, dijkstra.ejecutar(d, a));
+        assertTrue(dijkstra.getCamino(a).isEmpty());
+    }
+
+    /**
+     * Prueba que las distancias coinciden con las de Bellman-Ford en un grafo aleatorio,
+     * tanto en consultas completas como punto a punto reutilizando la misma instancia.
+     */
+    @Test
+    void testCoincideConBellmanFord() {
+        Random random = new Random(11);
+        Grafo grafo = new Grafo(true);
+        GrafosPrueba.addAristasAleatorias(grafo, GrafosPrueba.addVertices(grafo, 200), 1000, 0, 19, random);
+        GrafoCSR csr = new GrafoCSR(grafo);
+        Dikjstra dijkstra = new Dikjstra(csr);
+
+        for (int origen = 0; origen < 10; origen++) {
+            double[] esperadas = bellmanFord(csr, origen);
+            dijkstra.ejecutar(origen);
+            for (int w = 0; w < csr.getNumVertices(); w++) {
+                assertEquals(esperadas[w], dijkstra.getDistancia(w));
+            }
+            int destino = random.nextInt(csr.getNumVertices());
+            assertEquals(esperadas[destino], dijkstra.ejecutar(origen, destino));
+        }
+    }
+
+    /**
+     * Prueba que no se admiten aristas con peso negativo.
+     */
+    @Test
+    void testPesoNegativo() {
+        Grafo grafo = new Grafo(false);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addAristaPeso(a, b, -1.0);
+        GrafoCSR csr = new GrafoCSR(grafo);
+        assertThrows(IllegalArgumentException.class, () -> new Dikjstra(csr));
+    }
+
+    private static double[] bellmanFord(GrafoCSR csr, int origen) {
+        double[] distancias = new double[csr.getNumVertices()];
+        Arrays.fill(distancias, Double.POSITIVE_INFINITY);
+        distancias[origen] = 0;
+        for (int i = 0; i < csr.getNumVertices(); i++) {
+            for (int u = 0; u < csr.getNumVertices(); u++) {
+                for (int a = csr.getInicio(u); a < csr.getFin(u); a++) {
+                    distancias[csr.getDestino(a)] = Math.min(distancias[csr.getDestino(a)], distancias[u] + csr.getPeso(a));
+                }
+            }
+        }
+        return distancias;
+    }
+
+    /**
+     * Prueba que las consultas sobre un GrafoDirecto obtienen las mismas distancias y padres que sobre
+     * la instantánea, y que también ahí se rechazan los pesos negativos.
+     */
+    @Test
+    void testSobreGrafoDirecto() {
+        Random random = new Random(13);
+        Grafo grafo = new Grafo(false);
+        GrafosPrueba.addAristasAleatorias(grafo, GrafosPrueba.addVertices(grafo, 300), 1500, 1, 9, random);
+        GrafoCSR csr = new GrafoCSR(grafo);
+        try (GrafoDirecto directo = GrafoDirecto.crear(csr)) {
+            Dikjstra esperado = new Dikjstra(csr);
+            Dikjstra dijkstra = new Dikjstra(directo);
+            for (int origen = 0; origen < 10; origen++) {
+                esperado.ejecutar(origen);
+                dijkstra.ejecutar(origen);
+                for (int w = 0; w < csr.getNumVertices(); w++) {
+                    assertEquals(esperado.getDistancia(w), dijkstra.getDistancia(w));
+                    assertEquals(esperado.getPadre(w), dijkstra.getPadre(w));
+                }
+                assertEquals(esperado.getDistancia(42), dijkstra.ejecutar(origen, 42));
+            }
+            assertThrows(UnsupportedOperationException.class, () -> dijkstra.getCamino(csr.getVertice(0)));
+        }
+
+        grafo.addAristaPeso(csr.getVertice(0), csr.getVertice(1), -1.0);
+        try (GrafoDirecto negativo = GrafoDirecto.crear(new GrafoCSR(grafo))) {
+            assertThrows(IllegalArgumentException.class, () -> new Dikjstra(negativo));
+        }
+    }
+}
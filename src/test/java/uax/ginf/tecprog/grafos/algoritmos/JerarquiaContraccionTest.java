@@ -0,0 +1,87 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.GrafosPrueba;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase JerarquiaContraccion.
+ */
+class JerarquiaContraccionTest {
+
+    /**
+     * Prueba que las distancias y los caminos desempaquetados coinciden con los de Dikjstra.
+     */
+    @Test
+    void testCoincideConDijkstra() {
+        for (boolean dirigido : new boolean[]{true, false}) {
+            GrafoCSR csr = new GrafoCSR(GrafosPrueba.aleatorio(dirigido, 250, 900, 1, 30, dirigido ? 3 : 4));
+            Dikjstra dijkstra = new Dikjstra(csr);
+            JerarquiaContraccion jerarquia = JerarquiaContraccion.construir(csr);
+            Random random = new Random(9);
+
+            for (int i = 0; i < 300; i++) {
+                int origen = random.nextInt(csr.getNumVertices());
+                int destino = random.nextInt(csr.getNumVertices());
+                double esperada = dijkstra.ejecutar(origen, destino);
+                assertEquals(esperada, jerarquia.ejecutar(origen, destino));
+
+                List<Vertice> camino = jerarquia.getCamino();
+                if (esperada == Double.POSITIVE_INFINITY) {
+                    assertTrue(camino.isEmpty());
+                } else {
+                    assertEquals(csr.getVertice(origen), camino.get(0));
+                    assertEquals(csr.getVertice(destino), camino.get(camino.size() - 1));
+                    assertEquals(esperada, GrafosPrueba.longitud(csr, camino));
+                }
+            }
+        }
+    }
+
+    /**
+     * Prueba que una jerarquía guardada y cargada responde igual que la original.
+     */
+    @Test
+    void testGuardarYCargar() throws IOException {
+        GrafoCSR csr = new GrafoCSR(GrafosPrueba.aleatorio(true, 250, 900, 1, 30, 8));
+        JerarquiaContraccion original = JerarquiaContraccion.construir(csr);
+        Path fichero = Files.createTempFile("jerarquia", ".ch");
+        try {
+            original.guardar(fichero);
+            JerarquiaContraccion cargada = JerarquiaContraccion.cargar(fichero);
+
+            Random random = new Random(2);
+            for (int i = 0; i < 100; i++) {
+                Vertice origen = csr.getVertice(random.nextInt(csr.getNumVertices()));
+                Vertice destino = csr.getVertice(random.nextInt(csr.getNumVertices()));
+                assertEquals(original.ejecutar(origen, destino), cargada.ejecutar(origen, destino));
+                assertEquals(original.getCamino(), cargada.getCamino());
+            }
+        } finally {
+            Files.deleteIfExists(fichero);
+        }
+    }
+
+    /**
+     * Prueba que cargar un fichero con otro contenido lanza IOException.
+     */
+    @Test
+    void testCargarFicheroInvalido() throws IOException {
+        Path fichero = Files.createTempFile("jerarquia", ".ch");
+        try {
+            Files.write(fichero, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+            assertThrows(IOException.class, () -> JerarquiaContraccion.cargar(fichero));
+        } finally {
+            Files.deleteIfExists(fichero);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package uax.ginf.tecprog.grafos.algoritmos;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.GrafosPrueba;
+import uax.ginf.tecprog.grafos.modelo.Arista;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase Kurskal.
+ */
+class KurskalTest {
+
+    /**
+     * Prueba un caso pequeño con un ciclo cuya arista más pesada debe quedar fuera.
+     */
+    @Test
+    void testCicloSimple() {
+        Grafo grafo = new Grafo(false);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        Vertice c = new Vertice("c", null);
+        Vertice d = new Vertice("d", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addVertice(c);
+        grafo.addVertice(d);
+        grafo.addAristaPeso(a, b, 1.0);
+        grafo.addAristaPeso(b, c, 2.0);
+        grafo.addAristaPeso(c, a, 3.0);
+
+        BosqueExpansion bosque = new Kurskal(new GrafoCSR(grafo)).ejecutar();
+
+        // d queda aislado: dos árboles, dos aristas y peso 3
+        assertEquals(2, bosque.getNumAristas());
+        assertEquals(2, bosque.getNumArboles());
+        assertEquals(3.0, bosque.getPesoTotal());
+        List<Arista> aristas = bosque.getAristas();
+        assertTrue(aristas.stream().noneMatch(arista -> arista.getPeso() == 3.0));
+    }
+
+    /**
+     * Prueba que Kruskal y Borůvka obtienen el mismo bosque y el mismo peso que Prim
+     * en grafos aleatorios con pesos repetidos y aristas duplicadas.
+     */
+    @Test
+    void testKruskalBoruvkaYPrimCoinciden() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long semilla = 0; semilla < 5; semilla++) {
+                GrafoCSR csr = new GrafoCSR(GrafosPrueba.aleatorio(false, 400, 1500, 0, 9, semilla));
+                Kurskal kruskal = new Kurskal(csr);
+
+                BosqueExpansion secuencial = kruskal.ejecutar(pool);
+                BosqueExpansion boruvka = kruskal.ejecutarBoruvka(pool);
+
+                assertEquals(prim(csr), secuencial.getPesoTotal());
+                assertEquals(secuencial.getNumAristas(), boruvka.getNumAristas());
+                for (int i = 0; i < secuencial.getNumAristas(); i++) {
+                    assertEquals(secuencial.getOrigen(i), boruvka.getOrigen(i));
+                    assertEquals(secuencial.getDestino(i), boruvka.getDestino(i));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Prueba que no se admite un grafo dirigido.
+     */
+    @Test
+    void testGrafoDirigido() {
+        GrafoCSR csr = new GrafoCSR(new Grafo(true));
+        assertThrows(IllegalArgumentException.class, () -> new Kurskal(csr));
+    }
+
+    /**
+     * Peso total del bosque calculado con Prim cuadrático, como referencia.
+     */
+    private static double prim(GrafoCSR csr) {
+        int n = csr.getNumVertices();
+        boolean[] enArbol = new boolean[n];
+        double[] coste = new double[n];
+        double total = 0;
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (enArbol[raiz]) {
+                continue;
+            }
+            java.util.Arrays.fill(coste, Double.POSITIVE_INFINITY);
+            coste[raiz] = 0;
+            while (true) {
+                int mejor = -1;
+                for (int v = 0; v < n; v++) {
+                    if (!enArbol[v] && coste[v] < Double.POSITIVE_INFINITY && (mejor < 0 || coste[v] < coste[mejor])) {
+                        mejor = v;
+                    }
+                }
+                if (mejor < 0) {
+                    break;
+                }
+                enArbol[mejor] = true;
+                total += coste[mejor];
+                for (int a = csr.getInicio(mejor); a < csr.getFin(mejor); a++) {
+                    coste[csr.getDestino(a)] = Math.min(coste[csr.getDestino(a)], csr.getPeso(a));
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,134 @@
+package uax.ginf.tecprog.grafos.analitica;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase CentralidadIntermediacion.
+ */
+class CentralidadIntermediacionTest {
+
+    private static Vertice[] anadirVertices(Grafo grafo, int n) {
+        Vertice[] vertices = new Vertice[n];
+        for (int v = 0; v < n; v++) {
+            vertices[v] = new Vertice("v" + v, null);
+            grafo.addVertice(vertices[v]);
+        }
+        return vertices;
+    }
+
+    /**
+     * Prueba un camino y una estrella no dirigidos, cuyas centralidades se cuentan a mano.
+     */
+    @Test
+    void testCaminoYEstrella() {
+        Grafo camino = new Grafo(false);
+        Vertice[] v = anadirVertices(camino, 4);
+        camino.addArista(v[0], v[1]);
+        camino.addArista(v[1], v[2]);
+        camino.addArista(v[2], v[3]);
+        CentralidadIntermediacion centralidad = new CentralidadIntermediacion(new GrafoCSR(camino), false);
+        centralidad.ejecutar();
+        assertEquals(0.0, centralidad.getCentralidad(v[0]));
+        assertEquals(2.0, centralidad.getCentralidad(v[1]), 1e-12);
+        assertEquals(2.0, centralidad.getCentralidad(v[2]), 1e-12);
+
+        Grafo estrella = new Grafo(false);
+        Vertice[] e = anadirVertices(estrella, 5);
+        for (int i = 1; i < 5; i++) {
+            estrella.addArista(e[0], e[i]);
+        }
+        centralidad = new CentralidadIntermediacion(new GrafoCSR(estrella), false);
+        centralidad.ejecutar();
+        assertEquals(6.0, centralidad.getCentralidad(e[0]), 1e-12);
+        assertEquals(0.0, centralidad.getCentralidad(e[1]));
+    }
+
+    /**
+     * Prueba que los caminos mínimos empatados reparten la centralidad y que los pesos cambian los caminos.
+     */
+    @Test
+    void testEmpatesYPesos() {
+        Grafo cuadrado = new Grafo(false);
+        Vertice[] v = anadirVertices(cuadrado, 4);
+        cuadrado.addAristaPeso(v[0], v[1], 1.0);
+        cuadrado.addAristaPeso(v[1], v[3], 1.0);
+        cuadrado.addAristaPeso(v[0], v[2], 1.0);
+        cuadrado.addAristaPeso(v[2], v[3], 1.0);
+        CentralidadIntermediacion centralidad = new CentralidadIntermediacion(new GrafoCSR(cuadrado), true);
+        centralidad.ejecutar();
+        for (Vertice vertice : v) {
+            assertEquals(0.5, centralidad.getCentralidad(vertice), 1e-12);
+        }
+
+        Grafo triangulo = new Grafo(true);
+        Vertice[] t = anadirVertices(triangulo, 3);
+        triangulo.addAristaPeso(t[0], t[1], 1.0);
+        triangulo.addAristaPeso(t[1], t[2], 1.0);
+        triangulo.addAristaPeso(t[0], t[2], 5.0);
+        GrafoCSR csr = new GrafoCSR(triangulo);
+        CentralidadIntermediacion conPesos = new CentralidadIntermediacion(csr, true);
+        conPesos.ejecutar();
+        CentralidadIntermediacion sinPesos = new CentralidadIntermediacion(csr, false);
+        sinPesos.ejecutar();
+        assertEquals(1.0, conPesos.getCentralidad(t[1]), 1e-12);
+        assertEquals(0.0, sinPesos.getCentralidad(t[1]));
+    }
+
+    /**
+     * Prueba que muestrear todos los orígenes da el resultado exacto, que el resultado no depende del
+     * número de hilos y que una muestra parcial se acerca al valor exacto.
+     */
+    @Test
+    void testMuestreo() {
+        Grafo grafo = new Grafo(false);
+        Vertice[] v = anadirVertices(grafo, 300);
+        Random random = new Random(5);
+        for (int i = 1; i < v.length; i++) {    // Árbol aleatorio más algunas aristas extra
+            grafo.addArista(v[i], v[random.nextInt(i)]);
+        }
+        for (int i = 0; i < 150; i++) {
+            grafo.addArista(v[random.nextInt(v.length)], v[random.nextInt(v.length)]);
+        }
+        GrafoCSR csr = new GrafoCSR(grafo);
+        CentralidadIntermediacion centralidad = new CentralidadIntermediacion(csr, false);
+
+        double[] exacta = new double[v.length];
+        double[] unHilo = new double[v.length];
+        double[] cuatroHilos = new double[v.length];
+        double[] muestra = new double[v.length];
+        ForkJoinPool pool1 = new ForkJoinPool(1);
+        ForkJoinPool pool4 = new ForkJoinPool(4);
+        try {
+            centralidad.ejecutar();
+            centralidad.copiarCentralidades(exacta);
+            centralidad.ejecutar(1000, 9, pool1);
+            centralidad.copiarCentralidades(unHilo);
+            centralidad.ejecutar(v.length, 9, pool4);
+            centralidad.copiarCentralidades(cuatroHilos);
+            centralidad.ejecutar(150, 9, pool4);
+            centralidad.copiarCentralidades(muestra);
+        } finally {
+            pool1.shutdown();
+            pool4.shutdown();
+        }
+
+        assertArrayEquals(exacta, unHilo);
+        assertArrayEquals(exacta, cuatroHilos);
+        double sumaExacta = 0;
+        double sumaMuestra = 0;
+        for (int i = 0; i < v.length; i++) {
+            sumaExacta += exacta[i];
+            sumaMuestra += muestra[i];
+        }
+        assertEquals(sumaExacta, sumaMuestra, sumaExacta * 0.2);
+        assertThrows(IllegalArgumentException.class, () -> centralidad.ejecutar(0, 1, ForkJoinPool.commonPool()));
+    }
+}
@@ -0,0 +1,155 @@
+package uax.ginf.tecprog.grafos.analitica;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase PageRank.
+ */
+class PageRankTest {
+
+    /**
+     * Prueba un grafo con un vértice sin salida, resuelto a mano: su rango se reparte como el salto aleatorio.
+     */
+    @Test
+    void testVerticeColgante() {
+        Grafo grafo = new Grafo(true);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addArista(a, b);
+
+        PageRank pageRank = new PageRank(new GrafoCSR(grafo));
+        pageRank.ejecutar();
+
+        // p(b) = 0.075 + 0.85 * (p(a) + p(b) / 2) con p(a) + p(b) = 1
+        assertTrue(pageRank.haConvergido());
+        assertEquals(0.925 / 1.425, pageRank.getRango(b), 1e-8);
+        assertEquals(1 - 0.925 / 1.425, pageRank.getRango(a), 1e-8);
+    }
+
+    /**
+     * Prueba que el peso de las aristas decide la probabilidad de seguirlas.
+     */
+    @Test
+    void testPesos() {
+        Grafo grafo = new Grafo(true);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        Vertice c = new Vertice("c", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addVertice(c);
+        grafo.addAristaPeso(a, b, 1.0);
+        grafo.addAristaPeso(a, c, 3.0);
+        grafo.addArista(b, a);
+        grafo.addArista(c, a);
+
+        PageRank pageRank = new PageRank(new GrafoCSR(grafo), 0.85, 1e-12, 1000);
+        pageRank.ejecutar();
+
+        // p(a) = 0.05 + 0.85 * (1 - p(a)), y a reparte su rango entre b y c en proporción 1:3
+        double rangoA = 0.9 / 1.85;
+        assertEquals(rangoA, pageRank.getRango(a), 1e-9);
+        assertEquals(0.05 + 0.85 * 0.25 * rangoA, pageRank.getRango(b), 1e-9);
+        assertEquals(0.05 + 0.85 * 0.75 * rangoA, pageRank.getRango(c), 1e-9);
+    }
+
+    /**
+     * Prueba que con personalización los vértices que no se alcanzan desde las semillas no tienen rango.
+     */
+    @Test
+    void testPersonalizado() {
+        Grafo grafo = new Grafo(true);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        Vertice c = new Vertice("c", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addVertice(c);
+        grafo.addArista(a, b);
+        grafo.addArista(b, a);
+        grafo.addArista(c, a);
+        GrafoCSR csr = new GrafoCSR(grafo);
+
+        PageRank pageRank = new PageRank(csr);
+        pageRank.ejecutarPersonalizado(new int[]{csr.getIndice(a)}, ForkJoinPool.commonPool());
+
+        assertEquals(0.0, pageRank.getRango(c));
+        assertTrue(pageRank.getRango(a) > pageRank.getRango(b));
+        assertEquals(1.0, pageRank.getRango(a) + pageRank.getRango(b), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> pageRank.ejecutar(new double[3], ForkJoinPool.commonPool()));
+        assertThrows(IllegalArgumentException.class, () -> pageRank.ejecutar(new double[]{1, -1, 1}, ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Prueba que los rangos suman 1 y que el resultado es el mismo con uno o varios hilos.
+     */
+    @Test
+    void testParaleloIgualQueSecuencial() {
+        int n = 20000;
+        int m = 100000;
+        Random random = new Random(3);
+        Vertice[] vertices = new Vertice[n];
+        for (int v = 0; v < n; v++) {
+            vertices[v] = new Vertice("v" + v, null);
+        }
+        int[] origenes = new int[m];
+        int[] destinos = new int[m];
+        double[] pesos = new double[m];
+        for (int a = 0; a < m; a++) {
+            origenes[a] = random.nextInt(n / 2);    // La mitad de los vértices no tiene aristas de salida
+            destinos[a] = (int) Math.min(n - 1, Math.abs(random.nextGaussian()) * n / 8);
+            pesos[a] = 1 + random.nextInt(5);
+        }
+        GrafoCSR grafo = GrafoCSR.desdeAristas(true, vertices, origenes, destinos, pesos, m);
+
+        double[] secuencial = new double[n];
+        double[] paralelo = new double[n];
+        PageRank pageRank = new PageRank(grafo);
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        ForkJoinPool cuatroHilos = new ForkJoinPool(4);
+        try {
+            pageRank.ejecutar(null, unHilo);
+            pageRank.copiarRangos(secuencial);
+            pageRank.ejecutar(null, cuatroHilos);
+            pageRank.copiarRangos(paralelo);
+        } finally {
+            unHilo.shutdown();
+            cuatroHilos.shutdown();
+        }
+
+        assertTrue(pageRank.haConvergido());
+        assertArrayEquals(secuencial, paralelo);
+        double suma = 0;
+        for (double rango : paralelo) {
+            suma += rango;
+        }
+        assertEquals(1.0, suma, 1e-9);
+    }
+
+    /**
+     * Prueba que se rechazan los pesos negativos y los parámetros no válidos.
+     */
+    @Test
+    void testParametrosNoValidos() {
+        Grafo grafo = new Grafo(true);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addAristaPeso(a, b, -1.0);
+        GrafoCSR csr = new GrafoCSR(grafo);
+
+        assertThrows(IllegalArgumentException.class, () -> new PageRank(csr));
+        assertThrows(IllegalArgumentException.class, () -> new PageRank(new GrafoCSR(new Grafo(true)), 1.5, 1e-9, 10));
+    }
+}
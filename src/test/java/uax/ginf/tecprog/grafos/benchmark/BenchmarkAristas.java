@@ -0,0 +1,52 @@
+package uax.ginf.tecprog.grafos.benchmark;
+
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.Random;
+
+/**
+ * Mide el coste de consultar, cambiar y borrar aristas de un vértice concentrador con muchos vecinos
+ * (una estrella dirigida), que con conjuntos de aristas recorridos linealmente costaba milisegundos por
+ * operación. No es una prueba unitaria: se ejecuta a mano con {@code java ... BenchmarkAristas [vecinos] [operaciones]}.
+ */
+public class BenchmarkAristas {
+
+    public static void main(String[] args) {
+        int vecinos = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int operaciones = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Grafo grafo = new Grafo(true);
+        Vertice centro = new Vertice("centro", null);
+        Vertice[] hojas = new Vertice[vecinos];
+        grafo.addVertice(centro);
+        for (int i = 0; i < vecinos; i++) {
+            hojas[i] = new Vertice("v" + i, null);
+            grafo.addVertice(hojas[i]);
+            grafo.addArista(centro, hojas[i]);
+        }
+
+        Random random = new Random(1);
+        long inicio = System.nanoTime();
+        int encontradas = 0;
+        for (int i = 0; i < operaciones; i++) {
+            encontradas += grafo.hasArista(centro, hojas[random.nextInt(vecinos)]) ? 1 : 0;
+        }
+        double consultar = (System.nanoTime() - inicio) / 1e3 / operaciones;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < operaciones; i++) {
+            grafo.setPeso(centro, hojas[random.nextInt(vecinos)], i);
+        }
+        double cambiar = (System.nanoTime() - inicio) / 1e3 / operaciones;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < operaciones; i++) {
+            grafo.deleteArista(centro, hojas[i]);
+        }
+        double borrar = (System.nanoTime() - inicio) / 1e3 / operaciones;
+
+        System.out.printf("Vecinos: %,d (%d encontradas)%n", vecinos, encontradas);
+        System.out.printf("hasArista %.3f us, setPeso %.3f us, deleteArista %.3f us por operacion%n",
+                consultar, cambiar, borrar);
+    }
+}
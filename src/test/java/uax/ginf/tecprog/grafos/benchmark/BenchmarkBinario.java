@@ -0,0 +1,67 @@
+package uax.ginf.tecprog.grafos.benchmark;
+
+import uax.ginf.tecprog.grafos.io.CargadorGrafo;
+import uax.ginf.tecprog.grafos.io.GrafoMapeado;
+import uax.ginf.tecprog.grafos.io.GuardadorGrafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Compara el tamaño y el tiempo de arranque del formato binario de {@link GuardadorGrafo} frente a
+ * volver a cargar la lista de aristas en texto con {@link CargadorGrafo}.
+ * No es una prueba unitaria: se ejecuta a mano con
+ * {@code java -Xmx4g ... BenchmarkBinario [vertices] [aristas]}.
+ */
+public class BenchmarkBinario {
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int m = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+        Path texto = Files.createTempFile("aristas", ".txt");
+        Path binario = Files.createTempFile("grafo", ".bin");
+        try {
+            Random random = new Random(42);
+            try (BufferedWriter salida = Files.newBufferedWriter(texto)) {
+                for (int i = 0; i < m; i++) {
+                    int origen = random.nextInt(n);
+                    int destino = Math.floorMod(origen + (int) (random.nextGaussian() * 1000), n); // Vecinos cercanos
+                    salida.write(origen + " " + destino + " " + random.nextInt(100) + "\n");
+                }
+            }
+            long t0 = System.nanoTime();
+            GrafoCSR csr = CargadorGrafo.cargarCSR(texto, true);
+            long t1 = System.nanoTime();
+            GuardadorGrafo.guardar(csr, binario);
+            long t2 = System.nanoTime();
+            GrafoMapeado mapeado = CargadorGrafo.abrirBinario(binario, false);
+            long t3 = System.nanoTime();
+            mapeado.verificar();
+            long t4 = System.nanoTime();
+
+            double[] suma = new double[1];
+            for (int v = 0; v < mapeado.getNumVertices(); v++) {
+                mapeado.recorrerVecinos(v, (destino, peso) -> suma[0] += peso);
+            }
+            long t5 = System.nanoTime();
+
+            System.out.printf("Texto: %,d bytes, carga %.2f s%n", Files.size(texto), (t1 - t0) / 1e9);
+            System.out.printf("Binario: %,d bytes (%.1f bytes/arista), guardado %.2f s%n",
+                    Files.size(binario), (double) Files.size(binario) / m, (t2 - t1) / 1e9);
+            System.out.printf("Apertura sin verificar: %.2f ms, verificación CRC32C: %.2f s%n",
+                    (t3 - t2) / 1e6, (t4 - t3) / 1e9);
+            System.out.printf("Recorrido completo desde el archivo: %.2f s (%.1f ns/arista, suma %.0f)%n",
+                    (t5 - t4) / 1e9, (double) (t5 - t4) / m, suma[0]);
+            Vertice primero = csr.getVertice(0);
+            System.out.printf("Identificador del vértice 0: %s / %s%n", primero.getId(), mapeado.getId(0));
+        } finally {
+            Files.deleteIfExists(texto);
+            Files.deleteIfExists(binario);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package uax.ginf.tecprog.grafos.benchmark;
+
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mide el coste de {@link Grafo#deleteVertice(Vertice)} y {@link Grafo#deleteVertices(java.util.Collection)}
+ * en grafos aleatorios, primero con grado medio fijo y número de vértices creciente y después con número de
+ * vértices fijo y grado creciente. El coste por vértice eliminado debe crecer con el grado, no con el tamaño
+ * del grafo. No es una prueba unitaria: se ejecuta a mano con {@code java ... BenchmarkBorrado [borrados]}.
+ */
+public class BenchmarkBorrado {
+
+    public static void main(String[] args) {
+        int borrados = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        System.out.println("Grado fijo (8), tamaño creciente:");
+        for (int n : new int[]{10_000, 100_000, 1_000_000}) {
+            medir(n, 8, borrados);
+        }
+        System.out.println("Tamaño fijo (100.000), grado creciente:");
+        for (int grado : new int[]{2, 8, 32}) {
+            medir(100_000, grado, borrados);
+        }
+    }
+
+    private static void medir(int n, int grado, int borrados) {
+        for (boolean esDirigido : new boolean[]{true, false}) {
+            Vertice[] vertices = new Vertice[n];
+            Grafo grafo = construir(esDirigido, vertices, grado);
+            List<Vertice> elegidos = new ArrayList<>(borrados);
+            Random random = new Random(7);
+            for (int i = 0; i < borrados; i++) {
+                elegidos.add(vertices[random.nextInt(n)]);
+            }
+
+            long inicio = System.nanoTime();
+            for (Vertice vertice : elegidos) {
+                grafo.deleteVertice(vertice);
+            }
+            double porVertice = (System.nanoTime() - inicio) / 1e3 / borrados;
+            grafo = construir(esDirigido, vertices, grado);  // Mismo grafo de nuevo, para el borrado por lotes
+            inicio = System.nanoTime();
+            grafo.deleteVertices(elegidos);
+            double porVerticeLote = (System.nanoTime() - inicio) / 1e3 / borrados;
+            System.out.printf("  %s, %,d vertices, grado %d: deleteVertice %.2f us/vertice, deleteVertices %.2f us/vertice%n",
+                    esDirigido ? "dirigido" : "no dirigido", n, grado, porVertice, porVerticeLote);
+        }
+    }
+
+    private static Grafo construir(boolean esDirigido, Vertice[] vertices, int grado) {
+        int n = vertices.length;
+        Grafo grafo = new Grafo(esDirigido);
+        for (int i = 0; i < n; i++) {
+            if (vertices[i] == null) {
+                vertices[i] = new Vertice("v" + i, null);
+            }
+            grafo.addVertice(vertices[i]);
+        }
+        Random random = new Random(42);
+        long aristas = (long) n * grado / (esDirigido ? 1 : 2);
+        for (long i = 0; i < aristas; i++) {
+            grafo.addArista(vertices[random.nextInt(n)], vertices[random.nextInt(n)]);
+        }
+        return grafo;
+    }
+}
@@ -0,0 +1,113 @@
+package uax.ginf.tecprog.grafos.benchmark;
+
+import uax.ginf.tecprog.grafos.modelo.Arista;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Compara la memoria ocupada y la velocidad de recorrido del mapa de conjuntos de {@link Grafo}
+ * frente a la instantánea {@link GrafoCSR}.
+ * No es una prueba unitaria: se ejecuta a mano con
+ * {@code java -Xmx4g ... BenchmarkCSR [vertices] [aristas]}.
+ */
+public class BenchmarkCSR {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int m = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        Random random = new Random(42);
+
+        // Crear los vértices aparte para que no cuenten en la memoria del grafo
+        Vertice[] vertices = new Vertice[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = new Vertice("v" + i, null);
+        }
+
+        long antes = memoriaUsada();
+        Grafo grafo = new Grafo(true);
+        for (Vertice vertice : vertices) {
+            grafo.addVertice(vertice);
+        }
+        for (int i = 0; i < m; i++) {
+            grafo.addAristaPeso(vertices[random.nextInt(n)], vertices[random.nextInt(n)], random.nextDouble());
+        }
+        long memoriaGrafo = memoriaUsada() - antes;
+
+        antes = memoriaUsada();
+        GrafoCSR csr = new GrafoCSR(grafo);
+        long memoriaCSR = memoriaUsada() - antes;
+
+        System.out.printf("Vertices: %d, aristas: %d%n", n, m);
+        System.out.printf("Memoria Grafo: %,d bytes (%.1f bytes/arista)%n",
+                memoriaGrafo, (double) memoriaGrafo / m);
+        System.out.printf("Memoria GrafoCSR (medida): %,d bytes (%.1f bytes/arista), estimada: %,d bytes%n",
+                memoriaCSR, (double) memoriaCSR / m, csr.getMemoriaEstimada());
+
+        // Recorrer todas las aristas varias veces para calentar el JIT antes de medir
+        for (int i = 0; i < 5; i++) {
+            recorrerGrafo(grafo);
+            recorrerVisitante(grafo);
+            recorrerCSR(csr);
+        }
+        long t0 = System.nanoTime();
+        double sumaGrafo = 0;
+        for (int i = 0; i < 10; i++) {
+            sumaGrafo += recorrerGrafo(grafo);
+        }
+        long t1 = System.nanoTime();
+        double sumaVisitante = 0;
+        for (int i = 0; i < 10; i++) {
+            sumaVisitante += recorrerVisitante(grafo);
+        }
+        long t2 = System.nanoTime();
+        double sumaCSR = 0;
+        for (int i = 0; i < 10; i++) {
+            sumaCSR += recorrerCSR(csr);
+        }
+        long t3 = System.nanoTime();
+
+        System.out.printf("Recorrido Grafo (getAdyacencias): %.2f ns/arista (suma %.3f)%n", (t1 - t0) / (10.0 * m), sumaGrafo);
+        System.out.printf("Recorrido Grafo (recorrerAdyacentes): %.2f ns/arista (suma %.3f)%n", (t2 - t1) / (10.0 * m), sumaVisitante);
+        System.out.printf("Recorrido GrafoCSR: %.2f ns/arista (suma %.3f)%n", (t3 - t2) / (10.0 * m), sumaCSR);
+    }
+
+    private static double recorrerGrafo(Grafo grafo) {
+        double suma = 0;
+        for (Set<Arista> aristas : grafo.getAdyacencias().values()) {
+            for (Arista arista : aristas) {
+                suma += arista.getPeso();
+            }
+        }
+        return suma;
+    }
+
+    private static double recorrerVisitante(Grafo grafo) {
+        double[] suma = new double[1];
+        for (Vertice vertice : grafo.getVertices()) {
+            grafo.recorrerAdyacentes(vertice, (vecino, peso) -> suma[0] += peso);
+        }
+        return suma[0];
+    }
+
+    private static double recorrerCSR(GrafoCSR csr) {
+        double suma = 0;
+        for (int v = 0; v < csr.getNumVertices(); v++) {
+            for (int a = csr.getInicio(v); a < csr.getFin(v); a++) {
+                suma += csr.getPeso(a);
+            }
+        }
+        return suma;
+    }
+
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,73 @@
+package uax.ginf.tecprog.grafos.benchmark;
+
+import uax.ginf.tecprog.grafos.io.CargadorGrafo;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compara la carga de una lista de aristas con {@link CargadorGrafo} frente a leerla línea a línea con
+ * String.split e insertar cada arista en un {@link Grafo}.
+ * No es una prueba unitaria: se ejecuta a mano con
+ * {@code java -Xmx4g ... BenchmarkCargador [vertices] [aristas]}.
+ */
+public class BenchmarkCargador {
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int m = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        Path archivo = Files.createTempFile("aristas", ".txt");
+        try {
+            Random random = new Random(42);
+            try (BufferedWriter salida = Files.newBufferedWriter(archivo)) {
+                for (int i = 0; i < m; i++) {
+                    salida.write(random.nextInt(n) + " " + random.nextInt(n) + " " + random.nextInt(1000) / 10.0 + "\n");
+                }
+            }
+            System.out.printf("Archivo: %,d bytes, %d aristas%n", Files.size(archivo), m);
+
+            for (int i = 0; i < 3; i++) {   // Calentar el JIT
+                CargadorGrafo.cargarCSR(archivo, true);
+            }
+            long t0 = System.nanoTime();
+            GrafoCSR csr = CargadorGrafo.cargarCSR(archivo, true);
+            long t1 = System.nanoTime();
+            Grafo grafo = cargarConSplit(archivo);
+            long t2 = System.nanoTime();
+
+            double segundosCSR = (t1 - t0) / 1e9;
+            System.out.printf("CargadorGrafo.cargarCSR: %.2f s (%.0f MB/s), %d aristas%n",
+                    segundosCSR, Files.size(archivo) / 1e6 / segundosCSR, csr.getNumAristas());
+            System.out.printf("String.split + addAristaPeso: %.2f s, %d vertices%n",
+                    (t2 - t1) / 1e9, grafo.getAdyacencias().size());
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    private static Grafo cargarConSplit(Path archivo) throws IOException {
+        Grafo grafo = new Grafo(true);
+        Map<String, Vertice> vertices = new HashMap<>();
+        try (BufferedReader entrada = Files.newBufferedReader(archivo)) {
+            String linea;
+            while ((linea = entrada.readLine()) != null) {
+                String[] campos = linea.split(" ");
+                Vertice origen = vertices.computeIfAbsent(campos[0], id -> new Vertice(id, null));
+                Vertice destino = vertices.computeIfAbsent(campos[1], id -> new Vertice(id, null));
+                grafo.addVertice(origen);
+                grafo.addVertice(destino);
+                grafo.addAristaPeso(origen, destino, Double.parseDouble(campos[2]));
+            }
+        }
+        return grafo;
+    }
+}
@@ -0,0 +1,122 @@
+package uax.ginf.tecprog.grafos.benchmark;
+
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoConcurrente;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mide el rendimiento, en operaciones por segundo, de {@link GrafoConcurrente} frente a un {@link Grafo}
+ * protegido por un único cerrojo de lectura/escritura, con varios hilos y dos mezclas de operaciones:
+ * mayoría de lecturas (95% getAdyacentes, 5% addArista) y mayoría de escrituras (50% / 50%).
+ * No es una prueba unitaria: se ejecuta a mano con
+ * {@code java ... BenchmarkGrafoConcurrente [hilos] [vertices] [segundos]}.
+ */
+public class BenchmarkGrafoConcurrente {
+
+    /**
+     * Operaciones sobre el grafo que se reparten los hilos del benchmark.
+     */
+    private interface Operaciones {
+        void leer(Vertice vertice);
+
+        void escribir(Vertice origen, Vertice destino);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        double segundos = args.length > 2 ? Double.parseDouble(args[2]) : 3.0;
+        Vertice[] vertices = new Vertice[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = new Vertice("v" + i, null);
+        }
+        System.out.printf("Hilos: %d, vertices: %d%n", hilos, n);
+
+        for (int porcentajeLecturas : new int[]{95, 50}) {
+            GrafoConcurrente concurrente = new GrafoConcurrente(false);
+            Grafo global = new Grafo(false);
+            ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+            for (Vertice vertice : vertices) {
+                concurrente.addVertice(vertice);
+                global.addVertice(vertice);
+            }
+
+            double opsConcurrente = medir(hilos, segundos, vertices, porcentajeLecturas, new Operaciones() {
+                public void leer(Vertice vertice) {
+                    concurrente.getAdyacentes(vertice);
+                }
+
+                public void escribir(Vertice origen, Vertice destino) {
+                    concurrente.addArista(origen, destino);
+                }
+            });
+            double opsGlobal = medir(hilos, segundos, vertices, porcentajeLecturas, new Operaciones() {
+                public void leer(Vertice vertice) {
+                    cerrojo.readLock().lock();
+                    try {
+                        global.getAdyacentes(vertice);
+                    } finally {
+                        cerrojo.readLock().unlock();
+                    }
+                }
+
+                public void escribir(Vertice origen, Vertice destino) {
+                    cerrojo.writeLock().lock();
+                    try {
+                        global.addArista(origen, destino);
+                    } finally {
+                        cerrojo.writeLock().unlock();
+                    }
+                }
+            });
+            System.out.printf("%d%% lecturas: GrafoConcurrente %,.0f ops/s, Grafo con cerrojo global %,.0f ops/s%n",
+                    porcentajeLecturas, opsConcurrente, opsGlobal);
+        }
+    }
+
+    private static double medir(int hilos, double segundos, Vertice[] vertices, int porcentajeLecturas,
+                                Operaciones operaciones) throws InterruptedException {
+        LongAdder contador = new LongAdder();
+        CountDownLatch salida = new CountDownLatch(1);
+        long fin = System.nanoTime() + (long) ((segundos + 0.5) * 1e9);
+        long inicioMedida = System.nanoTime() + 500_000_000L; // Medio segundo de calentamiento
+        Thread[] trabajadores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            trabajadores[h] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    salida.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long operacionesHilo = 0;
+                long ahora;
+                while ((ahora = System.nanoTime()) < fin) {
+                    for (int i = 0; i < 256; i++) {
+                        Vertice origen = vertices[random.nextInt(vertices.length)];
+                        if (random.nextInt(100) < porcentajeLecturas) {
+                            operaciones.leer(origen);
+                        } else {
+                            operaciones.escribir(origen, vertices[random.nextInt(vertices.length)]);
+                        }
+                    }
+                    if (ahora >= inicioMedida) {
+                        operacionesHilo += 256;
+                    }
+                }
+                contador.add(operacionesHilo);
+            });
+            trabajadores[h].start();
+        }
+        salida.countDown();
+        for (Thread trabajador : trabajadores) {
+            trabajador.join();
+        }
+        return contador.sum() / segundos;
+    }
+}
@@ -0,0 +1,83 @@
+package uax.ginf.tecprog.grafos.benchmark;
+
+import uax.ginf.tecprog.grafos.algoritmos.Dikjstra;
+import uax.ginf.tecprog.grafos.algoritmos.JerarquiaContraccion;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.Random;
+
+/**
+ * Compara el tiempo de consulta de {@link JerarquiaContraccion} con el de {@link Dikjstra} punto a punto
+ * sobre una malla con pesos aleatorios, parecida a una red de carreteras.
+ * No es una prueba unitaria: se ejecuta a mano con
+ * {@code java ... BenchmarkJerarquia [lado] [consultas]}.
+ */
+public class BenchmarkJerarquia {
+
+    public static void main(String[] args) {
+        int lado = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int consultas = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        Random random = new Random(42);
+
+        Grafo grafo = new Grafo(false);
+        Vertice[] v = new Vertice[lado * lado];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = new Vertice("v" + i, null);
+            grafo.addVertice(v[i]);
+        }
+        for (int f = 0; f < lado; f++) {
+            for (int c = 0; c < lado; c++) {
+                if (c + 1 < lado) {
+                    grafo.addAristaPeso(v[f * lado + c], v[f * lado + c + 1], 1 + random.nextInt(100));
+                }
+                if (f + 1 < lado) {
+                    grafo.addAristaPeso(v[f * lado + c], v[(f + 1) * lado + c], 1 + random.nextInt(100));
+                }
+            }
+        }
+        GrafoCSR csr = new GrafoCSR(grafo);
+
+        long t0 = System.nanoTime();
+        JerarquiaContraccion jerarquia = JerarquiaContraccion.construir(csr);
+        long t1 = System.nanoTime();
+        System.out.printf("Vertices: %d, aristas: %d, atajos: %d, preprocesado: %.1f s%n",
+                csr.getNumVertices(), csr.getNumAristas(), jerarquia.getNumAtajos(), (t1 - t0) / 1e9);
+
+        int[] origenes = new int[consultas];
+        int[] destinos = new int[consultas];
+        for (int i = 0; i < consultas; i++) {
+            origenes[i] = random.nextInt(csr.getNumVertices());
+            destinos[i] = random.nextInt(csr.getNumVertices());
+        }
+        Dikjstra dijkstra = new Dikjstra(csr);
+
+        // Calentamiento
+        for (int i = 0; i < consultas; i++) {
+            dijkstra.ejecutar(origenes[i], destinos[i]);
+            jerarquia.ejecutar(origenes[i], destinos[i]);
+        }
+
+        long asentadosDijkstra = 0;
+        double sumaDijkstra = 0;
+        t0 = System.nanoTime();
+        for (int i = 0; i < consultas; i++) {
+            sumaDijkstra += dijkstra.ejecutar(origenes[i], destinos[i]);
+            asentadosDijkstra += dijkstra.getNumAsentados();
+        }
+        t1 = System.nanoTime();
+        long asentadosJerarquia = 0;
+        double sumaJerarquia = 0;
+        for (int i = 0; i < consultas; i++) {
+            sumaJerarquia += jerarquia.ejecutar(origenes[i], destinos[i]);
+            asentadosJerarquia += jerarquia.getNumAsentados();
+        }
+        long t2 = System.nanoTime();
+
+        System.out.printf("Dijkstra:   %.1f us/consulta, %d asentados/consulta (suma %.0f)%n",
+                (t1 - t0) / 1e3 / consultas, asentadosDijkstra / consultas, sumaDijkstra);
+        System.out.printf("Jerarquia:  %.1f us/consulta, %d asentados/consulta (suma %.0f)%n",
+                (t2 - t1) / 1e3 / consultas, asentadosJerarquia / consultas, sumaJerarquia);
+    }
+}
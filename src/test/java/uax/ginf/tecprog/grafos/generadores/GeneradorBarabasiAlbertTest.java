@@ -0,0 +1,53 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase GeneradorBarabasiAlbert.
+ */
+class GeneradorBarabasiAlbertTest {
+
+    /**
+     * Prueba que cada vértice añade sus aristas hacia vértices anteriores, y que el resultado no depende
+     * del número de hilos.
+     */
+    @Test
+    void testAristasHaciaAtras() {
+        GeneradorBarabasiAlbert generador = new GeneradorBarabasiAlbert(100000, 4);
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        AristasGeneradas aristas = generador.generar(5);
+        AristasGeneradas secuencial = generador.generar(5, unHilo);
+        unHilo.shutdown();
+
+        assertEquals(400000, aristas.getNumAristas());
+        for (int a = 0; a < aristas.getNumAristas(); a++) {
+            assertEquals(a / 4, aristas.getOrigen(a));
+            assertTrue(aristas.getDestino(a) <= aristas.getOrigen(a));
+            assertEquals(secuencial.getDestino(a), aristas.getDestino(a));
+        }
+    }
+
+    /**
+     * Prueba la conexión preferente: los primeros vértices acumulan muchas más aristas que los últimos.
+     */
+    @Test
+    void testConexionPreferente() {
+        AristasGeneradas aristas = new GeneradorBarabasiAlbert(100000, 4).generar(7);
+        int[] grados = new int[aristas.getNumVertices()];
+        for (int a = 0; a < aristas.getNumAristas(); a++) {
+            grados[aristas.getOrigen(a)]++;
+            grados[aristas.getDestino(a)]++;
+        }
+        long primeros = 0;
+        long ultimos = 0;
+        for (int v = 0; v < 1000; v++) {
+            primeros += grados[v];
+            ultimos += grados[grados.length - 1 - v];
+        }
+        assertTrue(primeros > 5 * ultimos, primeros + " frente a " + ultimos);
+    }
+}
@@ -0,0 +1,52 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase GeneradorGeometrico.
+ */
+class GeneradorGeometricoTest {
+
+    /**
+     * Prueba que se encuentran exactamente los pares a distancia menor o igual que el radio, comparando
+     * con la búsqueda de todos los pares, y que el orden no depende del número de hilos.
+     */
+    @Test
+    void testIgualQueTodosLosPares() {
+        int n = 3000;
+        double radio = 0.03;
+        GeneradorGeometrico generador = new GeneradorGeometrico(n, radio);
+        ForkJoinPool cuatroHilos = new ForkJoinPool(4);
+        AristasGeneradas aristas = generador.generar(4);
+        AristasGeneradas paralelas = generador.generar(4, cuatroHilos);
+        cuatroHilos.shutdown();
+
+        Set<Long> encontradas = new HashSet<>();
+        for (int a = 0; a < aristas.getNumAristas(); a++) {
+            assertEquals(aristas.getOrigen(a), paralelas.getOrigen(a));
+            assertEquals(aristas.getDestino(a), paralelas.getDestino(a));
+            assertTrue(aristas.getPeso(a) <= radio);
+            assertTrue(encontradas.add((long) aristas.getOrigen(a) * n + aristas.getDestino(a)));
+        }
+
+        int esperadas = 0;
+        for (int p = 0; p < n; p++) {
+            for (int q = p + 1; q < n; q++) {
+                double dx = Bloques.aleatorioDouble(4, 2L * p) - Bloques.aleatorioDouble(4, 2L * q);
+                double dy = Bloques.aleatorioDouble(4, 2L * p + 1) - Bloques.aleatorioDouble(4, 2L * q + 1);
+                if (dx * dx + dy * dy <= radio * radio) {
+                    esperadas++;
+                    assertTrue(encontradas.contains((long) p * n + q));
+                }
+            }
+        }
+        assertEquals(esperadas, aristas.getNumAristas());
+        assertTrue(esperadas > 0);
+    }
+}
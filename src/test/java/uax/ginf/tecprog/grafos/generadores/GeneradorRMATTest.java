@@ -0,0 +1,91 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase GeneradorRMAT.
+ */
+class GeneradorRMATTest {
+
+    /**
+     * Prueba que la misma semilla da las mismas aristas con cualquier número de hilos, y otra semilla no.
+     */
+    @Test
+    void testDeterminista() {
+        GeneradorRMAT generador = new GeneradorRMAT(14, 8);
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        ForkJoinPool cuatroHilos = new ForkJoinPool(4);
+        AristasGeneradas primera = generador.generar(1, unHilo);
+        AristasGeneradas segunda = generador.generar(1, cuatroHilos);
+        AristasGeneradas otra = generador.generar(2, cuatroHilos);
+        unHilo.shutdown();
+        cuatroHilos.shutdown();
+
+        assertEquals(1 << 14, primera.getNumVertices());
+        assertEquals(8 << 14, primera.getNumAristas());
+        boolean distintas = false;
+        for (int a = 0; a < primera.getNumAristas(); a++) {
+            assertEquals(primera.getOrigen(a), segunda.getOrigen(a));
+            assertEquals(primera.getDestino(a), segunda.getDestino(a));
+            distintas |= primera.getDestino(a) != otra.getDestino(a);
+        }
+        assertTrue(distintas);
+    }
+
+    /**
+     * Prueba que los grados siguen una distribución muy sesgada: el vértice con más aristas tiene muchas
+     * más que la media, y se pueden volcar en una GrafoCSR.
+     */
+    @Test
+    void testGradosSesgados() {
+        AristasGeneradas aristas = new GeneradorRMAT(14, 8).generar(3);
+        GrafoCSR csr = aristas.aCSR(true);
+        int maximo = 0;
+        for (int v = 0; v < csr.getNumVertices(); v++) {
+            maximo = Math.max(maximo, csr.getGrado(v));
+        }
+        assertEquals(aristas.getNumAristas(), csr.getNumAristas());
+        assertTrue(maximo > 20 * 8, "grado máximo " + maximo);
+        assertEquals(1.0, aristas.getPeso(0));
+        assertThrows(IllegalArgumentException.class, () -> new GeneradorRMAT(30, 4));
+    }
+
+    /**
+     * Prueba que la instantánea generada por bloques no depende del número de hilos y tiene las mismas
+     * adyacencias que la construida desde la lista de aristas completa.
+     */
+    @Test
+    void testGenerarCSR() {
+        GeneradorRMAT generador = new GeneradorRMAT(12, 8);
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        ForkJoinPool cuatroHilos = new ForkJoinPool(4);
+        GrafoCSR primera = generador.generarCSR(4, false, unHilo);
+        GrafoCSR segunda = generador.generarCSR(4, false, cuatroHilos);
+        GrafoCSR completa = generador.generar(4, cuatroHilos).aCSR(false);
+        unHilo.shutdown();
+        cuatroHilos.shutdown();
+
+        assertEquals(2 * (8 << 12), primera.getNumAristas());
+        for (int a = 0; a < primera.getNumAristas(); a++) {
+            assertEquals(primera.getDestino(a), segunda.getDestino(a));
+        }
+        for (int v = 0; v < primera.getNumVertices(); v++) {
+            assertEquals(completa.getInicio(v), primera.getInicio(v));
+            int[] esperados = new int[completa.getGrado(v)];
+            for (int i = 0; i < esperados.length; i++) {
+                esperados[i] = completa.getDestino(completa.getInicio(v) + i);
+            }
+            Arrays.sort(esperados);
+            for (int i = 0; i < esperados.length; i++) {
+                assertEquals(esperados[i], primera.getDestino(primera.getInicio(v) + i));
+            }
+        }
+        assertEquals("v7", primera.getVertice(7).getId());
+    }
+}
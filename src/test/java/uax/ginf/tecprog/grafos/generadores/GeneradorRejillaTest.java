@@ -0,0 +1,97 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.algoritmos.BFS;
+import uax.ginf.tecprog.grafos.io.CargadorGrafo;
+import uax.ginf.tecprog.grafos.io.GrafoMapeado;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase GeneradorRejilla.
+ */
+class GeneradorRejillaTest {
+
+    /**
+     * Prueba la estructura de la rejilla: número de aristas, grados y distancia entre esquinas opuestas.
+     */
+    @Test
+    void testEstructura() {
+        AristasGeneradas aristas = new GeneradorRejilla(300, 400).generar(1);
+        assertEquals(120000, aristas.getNumVertices());
+        assertEquals(300 * 399 + 299 * 400, aristas.getNumAristas());
+        GrafoCSR csr = aristas.aCSR(false);
+        assertEquals(2, csr.getGrado(0));
+        assertEquals(4, csr.getGrado(400 + 1));
+        BFS bfs = new BFS(csr);
+        bfs.ejecutar(0);
+        assertEquals(299 + 399, bfs.getDistancia(120000 - 1));
+    }
+
+    /**
+     * Prueba que los pesos quedan en el rango pedido y se repiten con la misma semilla.
+     */
+    @Test
+    void testPesos() {
+        GeneradorRejilla generador = new GeneradorRejilla(50, 50, 1, 10);
+        AristasGeneradas aristas = generador.generar(9);
+        AristasGeneradas repetidas = generador.generar(9);
+        boolean hayDistintos = false;
+        for (int a = 0; a < aristas.getNumAristas(); a++) {
+            double peso = aristas.getPeso(a);
+            assertTrue(peso >= 1 && peso <= 10 && peso == Math.rint(peso));
+            assertEquals(peso, repetidas.getPeso(a));
+            hayDistintos |= peso != aristas.getPeso(0);
+        }
+        assertTrue(hayDistintos);
+    }
+
+    /**
+     * Prueba que el archivo escrito por bloques tiene las mismas adyacencias y pesos que la instantánea
+     * construida desde la lista de aristas completa.
+     */
+    @Test
+    void testGuardarPorBloques() throws IOException {
+        GeneradorRejilla generador = new GeneradorRejilla(60, 70, 1, 10);
+        GrafoCSR completa = generador.generar(5).aCSR(false);
+        GrafoCSR porBloques = generador.generarCSR(5, false);
+        Path archivo = Files.createTempFile("rejilla", ".bin");
+        try {
+            generador.guardar(5, archivo, false);
+            GrafoMapeado mapeado = CargadorGrafo.abrirBinario(archivo);
+            assertFalse(mapeado.isEsDirigido());
+            assertEquals(completa.getNumAristas(), mapeado.getNumAristas());
+            int[] destinos = new int[4];
+            double[] pesos = new double[4];
+            for (int v = 0; v < completa.getNumVertices(); v++) {
+                List<String> esperadas = new ArrayList<>();
+                for (int a = completa.getInicio(v); a < completa.getFin(v); a++) {
+                    esperadas.add(completa.getDestino(a) + ":" + completa.getPeso(a));
+                }
+                esperadas.sort(null);
+                List<String> copiadas = new ArrayList<>();
+                List<String> colocadas = new ArrayList<>();
+                int grado = mapeado.copiarVecinos(v, destinos, pesos);
+                for (int i = 0; i < grado; i++) {
+                    copiadas.add(destinos[i] + ":" + pesos[i]);
+                    colocadas.add(porBloques.getDestino(porBloques.getInicio(v) + i) + ":"
+                            + porBloques.getPeso(porBloques.getInicio(v) + i));
+                }
+                copiadas.sort(null);
+                colocadas.sort(null);
+                assertEquals(esperadas, copiadas);
+                assertEquals(esperadas, colocadas);
+                assertEquals("v" + v, mapeado.getId(v));
+            }
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package uax.ginf.tecprog.grafos.generadores;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase GeneradorWattsStrogatz.
+ */
+class GeneradorWattsStrogatzTest {
+
+    /**
+     * Prueba que con beta 0 se obtiene el anillo regular.
+     */
+    @Test
+    void testAnillo() {
+        AristasGeneradas aristas = new GeneradorWattsStrogatz(10, 4, 0.0).generar(1);
+        assertEquals(20, aristas.getNumAristas());
+        for (int a = 0; a < aristas.getNumAristas(); a++) {
+            int origen = aristas.getOrigen(a);
+            assertEquals((origen + a % 2 + 1) % 10, aristas.getDestino(a));
+        }
+    }
+
+    /**
+     * Prueba que se recablea aproximadamente la proporción beta de las aristas, sin crear bucles.
+     */
+    @Test
+    void testRecableado() {
+        AristasGeneradas aristas = new GeneradorWattsStrogatz(100000, 10, 0.1).generar(2);
+        int recableadas = 0;
+        for (int a = 0; a < aristas.getNumAristas(); a++) {
+            int origen = aristas.getOrigen(a);
+            int destino = aristas.getDestino(a);
+            assertNotEquals(origen, destino);
+            int salto = Math.floorMod(destino - origen, 100000);
+            if (salto < 1 || salto > 5) {
+                recableadas++;
+            }
+        }
+        assertEquals(0.1, recableadas / (double) aristas.getNumAristas(), 0.01);
+        assertThrows(IllegalArgumentException.class, () -> new GeneradorWattsStrogatz(10, 3, 0.1));
+    }
+}
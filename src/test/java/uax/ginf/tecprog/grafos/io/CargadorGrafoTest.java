@@ -0,0 +1,154 @@
+package uax.ginf.tecprog.grafos.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase CargadorGrafo.
+ */
+class CargadorGrafoTest {
+    private Path archivo;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archivo = Files.createTempFile("grafo", ".txt");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    /**
+     * Devuelve el peso de la arista origen -> destino de la instantánea, o NaN si no existe.
+     */
+    private double peso(GrafoCSR csr, String origen, String destino) {
+        int u = csr.getIndice(new Vertice(origen, null));
+        for (int a = csr.getInicio(u); a < csr.getFin(u); a++) {
+            if (csr.getVertice(csr.getDestino(a)).getId().equals(destino)) {
+                return csr.getPeso(a);
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Prueba el formato: comentarios, líneas vacías, separadores y pesos opcionales o con exponente.
+     */
+    @Test
+    void testFormato() throws IOException {
+        Files.writeString(archivo, "# comentario\n1 2 2.5\n\n2\t3\n3,1,-1e-3\r\n  7 1 0.1\n10 7 12345678901234567890");
+
+        GrafoCSR csr = CargadorGrafo.cargarCSR(archivo, true);
+
+        assertEquals(5, csr.getNumVertices());
+        assertEquals(5, csr.getNumAristas());
+        assertEquals("1", csr.getVertice(0).getId());  // Numerados en orden de aparición
+        assertEquals(2.5, peso(csr, "1", "2"));
+        assertEquals(1.0, peso(csr, "2", "3"));
+        assertEquals(-1e-3, peso(csr, "3", "1"));
+        assertEquals(0.1, peso(csr, "7", "1"));
+        assertEquals(12345678901234567890.0, peso(csr, "10", "7"));
+    }
+
+    /**
+     * Prueba que un archivo grande, repartido en varios trozos, se carga igual que línea a línea,
+     * tanto en texto plano como comprimido con gzip.
+     */
+    @Test
+    void testVariosTrozosYGzip() throws IOException {
+        Random random = new Random(7);
+        StringBuilder texto = new StringBuilder();
+        int numAristas = 300000;
+        for (int i = 0; i < numAristas; i++) {
+            texto.append(random.nextInt(5000)).append(' ').append(random.nextInt(5000)).append(' ')
+                    .append(random.nextInt(1000) / 8.0).append('\n');
+        }
+        Files.writeString(archivo, texto);
+        Grafo esperado = new Grafo(false, true);  // El archivo repite aristas, que la carga CSR conserva
+        for (String linea : texto.toString().split("\n")) {
+            String[] campos = linea.split(" ");
+            Vertice origen = new Vertice(campos[0], null);
+            Vertice destino = new Vertice(campos[1], null);
+            esperado.addVertice(origen);
+            esperado.addVertice(destino);
+            esperado.addAristaPeso(origen, destino, Double.parseDouble(campos[2]));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            GrafoCSR plano = CargadorGrafo.cargarCSR(archivo, false, pool);
+            comprobarIgual(new GrafoCSR(esperado), plano);
+
+            try (OutputStream salida = new GZIPOutputStream(Files.newOutputStream(archivo))) {
+                salida.write(texto.toString().getBytes(StandardCharsets.US_ASCII));
+            }
+            GrafoCSR comprimido = CargadorGrafo.cargarCSR(archivo, false, pool);
+            comprobarIgual(plano, comprimido);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Prueba que la carga en un Grafo crea los vértices y las aristas del archivo.
+     */
+    @Test
+    void testCargarGrafo() throws IOException {
+        Files.writeString(archivo, "1 2\n2 3 4\n");
+
+        Grafo grafo = CargadorGrafo.cargar(archivo, false);
+
+        assertEquals(3, grafo.getAdyacencias().size());
+        assertTrue(grafo.getAdyacentes(new Vertice("2", null)).contains(new Vertice("1", null)));
+        assertTrue(grafo.getAdyacentes(new Vertice("3", null)).contains(new Vertice("2", null)));
+    }
+
+    /**
+     * Prueba que una línea mal formada lanza IOException indicando la posición.
+     */
+    @Test
+    void testFormatoIncorrecto() throws IOException {
+        Files.writeString(archivo, "1 2\n3 x\n");
+        IOException excepcion = assertThrows(IOException.class, () -> CargadorGrafo.cargarCSR(archivo, true));
+        assertTrue(excepcion.getMessage().contains("posición 6"));
+    }
+
+    /**
+     * Comprueba que dos instantáneas tienen los mismos vértices y, para cada vértice, la misma suma de
+     * pesos y el mismo grado.
+     */
+    private void comprobarIgual(GrafoCSR esperado, GrafoCSR obtenido) {
+        assertEquals(esperado.getNumVertices(), obtenido.getNumVertices());
+        assertEquals(esperado.getNumAristas(), obtenido.getNumAristas());
+        for (int v = 0; v < esperado.getNumVertices(); v++) {
+            int w = obtenido.getIndice(esperado.getVertice(v));
+            assertEquals(esperado.getGrado(v), obtenido.getGrado(w));
+            double sumaEsperada = 0;
+            double sumaObtenida = 0;
+            for (int a = esperado.getInicio(v); a < esperado.getFin(v); a++) {
+                sumaEsperada += esperado.getPeso(a) * (1 + esperado.getDestino(a) % 7);
+            }
+            for (int a = obtenido.getInicio(w); a < obtenido.getFin(w); a++) {
+                int destino = esperado.getIndice(obtenido.getVertice(obtenido.getDestino(a)));
+                sumaObtenida += obtenido.getPeso(a) * (1 + destino % 7);
+            }
+            assertEquals(sumaEsperada, sumaObtenida, 1e-6);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package uax.ginf.tecprog.grafos.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.algoritmos.BFS;
+import uax.ginf.tecprog.grafos.algoritmos.DFS;
+import uax.ginf.tecprog.grafos.algoritmos.Dikjstra;
+import uax.ginf.tecprog.grafos.generadores.GeneradorRMAT;
+import uax.ginf.tecprog.grafos.generadores.GeneradorRejilla;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.GrafoCSR;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para las clases GuardadorGrafo y GrafoMapeado.
+ */
+class GuardadorGrafoTest {
+    private Path archivo;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archivo = Files.createTempFile("grafo", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    /**
+     * Crea un grafo dirigido aleatorio con identificadores no ASCII, pesos variados y destinos muy separados.
+     */
+    private GrafoCSR crearGrafo(boolean pesosUnitarios) {
+        Random random = new Random(5);
+        Grafo grafo = new Grafo(true);
+        Vertice[] v = new Vertice[3000];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = new Vertice("vértice-" + i, null);
+            grafo.addVertice(v[i]);
+        }
+        for (int i = 0; i < 20000; i++) {
+            grafo.addAristaPeso(v[random.nextInt(v.length)], v[random.nextInt(v.length)],
+                    pesosUnitarios ? 1.0 : random.nextGaussian());
+        }
+        return new GrafoCSR(grafo);
+    }
+
+    /**
+     * Prueba que el grafo proyectado tiene los mismos identificadores, grados, destinos y pesos.
+     */
+    @Test
+    void testGuardarYAbrir() throws IOException {
+        for (boolean pesosUnitarios : new boolean[]{false, true}) {
+            GrafoCSR csr = crearGrafo(pesosUnitarios);
+            GuardadorGrafo.guardar(csr, archivo);
+
+            GrafoMapeado mapeado = CargadorGrafo.abrirBinario(archivo);
+
+            assertTrue(mapeado.isEsDirigido());
+            assertEquals(csr.getNumVertices(), mapeado.getNumVertices());
+            assertEquals(csr.getNumAristas(), mapeado.getNumAristas());
+            int[] destinos = new int[csr.getNumVertices()];
+            double[] pesos = new double[csr.getNumVertices()];
+            for (int v = 0; v < csr.getNumVertices(); v++) {
+                assertEquals(csr.getVertice(v).getId(), mapeado.getId(v));
+                assertEquals(csr.getGrado(v), mapeado.getGrado(v));
+                assertEquals(aristas(csr, v), aristasMapeadas(mapeado, v));
+                int grado = mapeado.copiarVecinos(v, destinos, pesos);
+                List<String> copiadas = new ArrayList<>();
+                for (int i = 0; i < grado; i++) {
+                    copiadas.add(destinos[i] + ":" + pesos[i]);
+                }
+                assertEquals(aristas(csr, v), copiadas);
+            }
+            assertEquals(csr.getIndice(new Vertice("vértice-42", null)), mapeado.buscarIndice("vértice-42"));
+            assertEquals(-1, mapeado.buscarIndice("inexistente"));
+        }
+    }
+
+    /**
+     * Prueba que un byte alterado en el cuerpo o en la cabecera se detecta al abrir el archivo.
+     */
+    @Test
+    void testArchivoDaniado() throws IOException {
+        GuardadorGrafo.guardar(crearGrafo(false), archivo);
+        long tamanio = Files.size(archivo);
+        alterarByte(tamanio / 2);
+        assertThrows(IOException.class, () -> CargadorGrafo.abrirBinario(archivo));
+        assertDoesNotThrow(() -> CargadorGrafo.abrirBinario(archivo, false));
+
+        GuardadorGrafo.guardar(crearGrafo(false), archivo);
+        alterarByte(13);
+        assertThrows(IOException.class, () -> CargadorGrafo.abrirBinario(archivo, false));
+
+        Files.write(archivo, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> CargadorGrafo.abrirBinario(archivo));
+    }
+
+    /**
+     * Lista ordenada de "destino:peso" de las aristas de un vértice de la instantánea.
+     */
+    private List<String> aristas(GrafoCSR csr, int v) {
+        List<String> aristas = new ArrayList<>();
+        for (int a = csr.getInicio(v); a < csr.getFin(v); a++) {
+            aristas.add(csr.getDestino(a) + ":" + csr.getPeso(a));
+        }
+        String[] ordenadas = aristas.toArray(new String[0]);
+        Arrays.sort(ordenadas, (x, y) -> Integer.compare(Integer.parseInt(x.split(":")[0]), Integer.parseInt(y.split(":")[0])));
+        return Arrays.asList(ordenadas);
+    }
+
+    private List<String> aristasMapeadas(GrafoMapeado mapeado, int v) {
+        List<String> aristas = new ArrayList<>();
+        mapeado.recorrerVecinos(v, (destino, peso) -> aristas.add(destino + ":" + peso));
+        return aristas;
+    }
+
+    private void alterarByte(long posicion) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            canal.read(buffer, posicion);
+            buffer.put(0, (byte) (buffer.get(0) ^ 0x5A));
+            buffer.rewind();
+            canal.write(buffer, posicion);
+        }
+    }
+
+    /**
+     * Prueba el guardado de adyacencias sueltas: ids pedidos al escribir, columna de pesos omitida si todos
+     * valen 1.0 y rechazo de destinos desordenados.
+     */
+    @Test
+    void testGuardarAdyacencias() throws IOException {
+        int[] desplazamientos = {0, 2, 2, 3};
+        GuardadorGrafo.guardar(archivo, true, desplazamientos, new int[]{1, 2, 0}, new double[]{1.0, 1.0, 1.0},
+                v -> "n" + v);
+        GrafoMapeado mapeado = CargadorGrafo.abrirBinario(archivo);
+        assertEquals(3, mapeado.getNumVertices());
+        assertEquals(3, mapeado.getNumAristas());
+        assertEquals("n2", mapeado.getId(2));
+        assertEquals(2, mapeado.getGrado(0));
+        assertEquals(0, mapeado.getGrado(1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> GuardadorGrafo.guardar(archivo, true, desplazamientos, new int[]{2, 1, 0}, null, v -> "n" + v));
+        assertThrows(IllegalArgumentException.class,
+                () -> GuardadorGrafo.guardar(archivo, true, desplazamientos, new int[]{1, 2}, null, v -> "n" + v));
+    }
+
+    /**
+     * Prueba que BFS, DFS y Dijkstra se ejecutan directamente sobre el archivo proyectado y obtienen lo
+     * mismo que sobre la instantánea, que tiene las adyacencias en el mismo orden.
+     */
+    @Test
+    void testAlgoritmosSobreArchivo() throws IOException {
+        GeneradorRMAT rmat = new GeneradorRMAT(11, 4);
+        GrafoCSR dirigido = rmat.generarCSR(2, true);
+        rmat.guardar(2, archivo, true);
+        GrafoMapeado mapeado = CargadorGrafo.abrirBinario(archivo);
+        BFS bfsEsperado = new BFS(dirigido);
+        BFS bfs = new BFS(mapeado);
+        bfsEsperado.ejecutar(0);
+        bfs.ejecutar(0);
+        DFS dfsEsperado = new DFS(dirigido);
+        DFS dfs = new DFS(mapeado);
+        dfsEsperado.ejecutar();
+        dfs.ejecutar();
+        for (int v = 0; v < dirigido.getNumVertices(); v++) {
+            assertEquals(bfsEsperado.getDistancia(v), bfs.getDistancia(v));
+            assertEquals(dfsEsperado.getFinalizacion(v), dfs.getFinalizacion(v));
+        }
+        int[] componentes = new int[dirigido.getNumVertices()];
+        assertEquals(dfsEsperado.componentesFuertes(componentes), dfs.componentesFuertes(componentes));
+
+        GeneradorRejilla rejilla = new GeneradorRejilla(40, 50, 1, 10);
+        GrafoCSR carreteras = rejilla.generarCSR(3, false);
+        Path otro = Files.createTempFile("rejilla", ".bin");    // El primero sigue proyectado
+        try {
+            rejilla.guardar(3, otro, false);
+            GrafoMapeado mapeadas = CargadorGrafo.abrirBinario(otro);
+            Dikjstra esperado = new Dikjstra(carreteras);
+            Dikjstra dijkstra = new Dikjstra(mapeadas);
+            esperado.ejecutar(0);
+            dijkstra.ejecutar(0);
+            for (int v = 0; v < carreteras.getNumVertices(); v++) {
+                assertEquals(esperado.getDistancia(v), dijkstra.getDistancia(v));
+            }
+            assertEquals(esperado.getDistancia(1999), dijkstra.ejecutar(0, 1999));
+        } finally {
+            Files.deleteIfExists(otro);
+        }
+    }
+}
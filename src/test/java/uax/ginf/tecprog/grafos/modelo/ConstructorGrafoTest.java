@@ -0,0 +1,189 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase ConstructorGrafo.
+ */
+class ConstructorGrafoTest {
+
+    /**
+     * Describe las aristas de salida y de entrada de cada vértice, ordenadas, para comparar dos grafos
+     * cuyas aristas se recorren en distinto orden.
+     */
+    private static List<String> describir(Grafo grafo) {
+        List<String> aristas = new ArrayList<>();
+        for (Vertice vertice : grafo.getVertices()) {
+            grafo.recorrerAdyacentes(vertice, (vecino, peso) -> aristas.add(vertice.getId() + ">" + vecino.getId() + ":" + peso));
+            grafo.recorrerPredecesores(vertice, (vecino, peso) -> aristas.add(vertice.getId() + "<" + vecino.getId() + ":" + peso));
+        }
+        Collections.sort(aristas);
+        return aristas;
+    }
+
+    /**
+     * Prueba que construir da el mismo grafo que añadir las aristas una a una, con aristas repetidas,
+     * bucles y en todas las combinaciones de dirigido y multigrafo.
+     */
+    @Test
+    void testConstruirIgualQueUnoAUno() {
+        for (boolean esDirigido : new boolean[]{true, false}) {
+            for (boolean esMultigrafo : new boolean[]{true, false}) {
+                Random random = new Random(esDirigido ? 3 : 4);
+                Vertice[] v = new Vertice[3000];
+                for (int i = 0; i < v.length; i++) {
+                    v[i] = new Vertice("v" + i, null);
+                }
+                Grafo esperado = new Grafo(esDirigido, esMultigrafo);
+                ConstructorGrafo constructor = new ConstructorGrafo(esDirigido, esMultigrafo);
+                for (Vertice vertice : v) {
+                    esperado.addVertice(vertice);
+                    constructor.addVertice(vertice);
+                }
+                for (int a = 0; a < 20000; a++) {
+                    Vertice origen = v[random.nextInt(v.length / 4)];   // Muchas aristas repetidas
+                    Vertice destino = v[random.nextInt(v.length / 4)];
+                    double peso = random.nextInt(100);
+                    esperado.addAristaPeso(origen, destino, peso);
+                    constructor.addAristaPeso(origen, destino, peso);
+                }
+
+                ForkJoinPool pool = new ForkJoinPool(4);
+                Grafo grafo;
+                try {
+                    grafo = constructor.construir(pool);
+                } finally {
+                    pool.shutdown();
+                }
+
+                assertEquals(describir(esperado), describir(grafo));
+                assertEquals(0, constructor.getNumVertices());
+                grafo.addVertice(new Vertice("nuevo", null));   // El grafo construido sigue creciendo
+                grafo.deleteVertice(v[0]);
+                assertEquals(v.length, grafo.getNumVertices());
+            }
+        }
+    }
+
+    /**
+     * Prueba que aplicar un lote borra antes de insertar y avisa a los oyentes de cada cambio.
+     */
+    @Test
+    void testAplicar() {
+        Grafo grafo = new Grafo(true);
+        Vertice v1 = new Vertice("v1", null);
+        Vertice v2 = new Vertice("v2", null);
+        Vertice v3 = new Vertice("v3", null);
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addAristaPeso(v1, v2, 1.0);
+        grafo.addAristaPeso(v2, v1, 1.0);
+        List<String> avisos = new ArrayList<>();
+        grafo.addOyente(new OyenteGrafo() {
+            @Override
+            public void verticeAnadido(Vertice vertice) {
+                avisos.add("+" + vertice.getId());
+            }
+
+            @Override
+            public void aristaAnadida(Vertice origen, Vertice destino, double peso) {
+                avisos.add(origen.getId() + "+" + destino.getId());
+            }
+
+            @Override
+            public void aristaEliminada(Vertice origen, Vertice destino) {
+                avisos.add(origen.getId() + "-" + destino.getId());
+            }
+        });
+
+        ConstructorGrafo lote = new ConstructorGrafo(true);
+        lote.addAristaPeso(v2, v3, 5.0);
+        lote.addAristaPeso(v1, v2, 7.0);
+        lote.deleteArista(v1, v2);
+        lote.deleteArista(v2, v1);
+        lote.deleteArista(v3, v1);
+        lote.aplicar(grafo);
+
+        assertEquals(Set.of(v2), grafo.getAdyacentes(v1));
+        assertEquals(7.0, grafo.getPeso(v1, v2));
+        assertFalse(grafo.hasArista(v2, v1));
+        assertEquals(5.0, grafo.getPeso(v2, v3));
+        // Las inserciones se agrupan por origen, en el orden en que los orígenes entraron en el lote
+        assertEquals(List.of("+v3", "v1-v2", "v2-v1", "v2+v3", "v1+v2"), avisos);
+        assertEquals(0, lote.getNumAristas());
+        assertThrows(IllegalArgumentException.class, () -> lote.aplicar(new Grafo(false)));
+        assertThrows(IllegalArgumentException.class, () -> lote.addAristaPeso(0, 1, 1.0));
+    }
+
+    /**
+     * Prueba que en un grafo concurrente el lote se aplica en una sola versión y que una instantánea no
+     * admite lotes.
+     */
+    @Test
+    void testAplicarConcurrente() {
+        GrafoConcurrente grafo = new GrafoConcurrente(false);
+        Vertice v1 = new Vertice("v1", null);
+        Vertice v2 = new Vertice("v2", null);
+        Vertice v3 = new Vertice("v3", null);
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addArista(v1, v2);
+
+        try (InstantaneaGrafo antes = grafo.instantanea()) {
+            ConstructorGrafo lote = new ConstructorGrafo(false);
+            lote.deleteArista(v1, v2);
+            lote.addArista(v2, v3);
+            lote.addArista(v3, v1);
+            lote.aplicar(grafo);
+
+            assertTrue(antes.hasArista(v1, v2));
+            assertFalse(antes.contieneVertice(v3));
+            assertEquals(Set.of(v3), grafo.getAdyacentes(v1));
+            assertEquals(Set.of(v1, v2), grafo.getAdyacentes(v3));
+
+            ConstructorGrafo otro = new ConstructorGrafo(false);
+            otro.addArista(v1, v2);
+            assertThrows(UnsupportedOperationException.class, () -> otro.aplicar(antes));
+        }
+    }
+
+    /**
+     * Prueba que eliminar en un lote aristas de vértices que no están en el grafo no los añade ni avisa,
+     * tanto en un grafo como en un grafo concurrente.
+     */
+    @Test
+    void testBorrarSinVertices() {
+        Vertice x = new Vertice("x", null);
+        Vertice y = new Vertice("y", null);
+        Vertice z = new Vertice("z", null);
+        for (GrafoAbstracto grafo : List.of(new Grafo(true), new GrafoConcurrente(true))) {
+            grafo.addVertice(x);
+            List<Vertice> anadidos = new ArrayList<>();
+            grafo.addOyente(new OyenteGrafo() {
+                @Override
+                public void verticeAnadido(Vertice vertice) {
+                    anadidos.add(vertice);
+                }
+            });
+
+            ConstructorGrafo lote = new ConstructorGrafo(true);
+            lote.deleteArista(y, z);
+            lote.deleteArista(x, y);
+            assertEquals(0, lote.getNumVertices());
+            lote.aplicar(grafo);
+
+            assertEquals(Set.of(x), grafo.getVertices());
+            assertTrue(anadidos.isEmpty());
+            assertEquals(1, grafo.getNumModificaciones());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase FeedCambios.
+ */
+class FeedCambiosTest {
+
+    /**
+     * Prueba que los cambios llegan en orden y por lotes, y que sin suscriptores no se publica nada.
+     */
+    @Test
+    void testLeerPorLotes() {
+        Grafo grafo = new Grafo(true);
+        Vertice v1 = new Vertice("v1", null);
+        Vertice v2 = new Vertice("v2", null);
+        FeedCambios feed = new FeedCambios(grafo, 10);
+        assertEquals(16, feed.getCapacidad());
+        assertEquals(FeedCambios.Contrapresion.DESCARTAR, feed.getContrapresion());
+        grafo.addVertice(v1);
+        assertEquals(0, feed.getNumPublicados());
+
+        FeedCambios.Suscripcion suscripcion = feed.suscribir();
+        grafo.addVertice(v2);
+        grafo.addAristaPeso(v1, v2, 2.5);
+        grafo.setPeso(v1, v2, 4.0);
+        Vertice w2 = grafo.renombrarVertice(v2, "w2");
+        grafo.deleteArista(v1, w2);
+        grafo.deleteVertice(v1);
+        assertEquals(6, suscripcion.getPendientes());
+
+        List<String> cambios = new ArrayList<>();   // Los avisos anteriores al renombrado llevan el vértice v2
+        FeedCambios.LectorCambios lector = cambio -> cambios.add(cambio.getSecuencia() + " " + cambio.getTipo() + " "
+                + cambio.getOrigen().getId() + (cambio.getDestino() == null ? "" : ">" + cambio.getDestino().getId())
+                + (cambio.getPeso() == 0 ? "" : ":" + cambio.getPeso())
+                + (cambio.getIdAnterior() == null ? "" : "<" + cambio.getIdAnterior()));
+        assertEquals(4, suscripcion.leer(4, lector));
+        assertEquals(2, suscripcion.leer(100, lector));
+        assertEquals(0, suscripcion.leer(100, lector));
+        assertEquals(List.of("0 VERTICE_ANADIDO v2", "1 ARISTA_ANADIDA v1>v2:2.5", "2 PESO_CAMBIADO v1>v2:4.0",
+                "3 VERTICE_RENOMBRADO w2<v2", "4 ARISTA_ELIMINADA v1>w2", "5 VERTICE_ELIMINADO v1"), cambios);
+
+        suscripcion.close();
+        grafo.addVertice(v1);
+        assertEquals(6, feed.getNumPublicados());
+        FeedCambios.Suscripcion otra = feed.suscribir();
+        grafo.deleteVertice(v1);
+        assertEquals(7, feed.getNumPublicados());
+        assertEquals(1, otra.getPendientes());
+        feed.close();
+        grafo.addVertice(v1);
+        assertEquals(7, feed.getNumPublicados());
+        assertThrows(IllegalStateException.class, feed::suscribir);
+    }
+
+    /**
+     * Prueba que con DESCARTAR un suscriptor lento queda desfasado sin frenar al grafo, y que puede reanudar.
+     */
+    @Test
+    void testDescartar() {
+        Grafo grafo = new Grafo(false);
+        FeedCambios feed = new FeedCambios(grafo, 4, FeedCambios.Contrapresion.DESCARTAR);
+        FeedCambios.Suscripcion lenta = feed.suscribir();
+        FeedCambios.Suscripcion rapida = feed.suscribir();
+        List<Long> leidos = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            grafo.addVertice(new Vertice("v" + i, null));
+            rapida.leer(1, cambio -> leidos.add(cambio.getSecuencia()));
+        }
+        assertEquals(10, leidos.size());
+        assertFalse(rapida.isDesfasada());
+        assertTrue(lenta.isDesfasada());
+        assertThrows(IllegalStateException.class, () -> lenta.leer(10, cambio -> { }));
+
+        lenta.reanudar();
+        assertFalse(lenta.isDesfasada());
+        grafo.addVertice(new Vertice("x", null));
+        List<Long> reanudados = new ArrayList<>();
+        assertEquals(1, lenta.leer(10, cambio -> reanudados.add(cambio.getSecuencia())));
+        assertEquals(List.of(10L), reanudados);
+    }
+
+    /**
+     * Prueba que con ESPERAR un grafo concurrente modificado desde varios hilos entrega todos los cambios
+     * a un lector en otro hilo, aunque el búfer sea mucho más pequeño que el número de cambios.
+     */
+    @Test
+    void testEsperar() throws InterruptedException {
+        GrafoConcurrente grafo = new GrafoConcurrente(true, 4);
+        FeedCambios feed = new FeedCambios(grafo, 8, FeedCambios.Contrapresion.ESPERAR);
+        FeedCambios.Suscripcion suscripcion = feed.suscribir();
+        int hilos = 4;
+        int porHilo = 5000;
+        long total = (long) hilos * porHilo;
+        long[] siguiente = {0}; // Secuencia que debe tener el próximo cambio
+        boolean[] desordenado = {false};
+        Thread lector = new Thread(() -> {
+            try {
+                while (siguiente[0] < total && suscripcion.esperar(5000)) {
+                    suscripcion.leer(3, cambio -> {
+                        desordenado[0] |= cambio.getSecuencia() != siguiente[0]
+                                || cambio.getTipo() != FeedCambios.Tipo.VERTICE_ANADIDO;
+                        siguiente[0]++;
+                    });
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        lector.start();
+        List<Thread> productores = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            Thread productor = new Thread(() -> {
+                for (int i = 0; i < porHilo; i++) {
+                    grafo.addVertice(new Vertice("h" + hilo + "-" + i, null));
+                }
+            });
+            productores.add(productor);
+            productor.start();
+        }
+        for (Thread productor : productores) {
+            productor.join();
+        }
+        lector.join(10000);
+        assertFalse(lector.isAlive());
+        assertEquals(total, siguiente[0]);
+        assertFalse(desordenado[0]);
+        assertEquals(0, suscripcion.getPendientes());
+        assertFalse(suscripcion.isDesfasada());
+    }
+
+    /**
+     * Prueba que con ESPERAR el hilo que lee la suscripción no se bloquea a sí mismo al llenar el búfer: el
+     * cambio se publica sin lanzar nada desde el grafo, y la suscripción queda desfasada y lo dice al leer.
+     */
+    @Test
+    void testEsperarEnElMismoHilo() {
+        Grafo grafo = new Grafo(true);
+        FeedCambios feed = new FeedCambios(grafo, 4, FeedCambios.Contrapresion.ESPERAR);
+        FeedCambios.Suscripcion suscripcion = feed.suscribir();
+        List<Vertice> vistos = new ArrayList<>();  // Oyente registrado después del canal
+        grafo.addOyente(new OyenteGrafo() {
+            @Override
+            public void verticeAnadido(Vertice vertice) {
+                vistos.add(vertice);
+            }
+        });
+        for (int i = 0; i < 4; i++) {
+            grafo.addVertice(new Vertice("v" + i, null));
+        }
+        assertFalse(suscripcion.isDesfasada());
+
+        Vertice v4 = new Vertice("v4", null);
+        grafo.addVertice(v4);
+        assertTrue(grafo.contieneVertice(v4));
+        assertEquals(v4, vistos.get(4));
+        assertEquals(5, feed.getNumPublicados());
+        assertTrue(suscripcion.isDesfasada());
+        assertThrows(IllegalStateException.class, () -> suscripcion.leer(10, cambio -> { }));
+
+        suscripcion.reanudar();
+        grafo.addVertice(new Vertice("v5", null));
+        assertEquals(1, suscripcion.leer(10, cambio -> { }));
+    }
+}
@@ -0,0 +1,209 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.excepciones.VerticeNoEncontradoExcepcion;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase GrafoCSR.
+ */
+class GrafoCSRTest {
+
+    /**
+     * Prueba que la instantánea conserva el número de vértices y aristas del grafo.
+     */
+    @Test
+    void testTamanios() {
+        // Crear un grafo no dirigido con dos aristas
+        Grafo grafo = new Grafo(false);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addVertice(v3);
+        grafo.addArista(v1, v2);
+        grafo.addAristaPeso(v2, v3, 4.0);
+
+        GrafoCSR csr = new GrafoCSR(grafo);
+
+        // Cada arista no dirigida se almacena en ambos sentidos
+        assertEquals(3, csr.getNumVertices());
+        assertEquals(4, csr.getNumAristas());
+        assertFalse(csr.isEsDirigido());
+    }
+
+    /**
+     * Prueba que las aristas de salida de cada vértice coinciden con las del grafo original.
+     */
+    @Test
+    void testAdyacenciasCoinciden() {
+        // Crear un grafo dirigido
+        Grafo grafo = new Grafo(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addVertice(v3);
+        grafo.addAristaPeso(v1, v2, 2.0);
+        grafo.addAristaPeso(v1, v3, 3.0);
+        grafo.addAristaPeso(v3, v2, 5.0);
+
+        GrafoCSR csr = new GrafoCSR(grafo);
+
+        // Comprobar destinos y pesos de v1
+        int i1 = csr.getIndice(v1);
+        assertEquals(2, csr.getGrado(i1));
+        Set<String> destinos = new HashSet<>();
+        double suma = 0;
+        for (int a = csr.getInicio(i1); a < csr.getFin(i1); a++) {
+            destinos.add(csr.getVertice(csr.getDestino(a)).getId());
+            suma += csr.getPeso(a);
+        }
+        assertEquals(Set.of("v2", "v3"), destinos);
+        assertEquals(5.0, suma);
+
+        // v2 no tiene aristas de salida en el grafo dirigido
+        assertEquals(0, csr.getGrado(csr.getIndice(v2)));
+    }
+
+    /**
+     * Prueba que el grafo traspuesto invierte las aristas de un grafo dirigido.
+     */
+    @Test
+    void testTraspuesto() {
+        Grafo grafo = new Grafo(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addVertice(v3);
+        grafo.addAristaPeso(v1, v3, 2.0);
+        grafo.addAristaPeso(v2, v3, 4.0);
+
+        GrafoCSR csr = new GrafoCSR(grafo);
+        GrafoCSR traspuesto = csr.traspuesto();
+
+        // En el traspuesto v3 tiene dos aristas de salida, hacia v1 y v2, con sus pesos
+        int i3 = traspuesto.getIndice(v3);
+        assertEquals(2, traspuesto.getGrado(i3));
+        assertEquals(0, traspuesto.getGrado(traspuesto.getIndice(v1)));
+        double suma = 0;
+        for (int a = traspuesto.getInicio(i3); a < traspuesto.getFin(i3); a++) {
+            suma += traspuesto.getPeso(a);
+        }
+        assertEquals(6.0, suma);
+        assertSame(csr, traspuesto.traspuesto());
+    }
+
+    /**
+     * Prueba que la construcción desde arreglos de aristas reparte cada arista en ambos sentidos
+     * cuando el grafo no es dirigido.
+     */
+    @Test
+    void testDesdeAristas() {
+        Vertice[] vertices = {new Vertice("a", null), new Vertice("b", null), new Vertice("c", null)};
+        int[] origenes = {0, 2};
+        int[] destinos = {1, 1};
+        double[] pesos = {2.0, 3.0};
+
+        GrafoCSR csr = GrafoCSR.desdeAristas(false, vertices, origenes, destinos, pesos, 2);
+
+        assertEquals(4, csr.getNumAristas());
+        assertEquals(2, csr.getGrado(1));
+        assertEquals(1, csr.getIndice(new Vertice("b", null)));
+        assertEquals(1, csr.getDestino(csr.getInicio(2)));
+        assertEquals(3.0, csr.getPeso(csr.getInicio(2)));
+        assertEquals(1, GrafoCSR.desdeAristas(true, vertices, origenes, destinos, pesos, 1).getNumAristas());
+    }
+
+    /**
+     * Prueba que el origen de cada arista se recupera de los desplazamientos, también con vértices sin
+     * aristas de salida, y que ordenar por peso es estable.
+     */
+    @Test
+    void testOrigenYOrdenPorPeso() {
+        Vertice[] vertices = {new Vertice("a", null), new Vertice("b", null), new Vertice("c", null),
+                new Vertice("d", null)};
+        int[] origenes = {0, 2, 2, 3};
+        int[] destinos = {1, 0, 3, 2};
+        double[] pesos = {2.0, 1.0, 2.0, 0.5};
+        GrafoCSR csr = GrafoCSR.desdeAristas(true, vertices, origenes, destinos, pesos, 4);
+
+        for (int u = 0; u < csr.getNumVertices(); u++) {
+            for (int a = csr.getInicio(u); a < csr.getFin(u); a++) {
+                assertEquals(u, csr.getOrigen(a));
+            }
+        }
+        int[] aristas = {0, 1, 2, 3};
+        csr.ordenarPorPeso(aristas, ForkJoinPool.commonPool());
+        double anterior = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < aristas.length; i++) {
+            assertTrue(anterior <= csr.getPeso(aristas[i]));
+            if (i > 0 && anterior == csr.getPeso(aristas[i])) {
+                assertTrue(aristas[i - 1] < aristas[i]);
+            }
+            anterior = csr.getPeso(aristas[i]);
+        }
+    }
+
+    /**
+     * Prueba que la instantánea no cambia al modificar el grafo original.
+     */
+    @Test
+    void testInmutable() {
+        Grafo grafo = new Grafo(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addArista(v1, v2);
+
+        GrafoCSR csr = new GrafoCSR(grafo);
+        grafo.deleteArista(v1, v2);
+
+        assertEquals(1, csr.getNumAristas());
+    }
+
+    /**
+     * Prueba que renombrar un vértice del grafo original no rompe la instantánea, que sigue
+     * encontrando sus vértices por el id que tenían al crearla.
+     */
+    @Test
+    void testRenombrarEnElOriginal() {
+        Grafo grafo = new Grafo(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addArista(v1, v2);
+
+        GrafoCSR csr = new GrafoCSR(grafo);
+        Vertice x = grafo.renombrarVertice(v1, "x");
+
+        for (int i = 0; i < csr.getNumVertices(); i++) {
+            assertEquals(i, csr.getIndice(csr.getVertice(i)));
+        }
+        assertEquals("v1", csr.getVertice(csr.getIndice(v1)).getId());
+        assertThrows(VerticeNoEncontradoExcepcion.class, () -> csr.getIndice(x));
+        GrafoCSR nueva = new GrafoCSR(grafo);
+        assertSame(x, nueva.getVertice(nueva.getIndice(x)));
+    }
+
+    /**
+     * Prueba que pedir el índice de un vértice inexistente lanza VerticeNoEncontradoExcepcion.
+     */
+    @Test
+    void testGetIndiceWithNonExistingVertex() {
+        GrafoCSR csr = new GrafoCSR(new Grafo(false));
+        Vertice v1 = new Vertice("v1", "dato");
+        assertThrows(VerticeNoEncontradoExcepcion.class, () -> csr.getIndice(v1));
+    }
+}
@@ -0,0 +1,167 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.util.ValidadorGrafo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase GrafoConcurrente.
+ */
+class GrafoConcurrenteTest {
+
+    /**
+     * Prueba que las operaciones básicas se comportan igual que en Grafo.
+     */
+    @Test
+    void testOperacionesBasicas() {
+        GrafoConcurrente grafo = new GrafoConcurrente(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addVertice(v3);
+        grafo.addAristaPeso(v1, v2, 2.0);
+        grafo.addArista(v3, v2);
+
+        assertEquals(Set.of(v2), grafo.getAdyacentes(v1));
+        assertEquals(Set.of(v1, v3), grafo.getPredecesores(v2));
+        assertEquals(2.0, grafo.getAristas(v1).get(0).getPeso());
+        assertEquals(3, grafo.getAdyacencias().size());
+
+        grafo.deleteArista(v1, v2);
+        assertTrue(grafo.getAdyacentes(v1).isEmpty());
+        assertEquals(Set.of(v3), grafo.getPredecesores(v2));
+
+        grafo.deleteVertice(v2);
+        assertFalse(grafo.contieneVertice(v2));
+        assertEquals(0, grafo.getGrado(v3));
+        assertThrows(NullPointerException.class, () -> grafo.addArista(v1, v2));
+        assertThrows(NullPointerException.class, () -> grafo.getAdyacentes(v2));
+    }
+
+    /**
+     * Prueba que una lista de aristas obtenida antes de modificar el grafo no cambia.
+     */
+    @Test
+    void testListaDeAristasEstable() {
+        GrafoConcurrente grafo = new GrafoConcurrente(false);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addVertice(v3);
+        grafo.addArista(v1, v2);
+
+        List<Arista> antes = grafo.getAristas(v1);
+        grafo.addArista(v1, v3);
+        grafo.deleteArista(v1, v2);
+
+        assertEquals(1, antes.size());
+        assertEquals(v2, antes.get(0).getDestino());
+        assertEquals(Set.of(v3), grafo.getAdyacentes(v1));
+    }
+
+    /**
+     * Prueba que inserciones y borrados desde varios hilos dejan un grafo no dirigido simétrico y con
+     * el número de aristas esperado, mientras otros hilos leen sin cerrojos.
+     */
+    @Test
+    void testEscriturasConcurrentes() throws InterruptedException {
+        GrafoConcurrente grafo = new GrafoConcurrente(false, 4);
+        Vertice[] v = new Vertice[200];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = new Vertice("v" + i, null);
+            grafo.addVertice(v[i]);
+        }
+        int hilos = 8;
+        int porHilo = 5000;
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Thread> trabajadores = new ArrayList<>();
+        List<Throwable> errores = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            int semilla = h;
+            Thread hilo = new Thread(() -> {
+                Random random = new Random(semilla);
+                try {
+                    salida.await();
+                    for (int i = 0; i < porHilo; i++) {
+                        Vertice a = v[random.nextInt(v.length)];
+                        Vertice b = v[random.nextInt(v.length)];
+                        if (semilla % 2 == 0) {
+                            grafo.addArista(a, b);
+                        } else {
+                            grafo.getAdyacentes(a);  // Lectores sin cerrojo
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (errores) {
+                        errores.add(e);
+                    }
+                }
+            });
+            trabajadores.add(hilo);
+            hilo.start();
+        }
+        salida.countDown();
+        for (Thread hilo : trabajadores) {
+            hilo.join();
+        }
+        assertTrue(errores.isEmpty());
+
+        int total = 0;
+        for (Map.Entry<Vertice, Set<Arista>> entry : grafo.getAdyacencias().entrySet()) {
+            for (Arista arista : entry.getValue()) {
+                assertTrue(grafo.getAdyacentes(arista.getDestino()).contains(entry.getKey()));
+            }
+            total += entry.getValue().size();
+        }
+        assertEquals(2 * (hilos / 2) * porHilo, total);
+
+        // Borrar la mitad de los vértices no deja aristas colgando
+        for (int i = 0; i < v.length; i += 2) {
+            grafo.deleteVertice(v[i]);
+        }
+        for (Set<Arista> aristas : grafo.getAdyacencias().values()) {
+            for (Arista arista : aristas) {
+                assertTrue(grafo.contieneVertice(arista.getDestino()));
+            }
+        }
+        assertEquals(100, new GrafoCSR(grafo).getNumVertices());
+    }
+
+    /**
+     * Prueba que un grafo concurrente y sus instantáneas se usan a través de GrafoAbstracto igual que un Grafo.
+     */
+    @Test
+    void testComoGrafoAbstracto() {
+        GrafoConcurrente grafo = new GrafoConcurrente(false);
+        Vertice a = new Vertice("a", null);
+        Vertice b = new Vertice("b", null);
+        Vertice c = new Vertice("c", null);
+        grafo.addVertice(a);
+        grafo.addVertice(b);
+        grafo.addVertice(c);
+        grafo.addArista(a, b);
+        assertEquals(4, grafo.getNumModificaciones());
+        assertEquals(2, ValidadorGrafo.contarComponentes(grafo));
+
+        try (InstantaneaGrafo instantanea = grafo.instantanea()) {
+            grafo.addArista(b, c);
+            GrafoAbstracto vista = instantanea;
+            assertFalse(ValidadorGrafo.esConexo(vista));
+            assertTrue(ValidadorGrafo.esConexo(grafo));
+            assertEquals(Set.of(a), vista.getAdyacentes(b));
+            assertEquals(0, vista.getNumModificaciones());
+        }
+    }
+}
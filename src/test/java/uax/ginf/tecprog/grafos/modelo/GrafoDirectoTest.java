@@ -0,0 +1,168 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.GrafosPrueba;
+import uax.ginf.tecprog.grafos.io.CargadorGrafo;
+import uax.ginf.tecprog.grafos.io.GuardadorGrafo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase GrafoDirecto.
+ */
+class GrafoDirectoTest {
+    private Path archivo;
+    private Path danado;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archivo = Files.createTempFile("grafo", ".gdir");
+        danado = Files.createTempFile("danado", ".gdir");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(archivo);
+        Files.deleteIfExists(danado);
+    }
+
+    /**
+     * Prueba que un grafo en memoria directa tiene las mismas aristas que la GrafoCSR de partida, y que
+     * tras cerrarlo no se puede usar.
+     */
+    @Test
+    void testCrearEnMemoria() {
+        GrafoCSR csr = new GrafoCSR(GrafosPrueba.aleatorio(false, 300, 2000, 0, 99, 2));
+        GrafoDirecto directo = GrafoDirecto.crear(csr);
+        comprobarIguales(csr, directo);
+        assertEquals(8L * (csr.getNumVertices() + 1) + 12L * csr.getNumAristas(), directo.getBytes());
+
+        long arista = directo.getInicio(3);
+        directo.setPeso(arista, 42.0);
+        assertEquals(42.0, directo.getPeso(arista));
+
+        directo.close();
+        directo.close();
+        assertTrue(directo.isCerrado());
+        assertThrows(IllegalStateException.class, () -> directo.getDestino(0));
+        assertThrows(IllegalStateException.class, () -> directo.recorrerVecinos(0, (destino, peso) -> { }));
+    }
+
+    /**
+     * Prueba que un grafo escrito en un archivo se vuelve a abrir igual, que conserva los cambios de peso
+     * y que al abrirlo de nuevo es de solo lectura.
+     */
+    @Test
+    void testArchivo() throws IOException {
+        GrafoCSR csr = new GrafoCSR(GrafosPrueba.aleatorio(true, 300, 2000, 0, 99, 1));
+        long arista;
+        try (GrafoDirecto directo = GrafoDirecto.crear(csr, archivo)) {
+            comprobarIguales(csr, directo);
+            arista = directo.getInicio(5);
+            directo.setPeso(arista, -1.5);
+        }
+        try (GrafoDirecto abierto = GrafoDirecto.abrir(archivo)) {
+            assertTrue(abierto.isEsDirigido());
+            assertEquals(-1.5, abierto.getPeso(arista));
+            assertThrows(UnsupportedOperationException.class, () -> abierto.setPeso(arista, 1.0));
+            for (int a = 0; a < csr.getNumAristas(); a++) {
+                assertEquals(csr.getDestino(a), abierto.getDestino(a));
+                assertEquals(a == arista ? -1.5 : csr.getPeso(a), abierto.getPeso(a));
+            }
+        }
+
+        byte[] bytes = Files.readAllBytes(archivo);
+        Files.write(danado, Arrays.copyOf(bytes, bytes.length - 8));
+        assertThrows(IOException.class, () -> GrafoDirecto.abrir(danado));
+        Files.write(danado, new byte[100]);
+        assertThrows(IOException.class, () -> GrafoDirecto.abrir(danado));
+    }
+
+    /**
+     * Prueba que un mismo recorrido escrito sobre AdyacenciaIndexada da el mismo resultado en la GrafoCSR,
+     * en el GrafoDirecto y en el GrafoMapeado del mismo grafo.
+     */
+    @Test
+    void testComoAdyacenciaIndexada() throws IOException {
+        GrafoCSR csr = new GrafoCSR(GrafosPrueba.aleatorio(true, 200, 600, 1, 9, 3));
+        GuardadorGrafo.guardar(csr, archivo);
+        try (GrafoDirecto directo = GrafoDirecto.crear(csr)) {
+            int[] esperadas = distancias(csr, 0);
+            double[] pesos = pesosSalida(csr);
+            for (AdyacenciaIndexada grafo : List.of(directo, CargadorGrafo.abrirBinario(archivo))) {
+                assertTrue(grafo.isEsDirigido());
+                assertArrayEquals(esperadas, distancias(grafo, 0));
+                assertArrayEquals(pesos, pesosSalida(grafo));
+            }
+        }
+    }
+
+    /**
+     * Distancias en número de aristas desde un origen, o -1 para los vértices no alcanzables.
+     */
+    private static int[] distancias(AdyacenciaIndexada grafo, int origen) {
+        int[] distancias = new int[grafo.getNumVertices()];
+        Arrays.fill(distancias, -1);
+        int[] cola = new int[distancias.length];
+        int fin = 0;
+        distancias[origen] = 0;
+        cola[fin++] = origen;
+        for (int cabeza = 0; cabeza < fin; cabeza++) {
+            int v = cola[cabeza];
+            int[] extremos = {fin};
+            grafo.recorrerVecinos(v, (destino, peso) -> {
+                if (distancias[destino] < 0) {
+                    distancias[destino] = distancias[v] + 1;
+                    cola[extremos[0]++] = destino;
+                }
+            });
+            fin = extremos[0];
+        }
+        return distancias;
+    }
+
+    private static double[] pesosSalida(AdyacenciaIndexada grafo) {
+        double[] sumas = new double[grafo.getNumVertices()];
+        for (int v = 0; v < sumas.length; v++) {
+            int vertice = v;
+            int[] grado = {0};
+            grafo.recorrerVecinos(v, (destino, peso) -> {
+                sumas[vertice] += peso;
+                grado[0]++;
+            });
+            assertEquals(grafo.getGrado(v), grado[0]);
+        }
+        return sumas;
+    }
+
+    private static void comprobarIguales(GrafoCSR csr, GrafoDirecto directo) {
+        assertEquals(csr.getNumVertices(), directo.getNumVertices());
+        assertEquals(csr.getNumAristas(), directo.getNumAristas());
+        assertEquals(csr.isEsDirigido(), directo.isEsDirigido());
+        int[] destinos = new int[csr.getNumVertices() * 2];
+        double[] pesos = new double[destinos.length];
+        for (int v = 0; v < csr.getNumVertices(); v++) {
+            assertEquals(csr.getGrado(v), directo.getGrado(v));
+            List<String> esperadas = new ArrayList<>();
+            for (int a = csr.getInicio(v); a < csr.getFin(v); a++) {
+                esperadas.add(csr.getDestino(a) + ":" + csr.getPeso(a));
+            }
+            List<String> recorridas = new ArrayList<>();
+            directo.recorrerVecinos(v, (destino, peso) -> recorridas.add(destino + ":" + peso));
+            assertEquals(esperadas, recorridas);
+            int grado = directo.copiarVecinos(v, destinos, pesos);
+            for (int i = 0; i < grado; i++) {
+                assertEquals(esperadas.get(i), destinos[i] + ":" + pesos[i]);
+            }
+        }
+    }
+}
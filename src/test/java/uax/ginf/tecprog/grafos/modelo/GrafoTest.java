@@ -2,6 +2,8 @@ package uax.ginf.tecprog.grafos.modelo;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -255,4 +257,281 @@ class GrafoTest {
         Vertice v1 = new Vertice("v1", "dato");
         assertThrows(NullPointerException.class, () -> grafo.getAdyacentes(v1));
     }
-}
\ No newline at end of file
+
+    /**
+     * Prueba para el método getPredecesores en un grafo dirigido.
+     * Verifica que el índice de entrantes se mantiene al añadir y eliminar aristas y vértices.
+     */
+    @Test
+    void testGetPredecesores() {
+        Grafo grafo = new Grafo(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addVertice(v3);
+        grafo.addArista(v1, v3);
+        grafo.addArista(v2, v3);
+
+        // v3 tiene como predecesores a v1 y v2, y v1 no tiene ninguno
+        assertEquals(Set.of(v1, v2), grafo.getPredecesores(v3));
+        assertTrue(grafo.getPredecesores(v1).isEmpty());
+
+        // Al eliminar aristas y vértices el índice se actualiza
+        grafo.deleteArista(v1, v3);
+        assertEquals(Set.of(v2), grafo.getPredecesores(v3));
+        grafo.deleteVertice(v2);
+        assertTrue(grafo.getPredecesores(v3).isEmpty());
+    }
+
+    /**
+     * Prueba para el método deleteVertices.
+     * Verifica que se eliminan los vértices indicados, las aristas entre ellos y las que los unen con el resto,
+     * incluidos los bucles, y que los vértices no existentes se ignoran.
+     */
+    @Test
+    void testDeleteVertices() {
+        for (boolean esDirigido : new boolean[]{true, false}) {
+            Grafo grafo = new Grafo(esDirigido);
+            Vertice v1 = new Vertice("v1", "dato");
+            Vertice v2 = new Vertice("v2", "dato");
+            Vertice v3 = new Vertice("v3", "dato");
+            Vertice v4 = new Vertice("v4", "dato");
+            grafo.addVertice(v1);
+            grafo.addVertice(v2);
+            grafo.addVertice(v3);
+            grafo.addVertice(v4);
+            grafo.addArista(v1, v2);
+            grafo.addArista(v2, v1);
+            grafo.addArista(v2, v2);
+            grafo.addArista(v1, v3);
+            grafo.addArista(v3, v2);
+            grafo.addArista(v3, v4);
+
+            grafo.deleteVertices(List.of(v1, v2, new Vertice("v5", "dato")));
+
+            assertEquals(Set.of(v3, v4), grafo.getAdyacencias().keySet());
+            assertEquals(Set.of(v4), grafo.getAdyacentes(v3));
+            assertEquals(Set.of(v3), grafo.getPredecesores(v4));
+            assertEquals(esDirigido ? Set.of() : Set.of(v4), grafo.getPredecesores(v3));
+
+            // El índice de entrantes sigue coherente: borrar v4 deja a v3 sin aristas
+            grafo.deleteVertice(v4);
+            assertTrue(grafo.getAdyacentes(v3).isEmpty());
+            assertTrue(grafo.getPredecesores(v3).isEmpty());
+        }
+    }
+
+    /**
+     * Prueba para los métodos hasArista, getPeso y setPeso.
+     * Verifica que añadir una arista existente solo cambia su peso y que en un grafo no dirigido el cambio
+     * afecta a los dos sentidos.
+     */
+    @Test
+    void testPesoDeArista() {
+        Grafo grafo = new Grafo(false);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addArista(v1, v2);
+        grafo.addAristaPeso(v2, v1, 3.0);
+
+        assertFalse(grafo.isEsMultigrafo());
+        assertEquals(1, grafo.getAdyacencias().get(v1).size());
+        assertTrue(grafo.hasArista(v2, v1));
+        assertEquals(3.0, grafo.getPeso(v1, v2));
+        grafo.setPeso(v1, v2, 4.0);
+        assertEquals(4.0, grafo.getPeso(v2, v1));
+
+        assertFalse(grafo.hasArista(v1, v3));
+        assertThrows(NullPointerException.class, () -> grafo.getPeso(v1, v3));
+        grafo.addVertice(v3);
+        assertThrows(IllegalArgumentException.class, () -> grafo.getPeso(v1, v3));
+        assertThrows(IllegalArgumentException.class, () -> grafo.setPeso(v1, v3, 1.0));
+    }
+
+    /**
+     * Prueba para un multigrafo.
+     * Verifica que se conservan las aristas paralelas y que deleteArista y setPeso afectan a todas ellas.
+     */
+    @Test
+    void testMultigrafo() {
+        Grafo grafo = new Grafo(true, true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addAristaPeso(v1, v2, 1.0);
+        grafo.addAristaPeso(v1, v2, 2.0);
+        grafo.addAristaPeso(v2, v1, 5.0);
+
+        assertTrue(grafo.isEsMultigrafo());
+        assertEquals(2, grafo.getAdyacencias().get(v1).size());
+        assertEquals(3, new GrafoCSR(grafo).getNumAristas());
+        grafo.setPeso(v1, v2, 7.0);
+        assertTrue(grafo.getAdyacencias().get(v1).stream().allMatch(arista -> arista.getPeso() == 7.0));
+
+        grafo.deleteArista(v1, v2);
+        assertFalse(grafo.hasArista(v1, v2));
+        assertEquals(Set.of(v2), grafo.getPredecesores(v1));
+        assertTrue(grafo.getPredecesores(v2).isEmpty());
+    }
+
+    /**
+     * Prueba que los índices de los vértices eliminados se reutilizan sin heredar aristas.
+     */
+    @Test
+    void testReutilizarIndices() {
+        Grafo grafo = new Grafo(true);
+        Vertice[] v = new Vertice[20];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = new Vertice("v" + i, "dato");
+            grafo.addVertice(v[i]);
+        }
+        for (int i = 0; i < v.length; i++) {
+            grafo.addArista(v[i], v[(i + 1) % v.length]);
+        }
+        grafo.deleteVertice(v[5]);
+        Vertice nuevo = new Vertice("nuevo", "dato");
+        grafo.addVertice(nuevo);
+
+        assertTrue(grafo.getAdyacentes(nuevo).isEmpty());
+        assertTrue(grafo.getPredecesores(nuevo).isEmpty());
+        assertTrue(grafo.getAdyacentes(v[4]).isEmpty());
+        assertTrue(grafo.getPredecesores(v[6]).isEmpty());
+        assertEquals(20, grafo.getAdyacencias().size());
+        assertThrows(UnsupportedOperationException.class, () -> grafo.getAdyacencias().remove(v[0]));
+    }
+
+    /**
+     * Prueba para los métodos recorrerAdyacentes, recorrerPredecesores, getGradoSalida y getGradoEntrada.
+     * Verifica que se visita cada arista una vez, también las paralelas de un multigrafo, con su peso.
+     */
+    @Test
+    void testRecorrerAdyacentes() {
+        Grafo grafo = new Grafo(true, true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addVertice(v3);
+        grafo.addAristaPeso(v1, v2, 1.0);
+        grafo.addAristaPeso(v1, v2, 2.0);
+        grafo.addAristaPeso(v1, v3, 4.0);
+        grafo.addAristaPeso(v3, v2, 8.0);
+
+        double[] suma = new double[1];
+        List<Vertice> visitados = new ArrayList<>();
+        grafo.recorrerAdyacentes(v1, (vecino, peso) -> {
+            visitados.add(vecino);
+            suma[0] += peso;
+        });
+        assertEquals(7.0, suma[0]);
+        assertEquals(3, visitados.size());
+        assertEquals(Set.of(v2, v3), Set.copyOf(visitados));
+
+        suma[0] = 0;
+        grafo.recorrerPredecesores(v2, (vecino, peso) -> suma[0] += peso);
+        assertEquals(11.0, suma[0]);
+        assertEquals(3, grafo.getGradoSalida(v1));
+        assertEquals(3, grafo.getGradoEntrada(v2));
+        assertEquals(0, grafo.getGradoEntrada(v1));
+        assertEquals(3, grafo.getNumVertices());
+        assertTrue(grafo.contieneVertice(v3));
+        assertEquals(Set.of(v1, v2, v3), grafo.getVertices());
+        assertThrows(NullPointerException.class, () -> grafo.getGradoSalida(new Vertice("v4", "dato")));
+    }
+
+    /**
+     * Prueba para el método renombrarVertice, y para cambiar el dato de un vértice que ya está en el grafo.
+     * Verifica que el vértice conserva sus aristas y que se encuentra por su nuevo id.
+     */
+    @Test
+    void testRenombrarVertice() {
+        Grafo grafo = new Grafo(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addAristaPeso(v1, v2, 2.0);
+
+        v1.setDato("otroDato");
+        assertTrue(grafo.contieneVertice(v1));
+        Vertice v3 = grafo.renombrarVertice(v1, "v3");
+        assertEquals("v3", v3.getId());
+        assertEquals("v1", v1.getId());     // El vértice original no cambia
+        assertSame(v3, grafo.renombrarVertice(v3, "v3"));
+        assertFalse(grafo.contieneVertice(new Vertice("v1", null)));
+        assertEquals(2.0, grafo.getPeso(v3, v2));
+        assertEquals(Set.of(v3), grafo.getPredecesores(v2));
+        assertEquals("otroDato", grafo.getPredecesores(v2).iterator().next().getDato());
+        assertThrows(IllegalArgumentException.class, () -> grafo.renombrarVertice(v3, "v2"));
+        assertThrows(NullPointerException.class, () -> grafo.renombrarVertice(new Vertice("v9", null), "v10"));
+    }
+
+    /**
+     * Prueba que los oyentes reciben cada cambio una vez, solo si el cambio ocurre, y dejan de recibirlos al quitarlos,
+     * y que el contador de modificaciones avanza con cada cambio.
+     */
+    @Test
+    void testOyentes() {
+        Grafo grafo = new Grafo(false);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        List<String> avisos = new ArrayList<>();
+        OyenteGrafo oyente = new OyenteGrafo() {
+            @Override
+            public void verticeAnadido(Vertice vertice) {
+                avisos.add("+" + vertice.getId());
+            }
+
+            @Override
+            public void verticeEliminado(Vertice vertice) {
+                avisos.add("-" + vertice.getId());
+            }
+
+            @Override
+            public void verticeRenombrado(Vertice vertice, String idAnterior) {
+                avisos.add(idAnterior + "=" + vertice.getId());
+            }
+
+            @Override
+            public void aristaAnadida(Vertice origen, Vertice destino, double peso) {
+                avisos.add(origen.getId() + "+" + destino.getId() + ":" + peso);
+            }
+
+            @Override
+            public void aristaEliminada(Vertice origen, Vertice destino) {
+                avisos.add(origen.getId() + "-" + destino.getId());
+            }
+
+            @Override
+            public void pesoCambiado(Vertice origen, Vertice destino, double peso) {
+                avisos.add(origen.getId() + "~" + destino.getId() + ":" + peso);
+            }
+        };
+        grafo.addOyente(oyente);
+        grafo.addOyente(oyente);
+
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addVertice(v1);
+        grafo.addAristaPeso(v1, v2, 2.0);
+        grafo.setPeso(v2, v1, 3.0);
+        grafo.deleteArista(v1, v2);
+        grafo.deleteArista(v1, v2);
+        grafo.addVertice(v3);
+        grafo.renombrarVertice(v3, "w3");
+        grafo.deleteVertices(List.of(v1, new Vertice("v9", null)));
+        grafo.deleteOyente(oyente);
+        grafo.deleteVertice(v2);
+
+        assertEquals(List.of("+v1", "+v2", "v1+v2:2.0", "v2~v1:3.0", "v1-v2", "+v3", "v3=w3", "-v1"), avisos);
+        assertEquals(9, grafo.getNumModificaciones());  // Cuenta también el cambio hecho sin oyentes
+    }
+}
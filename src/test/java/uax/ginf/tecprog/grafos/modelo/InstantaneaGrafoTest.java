@@ -0,0 +1,277 @@
+package uax.ginf.tecprog.grafos.modelo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase InstantaneaGrafo.
+ */
+class InstantaneaGrafoTest {
+
+    /**
+     * Prueba que una instantánea no ve las aristas ni los vértices añadidos o borrados después de tomarla.
+     */
+    @Test
+    void testInstantaneaNoCambia() {
+        GrafoConcurrente grafo = new GrafoConcurrente(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addArista(v1, v2);
+
+        try (InstantaneaGrafo instantanea = grafo.instantanea()) {
+            grafo.addVertice(v3);
+            grafo.addArista(v1, v3);
+            grafo.deleteArista(v1, v2);
+            grafo.deleteVertice(v2);
+
+            assertEquals(Set.of(v3), grafo.getAdyacentes(v1));
+            assertEquals(Set.of(v2), instantanea.getAdyacentes(v1));
+            assertEquals(Set.of(v1), instantanea.getPredecesores(v2));
+            assertEquals(1, instantanea.getGrado(v1));
+            assertTrue(instantanea.contieneVertice(v2));
+            assertFalse(instantanea.contieneVertice(v3));
+            assertEquals(2, instantanea.getNumVertices());
+            assertThrows(NullPointerException.class, () -> instantanea.getAdyacentes(v3));
+            assertEquals(Set.of(v1, v2), instantanea.getAdyacencias().keySet());
+            assertEquals(1, new GrafoCSR(instantanea).getNumAristas());
+        }
+    }
+
+    /**
+     * Prueba que un vértice borrado y vuelto a añadir se ve con las aristas de cada versión.
+     */
+    @Test
+    void testVerticeReanadido() {
+        GrafoConcurrente grafo = new GrafoConcurrente(false);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addVertice(v3);
+        grafo.addArista(v1, v2);
+
+        InstantaneaGrafo primera = grafo.instantanea();
+        grafo.deleteVertice(v1);
+        InstantaneaGrafo segunda = grafo.instantanea();
+        grafo.addVertice(v1);
+        grafo.addArista(v1, v3);
+        InstantaneaGrafo tercera = grafo.instantanea();
+
+        assertEquals(Set.of(v2), primera.getAdyacentes(v1));
+        assertEquals(Set.of(v1), primera.getAdyacentes(v2));
+        assertFalse(segunda.contieneVertice(v1));
+        assertTrue(segunda.getAdyacentes(v2).isEmpty());
+        assertEquals(Set.of(v3), tercera.getAdyacentes(v1));
+        assertTrue(tercera.getAdyacentes(v2).isEmpty());
+        assertEquals(3, grafo.getNumInstantaneas());
+
+        primera.close();
+        segunda.close();
+        tercera.close();
+        grafo.compactar();
+        assertEquals(0, grafo.getNumInstantaneas());
+        assertEquals(Set.of(v3), grafo.getAdyacentes(v1));
+    }
+
+    /**
+     * Prueba que una instantánea cerrada o de solo lectura rechaza las operaciones.
+     */
+    @Test
+    void testSoloLecturaYCierre() {
+        GrafoConcurrente grafo = new GrafoConcurrente(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        grafo.addVertice(v1);
+        InstantaneaGrafo instantanea = grafo.instantanea();
+
+        assertThrows(UnsupportedOperationException.class, () -> instantanea.addVertice(new Vertice("v2", "dato")));
+        assertThrows(UnsupportedOperationException.class, () -> instantanea.addArista(v1, v1));
+        assertThrows(UnsupportedOperationException.class, () -> instantanea.deleteVertice(v1));
+
+        instantanea.close();
+        instantanea.close();
+        assertEquals(0, grafo.getNumInstantaneas());
+        assertThrows(IllegalStateException.class, () -> instantanea.getAdyacentes(v1));
+    }
+
+    /**
+     * Prueba que las aristas borradas se eliminan físicamente solo cuando ninguna instantánea las ve.
+     */
+    @Test
+    void testCompactarRespetaInstantaneas() {
+        GrafoConcurrente grafo = new GrafoConcurrente(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        for (int i = 0; i < 100; i++) {
+            grafo.addArista(v1, v2);
+        }
+
+        InstantaneaGrafo instantanea = grafo.instantanea();
+        grafo.deleteArista(v1, v2);
+        for (int i = 0; i < 100; i++) {    // Hace crecer la lista, que intenta compactarse
+            grafo.addAristaPeso(v1, v2, 2.0);
+        }
+        grafo.compactar();
+        assertEquals(100, instantanea.getGrado(v1));
+        for (Arista arista : instantanea.getAristas(v1)) {
+            assertEquals(1.0, arista.getPeso());
+        }
+
+        instantanea.close();
+        grafo.compactar();
+        assertEquals(100, grafo.getGrado(v1));
+        assertEquals(100, grafo.getAristas(v1).size());
+    }
+
+    /**
+     * Prueba que una instantánea leída mientras varios hilos insertan y borran aristas devuelve siempre lo mismo.
+     */
+    @Test
+    void testLecturaConEscriturasConcurrentes() throws InterruptedException {
+        GrafoConcurrente grafo = new GrafoConcurrente(false, 4);
+        Vertice[] v = new Vertice[100];
+        Random random = new Random(1);
+        for (int i = 0; i < v.length; i++) {
+            v[i] = new Vertice("v" + i, null);
+            grafo.addVertice(v[i]);
+        }
+        for (int i = 0; i < 1000; i++) {
+            grafo.addArista(v[random.nextInt(v.length)], v[random.nextInt(v.length)]);
+        }
+
+        InstantaneaGrafo instantanea = grafo.instantanea();
+        Map<Vertice, Set<Arista>> esperado = instantanea.getAdyacencias();
+        AtomicBoolean terminar = new AtomicBoolean();
+        List<Thread> escritores = new ArrayList<>();
+        List<Throwable> errores = new ArrayList<>();
+        for (int h = 0; h < 4; h++) {
+            int semilla = h;
+            Thread hilo = new Thread(() -> {
+                Random aleatorio = new Random(semilla);
+                try {
+                    while (!terminar.get()) {
+                        Vertice a = v[aleatorio.nextInt(v.length)];
+                        Vertice b = v[aleatorio.nextInt(v.length)];
+                        if (aleatorio.nextBoolean()) {
+                            grafo.addArista(a, b);
+                        } else {
+                            grafo.deleteArista(a, b);
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (errores) {
+                        errores.add(e);
+                    }
+                }
+            });
+            escritores.add(hilo);
+            hilo.start();
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals(esperado, instantanea.getAdyacencias());
+            grafo.compactar();
+        }
+        terminar.set(true);
+        for (Thread hilo : escritores) {
+            hilo.join();
+        }
+        assertTrue(errores.isEmpty());
+        assertEquals(esperado, instantanea.getAdyacencias());
+        instantanea.close();
+    }
+
+    /**
+     * Prueba que los vértices eliminados juntos con deleteVertices desaparecen en la misma versión.
+     */
+    @Test
+    void testDeleteVerticesAtomico() {
+        GrafoConcurrente grafo = new GrafoConcurrente(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        Vertice v3 = new Vertice("v3", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addVertice(v3);
+        grafo.addArista(v1, v2);
+        grafo.addArista(v2, v3);
+        grafo.addArista(v3, v1);
+
+        try (InstantaneaGrafo antes = grafo.instantanea()) {
+            grafo.deleteVertices(List.of(v1, v2));
+            try (InstantaneaGrafo despues = grafo.instantanea()) {
+                assertEquals(Set.of(v3), despues.getAdyacencias().keySet());
+                assertEquals(0, despues.getGrado(v3));
+                assertTrue(despues.getPredecesores(v3).isEmpty());
+            }
+            assertEquals(3, antes.getNumVertices());
+            assertEquals(Set.of(v1), antes.getAdyacentes(v3));
+        }
+        assertEquals(1, grafo.getNumVertices());
+    }
+
+    /**
+     * Prueba que cambiar el peso de una arista no afecta a las instantáneas ya tomadas.
+     */
+    @Test
+    void testSetPeso() {
+        GrafoConcurrente grafo = new GrafoConcurrente(false);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addAristaPeso(v1, v2, 1.0);
+
+        try (InstantaneaGrafo antes = grafo.instantanea()) {
+            grafo.setPeso(v1, v2, 9.0);
+            assertEquals(9.0, grafo.getPeso(v2, v1));
+            assertEquals(1, grafo.getGrado(v1));
+            assertEquals(1.0, antes.getPeso(v2, v1));
+            assertTrue(antes.hasArista(v1, v2));
+            assertThrows(UnsupportedOperationException.class, () -> antes.setPeso(v1, v2, 2.0));
+        }
+        grafo.deleteArista(v1, v2);
+        assertFalse(grafo.hasArista(v1, v2));
+        assertThrows(IllegalArgumentException.class, () -> grafo.setPeso(v1, v2, 2.0));
+    }
+
+    /**
+     * Prueba que los recorridos sin copia y los grados de la instantánea y del grafo ven cada uno su versión.
+     */
+    @Test
+    void testRecorrerAdyacentes() {
+        GrafoConcurrente grafo = new GrafoConcurrente(true);
+        Vertice v1 = new Vertice("v1", "dato");
+        Vertice v2 = new Vertice("v2", "dato");
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addAristaPeso(v1, v2, 3.0);
+
+        try (InstantaneaGrafo instantanea = grafo.instantanea()) {
+            grafo.addAristaPeso(v2, v1, 5.0);
+            grafo.addAristaPeso(v1, v2, 1.0);
+            double[] suma = new double[2];
+            instantanea.recorrerAdyacentes(v1, (vecino, peso) -> suma[0] += peso);
+            grafo.recorrerAdyacentes(v1, (vecino, peso) -> suma[1] += peso);
+            assertEquals(3.0, suma[0]);
+            assertEquals(4.0, suma[1]);
+            assertEquals(0, instantanea.getGradoEntrada(v1));
+            assertEquals(1, grafo.getGradoEntrada(v1));
+            assertEquals(2, grafo.getGradoSalida(v1));
+            instantanea.recorrerPredecesores(v2, (vecino, peso) -> assertEquals(v1, vecino));
+            assertEquals(Set.of(v1, v2), instantanea.getVertices());
+        }
+    }
+}
@@ -63,4 +63,19 @@ class VerticeTest {
         assertEquals(vertice1, vertice2);
         assertNotEquals(vertice1, vertice3);
     }
-}
\ No newline at end of file
+
+    /**
+     * Esta prueba verifica que el hashcode depende solo del id, igual que equals,
+     * de modo que cambiar el dato no cambia el hashcode.
+     */
+    @Test
+    void testVerticeHashCode() {
+        Vertice vertice1 = new Vertice("v1", "dato");
+        Vertice vertice2 = new Vertice("v1", "otroDato");
+        int hash = vertice1.hashCode();
+
+        assertEquals(vertice2.hashCode(), hash);
+        vertice1.setDato("newDato");
+        assertEquals(hash, vertice1.hashCode());
+    }
+}
@@ -0,0 +1,29 @@
+package uax.ginf.tecprog.grafos.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase DiccionarioEnteros.
+ */
+class DiccionarioEnterosTest {
+
+    /**
+     * Prueba que las claves reciben índices consecutivos en orden de aparición, también tras crecer la tabla.
+     */
+    @Test
+    void testIndicesConsecutivos() {
+        DiccionarioEnteros diccionario = new DiccionarioEnteros(1);
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, diccionario.indice(i * 1000003L - 5000));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, diccionario.indice(i * 1000003L - 5000));
+            assertEquals(i, diccionario.buscar(i * 1000003L - 5000));
+            assertEquals(i * 1000003L - 5000, diccionario.getClave(i));
+        }
+        assertEquals(10000, diccionario.getTamanio());
+        assertEquals(-1, diccionario.buscar(7));
+    }
+}
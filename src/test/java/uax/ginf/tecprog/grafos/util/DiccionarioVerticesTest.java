@@ -0,0 +1,81 @@
+package uax.ginf.tecprog.grafos.util;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase DiccionarioVertices.
+ */
+class DiccionarioVerticesTest {
+
+    /**
+     * Prueba que una secuencia aleatoria de altas, bajas y renombrados deja los mismos ids que un HashMap,
+     * y que cada vértice conserva su índice mientras está en el diccionario.
+     */
+    @Test
+    void testIgualQueHashMap() {
+        DiccionarioVertices diccionario = new DiccionarioVertices(4);
+        Map<String, Integer> esperado = new HashMap<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 100000; i++) {
+            String id = "v" + random.nextInt(1000);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    if (!esperado.containsKey(id)) {
+                        esperado.put(id, diccionario.anadir(new Vertice(id, null)));
+                    }
+                }
+                case 1 -> {
+                    Integer indice = esperado.remove(id);
+                    assertEquals(indice == null ? -1 : indice, diccionario.quitar(id));
+                }
+                default -> {
+                    String nuevoId = "v" + random.nextInt(1000);
+                    if (esperado.containsKey(id) && !esperado.containsKey(nuevoId)) {
+                        int indice = esperado.remove(id);
+                        diccionario.renombrar(indice, new Vertice(nuevoId, null));
+                        esperado.put(nuevoId, indice);
+                    }
+                }
+            }
+        }
+        assertEquals(esperado.size(), diccionario.getTamanio());
+        for (int i = 0; i < 1000; i++) {
+            String id = "v" + i;
+            assertEquals(esperado.getOrDefault(id, -1).intValue(), diccionario.buscar(id));
+        }
+        for (Map.Entry<String, Integer> entrada : esperado.entrySet()) {
+            assertEquals(entrada.getKey(), diccionario.getId(entrada.getValue()));
+            assertEquals(entrada.getKey(), diccionario.getVertice(entrada.getValue()).getId());
+        }
+        assertTrue(diccionario.getLimite() <= 1000);   // Los índices liberados se reutilizan
+    }
+
+    /**
+     * Prueba que no se admiten ids repetidos, ni al añadir ni al renombrar, y que el diccionario no cambia.
+     * Renombrar sustituye el vértice del índice sin modificar el anterior.
+     */
+    @Test
+    void testIdsRepetidos() {
+        DiccionarioVertices diccionario = DiccionarioVertices.desde(
+                new Vertice[]{new Vertice("a", null), new Vertice("b", null)});
+        assertEquals(0, diccionario.buscar("a"));
+        assertEquals(1, diccionario.buscar("b"));
+        assertThrows(IllegalArgumentException.class, () -> diccionario.anadir(new Vertice("a", "otro")));
+        Vertice a = diccionario.getVertice(0);
+        assertThrows(IllegalArgumentException.class, () -> diccionario.renombrar(0, new Vertice("b", null)));
+        assertSame(a, diccionario.getVertice(0));
+        assertEquals(0, diccionario.buscar("a"));
+        assertEquals(2, diccionario.getTamanio());
+        diccionario.renombrar(0, new Vertice("c", null));
+        assertEquals(0, diccionario.buscar("c"));
+        assertEquals(-1, diccionario.buscar("a"));
+        assertEquals("a", a.getId());  // El vértice sustituido conserva su id
+    }
+}
@@ -0,0 +1,70 @@
+package uax.ginf.tecprog.grafos.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase MapaPesos.
+ */
+class MapaPesosTest {
+
+    /**
+     * Prueba que una secuencia aleatoria de inserciones, cambios y borrados deja el mismo contenido que un HashMap.
+     */
+    @Test
+    void testIgualQueHashMap() {
+        MapaPesos mapa = new MapaPesos();
+        Map<Integer, Double> esperado = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 200000; i++) {
+            int clave = random.nextInt(2000);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(esperado.put(clave, (double) i) == null, mapa.poner(clave, i));
+                case 1 -> assertEquals(esperado.remove(clave) != null ? 1 : 0, mapa.quitar(clave));
+                default -> assertEquals(esperado.containsKey(clave) ? 1 : 0, mapa.cambiar(clave, -i));
+            }
+            if (esperado.containsKey(clave)) {
+                esperado.put(clave, mapa.obtener(clave, Double.NaN));
+            }
+        }
+        assertEquals(esperado.size(), mapa.getTamanio());
+        int ocupadas = 0;
+        for (int casilla = 0; casilla < mapa.getCapacidad(); casilla++) {
+            if (mapa.getClave(casilla) != MapaPesos.LIBRE) {
+                assertEquals(esperado.get(mapa.getClave(casilla)).doubleValue(), mapa.getValor(casilla));
+                ocupadas++;
+            }
+        }
+        assertEquals(esperado.size(), ocupadas);
+        for (int clave = 0; clave < 2000; clave++) {
+            assertEquals(esperado.containsKey(clave), mapa.contiene(clave));
+        }
+    }
+
+    /**
+     * Prueba que las claves repetidas se cuentan, cambian y borran todas a la vez.
+     */
+    @Test
+    void testClavesRepetidas() {
+        MapaPesos mapa = new MapaPesos(1);
+        for (int i = 0; i < 5; i++) {
+            mapa.anadir(7, i);
+            mapa.anadir(100 + i, i);
+        }
+        assertEquals(10, mapa.getTamanio());
+        assertEquals(5, mapa.contar(7));
+        assertEquals(5, mapa.cambiar(7, 2.5));
+        assertEquals(2.5, mapa.obtener(7, 0.0));
+        assertEquals(5, mapa.quitar(7));
+        assertFalse(mapa.contiene(7));
+        assertEquals(5, mapa.getTamanio());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, mapa.obtener(100 + i, -1.0));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package uax.ginf.tecprog.grafos.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase MonticuloIndexado.
+ */
+class MonticuloIndexadoTest {
+
+    /**
+     * Prueba que los elementos se extraen en orden de clave, incluso tras disminuir claves.
+     */
+    @Test
+    void testExtraerEnOrden() {
+        MonticuloIndexado monticulo = new MonticuloIndexado(5, 3);
+        monticulo.insertarODisminuir(0, 5.0);
+        monticulo.insertarODisminuir(1, 3.0);
+        monticulo.insertarODisminuir(2, 4.0);
+        monticulo.insertarODisminuir(3, 1.0);
+
+        // Disminuir la clave de 0 lo pone delante; aumentarla no tiene efecto
+        assertTrue(monticulo.insertarODisminuir(0, 0.5));
+        assertFalse(monticulo.insertarODisminuir(2, 9.0));
+
+        assertEquals(4, monticulo.getTamanio());
+        assertEquals(0, monticulo.extraerMinimo());
+        assertEquals(3, monticulo.extraerMinimo());
+        assertEquals(1, monticulo.extraerMinimo());
+        assertEquals(2, monticulo.extraerMinimo());
+        assertTrue(monticulo.estaVacio());
+        assertFalse(monticulo.contiene(2));
+    }
+
+    /**
+     * Prueba con claves aleatorias que la secuencia extraída está ordenada.
+     */
+    @Test
+    void testOrdenAleatorio() {
+        Random random = new Random(3);
+        MonticuloIndexado monticulo = new MonticuloIndexado(1000);
+        for (int i = 0; i < 1000; i++) {
+            monticulo.insertarODisminuir(i, random.nextDouble());
+        }
+        for (int i = 0; i < 500; i++) {
+            monticulo.insertarODisminuir(random.nextInt(1000), random.nextDouble() / 2);
+        }
+        double anterior = Double.NEGATIVE_INFINITY;
+        while (!monticulo.estaVacio()) {
+            int elemento = monticulo.getMinimo();
+            double clave = monticulo.getClave(elemento);
+            assertEquals(elemento, monticulo.extraerMinimo());
+            assertTrue(clave >= anterior);
+            anterior = clave;
+        }
+    }
+
+    /**
+     * Prueba que vaciar deja el montículo listo para reutilizarse.
+     */
+    @Test
+    void testVaciar() {
+        MonticuloIndexado monticulo = new MonticuloIndexado(3);
+        monticulo.insertarODisminuir(1, 2.0);
+        monticulo.insertarODisminuir(2, 1.0);
+        monticulo.vaciar();
+
+        assertTrue(monticulo.estaVacio());
+        assertFalse(monticulo.contiene(1));
+        assertTrue(monticulo.insertarODisminuir(1, 7.0));
+        assertEquals(1, monticulo.extraerMinimo());
+    }
+}
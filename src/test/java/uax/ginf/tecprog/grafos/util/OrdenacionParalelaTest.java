@@ -0,0 +1,49 @@
+package uax.ginf.tecprog.grafos.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase OrdenacionParalela.
+ */
+class OrdenacionParalelaTest {
+
+    /**
+     * Prueba que los índices quedan ordenados por clave y, a igualdad de clave, por orden de entrada.
+     */
+    @Test
+    void testOrdenEstable() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int n : new int[]{0, 1, 7, 100, 50000}) {
+                Random random = new Random(n);
+                double[] claves = new double[n];
+                int[] indices = new int[n];
+                for (int i = 0; i < n; i++) {
+                    claves[i] = random.nextInt(50);
+                    indices[i] = i;
+                }
+                OrdenacionParalela.ordenar(indices, claves, pool);
+
+                boolean[] vistos = new boolean[n];
+                for (int i = 0; i < n; i++) {
+                    vistos[indices[i]] = true;
+                    if (i > 0) {
+                        double anterior = claves[indices[i - 1]];
+                        double actual = claves[indices[i]];
+                        assertTrue(anterior < actual || (anterior == actual && indices[i - 1] < indices[i]));
+                    }
+                }
+                for (boolean visto : vistos) {
+                    assertTrue(visto);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
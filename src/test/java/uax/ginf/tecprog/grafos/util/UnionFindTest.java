@@ -0,0 +1,87 @@
+package uax.ginf.tecprog.grafos.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para las clases UnionFind y UnionFindConcurrente.
+ */
+class UnionFindTest {
+
+    /**
+     * Prueba las operaciones básicas de la versión secuencial.
+     */
+    @Test
+    void testUnirYBuscar() {
+        UnionFind conjuntos = new UnionFind(5);
+        assertEquals(5, conjuntos.getNumConjuntos());
+
+        assertTrue(conjuntos.unir(0, 1));
+        assertTrue(conjuntos.unir(3, 4));
+        assertTrue(conjuntos.unir(1, 4));
+        assertFalse(conjuntos.unir(0, 3));
+
+        assertTrue(conjuntos.estanUnidos(0, 4));
+        assertFalse(conjuntos.estanUnidos(0, 2));
+        assertEquals(2, conjuntos.getNumConjuntos());
+    }
+
+    /**
+     * Prueba que se pueden añadir elementos más allá de la capacidad inicial.
+     */
+    @Test
+    void testAnadir() {
+        UnionFind conjuntos = new UnionFind(0);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, conjuntos.anadir());
+            if (i > 0) {
+                conjuntos.unir(i - 1, i);
+            }
+        }
+        assertEquals(100, conjuntos.getNumElementos());
+        assertEquals(1, conjuntos.getNumConjuntos());
+        assertEquals(100, conjuntos.anadir());
+        assertEquals(2, conjuntos.getNumConjuntos());
+        assertFalse(conjuntos.estanUnidos(0, 100));
+    }
+
+    /**
+     * Prueba que la versión concurrente, con uniones desde varios hilos, acaba con los mismos
+     * conjuntos que la secuencial y que cada unión efectiva se cuenta una sola vez.
+     */
+    @Test
+    void testConcurrenteCoincideConSecuencial() throws Exception {
+        int n = 20000;
+        Random random = new Random(1);
+        int[] a = new int[n];
+        int[] b = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = random.nextInt(n);
+            b[i] = random.nextInt(n);
+        }
+        UnionFind secuencial = new UnionFind(n);
+        for (int i = 0; i < n; i++) {
+            secuencial.unir(a[i], b[i]);
+        }
+
+        UnionFindConcurrente concurrente = new UnionFindConcurrente(n);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            long uniones = pool.submit(() -> IntStream.range(0, n).parallel()
+                    .filter(i -> concurrente.unir(a[i], b[i])).count()).get();
+            assertEquals(n - secuencial.getNumConjuntos(), uniones);
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < 2000; i++) {
+            int x = random.nextInt(n);
+            int y = random.nextInt(n);
+            assertEquals(secuencial.estanUnidos(x, y), concurrente.estanUnidos(x, y));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package uax.ginf.tecprog.grafos.util;
+
+import org.junit.jupiter.api.Test;
+import uax.ginf.tecprog.grafos.modelo.Grafo;
+import uax.ginf.tecprog.grafos.modelo.Vertice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esta clase contiene pruebas unitarias para la clase ValidadorGrafo.
+ */
+class ValidadorGrafoTest {
+
+    /**
+     * Prueba las comprobaciones de conexión sobre un grafo dirigido con dos componentes.
+     */
+    @Test
+    void testConexion() {
+        Grafo grafo = new Grafo(true);
+        Vertice v1 = new Vertice("v1", null);
+        Vertice v2 = new Vertice("v2", null);
+        Vertice v3 = new Vertice("v3", null);
+        Vertice v4 = new Vertice("v4", null);
+        assertTrue(ValidadorGrafo.esGrafoVacio(grafo));
+        assertTrue(ValidadorGrafo.esConexo(grafo));
+        grafo.addVertice(v1);
+        grafo.addVertice(v2);
+        grafo.addVertice(v3);
+        grafo.addVertice(v4);
+        grafo.addArista(v1, v2);
+        grafo.addArista(v3, v2);
+
+        assertTrue(ValidadorGrafo.existeVertice(grafo, v4));
+        assertTrue(ValidadorGrafo.estanConectados(grafo, v1, v3));
+        assertTrue(ValidadorGrafo.estanConectados(grafo, v4, v4));
+        assertFalse(ValidadorGrafo.estanConectados(grafo, v1, v4));
+        assertEquals(2, ValidadorGrafo.contarComponentes(grafo));
+        assertFalse(ValidadorGrafo.esConexo(grafo));
+        assertThrows(NullPointerException.class, () -> ValidadorGrafo.estanConectados(grafo, v1, new Vertice("v9", null)));
+
+        grafo.addArista(v4, v4);
+        grafo.addArista(v2, v4);
+        assertTrue(ValidadorGrafo.esConexo(grafo));
+    }
+}